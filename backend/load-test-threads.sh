@@ -0,0 +1,74 @@
+#!/bin/bash
+
+# Platform vs virtual thread load comparison
+# Starts the application once per execution mode and drives the read endpoints with `hey`
+# at increasing connection counts. Requires a running MongoDB, a built jar and `hey` on PATH.
+#
+# Usage: ./load-test-threads.sh [duration] [concurrency levels...]
+#   ./load-test-threads.sh 30s 1000 2500 5000 10000
+
+DURATION=${1:-30s}
+shift
+LEVELS=${@:-1000 2500 5000 10000}
+
+BASE_URL="http://localhost:8080"
+JAR=$(ls target/ecommerce_product_mgmt-*.jar 2>/dev/null | head -n 1)
+RESULTS_DIR="load-test-results/$(date +%Y%m%d-%H%M%S)"
+
+if [ -z "$JAR" ]; then
+  echo "✗ No jar found in target/ - run ./mvnw package -DskipTests first"
+  exit 1
+fi
+
+if ! command -v hey > /dev/null; then
+  echo "✗ hey is not installed (go install github.com/rakyll/hey@latest)"
+  exit 1
+fi
+
+mkdir -p "$RESULTS_DIR"
+echo "mode,concurrency,endpoint,requests_per_sec,p50_s,p99_s,non_2xx" > "$RESULTS_DIR/summary.csv"
+
+run_mode() {
+  local mode=$1
+  local virtual=$2
+
+  echo "=== Mode: $mode (spring.threads.virtual.enabled=$virtual) ==="
+  # Limiters are opened up so the comparison measures thread handling, not throttling
+  java -jar "$JAR" \
+    --spring.threads.virtual.enabled=$virtual \
+    --server.tomcat.max-connections=20000 \
+    --server.tomcat.accept-count=20000 \
+    --app.concurrency.adaptive.enabled=false \
+    --app.rate-limit.product-api.limit-for-period=100000000 \
+    --app.rate-limit.search-api.limit-for-period=100000000 \
+    --app.bulkhead.product-api.max-concurrent-calls=100000 \
+    --app.bulkhead.search-api.max-concurrent-calls=100000 \
+    > "$RESULTS_DIR/app-$mode.log" 2>&1 &
+  local pid=$!
+
+  until curl -s "$BASE_URL/actuator/health" | grep -q "UP"; do sleep 1; done
+
+  for level in $LEVELS; do
+    for endpoint in "/api/products" "/api/products/search?name=a"; do
+      local out="$RESULTS_DIR/$mode-$level-$(echo "$endpoint" | tr '/?=' '___').txt"
+      echo "→ $mode c=$level $endpoint"
+      hey -z "$DURATION" -c "$level" "$BASE_URL$endpoint" > "$out"
+
+      local rps=$(grep "Requests/sec" "$out" | awk '{print $2}')
+      local p50=$(grep "50% in" "$out" | awk '{print $3}')
+      local p99=$(grep "99% in" "$out" | awk '{print $3}')
+      local non2xx=$(grep -E "^\s+\[[^2][0-9]{2}\]" "$out" | awk '{sum += $2} END {print sum + 0}')
+      echo "$mode,$level,$endpoint,$rps,$p50,$p99,$non2xx" >> "$RESULTS_DIR/summary.csv"
+    done
+  done
+
+  kill $pid
+  wait $pid 2>/dev/null
+}
+
+run_mode platform false
+run_mode virtual true
+
+echo
+echo "=== Summary ($RESULTS_DIR/summary.csv) ==="
+column -s, -t < "$RESULTS_DIR/summary.csv"
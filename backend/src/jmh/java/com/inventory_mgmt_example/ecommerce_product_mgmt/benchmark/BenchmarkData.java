@@ -0,0 +1,61 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.benchmark;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderItem;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.ShippingAddress;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic fixtures shared by the benchmarks, so results stay comparable across commits
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static Product product(int i) {
+        Product product = new Product(String.format("%024x", i), "Product " + i,
+                "Benchmark product number " + i + " with a realistic description length", 10.0 + i % 90, 100 + i % 50);
+        product.setSku("SKU-" + i);
+        product.setCategory("Category " + i % 12);
+        product.setBrand("Brand " + i % 30);
+        return product;
+    }
+
+    static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(product(i));
+        }
+        return products;
+    }
+
+    static User user() {
+        User user = new User("benchmark", "benchmark@example.com", "password", "Bench", "Mark");
+        user.setId("65f000000000000000000001");
+        return user;
+    }
+
+    static ShippingAddress address() {
+        return new ShippingAddress("Bench", "Mark", "1 Main Street", "Springfield", "IL", "62701", "US");
+    }
+
+    static List<OrderItem> items(List<Product> products) {
+        List<OrderItem> items = new ArrayList<>(products.size());
+        for (int i = 0; i < products.size(); i++) {
+            items.add(new OrderItem(products.get(i), 1 + i % 3));
+        }
+        return items;
+    }
+
+    static Order order(int itemCount) {
+        Order order = new Order(user(), items(products(itemCount)), address());
+        order.setId("65f000000000000000000002");
+        order.setOrderNumber("ORD-0000000000001");
+        return order;
+    }
+}
@@ -0,0 +1,58 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.benchmark;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderItem;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.ShippingAddress;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order line construction and total calculation (Order.calculateTotals runs in the
+ * constructor and in setItems)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class OrderBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int itemCount;
+
+    private List<Product> products;
+    private List<OrderItem> items;
+    private Order order;
+    private User user;
+    private ShippingAddress address;
+
+    @Setup
+    public void setUp() {
+        products = BenchmarkData.products(itemCount);
+        items = BenchmarkData.items(products);
+        order = BenchmarkData.order(itemCount);
+        user = BenchmarkData.user();
+        address = BenchmarkData.address();
+    }
+
+    @Benchmark
+    public List<OrderItem> createOrderItems() {
+        return BenchmarkData.items(products);
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        return new Order(user, items, address);
+    }
+
+    @Benchmark
+    public double recalculateTotals() {
+        order.setItems(items);
+        return order.getFinalAmount();
+    }
+}
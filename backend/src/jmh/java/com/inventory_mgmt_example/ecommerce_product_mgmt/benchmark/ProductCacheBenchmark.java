@@ -0,0 +1,92 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.benchmark;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.config.CacheConfig;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.repository.ProductRepository;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.ProductService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Cache hit paths of ProductService through the Spring cache proxy and the application's
+ * Caffeine configuration; every product is loaded once in setup, so no call reaches the repository
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ProductCacheBenchmark {
+
+    private static final int PRODUCTS = 500;
+
+    @Configuration
+    @Import(CacheConfig.class)
+    static class CacheContext {
+
+        @Bean
+        ProductRepository productRepository() {
+            List<Product> products = BenchmarkData.products(PRODUCTS);
+            ProductRepository repository = Mockito.mock(ProductRepository.class);
+            Mockito.when(repository.findAll()).thenReturn(products);
+            Mockito.when(repository.findById(anyString())).thenAnswer(invocation -> {
+                String id = invocation.getArgument(0);
+                return Optional.of(products.get(Integer.parseInt(id, 16)));
+            });
+            return repository;
+        }
+
+        @Bean
+        ProductService productService() {
+            return new ProductService();
+        }
+    }
+
+    private AnnotationConfigApplicationContext context;
+    private ProductService productService;
+    private String[] productIds;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(CacheContext.class);
+        productService = context.getBean(ProductService.class);
+        productIds = new String[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds[i] = BenchmarkData.product(i).getId();
+            productService.getProductById(productIds[i]);
+        }
+        productService.getAllProducts();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Product getProductByIdHit(Cursor cursor) {
+        cursor.next = (cursor.next + 1) % PRODUCTS;
+        return productService.getProductById(productIds[cursor.next]);
+    }
+
+    @Benchmark
+    public List<Product> getAllProductsHit() {
+        return productService.getAllProducts();
+    }
+}
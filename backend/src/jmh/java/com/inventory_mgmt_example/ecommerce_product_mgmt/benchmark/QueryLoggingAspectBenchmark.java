@@ -0,0 +1,101 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.benchmark;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.aspect.QueryLoggingAspect;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.controller.ProductController;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLog;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.querylog.QueryLogMode;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.querylog.QueryLogWriter;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.ProductService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost QueryLoggingAspect adds to a ProductController call in each logging mode:
+ * the same controller invoked directly and through the advised proxy. The log writer discards
+ * the save, so only the work done on the request thread is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class QueryLoggingAspectBenchmark {
+
+    @Param({"OFF", "METRICS", "SAMPLED", "FULL"})
+    private QueryLogMode mode;
+
+    private ProductController direct;
+    private ProductController advised;
+    private String productId;
+
+    @Setup
+    public void setUp() {
+        Product product = BenchmarkData.product(1);
+        List<Product> products = BenchmarkData.products(100);
+        productId = product.getId();
+
+        ProductService productService = new ProductService() {
+            @Override
+            public Product getProductById(String id) {
+                return product;
+            }
+
+            @Override
+            public List<Product> getAllProducts() {
+                return products;
+            }
+        };
+        direct = new ProductController();
+        ReflectionTestUtils.setField(direct, "productService", productService);
+
+        QueryLoggingAspect aspect = new QueryLoggingAspect();
+        QueryLogWriter discard = new QueryLogWriter() {
+            @Override
+            public void write(QueryLog queryLog) {
+            }
+        };
+        ReflectionTestUtils.setField(aspect, "queryLogWriter", discard);
+        ReflectionTestUtils.setField(aspect, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(aspect, "mode", mode);
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(direct);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(aspect);
+        advised = proxyFactory.getProxy();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/" + productId);
+        request.addHeader("User-Agent", "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0 Safari/537.36");
+        request.setRemoteAddr("10.0.0.1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public ResponseEntity<Product> getProductDirect() {
+        return direct.getProductById(productId);
+    }
+
+    @Benchmark
+    public ResponseEntity<Product> getProductLogged() {
+        return advised.getProductById(productId);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<Product>> getAllProductsLogged() {
+        return advised.getAllProducts();
+    }
+}
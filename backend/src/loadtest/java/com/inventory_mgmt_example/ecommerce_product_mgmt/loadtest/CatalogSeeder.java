@@ -0,0 +1,113 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.loadtest;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds a deterministic product catalog straight into MongoDB (bypassing the API) and keeps
+ * the ids for the virtual users. The same size and seed always produce the same catalog,
+ * ids included.
+ * <p>
+ * Seeding replaces every product in the database, so it refuses to run against an external
+ * database unless wiping it was explicitly allowed.
+ */
+class CatalogSeeder {
+
+    static final int CATEGORIES = 200;
+    static final int BRANDS = 500;
+
+    private static final String[] NOUNS = {
+            "Laptop", "Headphones", "Keyboard", "Monitor", "Camera", "Speaker", "Backpack", "Jacket",
+            "Sneakers", "Watch", "Blender", "Lamp", "Chair", "Desk", "Tablet", "Router"
+    };
+    private static final String[] ADJECTIVES = {
+            "Wireless", "Pro", "Ultra", "Compact", "Classic", "Smart", "Portable", "Premium",
+            "Eco", "Mini", "Max", "Sport"
+    };
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final long seed;
+
+    CatalogSeeder(MongoTemplate mongoTemplate, long seed) {
+        this.mongoTemplate = mongoTemplate;
+        this.seed = seed;
+    }
+
+    /**
+     * Replace the catalog with {@code size} products; returns their ids. Without
+     * {@code wipeAllowed} an existing catalog is left alone and seeding fails.
+     */
+    String[] seed(int size, boolean wipeAllowed) {
+        long startTime = System.currentTimeMillis();
+        long existing = mongoTemplate.count(new Query(), Product.class);
+        if (existing > 0 && !wipeAllowed) {
+            throw new IllegalStateException("Database " + mongoTemplate.getDb().getName() + " already holds "
+                    + existing + " products; seeding would delete them. Pass --wipe=true to allow it.");
+        }
+        mongoTemplate.remove(new Query(), Product.class);
+
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] ids = new String[size];
+        LocalDateTime now = LocalDateTime.now();
+        List<Product> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < size; i++) {
+            String id = productId(i);
+            ids[i] = id;
+            Product product = new Product(id, name(i),
+                    "Load test product " + i + " for realistic catalog browsing and search traffic",
+                    Math.round((5 + random.nextDouble() * 995) * 100) / 100.0,
+                    // Enough stock that checkout traffic never runs a product dry
+                    1_000_000);
+            product.setSku("LT-" + i);
+            product.setCategory(category(i));
+            product.setBrand("Brand " + random.nextInt(BRANDS));
+            product.setCreatedAt(now);
+            product.setUpdatedAt(now);
+            batch.add(product);
+            if (batch.size() == BATCH_SIZE) {
+                mongoTemplate.insert(batch, Product.class);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.insert(batch, Product.class);
+        }
+        System.out.printf("Seeded %,d products in %,d ms%n", size, System.currentTimeMillis() - startTime);
+        return ids;
+    }
+
+    /**
+     * The seed in the first eight bytes and the index in the last four, so ids are stable
+     * across runs and unique within the catalog
+     */
+    String productId(int i) {
+        return new ObjectId(ByteBuffer.allocate(12).putLong(seed).putInt(i).array()).toHexString();
+    }
+
+    static String name(int i) {
+        return ADJECTIVES[i % ADJECTIVES.length] + " " + NOUNS[(i / ADJECTIVES.length) % NOUNS.length] + " " + i;
+    }
+
+    static String category(int i) {
+        return "Category " + i % CATEGORIES;
+    }
+
+    /**
+     * A search term matching a realistic share of the catalog
+     */
+    static String searchTerm(SplittableRandom random) {
+        return random.nextBoolean()
+                ? NOUNS[random.nextInt(NOUNS.length)]
+                : ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)];
+    }
+}
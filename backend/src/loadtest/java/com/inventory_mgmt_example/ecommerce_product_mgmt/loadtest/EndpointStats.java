@@ -0,0 +1,74 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram (nanosecond resolution, 3 significant digits) and error count for one endpoint
+ */
+class EndpointStats {
+
+    private final String endpoint;
+    private final Recorder recorder = new Recorder(TimeUnit.MINUTES.toNanos(1), 3);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void recordSuccess(long nanos) {
+        recorder.recordValue(Math.min(nanos, TimeUnit.MINUTES.toNanos(1)));
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * Drop everything recorded so far (end of warmup)
+     */
+    void reset() {
+        recorder.getIntervalHistogram();
+        errors.reset();
+    }
+
+    Histogram snapshot() {
+        return recorder.getIntervalHistogram();
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    static Map<String, Object> summarize(String endpoint, Histogram histogram, long errors, double seconds) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("endpoint", endpoint);
+        row.put("requests", histogram.getTotalCount());
+        row.put("errors", errors);
+        row.put("throughputPerSec", round(histogram.getTotalCount() / seconds));
+        row.put("meanMs", millis(histogram.getMean()));
+        row.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+        row.put("p95Ms", millis(histogram.getValueAtPercentile(95)));
+        row.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+        row.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+        row.put("maxMs", millis(histogram.getMaxValue()));
+        return row;
+    }
+
+    private static double millis(double nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,92 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HTTP calls against the running application, timed per endpoint template
+ * (for example {@code GET /api/products/{id}})
+ */
+class LoadTestClient {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    LoadTestClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Timed GET; returns the parsed body, or null if the call failed
+     */
+    JsonNode get(String endpoint, String path, String token) {
+        return send(endpoint, request(path, token).GET().build());
+    }
+
+    /**
+     * Timed POST of a JSON body; returns the parsed body, or null if the call failed
+     */
+    JsonNode post(String endpoint, String path, String token, Object body) {
+        try {
+            HttpRequest request = request(path, token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+            return send(endpoint, request);
+        } catch (IOException e) {
+            statsFor(endpoint).recordError();
+            return null;
+        }
+    }
+
+    Map<String, EndpointStats> getStats() {
+        return stats;
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode send(String endpoint, HttpRequest request) {
+        EndpointStats endpointStats = statsFor(endpoint);
+        long startNanos = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long nanos = System.nanoTime() - startNanos;
+            if (response.statusCode() >= 400) {
+                endpointStats.recordError();
+                return null;
+            }
+            endpointStats.recordSuccess(nanos);
+            return response.body().length > 0 ? objectMapper.readTree(response.body()) : null;
+        } catch (IOException e) {
+            endpointStats.recordError();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private EndpointStats statsFor(String endpoint) {
+        return stats.computeIfAbsent(endpoint, EndpointStats::new);
+    }
+}
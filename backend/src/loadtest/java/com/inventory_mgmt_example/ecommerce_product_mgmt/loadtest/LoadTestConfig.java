@@ -0,0 +1,114 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load test settings parsed from {@code --name=value} arguments. Arguments for the application
+ * itself ({@code --spring.*}, {@code --app.*}, {@code --server.*}, {@code --management.*}) are
+ * passed through to it.
+ */
+class LoadTestConfig {
+
+    int catalogSize = 100_000;
+    int virtualUsers = 200;
+    Duration duration = Duration.ofSeconds(60);
+    Duration warmup = Duration.ofSeconds(15);
+    long thinkTimeMs = 0;
+    String mongoUri;
+    // Replacing the products of an external --mongo-uri database has to be asked for
+    boolean wipe = false;
+    long seed = 42;
+    String output;
+    Map<Workload, Integer> mix = new LinkedHashMap<>(Map.of(
+            Workload.BROWSE, 60, Workload.SEARCH, 20, Workload.CHECKOUT, 15, Workload.ADMIN, 5));
+    final List<String> applicationArgs = new ArrayList<>();
+
+    static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "catalog" -> config.catalogSize = parseCount(value);
+                case "users" -> config.virtualUsers = Integer.parseInt(value);
+                case "duration" -> config.duration = parseDuration(value);
+                case "warmup" -> config.warmup = parseDuration(value);
+                case "think-ms" -> config.thinkTimeMs = Long.parseLong(value);
+                case "mongo-uri" -> config.mongoUri = value;
+                case "wipe" -> config.wipe = Boolean.parseBoolean(value);
+                case "seed" -> config.seed = Long.parseLong(value);
+                case "output" -> config.output = value;
+                case "mix" -> config.mix = parseMix(value);
+                default -> {
+                    if (name.startsWith("spring.") || name.startsWith("app.") || name.startsWith("server.")
+                            || name.startsWith("management.") || name.startsWith("logging.")) {
+                        config.applicationArgs.add(arg);
+                    } else {
+                        throw new IllegalArgumentException("Unknown load test option: " + name);
+                    }
+                }
+            }
+        }
+        if (config.output == null) {
+            config.output = "target/loadtest/loadtest-" + config.catalogSize + ".json";
+        }
+        return config;
+    }
+
+    /**
+     * 10k, 100k, 1m or a plain number
+     */
+    static int parseCount(String value) {
+        String lower = value.toLowerCase(Locale.ROOT).replace("_", "");
+        if (lower.endsWith("k")) {
+            return Integer.parseInt(lower.substring(0, lower.length() - 1)) * 1_000;
+        }
+        if (lower.endsWith("m")) {
+            return Integer.parseInt(lower.substring(0, lower.length() - 1)) * 1_000_000;
+        }
+        return Integer.parseInt(lower);
+    }
+
+    /**
+     * 90s, 5m or a number of seconds
+     */
+    static Duration parseDuration(String value) {
+        String lower = value.toLowerCase(Locale.ROOT);
+        if (lower.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(lower.substring(0, lower.length() - 2)));
+        }
+        if (lower.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(lower.substring(0, lower.length() - 1)));
+        }
+        if (lower.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(lower.substring(0, lower.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(lower));
+    }
+
+    /**
+     * browse:60,search:20,checkout:15,admin:5
+     */
+    static Map<Workload, Integer> parseMix(String value) {
+        Map<Workload, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] weight = part.split(":");
+            mix.put(Workload.valueOf(weight[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(weight[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Workload mix needs at least one positive weight: " + value);
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,248 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.EcommerceProductMgmtApplication;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.File;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test: boots the application against an embedded MongoDB (or
+ * {@code --mongo-uri}), seeds a product catalog and drives a weighted browse/search/checkout/admin
+ * mix from many concurrent virtual users (one virtual thread each, closed loop). Latency is
+ * recorded per endpoint after the warmup and written as JSON with throughput and
+ * p50/p95/p99/p99.9.
+ * <p>
+ * {@code mvn -Pload-test verify -Dloadtest.args="--catalog=100k --users=200 --duration=60s"}
+ */
+public final class LoadTestHarness {
+
+    private static final String PASSWORD = "loadtest-password";
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = null;
+        String mongoUri = config.mongoUri;
+        if (mongoUri == null) {
+            mongod = Mongod.instance().start(Version.Main.V7_0);
+            ServerAddress address = mongod.current().getServerAddress();
+            mongoUri = "mongodb://" + address.getHost() + ":" + address.getPort() + "/loadtest";
+        }
+
+        ConfigurableApplicationContext context = null;
+        try {
+            context = new SpringApplication(EcommerceProductMgmtApplication.class).run(applicationArgs(config, mongoUri));
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            // The embedded database is ours to wipe; an external one only with --wipe=true
+            String[] productIds = new CatalogSeeder(context.getBean(MongoTemplate.class), config.seed)
+                    .seed(config.catalogSize, mongod != null || config.wipe);
+
+            Map<String, Object> report = run(config, new LoadTestClient("http://localhost:" + port), productIds);
+
+            File output = new File(config.output);
+            if (output.getParentFile() != null) {
+                output.getParentFile().mkdirs();
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, report);
+            printSummary(report);
+            System.out.println("Results written to " + output.getPath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            if (mongod != null) {
+                mongod.close();
+            }
+        }
+    }
+
+    /**
+     * Application settings for the run; later entries win, so pass-through arguments override the defaults
+     */
+    private static String[] applicationArgs(LoadTestConfig config, String mongoUri) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.data.mongodb.uri", mongoUri);
+        properties.put("logging.file.name", "target/loadtest/application.log");
+        properties.put("logging.level.com.inventory_mgmt_example.ecommerce_product_mgmt.aspect.QueryLoggingAspect", "WARN");
+        properties.put("logging.level.org.springframework.aop", "WARN");
+        // Measure the application, not the rate limiters
+        properties.put("app.rate-limit.product-api.limit-for-period", "1000000");
+        properties.put("app.rate-limit.bulk-operations.limit-for-period", "1000000");
+        properties.put("app.rate-limit.search-api.limit-for-period", "1000000");
+        // No background maintenance competing with the measured traffic
+        properties.put("app.maintenance.enabled", "false");
+        for (String arg : config.applicationArgs) {
+            properties.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return properties.entrySet().stream().map(e -> "--" + e.getKey() + "=" + e.getValue()).toArray(String[]::new);
+    }
+
+    private static Map<String, Object> run(LoadTestConfig config, LoadTestClient client, String[] productIds)
+            throws InterruptedException {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        int totalWeight = config.mix.values().stream().mapToInt(Integer::intValue).sum();
+        long endNanos = System.nanoTime() + config.warmup.toNanos() + config.duration.toNanos();
+
+        ExecutorService virtualUsers = Executors.newVirtualThreadPerTaskExecutor();
+        String adminToken = signUp(client, "lt-" + runId + "-admin", "ADMIN");
+        for (int i = 0; i < config.virtualUsers; i++) {
+            int index = i;
+            virtualUsers.submit(() -> {
+                String token = signUp(client, "lt-" + runId + "-" + index, "USER");
+                SplittableRandom random = new SplittableRandom(index);
+                while (System.nanoTime() < endNanos) {
+                    Workload workload = pick(config.mix, totalWeight, random);
+                    switch (workload) {
+                        case BROWSE -> browse(client, productIds, random);
+                        case SEARCH -> client.get("GET /api/products/search", "/api/products/search?name="
+                                + URLEncoder.encode(CatalogSeeder.searchTerm(random), StandardCharsets.UTF_8), null);
+                        case CHECKOUT -> checkout(client, token, productIds, random);
+                        case ADMIN -> admin(client, adminToken, random);
+                    }
+                    if (config.thinkTimeMs > 0) {
+                        Thread.sleep(config.thinkTimeMs);
+                    }
+                }
+                return null;
+            });
+        }
+
+        Thread.sleep(config.warmup.toMillis());
+        client.getStats().values().forEach(EndpointStats::reset);
+        long measureStart = System.nanoTime();
+        Instant startedAt = Instant.now();
+
+        virtualUsers.shutdown();
+        virtualUsers.awaitTermination(config.duration.toMillis() + 120_000, TimeUnit.MILLISECONDS);
+        double seconds = (System.nanoTime() - measureStart) / 1e9;
+
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        Histogram total = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+        long totalErrors = 0;
+        for (EndpointStats stats : new TreeMap<>(client.getStats()).values()) {
+            Histogram histogram = stats.snapshot();
+            total.add(histogram);
+            totalErrors += stats.getErrors();
+            endpoints.add(EndpointStats.summarize(stats.getEndpoint(), histogram, stats.getErrors(), seconds));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt.toString());
+        report.put("catalogSize", config.catalogSize);
+        report.put("catalogSeed", config.seed);
+        report.put("virtualUsers", config.virtualUsers);
+        report.put("warmupSeconds", config.warmup.toSeconds());
+        report.put("measuredSeconds", Math.round(seconds * 1000.0) / 1000.0);
+        report.put("thinkTimeMs", config.thinkTimeMs);
+        report.put("mix", config.mix);
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("endpoints", endpoints);
+        report.put("total", EndpointStats.summarize("ALL", total, totalErrors, seconds));
+        return report;
+    }
+
+    private static Workload pick(Map<Workload, Integer> mix, int totalWeight, SplittableRandom random) {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<Workload, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    /**
+     * Skewed towards the head of the catalog, like real product popularity
+     */
+    private static String popularProduct(String[] productIds, SplittableRandom random) {
+        double r = random.nextDouble();
+        return productIds[(int) (productIds.length * r * r * r)];
+    }
+
+    private static void browse(LoadTestClient client, String[] productIds, SplittableRandom random) {
+        if (random.nextInt(100) < 85) {
+            client.get("GET /api/products/{id}", "/api/products/" + popularProduct(productIds, random), null);
+        } else {
+            String category = CatalogSeeder.category(random.nextInt(CatalogSeeder.CATEGORIES));
+            client.get("GET /api/products/category/{category}",
+                    "/api/products/category/" + URLEncoder.encode(category, StandardCharsets.UTF_8).replace("+", "%20"), null);
+        }
+    }
+
+    private static void checkout(LoadTestClient client, String token, String[] productIds, SplittableRandom random) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        int lines = 1 + random.nextInt(3);
+        for (int i = 0; i < lines; i++) {
+            items.add(Map.of("productId", popularProduct(productIds, random), "quantity", 1 + random.nextInt(2)));
+        }
+        Map<String, Object> order = Map.of(
+                "items", items,
+                "paymentMethod", "CREDIT_CARD",
+                "shippingAddress", Map.of("firstName", "Load", "lastName", "Test", "addressLine1", "1 Main Street",
+                        "city", "Springfield", "state", "IL", "postalCode", "62701", "country", "US"));
+        client.post("POST /api/orders", "/api/orders", token, order);
+        if (random.nextInt(100) < 30) {
+            client.get("GET /api/orders/my-orders", "/api/orders/my-orders?cursor=&size=20", token);
+        }
+    }
+
+    private static void admin(LoadTestClient client, String adminToken, SplittableRandom random) {
+        if (random.nextBoolean()) {
+            client.get("GET /api/orders/admin/all", "/api/orders/admin/all?cursor=&size=50", adminToken);
+        } else {
+            client.get("GET /api/orders/admin/stats", "/api/orders/admin/stats", adminToken);
+        }
+    }
+
+    private static String signUp(LoadTestClient client, String username, String role) {
+        Map<String, Object> request = Map.of("username", username, "email", username + "@loadtest.local",
+                "password", PASSWORD, "firstName", "Load", "lastName", "Test", "role", role);
+        JsonNode response = client.post("POST /api/auth/signup", "/api/auth/signup", null, request);
+        if (response == null || !response.hasNonNull("token")) {
+            throw new IllegalStateException("Could not sign up load test user " + username);
+        }
+        return response.get("token").asText();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printSummary(Map<String, Object> report) {
+        System.out.printf("%n%-40s %10s %8s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms");
+        List<Map<String, Object>> rows = new ArrayList<>((List<Map<String, Object>>) report.get("endpoints"));
+        rows.add((Map<String, Object>) report.get("total"));
+        for (Map<String, Object> row : rows) {
+            System.out.printf("%-40s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    row.get("endpoint"), row.get("requests"), row.get("errors"), row.get("throughputPerSec"),
+                    row.get("p50Ms"), row.get("p95Ms"), row.get("p99Ms"), row.get("p999Ms"));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.loadtest;
+
+/**
+ * Kinds of traffic a virtual user draws from, weighted by the configured mix
+ */
+enum Workload {
+    // Product detail pages and category listings
+    BROWSE,
+    // Name search
+    SEARCH,
+    // Order placement followed by the customer's order history
+    CHECKOUT,
+    // Admin order listings and statistics
+    ADMIN
+}
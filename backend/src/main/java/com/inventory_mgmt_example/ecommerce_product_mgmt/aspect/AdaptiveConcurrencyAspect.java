@@ -0,0 +1,63 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.aspect;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.concurrency.AdaptiveConcurrencyLimiter;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.exception.RateLimitExceededException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sheds load in front of the product and order controllers once the adaptive
+ * in-flight limit is reached, before any rate limiter or Mongo work happens.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "app.concurrency.adaptive.enabled", havingValue = "true", matchIfMissing = true)
+public class AdaptiveConcurrencyAspect {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    @Autowired
+    @Qualifier("productConcurrencyLimiter")
+    private AdaptiveConcurrencyLimiter productConcurrencyLimiter;
+
+    @Autowired
+    @Qualifier("orderConcurrencyLimiter")
+    private AdaptiveConcurrencyLimiter orderConcurrencyLimiter;
+
+    @Pointcut("execution(* com.inventory_mgmt_example.ecommerce_product_mgmt.controller.ProductController.*(..))")
+    public void productControllerMethods() {}
+
+    @Pointcut("execution(* com.inventory_mgmt_example.ecommerce_product_mgmt.controller.OrderController.*(..))")
+    public void orderControllerMethods() {}
+
+    @Around("productControllerMethods()")
+    public Object limitProductRequests(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceedWithinLimit(productConcurrencyLimiter, joinPoint);
+    }
+
+    @Around("orderControllerMethods()")
+    public Object limitOrderRequests(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceedWithinLimit(orderConcurrencyLimiter, joinPoint);
+    }
+
+    private Object proceedWithinLimit(AdaptiveConcurrencyLimiter limiter, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!limiter.tryAcquire()) {
+            throw RateLimitExceededException.byConcurrencyLimit(limiter.getName(), RETRY_AFTER_SECONDS);
+        }
+        long startNanos = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            limiter.release(startNanos, System.nanoTime());
+        }
+    }
+}
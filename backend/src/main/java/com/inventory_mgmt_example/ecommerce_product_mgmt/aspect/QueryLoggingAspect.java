@@ -1,22 +1,43 @@
 package com.inventory_mgmt_example.ecommerce_product_mgmt.aspect;
 
 import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLog;
-import com.inventory_mgmt_example.ecommerce_product_mgmt.repository.QueryLogRepository;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.querylog.QueryLogMode;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.querylog.QueryLogResponseFilter;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.querylog.QueryLogWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.lang.reflect.Method;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Logs ProductController calls at the tier set by {@code app.query-log.mode} (see
+ * {@link QueryLogMode}). In sampled mode the QueryLog is only built for calls that are kept,
+ * so the cost follows what is stored: a random {@code sample-rate} share of calls plus every
+ * call that failed, returned 4xx/5xx or took {@code slow-threshold-ms} or longer. The response
+ * size is the number of bytes actually written, filled in by {@link QueryLogResponseFilter}.
+ */
 @Aspect
 @Component
 public class QueryLoggingAspect {
@@ -24,7 +45,24 @@ public class QueryLoggingAspect {
     private static final Logger logger = LoggerFactory.getLogger(QueryLoggingAspect.class);
 
     @Autowired
-    private QueryLogRepository queryLogRepository;
+    private QueryLogWriter queryLogWriter;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.query-log.mode:FULL}")
+    private QueryLogMode mode = QueryLogMode.FULL;
+
+    @Value("${app.query-log.sample-rate:0.1}")
+    private double sampleRate = 0.1;
+
+    @Value("${app.query-log.slow-threshold-ms:1000}")
+    private long slowThresholdMs = 1000;
+
+    /**
+     * Success and failure timers per controller method
+     */
+    private final Map<Method, Timer[]> callTimers = new ConcurrentHashMap<>();
 
     /**
      * Pointcut for all controller methods in ProductController
@@ -33,15 +71,43 @@ public class QueryLoggingAspect {
     public void productControllerMethods() {}
 
     /**
-     * Around advice to log all API calls
+     * Around advice to log API calls
      */
     @Around("productControllerMethods()")
     public Object logQueryActivity(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
+        if (mode == QueryLogMode.OFF) {
+            return joinPoint.proceed();
+        }
+        long startMillis = System.currentTimeMillis();
+        // Monotonic clock; wall-clock time can jump while the call runs
+        long startNanos = System.nanoTime();
+        Object result = null;
+        Exception failure = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Exception e) {
+            failure = e;
+            throw e; // Re-throw the exception
+        } finally {
+            complete(joinPoint, startMillis, System.nanoTime() - startNanos, result, failure);
+        }
+    }
+
+    private void complete(ProceedingJoinPoint joinPoint, long startMillis, long elapsedNanos, Object result, Exception failure) {
+        int responseStatus = failure != null ? 500
+                : result instanceof ResponseEntity<?> responseEntity ? responseEntity.getStatusCode().value() : 0;
+        boolean failed = failure != null || responseStatus >= 400;
+        recordCall(joinPoint, elapsedNanos, failed);
+
+        long executionTime = elapsedNanos / 1_000_000;
+        if (!mode.persists() || !keep(failed, executionTime)) {
+            return;
+        }
+
         String methodName = joinPoint.getSignature().getName();
         String className = joinPoint.getTarget().getClass().getSimpleName();
-        Object[] args = joinPoint.getArgs();
-        
+
         // Get HTTP request details
         HttpServletRequest request = getCurrentHttpRequest();
         String clientIp = getClientIpAddress(request);
@@ -49,56 +115,60 @@ public class QueryLoggingAspect {
         String requestUri = request != null ? request.getRequestURI() : "UNKNOWN";
         String queryString = request != null ? request.getQueryString() : "";
         String userAgent = request != null ? request.getHeader("User-Agent") : "UNKNOWN";
-        
+
         QueryLog queryLog = new QueryLog();
-        queryLog.setTimestamp(LocalDateTime.now());
+        queryLog.setTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(startMillis), ZoneId.systemDefault()));
         queryLog.setClientIp(clientIp);
         queryLog.setHttpMethod(httpMethod);
         queryLog.setRequestUri(requestUri);
+        if (request != null && request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern) {
+            queryLog.setRequestPattern(pattern);
+        }
         queryLog.setQueryString(queryString);
         queryLog.setControllerMethod(className + "." + methodName);
-        queryLog.setMethodArguments(Arrays.toString(args));
+        queryLog.setMethodArguments(Arrays.toString(joinPoint.getArgs()));
         queryLog.setUserAgent(userAgent);
-        
-        Object result = null;
-        boolean success = true;
-        String errorMessage = null;
-        
-        try {
-            // Execute the actual method
-            result = joinPoint.proceed();
-            
-            // Log response details
-            if (result instanceof ResponseEntity) {
-                ResponseEntity<?> responseEntity = (ResponseEntity<?>) result;
-                queryLog.setResponseStatus(responseEntity.getStatusCode().value());
-                queryLog.setResponseSize(calculateResponseSize(responseEntity.getBody()));
-            }
-            
-        } catch (Exception e) {
-            success = false;
-            errorMessage = e.getMessage();
-            queryLog.setResponseStatus(500);
-            queryLog.setErrorMessage(errorMessage);
-            logger.error("Error in method {}: {}", methodName, errorMessage, e);
-            throw e; // Re-throw the exception
-        } finally {
-            long endTime = System.currentTimeMillis();
-            long executionTime = endTime - startTime;
-            
-            queryLog.setExecutionTimeMs(executionTime);
-            queryLog.setSuccess(success);
-            
-            // Save the log asynchronously to avoid impacting performance
-            saveQueryLogAsync(queryLog);
-            
-            // Also log to console for debugging
-            logger.info("API Call: {} {} - Method: {} - IP: {} - Duration: {}ms - Status: {}", 
-                    httpMethod, requestUri, methodName, clientIp, executionTime, 
-                    queryLog.getResponseStatus());
+        queryLog.setResponseStatus(responseStatus);
+        queryLog.setExecutionTimeMs(executionTime);
+        queryLog.setSuccess(failure == null);
+        if (failure != null) {
+            queryLog.setErrorMessage(failure.getMessage());
+            logger.error("Error in method {}: {}", methodName, failure.getMessage(), failure);
         }
-        
-        return result;
+
+        // Written once the response is out, with its size; directly if there is no response to wait for
+        if (!QueryLogResponseFilter.deferUntilWritten(request, queryLog)) {
+            queryLogWriter.write(queryLog);
+        }
+
+        logger.info("API Call: {} {} - Method: {} - IP: {} - Duration: {}ms - Status: {}",
+                httpMethod, requestUri, methodName, clientIp, executionTime, responseStatus);
+    }
+
+    /**
+     * Full mode keeps every call; sampled mode keeps failures, slow calls and a random share of the rest
+     */
+    private boolean keep(boolean failed, long executionTimeMs) {
+        return mode == QueryLogMode.FULL
+                || failed
+                || executionTimeMs >= slowThresholdMs
+                || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private void recordCall(ProceedingJoinPoint joinPoint, long elapsedNanos, boolean failed) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer[] timers = callTimers.computeIfAbsent(method, m -> new Timer[]{callTimer(m, "SUCCESS"), callTimer(m, "FAILURE")});
+        timers[failed ? 1 : 0].record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer callTimer(Method method, String outcome) {
+        return Timer.builder("app.query-log.calls")
+                .description("Logged controller calls by method and outcome")
+                .tags("method", method.getDeclaringClass().getSimpleName() + "." + method.getName(), "outcome", outcome)
+                .register(meterRegistry);
     }
 
     /**
@@ -132,32 +202,15 @@ public class QueryLoggingAspect {
         return request.getRemoteAddr();
     }
 
-    /**
-     * Calculate approximate response size
-     */
-    private long calculateResponseSize(Object responseBody) {
-        if (responseBody == null) return 0;
-        return responseBody.toString().length();
-    }
-
-    /**
-     * Save query log asynchronously to avoid blocking the main thread
-     */
-    private void saveQueryLogAsync(QueryLog queryLog) {
-        try {
-            queryLogRepository.save(queryLog);
-        } catch (Exception e) {
-            logger.error("Failed to save query log: {}", e.getMessage());
-        }
-    }
-
     /**
      * Log method entry (optional - for detailed debugging)
      */
     @Before("productControllerMethods()")
     public void logMethodEntry(JoinPoint joinPoint) {
-        logger.debug("Entering method: {} with arguments: {}", 
-                joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
+        if (logger.isDebugEnabled()) {
+            logger.debug("Entering method: {} with arguments: {}",
+                    joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
+        }
     }
 
     /**
@@ -0,0 +1,70 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.aspect;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.exception.RateLimitExceededException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.github.resilience4j.ratelimiter.internal.AtomicRateLimiter;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Translates Resilience4j rejections into {@link RateLimitExceededException} carrying
+ * a Retry-After hint. Runs outside the Resilience4j aspects so it sees their exceptions.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RateLimitRejectionAspect {
+
+    private static final long BULKHEAD_RETRY_AFTER_SECONDS = 1;
+
+    @Autowired
+    private RateLimiterRegistry rateLimiterRegistry;
+
+    /**
+     * Pointcut for controller methods guarded by a rate limiter or bulkhead
+     */
+    @Pointcut("@annotation(io.github.resilience4j.ratelimiter.annotation.RateLimiter) || " +
+              "@annotation(io.github.resilience4j.bulkhead.annotation.Bulkhead)")
+    public void limitedMethods() {}
+
+    @Around("limitedMethods()")
+    public Object translateRejections(ProceedingJoinPoint joinPoint) throws Throwable {
+        try {
+            return joinPoint.proceed();
+        } catch (RequestNotPermitted e) {
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            String name = method.getAnnotation(io.github.resilience4j.ratelimiter.annotation.RateLimiter.class).name();
+            throw RateLimitExceededException.byRateLimiter(name, retryAfterSeconds(name));
+        } catch (BulkheadFullException e) {
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            String name = method.getAnnotation(Bulkhead.class).name();
+            throw RateLimitExceededException.byBulkhead(name, BULKHEAD_RETRY_AFTER_SECONDS);
+        }
+    }
+
+    /**
+     * Seconds until the limiter's next refresh, rounded up and never below one
+     */
+    private long retryAfterSeconds(String limiterName) {
+        RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter(limiterName);
+        long nanosToWait = rateLimiter instanceof AtomicRateLimiter atomicRateLimiter
+                ? atomicRateLimiter.getDetailedMetrics().getNanosToWait()
+                : rateLimiter.getRateLimiterConfig().getLimitRefreshPeriod().toNanos();
+        long seconds = TimeUnit.NANOSECONDS.toSeconds(nanosToWait + TimeUnit.SECONDS.toNanos(1) - 1);
+        return Math.max(1, seconds);
+    }
+}
@@ -0,0 +1,26 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.changestream;
+
+import com.mongodb.client.model.changestream.OperationType;
+
+/**
+ * Document-level operations forwarded to change listeners
+ */
+public enum ChangeOperation {
+    INSERT,
+    UPDATE,
+    REPLACE,
+    DELETE;
+
+    /**
+     * Map a driver operation type; collection-level operations (drop, rename, invalidate) map to null
+     */
+    public static ChangeOperation from(OperationType operationType) {
+        return switch (operationType) {
+            case INSERT -> INSERT;
+            case UPDATE -> UPDATE;
+            case REPLACE -> REPLACE;
+            case DELETE -> DELETE;
+            default -> null;
+        };
+    }
+}
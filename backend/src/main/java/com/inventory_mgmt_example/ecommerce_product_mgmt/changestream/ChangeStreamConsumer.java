@@ -0,0 +1,102 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.changestream;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.User;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.repository.ChangeStreamCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs one change stream tailer per watched collection (products, orders, users).
+ * Change streams need a replica set; a single-node replica set is enough locally:
+ * {@code docker run -d -p 27017:27017 mongo --replSet rs0} followed by {@code rs.initiate()}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.change-streams.enabled", havingValue = "true")
+public class ChangeStreamConsumer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeStreamConsumer.class);
+
+    private static final long STOP_TIMEOUT_MS = 10000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ChangeStreamCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.change-streams.checkpoint-every:100}")
+    private int checkpointEvery;
+
+    @Value("${app.change-streams.checkpoint-interval-ms:5000}")
+    private long checkpointIntervalMs;
+
+    @Value("${app.change-streams.max-await-ms:1000}")
+    private long maxAwaitMs;
+
+    @Value("${app.change-streams.dispatch-attempts:3}")
+    private int dispatchAttempts;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    private final List<CollectionChangeStream<?>> streams = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    @Override
+    public synchronized void start() {
+        streams.add(createStream(Product.class, List.of()));
+        streams.add(createStream(Order.class, List.of()));
+        // Credentials never leave the database through the change stream
+        streams.add(createStream(User.class, List.of("password")));
+
+        Thread.Builder threadBuilder = virtualThreadsEnabled ? Thread.ofVirtual() : Thread.ofPlatform().daemon(true);
+        for (CollectionChangeStream<?> stream : streams) {
+            threads.add(threadBuilder.name("change-stream-" + stream.getCollectionName()).start(stream));
+        }
+        running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        streams.forEach(CollectionChangeStream::stop);
+        for (Thread thread : threads) {
+            try {
+                thread.join(STOP_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        logger.info("Stopped {} change streams", streams.size());
+        streams.clear();
+        threads.clear();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private <T> CollectionChangeStream<T> createStream(Class<T> entityClass, List<String> excludedFields) {
+        return new CollectionChangeStream<>(mongoTemplate.getCollectionName(entityClass), entityClass,
+                mongoTemplate, checkpointRepository, eventPublisher, checkpointEvery, checkpointIntervalMs, maxAwaitMs,
+                dispatchAttempts, excludedFields);
+    }
+}
@@ -0,0 +1,257 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.changestream;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.ChangeStreamCheckpoint;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.ChangeStreamDeadLetter;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.repository.ChangeStreamCheckpointRepository;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tails one collection's change stream and republishes each change as a {@link DataChangeEvent}.
+ * <p>
+ * The resume token is checkpointed every {@code checkpointEvery} events and at least every
+ * {@code checkpointIntervalMs} (also while idle, using the post-batch token) so a restart
+ * resumes where the last checkpoint left off. Events after the last checkpoint are
+ * redelivered on restart, so listeners must tolerate duplicates.
+ * <p>
+ * A checkpoint never moves past an event that was not handled: a failing dispatch is retried
+ * {@code dispatchAttempts} times and then parked in {@code change_stream_dead_letters}. If
+ * even parking fails the stream reconnects from the last checkpoint and the event is
+ * redelivered. A checkpoint that has fallen off the oplog is logged and dropped, and the stream
+ * restarts from now. {@code excludedFields} are projected out on the server (full document and
+ * update description), so they never reach the application.
+ */
+public class CollectionChangeStream<T> implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CollectionChangeStream.class);
+
+    private static final long RECONNECT_BACKOFF_MS = 5000;
+    private static final long DISPATCH_RETRY_BACKOFF_MS = 100;
+    // The resume token has fallen off the oplog
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    private final String collectionName;
+    private final Class<T> entityClass;
+    private final MongoTemplate mongoTemplate;
+    private final ChangeStreamCheckpointRepository checkpointRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int checkpointEvery;
+    private final long checkpointIntervalNanos;
+    private final long maxAwaitMs;
+    private final int dispatchAttempts;
+    private final List<Bson> pipeline;
+
+    private volatile boolean running = true;
+    private volatile long eventsProcessed;
+
+    public CollectionChangeStream(String collectionName, Class<T> entityClass, MongoTemplate mongoTemplate,
+                                  ChangeStreamCheckpointRepository checkpointRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  int checkpointEvery, long checkpointIntervalMs, long maxAwaitMs,
+                                  int dispatchAttempts, List<String> excludedFields) {
+        this.collectionName = collectionName;
+        this.entityClass = entityClass;
+        this.mongoTemplate = mongoTemplate;
+        this.checkpointRepository = checkpointRepository;
+        this.eventPublisher = eventPublisher;
+        this.checkpointEvery = checkpointEvery;
+        this.checkpointIntervalNanos = TimeUnit.MILLISECONDS.toNanos(checkpointIntervalMs);
+        this.maxAwaitMs = maxAwaitMs;
+        this.dispatchAttempts = Math.max(1, dispatchAttempts);
+        this.pipeline = excludedFieldsPipeline(excludedFields);
+    }
+
+    @Override
+    public void run() {
+        logger.info("Starting change stream for collection: {}", collectionName);
+        while (running) {
+            try {
+                consume();
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                if (e instanceof MongoException mongoException && mongoException.getCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    // Retrying the same checkpoint can never succeed; the changes in between are lost
+                    logger.error("Change stream for {} cannot resume from its checkpoint, which is no longer in the oplog; "
+                            + "changes since the checkpoint are skipped, restarting from now", collectionName);
+                    checkpointRepository.deleteById(collectionName);
+                    continue;
+                }
+                logger.warn("Change stream for {} failed, reconnecting from last checkpoint: {}",
+                        collectionName, e.getMessage());
+                sleepQuietly(RECONNECT_BACKOFF_MS);
+            }
+        }
+        logger.info("Stopped change stream for collection: {}", collectionName);
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    public String getCollectionName() {
+        return collectionName;
+    }
+
+    public long getEventsProcessed() {
+        return eventsProcessed;
+    }
+
+    private void consume() {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(collectionName)
+                .watch(pipeline)
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(maxAwaitMs, TimeUnit.MILLISECONDS);
+
+        BsonDocument resumeToken = loadCheckpoint();
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+            BsonDocument lastSavedToken = resumeToken;
+            int sinceCheckpoint = 0;
+            long lastCheckpointNanos = System.nanoTime();
+
+            while (running) {
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change != null) {
+                    if (change.getOperationType() == OperationType.INVALIDATE) {
+                        // Collection dropped or renamed; the old token can no longer be resumed
+                        logger.warn("Change stream for {} invalidated, restarting from now", collectionName);
+                        checkpointRepository.deleteById(collectionName);
+                        return;
+                    }
+                    // Throws when the event could neither be dispatched nor parked, so the
+                    // checkpoint below never passes it
+                    handle(change);
+                    eventsProcessed++;
+                    sinceCheckpoint++;
+                }
+
+                BsonDocument token = cursor.getResumeToken();
+                boolean checkpointDue = sinceCheckpoint >= checkpointEvery
+                        || System.nanoTime() - lastCheckpointNanos >= checkpointIntervalNanos;
+                if (checkpointDue && token != null && !token.equals(lastSavedToken)) {
+                    checkpointRepository.save(new ChangeStreamCheckpoint(collectionName, token.toJson(), eventsProcessed));
+                    lastSavedToken = token;
+                    sinceCheckpoint = 0;
+                    lastCheckpointNanos = System.nanoTime();
+                }
+            }
+        }
+    }
+
+    private void handle(ChangeStreamDocument<Document> change) {
+        ChangeOperation operation = ChangeOperation.from(change.getOperationType());
+        if (operation == null) {
+            return;
+        }
+
+        Exception failure = null;
+        for (int attempt = 1; attempt <= dispatchAttempts && running; attempt++) {
+            try {
+                publish(change, operation);
+                return;
+            } catch (Exception e) {
+                failure = e;
+                logger.warn("Failed to dispatch {} change on {} (attempt {}/{}): {}",
+                        operation, collectionName, attempt, dispatchAttempts, e.getMessage());
+                if (attempt < dispatchAttempts) {
+                    sleepQuietly(DISPATCH_RETRY_BACKOFF_MS * attempt);
+                }
+            }
+        }
+        if (!running) {
+            // Stopped while retrying; not checkpointed, so redelivered after restart
+            throw new IllegalStateException("Change stream for " + collectionName + " stopped");
+        }
+
+        // A failing listener must not stall the stream for every other listener: park the event
+        BsonDocument resumeToken = change.getResumeToken();
+        mongoTemplate.insert(new ChangeStreamDeadLetter(collectionName, operation.name(),
+                documentId(change.getDocumentKey()), change.getFullDocument(), clusterTime(change.getClusterTime()),
+                resumeToken != null ? resumeToken.toJson() : null, String.valueOf(failure.getMessage())));
+        logger.error("Parked {} change on {} after {} failed dispatches: {}",
+                operation, collectionName, dispatchAttempts, failure.getMessage(), failure);
+    }
+
+    private void publish(ChangeStreamDocument<Document> change, ChangeOperation operation) {
+        T document = change.getFullDocument() != null
+                ? mongoTemplate.getConverter().read(entityClass, change.getFullDocument())
+                : null;
+        eventPublisher.publishEvent(new DataChangeEvent<>(collectionName, entityClass, operation,
+                documentId(change.getDocumentKey()), document, clusterTime(change.getClusterTime())));
+    }
+
+    private BsonDocument loadCheckpoint() {
+        return checkpointRepository.findById(collectionName)
+                .map(checkpoint -> {
+                    eventsProcessed = checkpoint.getEventsProcessed();
+                    return BsonDocument.parse(checkpoint.getResumeToken());
+                })
+                .orElse(null);
+    }
+
+    /**
+     * Server-side projection removing the fields from both the post-image and the update description
+     */
+    private static List<Bson> excludedFieldsPipeline(List<String> excludedFields) {
+        if (excludedFields.isEmpty()) {
+            return List.of();
+        }
+        List<String> paths = new ArrayList<>();
+        for (String field : excludedFields) {
+            paths.add("fullDocument." + field);
+            paths.add("updateDescription.updatedFields." + field);
+        }
+        return List.of(Aggregates.project(Projections.exclude(paths)));
+    }
+
+    private static String documentId(BsonDocument documentKey) {
+        if (documentKey == null) {
+            return null;
+        }
+        BsonValue id = documentKey.get("_id");
+        if (id == null) {
+            return null;
+        }
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : id.toString();
+    }
+
+    private static Instant clusterTime(BsonTimestamp timestamp) {
+        return timestamp != null ? Instant.ofEpochSecond(timestamp.getTime()) : Instant.now();
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.changestream;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+
+import java.time.Instant;
+
+/**
+ * A typed document change read from a MongoDB change stream.
+ * <p>
+ * Listeners subscribe with {@code @EventListener} on {@code DataChangeEvent<Product>},
+ * {@code DataChangeEvent<Order>} or {@code DataChangeEvent<User>}. The document is the
+ * post-image (looked up for updates) and is null for deletes.
+ */
+public class DataChangeEvent<T> implements ResolvableTypeProvider {
+
+    private final String collection;
+    private final Class<T> entityType;
+    private final ChangeOperation operation;
+    private final String documentId;
+    private final T document;
+    private final Instant clusterTime;
+
+    public DataChangeEvent(String collection, Class<T> entityType, ChangeOperation operation,
+                           String documentId, T document, Instant clusterTime) {
+        this.collection = collection;
+        this.entityType = entityType;
+        this.operation = operation;
+        this.documentId = documentId;
+        this.document = document;
+        this.clusterTime = clusterTime;
+    }
+
+    @Override
+    public ResolvableType getResolvableType() {
+        return ResolvableType.forClassWithGenerics(getClass(), ResolvableType.forClass(entityType));
+    }
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public Class<T> getEntityType() {
+        return entityType;
+    }
+
+    public ChangeOperation getOperation() {
+        return operation;
+    }
+
+    public String getDocumentId() {
+        return documentId;
+    }
+
+    public T getDocument() {
+        return document;
+    }
+
+    public Instant getClusterTime() {
+        return clusterTime;
+    }
+
+    @Override
+    public String toString() {
+        return "DataChangeEvent{" +
+                "collection='" + collection + '\'' +
+                ", operation=" + operation +
+                ", documentId='" + documentId + '\'' +
+                ", clusterTime=" + clusterTime +
+                '}';
+    }
+}
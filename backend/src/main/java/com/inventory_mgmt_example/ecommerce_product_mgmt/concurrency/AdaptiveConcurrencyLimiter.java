@@ -0,0 +1,101 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AIMD concurrency limiter driven by observed request latency.
+ * <p>
+ * The in-flight limit grows by roughly one for every full window of fast responses and is
+ * cut multiplicatively when a response exceeds the latency target. Only one cut is applied
+ * per window (requests that started before the last cut are ignored), so a single slow
+ * burst does not collapse the limit straight to the minimum.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile double limit;
+    private long lastDecreaseNanos = Long.MIN_VALUE;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      long latencyTargetNanos, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limit bounds: " + minLimit + " - " + maxLimit);
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Try to take an in-flight slot; returns false (and counts a rejection) when the limit is reached
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release a slot taken by {@link #tryAcquire()} and feed the observed latency back into the limit
+     */
+    public void release(long startNanos, long endNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        adjustLimit(startNanos, endNanos, inFlightAtCompletion);
+    }
+
+    private synchronized void adjustLimit(long startNanos, long endNanos, int inFlightAtCompletion) {
+        if (endNanos - startNanos > latencyTargetNanos) {
+            if (startNanos > lastDecreaseNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreaseNanos = endNanos;
+            }
+        } else if (inFlightAtCompletion * 2 >= limit) {
+            // Only grow while the limit is actually being used, otherwise idle periods inflate it
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,60 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Async and scheduled execution.
+ * <p>
+ * Setting {@code spring.threads.virtual.enabled=true} switches Tomcat request handling,
+ * Boot's {@code applicationTaskExecutor} and the {@code @Scheduled} scheduler to virtual
+ * threads. Any {@code Executor} bean makes Boot skip {@code applicationTaskExecutor}, which
+ * would leave MVC async requests and {@code @Async} on an unbounded
+ * {@code SimpleAsyncTaskExecutor}; {@code spring.task.execution.mode=force} keeps it in place
+ * next to the query log executor below, which follows the same switch.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${app.query-log.writer.max-concurrency:64}")
+    private int queryLogMaxConcurrency;
+
+    @Value("${app.query-log.writer.queue-capacity:10000}")
+    private int queryLogQueueCapacity;
+
+    /**
+     * Executor for persisting query logs off the request thread
+     */
+    @Bean(name = "queryLogExecutor")
+    public ThreadPoolTaskExecutor queryLogExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("query-log-");
+        executor.setQueueCapacity(queryLogQueueCapacity);
+        if (virtualThreadsEnabled) {
+            // Up to max-concurrency virtual threads; once the queue is full writes are rejected
+            // and counted by QueryLogWriter, so a slow Mongo sheds logs instead of holding callers
+            executor.setVirtualThreads(true);
+            executor.setCorePoolSize(queryLogMaxConcurrency);
+            executor.setMaxPoolSize(queryLogMaxConcurrency);
+            executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+            return executor;
+        }
+
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        // Fall back to writing on the caller when the queue is full rather than dropping logs
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,67 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.config;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.concurrency.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    @Value("${app.concurrency.adaptive.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${app.concurrency.adaptive.min-limit:4}")
+    private int minLimit;
+
+    @Value("${app.concurrency.adaptive.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${app.concurrency.adaptive.latency-target-ms:250}")
+    private long latencyTargetMs;
+
+    @Value("${app.concurrency.adaptive.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Bean
+    public AdaptiveConcurrencyLimiter productConcurrencyLimiter(MeterRegistry meterRegistry) {
+        return registerMetrics(createLimiter("products"), meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter orderConcurrencyLimiter(MeterRegistry meterRegistry) {
+        return registerMetrics(createLimiter("orders"), meterRegistry);
+    }
+
+    private AdaptiveConcurrencyLimiter createLimiter(String name) {
+        return new AdaptiveConcurrencyLimiter(name, initialLimit, minLimit, maxLimit,
+                TimeUnit.MILLISECONDS.toNanos(latencyTargetMs), backoffRatio);
+    }
+
+    /**
+     * Expose the current limit, in-flight count and accepted/rejected counters.
+     * Rejection rate is rate(app_concurrency_requests_total{outcome="rejected"}) in Prometheus.
+     */
+    private AdaptiveConcurrencyLimiter registerMetrics(AdaptiveConcurrencyLimiter limiter, MeterRegistry meterRegistry) {
+        Gauge.builder("app.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("limiter", limiter.getName())
+                .description("Current adaptive in-flight request limit")
+                .register(meterRegistry);
+        Gauge.builder("app.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("limiter", limiter.getName())
+                .description("Requests currently holding a concurrency slot")
+                .register(meterRegistry);
+        FunctionCounter.builder("app.concurrency.requests", limiter, AdaptiveConcurrencyLimiter::getAcceptedCount)
+                .tags("limiter", limiter.getName(), "outcome", "accepted")
+                .register(meterRegistry);
+        FunctionCounter.builder("app.concurrency.requests", limiter, AdaptiveConcurrencyLimiter::getRejectedCount)
+                .tags("limiter", limiter.getName(), "outcome", "rejected")
+                .register(meterRegistry);
+        return limiter;
+    }
+}
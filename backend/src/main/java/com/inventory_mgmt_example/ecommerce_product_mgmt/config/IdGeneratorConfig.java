@@ -0,0 +1,19 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.config;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.id.NodeIdAllocator;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.id.SnowflakeIdGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Order and tracking numbers come from a per-instance Snowflake generator; the node id
+ * keeps numbers from different replicas apart.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(NodeIdAllocator nodeIdAllocator) {
+        return new SnowflakeIdGenerator(nodeIdAllocator::getNodeId);
+    }
+}
@@ -0,0 +1,65 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.config;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.mongo.MongoCommandMetricsListener;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.mongo.SlowQueryEndpoint;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.mongo.SlowQueryLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MongoDB command metrics per repository method and the slow query ring behind
+ * {@code /actuator/slowqueries}
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.mongo.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class MongoInstrumentationConfig {
+
+    // Off by default: sizing re-encodes each command and reply on the calling thread
+    @Value("${app.mongo.instrumentation.measure-bytes:false}")
+    private boolean measureBytes;
+
+    @Value("${app.mongo.slow-query.threshold-ms:100}")
+    private long slowQueryThresholdMs;
+
+    @Value("${app.mongo.slow-query.capacity:100}")
+    private int slowQueryCapacity;
+
+    @Value("${app.mongo.slow-query.plan-cache-ms:60000}")
+    private long planCacheMs;
+
+    /**
+     * Explains run on one daemon thread with a short queue; beyond that slow queries are kept without a plan
+     */
+    @Bean
+    public SlowQueryLog slowQueryLog(ObjectProvider<MongoDatabaseFactory> databaseFactory) {
+        ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(32), runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        return new SlowQueryLog(slowQueryCapacity, slowQueryThresholdMs, planCacheMs,
+                database -> databaseFactory.getObject().getMongoDatabase(database), explainExecutor);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandMetricsListener(MeterRegistry meterRegistry, SlowQueryLog slowQueryLog) {
+        MongoCommandMetricsListener listener = new MongoCommandMetricsListener(meterRegistry, slowQueryLog, measureBytes);
+        return settings -> settings.addCommandListener(listener);
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryLog slowQueryLog) {
+        return new SlowQueryEndpoint(slowQueryLog);
+    }
+}
@@ -0,0 +1,68 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.config;
+
+import com.mongodb.MongoException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+/**
+ * Multi-document transactions for order placement. Only enabled on request because
+ * transactions need a replica set; with this manager present, @Transactional service
+ * methods run in MongoDB session transactions.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.orders.transactions.enabled", havingValue = "true")
+public class MongoTransactionConfig {
+
+    @Bean
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory,
+                                                      @Value("${app.orders.transactions.commit-attempts:3}") int commitAttempts,
+                                                      @Value("${app.orders.transactions.retry-backoff-ms:20}") long retryBackoffMs) {
+        return new CommitRetryingTransactionManager(databaseFactory, commitAttempts, retryBackoffMs);
+    }
+
+    /**
+     * Retries only the commit when its outcome is unknown (e.g. a network error or primary
+     * step-down during commitTransaction). Commit is idempotent, so retrying it cannot apply
+     * the transaction twice, whereas re-running the transaction body could.
+     */
+    static class CommitRetryingTransactionManager extends MongoTransactionManager {
+
+        private static final Logger logger = LoggerFactory.getLogger(CommitRetryingTransactionManager.class);
+
+        private final int commitAttempts;
+        private final long retryBackoffMs;
+
+        CommitRetryingTransactionManager(MongoDatabaseFactory databaseFactory, int commitAttempts, long retryBackoffMs) {
+            super(databaseFactory);
+            this.commitAttempts = commitAttempts;
+            this.retryBackoffMs = retryBackoffMs;
+        }
+
+        @Override
+        protected void doCommit(MongoTransactionObject transactionObject) throws Exception {
+            commitWithRetry(transactionObject::commitTransaction);
+        }
+
+        void commitWithRetry(Runnable commit) throws InterruptedException {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    commit.run();
+                    return;
+                } catch (MongoException e) {
+                    if (attempt >= commitAttempts || !e.hasErrorLabel(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL)) {
+                        throw e;
+                    }
+                    logger.warn("Unknown transaction commit result (attempt {}/{}), retrying commit: {}",
+                            attempt, commitAttempts, e.getMessage());
+                    Thread.sleep(retryBackoffMs * attempt);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.config;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.querylog.QueryLogMode;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.querylog.QueryLogResponseFilter;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.querylog.QueryLogWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Query log persistence: the response filter is only active in the modes that store logs
+ */
+@Configuration
+public class QueryLogConfig {
+
+    @Value("${app.query-log.mode:FULL}")
+    private QueryLogMode mode;
+
+    @Bean
+    public FilterRegistrationBean<QueryLogResponseFilter> queryLogResponseFilter(QueryLogWriter queryLogWriter) {
+        FilterRegistrationBean<QueryLogResponseFilter> registration =
+                new FilterRegistrationBean<>(new QueryLogResponseFilter(queryLogWriter));
+        registration.addUrlPatterns("/api/*");
+        // Innermost, right around the DispatcherServlet that writes the body
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 10);
+        registration.setEnabled(mode.persists());
+        return registration;
+    }
+}
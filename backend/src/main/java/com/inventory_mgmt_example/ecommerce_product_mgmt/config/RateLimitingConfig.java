@@ -1,8 +1,11 @@
 package com.inventory_mgmt_example.ecommerce_product_mgmt.config;
 
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.ratelimiter.RateLimiterConfig;
 import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,41 +14,83 @@ import java.time.Duration;
 @Configuration
 public class RateLimitingConfig {
 
+    /**
+     * When enabled, requests over the limit are rejected immediately (429 + Retry-After)
+     * instead of parking a request thread until the next refresh period.
+     */
+    @Value("${app.rate-limit.fail-fast:true}")
+    private boolean failFast;
+
+    @Value("${app.rate-limit.product-api.limit-for-period:100}")
+    private int productApiLimit;
+
+    @Value("${app.rate-limit.bulk-operations.limit-for-period:10}")
+    private int bulkOperationLimit;
+
+    @Value("${app.rate-limit.search-api.limit-for-period:200}")
+    private int searchApiLimit;
+
+    @Value("${app.bulkhead.product-api.max-concurrent-calls:50}")
+    private int productApiConcurrency;
+
+    @Value("${app.bulkhead.bulk-operations.max-concurrent-calls:4}")
+    private int bulkOperationConcurrency;
+
+    @Value("${app.bulkhead.search-api.max-concurrent-calls:20}")
+    private int searchApiConcurrency;
+
+    /**
+     * Registry used by the @RateLimiter annotations, pre-populated with the per-API limiters
+     */
     @Bean
     public RateLimiterRegistry rateLimiterRegistry() {
-        return RateLimiterRegistry.ofDefaults();
+        RateLimiterRegistry registry = RateLimiterRegistry.ofDefaults();
+        registry.rateLimiter("product-api", limiterConfig(productApiLimit, Duration.ofSeconds(5)));
+        registry.rateLimiter("bulk-operations", limiterConfig(bulkOperationLimit, Duration.ofSeconds(10)));
+        registry.rateLimiter("search-api", limiterConfig(searchApiLimit, Duration.ofSeconds(3)));
+        return registry;
     }
 
     @Bean
-    public RateLimiter productApiRateLimiter() {
-        RateLimiterConfig config = RateLimiterConfig.custom()
-                .limitRefreshPeriod(Duration.ofMinutes(1))
-                .limitForPeriod(100) // 100 requests per minute
-                .timeoutDuration(Duration.ofSeconds(5))
-                .build();
-        
-        return RateLimiter.of("product-api", config);
+    public RateLimiter productApiRateLimiter(RateLimiterRegistry rateLimiterRegistry) {
+        return rateLimiterRegistry.rateLimiter("product-api"); // 100 requests per minute
     }
 
     @Bean
-    public RateLimiter bulkOperationRateLimiter() {
-        RateLimiterConfig config = RateLimiterConfig.custom()
-                .limitRefreshPeriod(Duration.ofMinutes(1))
-                .limitForPeriod(10) // 10 bulk operations per minute
-                .timeoutDuration(Duration.ofSeconds(10))
-                .build();
-        
-        return RateLimiter.of("bulk-operations", config);
+    public RateLimiter bulkOperationRateLimiter(RateLimiterRegistry rateLimiterRegistry) {
+        return rateLimiterRegistry.rateLimiter("bulk-operations"); // 10 bulk operations per minute
     }
 
     @Bean
-    public RateLimiter searchRateLimiter() {
-        RateLimiterConfig config = RateLimiterConfig.custom()
+    public RateLimiter searchRateLimiter(RateLimiterRegistry rateLimiterRegistry) {
+        return rateLimiterRegistry.rateLimiter("search-api"); // 200 search requests per minute
+    }
+
+    /**
+     * Per-endpoint concurrency bulkheads so one slow endpoint group cannot
+     * occupy every request thread. Calls over the limit are rejected without waiting.
+     */
+    @Bean
+    public BulkheadRegistry bulkheadRegistry() {
+        BulkheadRegistry registry = BulkheadRegistry.ofDefaults();
+        registry.bulkhead("product-api", bulkheadConfig(productApiConcurrency));
+        registry.bulkhead("bulk-operations", bulkheadConfig(bulkOperationConcurrency));
+        registry.bulkhead("search-api", bulkheadConfig(searchApiConcurrency));
+        return registry;
+    }
+
+    private RateLimiterConfig limiterConfig(int limitForPeriod, Duration blockingTimeout) {
+        return RateLimiterConfig.custom()
                 .limitRefreshPeriod(Duration.ofMinutes(1))
-                .limitForPeriod(200) // 200 search requests per minute
-                .timeoutDuration(Duration.ofSeconds(3))
+                .limitForPeriod(limitForPeriod)
+                .timeoutDuration(failFast ? Duration.ZERO : blockingTimeout)
+                .build();
+    }
+
+    private BulkheadConfig bulkheadConfig(int maxConcurrentCalls) {
+        return BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
                 .build();
-        
-        return RateLimiter.of("search-api", config);
     }
 }
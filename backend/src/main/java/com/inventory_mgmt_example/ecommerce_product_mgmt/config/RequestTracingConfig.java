@@ -0,0 +1,62 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.tracing.MongoCommandPhaseListener;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.tracing.RequestPhaseMetrics;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.tracing.RequestTracingFilter;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.tracing.TimedJacksonHttpMessageConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Per-endpoint request latency split into phases: security filter chain, service,
+ * repository (MongoDB command time), serialization and the rest (controller, MVC
+ * dispatch). See {@link RequestPhaseMetrics} for the metric.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestTracingConfig {
+
+    @Bean
+    public RequestPhaseMetrics requestPhaseMetrics(MeterRegistry meterRegistry) {
+        return new RequestPhaseMetrics(meterRegistry);
+    }
+
+    /**
+     * Runs first so the trace covers the security filter chain
+     */
+    @Bean
+    public FilterRegistrationBean<RequestTracingFilter> requestTracingFilter(RequestPhaseMetrics requestPhaseMetrics) {
+        FilterRegistrationBean<RequestTracingFilter> registration =
+                new FilterRegistrationBean<>(new RequestTracingFilter(requestPhaseMetrics));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestTracingFilter.SecurityCompletedFilter> securityCompletedFilter() {
+        FilterRegistrationBean<RequestTracingFilter.SecurityCompletedFilter> registration =
+                new FilterRegistrationBean<>(new RequestTracingFilter.SecurityCompletedFilter());
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandPhaseListener() {
+        return settings -> settings.addCommandListener(new MongoCommandPhaseListener());
+    }
+
+    /**
+     * Takes the place of Spring Boot's default JSON converter
+     */
+    @Bean
+    public TimedJacksonHttpMessageConverter timedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJacksonHttpMessageConverter(objectMapper);
+    }
+}
@@ -66,6 +66,8 @@ public class WebSecurityConfig {
             .authorizeHttpRequests(auth -> 
                 auth.requestMatchers("/api/auth/**").permitAll()
                     .requestMatchers("/api/products/**").permitAll() // For now, allow all product access
+                    .requestMatchers("/api/catalog/**").permitAll()
+                    .requestMatchers("/actuator/slowqueries/**").hasRole("ADMIN") // Captured queries carry filter values
                     .requestMatchers("/actuator/**").permitAll()
                     .anyRequest().authenticated()
             );
@@ -0,0 +1,64 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.controller;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.ReactiveProductService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Streaming catalog reads backed by the reactive Mongo driver.
+ * <p>
+ * Results are written element by element as NDJSON (default) or SSE depending on the
+ * Accept header; the request thread is released while Mongo is producing documents.
+ */
+@RestController
+@RequestMapping("/api/catalog/products")
+@CrossOrigin(origins = "*")
+public class CatalogStreamController {
+
+    @Autowired
+    private ReactiveProductService reactiveProductService;
+
+    /**
+     * Stream all products
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<Product> streamAllProducts() {
+        return reactiveProductService.streamAllProducts();
+    }
+
+    /**
+     * Get product by ID
+     */
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Product> getProductById(@PathVariable("id") String id) {
+        return reactiveProductService.getProductById(id);
+    }
+
+    /**
+     * Stream products by name
+     */
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<Product> searchProductsByName(@RequestParam String name) {
+        return reactiveProductService.searchProductsByName(name);
+    }
+
+    /**
+     * Stream products by category
+     */
+    @GetMapping(value = "/category/{category}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<Product> streamProductsByCategory(@PathVariable("category") String category) {
+        return reactiveProductService.streamProductsByCategory(category);
+    }
+
+    /**
+     * Stream products by brand
+     */
+    @GetMapping(value = "/brand/{brand}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<Product> streamProductsByBrand(@PathVariable("brand") String brand) {
+        return reactiveProductService.streamProductsByBrand(brand);
+    }
+}
@@ -1,33 +1,83 @@
 package com.inventory_mgmt_example.ecommerce_product_mgmt.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.BulkStatusUpdateRequest;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.BulkStatusUpdateResult;
 import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.OrderCreateDTO;
 import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
 import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatus;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.OrderExportService;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.OrderExportService.ExportFormat;
 import com.inventory_mgmt_example.ecommerce_product_mgmt.service.OrderService;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.OrderStatisticsService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/orders")
 @CrossOrigin(origins = "http://localhost:5173")
 public class OrderController {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("orderDate", "createdAt", "finalAmount", "status");
+
+    /**
+     * Upper bound for keyset (cursor) pages; offset pages use app.orders.page.max-size
+     */
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    /**
+     * Cap for offset page sizes; 0 leaves them unbounded
+     */
+    @Value("${app.orders.page.max-size:0}")
+    private int maxPageSize;
+
+    /**
+     * Reject offset-page sort fields outside SORTABLE_FIELDS
+     */
+    @Value("${app.orders.page.restrict-sort-fields:false}")
+    private boolean restrictSortFields;
+
+    /**
+     * Async timeout of the export alone; other async endpoints keep spring.mvc.async.request-timeout
+     */
+    @Value("${app.order-export.timeout-ms:1800000}")
+    private long exportTimeoutMs = 1800000;
+
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderStatisticsService orderStatisticsService;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<?> createOrder(@RequestBody OrderCreateDTO orderCreateDTO) {
@@ -40,18 +90,28 @@ public class OrderController {
         }
     }
 
+    /**
+     * List the current user's orders. Pass {@code cursor} (empty for the first page) for keyset
+     * pagination, or {@code slice=true} for offset pages without the total count query.
+     */
     @GetMapping("/my-orders")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<?> getMyOrders(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "orderDate") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean slice) {
         try {
             String username = getCurrentUsername();
-            Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? 
-                Sort.Direction.DESC : Sort.Direction.ASC;
-            Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+            if (cursor != null) {
+                return ResponseEntity.ok(orderService.getUserOrders(username, cursor, cursorPageSize(size)));
+            }
+            Pageable pageable = pageRequest(page, size, sortBy, sortDir);
+            if (slice) {
+                return ResponseEntity.ok(orderService.getUserOrderSlice(username, pageable));
+            }
             
             Page<Order> orders = orderService.getUserOrders(username, pageable);
             return ResponseEntity.ok(orders);
@@ -146,11 +206,17 @@ public class OrderController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "orderDate") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean slice) {
         try {
-            Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? 
-                Sort.Direction.DESC : Sort.Direction.ASC;
-            Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+            if (cursor != null) {
+                return ResponseEntity.ok(orderService.getAllOrders(cursor, cursorPageSize(size)));
+            }
+            Pageable pageable = pageRequest(page, size, sortBy, sortDir);
+            if (slice) {
+                return ResponseEntity.ok(orderService.getAllOrderSlice(pageable));
+            }
             
             Page<Order> orders = orderService.getAllOrders(pageable);
             return ResponseEntity.ok(orders);
@@ -164,9 +230,17 @@ public class OrderController {
     public ResponseEntity<?> getOrdersByStatus(
             @PathVariable OrderStatus status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean slice) {
         try {
-            Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "orderDate"));
+            if (cursor != null) {
+                return ResponseEntity.ok(orderService.getOrdersByStatus(status, cursor, cursorPageSize(size)));
+            }
+            Pageable pageable = PageRequest.of(page, pageSize(size), Sort.by(Sort.Direction.DESC, "orderDate"));
+            if (slice) {
+                return ResponseEntity.ok(orderService.getOrderSliceByStatus(status, pageable));
+            }
             Page<Order> orders = orderService.getOrdersByStatus(status, pageable);
             return ResponseEntity.ok(orders);
         } catch (Exception e) {
@@ -189,6 +263,17 @@ public class OrderController {
         }
     }
 
+    @PutMapping("/admin/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> updateOrderStatuses(@Valid @RequestBody BulkStatusUpdateRequest request) {
+        try {
+            BulkStatusUpdateResult result = orderService.updateOrderStatuses(request.getOrderIds(), request.getStatus());
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PutMapping("/admin/{orderId}/tracking")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> addTrackingNumber(
@@ -216,16 +301,78 @@ public class OrderController {
 
     @GetMapping("/admin/stats")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> getOrderStats() {
+    public ResponseEntity<?> getOrderStats(
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "10") int topProducts) {
+        try {
+            return ResponseEntity.ok(orderStatisticsService.getStatistics(days, topProducts));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/admin/stats/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rebuildOrderStats() {
         try {
-            long totalOrders = orderService.getOrderCount();
-            return ResponseEntity.ok(Map.of("totalOrders", totalOrders));
+            orderStatisticsService.rebuild();
+            return ResponseEntity.ok(orderStatisticsService.getStatistics(30, 10));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    /**
+     * Stream orders as CSV or NDJSON (optionally gzipped) in orderDate order with constant memory.
+     * The declared body type must be StreamingResponseBody for Spring MVC to stream it; the
+     * timeout of the async request it runs in is raised for this request only.
+     */
+    @GetMapping("/admin/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) OrderStatus status,
+            HttpServletRequest request) {
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportTimeoutMs);
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        } catch (Exception e) {
+            Map<String, String> error = Map.of("error", "Unsupported export format: " + format);
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, error));
+        }
+
+        String filename = "orders." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> orderExportService.export(out, exportFormat, gzip, from, to, status);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
     // Helper methods
+    private Pageable pageRequest(int page, int size, String sortBy, String sortDir) {
+        if (restrictSortFields && !SORTABLE_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortBy);
+        }
+        Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ?
+            Sort.Direction.DESC : Sort.Direction.ASC;
+        return PageRequest.of(page, pageSize(size), Sort.by(direction, sortBy));
+    }
+
+    private int pageSize(int size) {
+        return maxPageSize > 0 ? Math.min(size, maxPageSize) : size;
+    }
+
+    private int cursorPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+
     private String getCurrentUsername() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         return authentication.getName();
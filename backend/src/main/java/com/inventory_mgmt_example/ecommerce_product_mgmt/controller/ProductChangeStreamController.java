@@ -0,0 +1,28 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.controller;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.ProductChangeStreamService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/products/stream")
+@CrossOrigin(origins = "*")
+public class ProductChangeStreamController {
+
+    @Autowired
+    private ProductChangeStreamService productChangeStreamService;
+
+    /**
+     * Subscribe to price and stock changes, optionally filtered by product ids or category
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProductChanges(
+            @RequestParam(required = false) Set<String> productIds,
+            @RequestParam(required = false) String category) {
+        return productChangeStreamService.subscribe(productIds != null ? productIds : Set.of(), category);
+    }
+}
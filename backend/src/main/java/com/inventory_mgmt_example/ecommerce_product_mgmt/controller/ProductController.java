@@ -3,6 +3,7 @@ package com.inventory_mgmt_example.ecommerce_product_mgmt.controller;
 import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.ProductCreateDTO;
 import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
 import com.inventory_mgmt_example.ecommerce_product_mgmt.service.ProductService;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
@@ -29,6 +30,7 @@ public class ProductController {
      */
     @GetMapping
     @RateLimiter(name = "product-api")
+    @Bulkhead(name = "product-api")
     public ResponseEntity<List<Product>> getAllProducts() {
         List<Product> products = productService.getAllProducts();
         return new ResponseEntity<>(products, HttpStatus.OK);
@@ -39,6 +41,7 @@ public class ProductController {
      */
     @GetMapping("/{id}")
     @RateLimiter(name = "product-api")
+    @Bulkhead(name = "product-api")
     public ResponseEntity<Product> getProductById(@PathVariable("id") String id) {
         Product product = productService.getProductById(id);
         return new ResponseEntity<>(product, HttpStatus.OK);
@@ -49,6 +52,7 @@ public class ProductController {
      */
     @PostMapping
     @RateLimiter(name = "product-api")
+    @Bulkhead(name = "product-api")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Product> createProduct(@Valid @RequestBody ProductCreateDTO productDTO) {
         Product savedProduct = productService.createProduct(productDTO);
@@ -60,6 +64,7 @@ public class ProductController {
      */
     @PostMapping("/bulk")
     @RateLimiter(name = "bulk-operations")
+    @Bulkhead(name = "bulk-operations")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Product>> createBulkProducts(@Valid @RequestBody List<ProductCreateDTO> productDTOs) {
         List<Product> savedProducts = productService.createBulkProducts(productDTOs);
@@ -71,6 +76,7 @@ public class ProductController {
      */
     @PutMapping("/{id}")
     @RateLimiter(name = "product-api")
+    @Bulkhead(name = "product-api")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Product> updateProduct(@PathVariable("id") String id, @Valid @RequestBody ProductCreateDTO productDTO) {
         Product updatedProduct = productService.updateProduct(id, productDTO);
@@ -82,6 +88,7 @@ public class ProductController {
      */
     @DeleteMapping("/{id}")
     @RateLimiter(name = "product-api")
+    @Bulkhead(name = "product-api")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<HttpStatus> deleteProduct(@PathVariable("id") String id) {
         productService.deleteProduct(id);
@@ -93,6 +100,7 @@ public class ProductController {
      */
     @GetMapping("/search")
     @RateLimiter(name = "search-api")
+    @Bulkhead(name = "search-api")
     public ResponseEntity<List<Product>> searchProductsByName(@RequestParam String name) {
         List<Product> products = productService.searchProductsByName(name);
         return new ResponseEntity<>(products, HttpStatus.OK);
@@ -103,6 +111,7 @@ public class ProductController {
      */
     @GetMapping("/price-range")
     @RateLimiter(name = "search-api")
+    @Bulkhead(name = "search-api")
     public ResponseEntity<List<Product>> getProductsByPriceRange(
             @RequestParam @Min(value = 0, message = "Minimum price cannot be negative") double minPrice, 
             @RequestParam @Min(value = 0, message = "Maximum price cannot be negative") double maxPrice) {
@@ -115,6 +124,7 @@ public class ProductController {
      */
     @GetMapping("/low-stock")
     @RateLimiter(name = "product-api")
+    @Bulkhead(name = "product-api")
     public ResponseEntity<List<Product>> getLowStockProducts(
             @RequestParam(defaultValue = "10") @Min(value = 0, message = "Threshold cannot be negative") int threshold) {
         List<Product> products = productService.getLowStockProducts(threshold);
@@ -126,6 +136,7 @@ public class ProductController {
      */
     @GetMapping("/category/{category}")
     @RateLimiter(name = "search-api")
+    @Bulkhead(name = "search-api")
     public ResponseEntity<List<Product>> getProductsByCategory(@PathVariable("category") String category) {
         List<Product> products = productService.getProductsByCategory(category);
         return new ResponseEntity<>(products, HttpStatus.OK);
@@ -136,6 +147,7 @@ public class ProductController {
      */
     @GetMapping("/brand/{brand}")
     @RateLimiter(name = "search-api")
+    @Bulkhead(name = "search-api")
     public ResponseEntity<List<Product>> getProductsByBrand(@PathVariable("brand") String brand) {
         List<Product> products = productService.getProductsByBrand(brand);
         return new ResponseEntity<>(products, HttpStatus.OK);
@@ -146,6 +158,7 @@ public class ProductController {
      */
     @PatchMapping("/{id}/inventory")
     @RateLimiter(name = "product-api")
+    @Bulkhead(name = "product-api")
     public ResponseEntity<Product> updateInventory(@PathVariable("id") String id, @RequestParam int quantity) {
         Product updatedProduct = productService.updateInventory(id, quantity);
         return new ResponseEntity<>(updatedProduct, HttpStatus.OK);
@@ -1,7 +1,9 @@
 package com.inventory_mgmt_example.ecommerce_product_mgmt.controller;
 
 import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLog;
-import com.inventory_mgmt_example.ecommerce_product_mgmt.repository.QueryLogRepository;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLogHourly;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.querylog.QueryLogSegmentReplayer;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.querylog.QueryLogStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
@@ -17,7 +19,10 @@ import java.util.List;
 public class QueryLogController {
 
     @Autowired
-    private QueryLogRepository queryLogRepository;
+    private QueryLogStore queryLogStore;
+
+    @Autowired(required = false)
+    private QueryLogSegmentReplayer segmentReplayer;
 
     /**
      * Get all query logs
@@ -25,7 +30,7 @@ public class QueryLogController {
     @GetMapping
     public ResponseEntity<List<QueryLog>> getAllQueryLogs() {
         try {
-            List<QueryLog> logs = queryLogRepository.findAll();
+            List<QueryLog> logs = queryLogStore.findAll();
             return new ResponseEntity<>(logs, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -38,7 +43,7 @@ public class QueryLogController {
     @GetMapping("/by-ip/{clientIp}")
     public ResponseEntity<List<QueryLog>> getQueryLogsByClientIp(@PathVariable String clientIp) {
         try {
-            List<QueryLog> logs = queryLogRepository.findByClientIp(clientIp);
+            List<QueryLog> logs = queryLogStore.findByClientIp(clientIp);
             return new ResponseEntity<>(logs, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -53,20 +58,35 @@ public class QueryLogController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
         try {
-            List<QueryLog> logs = queryLogRepository.findByTimestampBetween(startTime, endTime);
+            List<QueryLog> logs = queryLogStore.findByTimestampBetween(startTime, endTime);
             return new ResponseEntity<>(logs, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    /**
+     * Get hourly totals rolled up from query logs past their retention
+     */
+    @GetMapping("/hourly")
+    public ResponseEntity<List<QueryLogHourly>> getHourlyQueryLogTotals(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+        try {
+            List<QueryLogHourly> totals = queryLogStore.findHourlyBetween(startTime, endTime);
+            return new ResponseEntity<>(totals, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Get failed query logs
      */
     @GetMapping("/failed")
     public ResponseEntity<List<QueryLog>> getFailedQueryLogs() {
         try {
-            List<QueryLog> logs = queryLogRepository.findBySuccessFalse();
+            List<QueryLog> logs = queryLogStore.findBySuccessFalse();
             return new ResponseEntity<>(logs, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -79,7 +99,7 @@ public class QueryLogController {
     @GetMapping("/slow")
     public ResponseEntity<List<QueryLog>> getSlowQueryLogs(@RequestParam(defaultValue = "1000") long thresholdMs) {
         try {
-            List<QueryLog> logs = queryLogRepository.findByExecutionTimeMsGreaterThanOrderByExecutionTimeMsDesc(thresholdMs);
+            List<QueryLog> logs = queryLogStore.findByExecutionTimeMsGreaterThanOrderByExecutionTimeMsDesc(thresholdMs);
             return new ResponseEntity<>(logs, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -92,7 +112,7 @@ public class QueryLogController {
     @GetMapping("/by-method/{httpMethod}")
     public ResponseEntity<List<QueryLog>> getQueryLogsByHttpMethod(@PathVariable String httpMethod) {
         try {
-            List<QueryLog> logs = queryLogRepository.findByHttpMethod(httpMethod.toUpperCase());
+            List<QueryLog> logs = queryLogStore.findByHttpMethod(httpMethod.toUpperCase());
             return new ResponseEntity<>(logs, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -105,7 +125,7 @@ public class QueryLogController {
     @GetMapping("/by-status/{status}")
     public ResponseEntity<List<QueryLog>> getQueryLogsByStatus(@PathVariable int status) {
         try {
-            List<QueryLog> logs = queryLogRepository.findByResponseStatus(status);
+            List<QueryLog> logs = queryLogStore.findByResponseStatus(status);
             return new ResponseEntity<>(logs, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -118,7 +138,7 @@ public class QueryLogController {
     @GetMapping("/search")
     public ResponseEntity<List<QueryLog>> searchQueryLogsByUri(@RequestParam String uriPattern) {
         try {
-            List<QueryLog> logs = queryLogRepository.findByRequestUriContaining(uriPattern);
+            List<QueryLog> logs = queryLogStore.findByRequestUriContaining(uriPattern);
             return new ResponseEntity<>(logs, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -131,7 +151,7 @@ public class QueryLogController {
     @DeleteMapping
     public ResponseEntity<HttpStatus> deleteAllQueryLogs() {
         try {
-            queryLogRepository.deleteAll();
+            queryLogStore.deleteAll();
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -144,9 +164,16 @@ public class QueryLogController {
     @GetMapping("/stats")
     public ResponseEntity<QueryLogStats> getQueryLogStats() {
         try {
-            long totalLogs = queryLogRepository.count();
-            long successfulLogs = queryLogRepository.findBySuccess(true).size();
-            long failedLogs = queryLogRepository.findBySuccess(false).size();
+            long totalLogs = queryLogStore.count();
+            long successfulLogs = queryLogStore.countBySuccess(true);
+            long failedLogs = queryLogStore.countBySuccess(false);
+            if (segmentReplayer != null) {
+                // Logs still in local segment files, not yet replayed into MongoDB
+                QueryLogSegmentReplayer.SegmentTotals pending = segmentReplayer.pendingTotals();
+                totalLogs += pending.total();
+                successfulLogs += pending.total() - pending.failed();
+                failedLogs += pending.failed();
+            }
             
             QueryLogStats stats = new QueryLogStats();
             stats.setTotal(totalLogs);
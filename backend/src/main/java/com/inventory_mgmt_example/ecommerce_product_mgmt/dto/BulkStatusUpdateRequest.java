@@ -0,0 +1,40 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.dto;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class BulkStatusUpdateRequest {
+    @NotEmpty(message = "Order IDs are required")
+    private List<String> orderIds;
+
+    @NotNull(message = "Status is required")
+    private OrderStatus status;
+
+    // Constructors
+    public BulkStatusUpdateRequest() {}
+
+    public BulkStatusUpdateRequest(List<String> orderIds, OrderStatus status) {
+        this.orderIds = orderIds;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public List<String> getOrderIds() {
+        return orderIds;
+    }
+
+    public void setOrderIds(List<String> orderIds) {
+        this.orderIds = orderIds;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+}
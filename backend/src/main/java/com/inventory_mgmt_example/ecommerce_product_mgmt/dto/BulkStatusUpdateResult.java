@@ -0,0 +1,63 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.dto;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatus;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a bulk status transition: the orders moved and, per rejected order, the reason
+ */
+public class BulkStatusUpdateResult {
+    private OrderStatus status;
+    private int requested;
+    private List<String> updatedOrderIds = new ArrayList<>();
+    private Map<String, String> failures = new LinkedHashMap<>();
+
+    // Constructors
+    public BulkStatusUpdateResult() {}
+
+    public BulkStatusUpdateResult(OrderStatus status, int requested) {
+        this.status = status;
+        this.requested = requested;
+    }
+
+    public int getUpdated() {
+        return updatedOrderIds.size();
+    }
+
+    // Getters and Setters
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public List<String> getUpdatedOrderIds() {
+        return updatedOrderIds;
+    }
+
+    public void setUpdatedOrderIds(List<String> updatedOrderIds) {
+        this.updatedOrderIds = updatedOrderIds;
+    }
+
+    public Map<String, String> getFailures() {
+        return failures;
+    }
+
+    public void setFailures(Map<String, String> failures) {
+        this.failures = failures;
+    }
+}
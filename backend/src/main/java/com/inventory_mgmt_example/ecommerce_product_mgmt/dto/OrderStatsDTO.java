@@ -0,0 +1,77 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.dto;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.ProductSalesStats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class OrderStatsDTO {
+    private long totalOrders;
+    private Map<String, Long> countsByStatus;
+    private Map<String, Double> revenueByDay;
+    private double totalRevenue;
+    private double averageOrderValue;
+    private List<ProductSalesStats> topProducts;
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public OrderStatsDTO() {}
+
+    // Getters and Setters
+    public long getTotalOrders() {
+        return totalOrders;
+    }
+
+    public void setTotalOrders(long totalOrders) {
+        this.totalOrders = totalOrders;
+    }
+
+    public Map<String, Long> getCountsByStatus() {
+        return countsByStatus;
+    }
+
+    public void setCountsByStatus(Map<String, Long> countsByStatus) {
+        this.countsByStatus = countsByStatus;
+    }
+
+    public Map<String, Double> getRevenueByDay() {
+        return revenueByDay;
+    }
+
+    public void setRevenueByDay(Map<String, Double> revenueByDay) {
+        this.revenueByDay = revenueByDay;
+    }
+
+    public double getTotalRevenue() {
+        return totalRevenue;
+    }
+
+    public void setTotalRevenue(double totalRevenue) {
+        this.totalRevenue = totalRevenue;
+    }
+
+    public double getAverageOrderValue() {
+        return averageOrderValue;
+    }
+
+    public void setAverageOrderValue(double averageOrderValue) {
+        this.averageOrderValue = averageOrderValue;
+    }
+
+    public List<ProductSalesStats> getTopProducts() {
+        return topProducts;
+    }
+
+    public void setTopProducts(List<ProductSalesStats> topProducts) {
+        this.topProducts = topProducts;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
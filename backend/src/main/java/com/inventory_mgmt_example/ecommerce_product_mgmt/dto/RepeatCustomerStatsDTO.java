@@ -0,0 +1,51 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.dto;
+
+public class RepeatCustomerStatsDTO {
+    private long customers;
+    private long repeatCustomers;
+    private double repeatRate;
+    private double averageOrdersPerCustomer;
+
+    // Constructors
+    public RepeatCustomerStatsDTO() {}
+
+    public RepeatCustomerStatsDTO(long customers, long repeatCustomers, double repeatRate, double averageOrdersPerCustomer) {
+        this.customers = customers;
+        this.repeatCustomers = repeatCustomers;
+        this.repeatRate = repeatRate;
+        this.averageOrdersPerCustomer = averageOrdersPerCustomer;
+    }
+
+    // Getters and Setters
+    public long getCustomers() {
+        return customers;
+    }
+
+    public void setCustomers(long customers) {
+        this.customers = customers;
+    }
+
+    public long getRepeatCustomers() {
+        return repeatCustomers;
+    }
+
+    public void setRepeatCustomers(long repeatCustomers) {
+        this.repeatCustomers = repeatCustomers;
+    }
+
+    public double getRepeatRate() {
+        return repeatRate;
+    }
+
+    public void setRepeatRate(double repeatRate) {
+        this.repeatRate = repeatRate;
+    }
+
+    public double getAverageOrdersPerCustomer() {
+        return averageOrdersPerCustomer;
+    }
+
+    public void setAverageOrdersPerCustomer(double averageOrdersPerCustomer) {
+        this.averageOrdersPerCustomer = averageOrdersPerCustomer;
+    }
+}
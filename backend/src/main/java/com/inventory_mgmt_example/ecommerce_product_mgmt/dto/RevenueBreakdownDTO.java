@@ -0,0 +1,41 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.dto;
+
+public class RevenueBreakdownDTO {
+    private String key;
+    private long units;
+    private double revenue;
+
+    // Constructors
+    public RevenueBreakdownDTO() {}
+
+    public RevenueBreakdownDTO(String key, long units, double revenue) {
+        this.key = key;
+        this.units = units;
+        this.revenue = revenue;
+    }
+
+    // Getters and Setters
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public void setUnits(long units) {
+        this.units = units;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+}
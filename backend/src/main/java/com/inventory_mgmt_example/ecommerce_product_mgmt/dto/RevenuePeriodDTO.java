@@ -0,0 +1,51 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.dto;
+
+public class RevenuePeriodDTO {
+    private String period;
+    private long orders;
+    private double revenue;
+    private double averageOrderValue;
+
+    // Constructors
+    public RevenuePeriodDTO() {}
+
+    public RevenuePeriodDTO(String period, long orders, double revenue, double averageOrderValue) {
+        this.period = period;
+        this.orders = orders;
+        this.revenue = revenue;
+        this.averageOrderValue = averageOrderValue;
+    }
+
+    // Getters and Setters
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public long getOrders() {
+        return orders;
+    }
+
+    public void setOrders(long orders) {
+        this.orders = orders;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+
+    public double getAverageOrderValue() {
+        return averageOrderValue;
+    }
+
+    public void setAverageOrderValue(double averageOrderValue) {
+        this.averageOrderValue = averageOrderValue;
+    }
+}
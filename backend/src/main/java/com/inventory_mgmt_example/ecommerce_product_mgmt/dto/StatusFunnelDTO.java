@@ -0,0 +1,51 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.dto;
+
+public class StatusFunnelDTO {
+    private String status;
+    private long currentCount;
+    private long reachedCount;
+    private double conversionRate;
+
+    // Constructors
+    public StatusFunnelDTO() {}
+
+    public StatusFunnelDTO(String status, long currentCount, long reachedCount, double conversionRate) {
+        this.status = status;
+        this.currentCount = currentCount;
+        this.reachedCount = reachedCount;
+        this.conversionRate = conversionRate;
+    }
+
+    // Getters and Setters
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getCurrentCount() {
+        return currentCount;
+    }
+
+    public void setCurrentCount(long currentCount) {
+        this.currentCount = currentCount;
+    }
+
+    public long getReachedCount() {
+        return reachedCount;
+    }
+
+    public void setReachedCount(long reachedCount) {
+        this.reachedCount = reachedCount;
+    }
+
+    public double getConversionRate() {
+        return conversionRate;
+    }
+
+    public void setConversionRate(double conversionRate) {
+        this.conversionRate = conversionRate;
+    }
+}
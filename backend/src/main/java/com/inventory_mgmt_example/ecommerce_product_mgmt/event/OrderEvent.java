@@ -0,0 +1,72 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.event;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by OrderService after an order lifecycle change has been saved
+ */
+public class OrderEvent {
+
+    public enum EventType {
+        CREATED,
+        STATUS_CHANGED,
+        TRACKING_UPDATED
+    }
+
+    private final EventType type;
+    private final Order order;
+    private final OrderStatus previousStatus;
+    private final LocalDateTime timestamp;
+
+    public OrderEvent(EventType type, Order order, OrderStatus previousStatus) {
+        this.type = type;
+        this.order = order;
+        this.previousStatus = previousStatus;
+        this.timestamp = LocalDateTime.now();
+    }
+
+    public static OrderEvent created(Order order) {
+        return new OrderEvent(EventType.CREATED, order, null);
+    }
+
+    public static OrderEvent statusChanged(Order order, OrderStatus previousStatus) {
+        return new OrderEvent(EventType.STATUS_CHANGED, order, previousStatus);
+    }
+
+    public static OrderEvent trackingUpdated(Order order) {
+        return new OrderEvent(EventType.TRACKING_UPDATED, order, order.getStatus());
+    }
+
+    public EventType getType() {
+        return type;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public OrderStatus getNewStatus() {
+        return order.getStatus();
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderEvent{" +
+                "type=" + type +
+                ", orderNumber='" + order.getOrderNumber() + '\'' +
+                ", previousStatus=" + previousStatus +
+                ", newStatus=" + order.getStatus() +
+                '}';
+    }
+}
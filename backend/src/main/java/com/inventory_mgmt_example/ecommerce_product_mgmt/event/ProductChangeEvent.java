@@ -0,0 +1,76 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.event;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published whenever a product's catalog data, price or stock changes
+ */
+public class ProductChangeEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        STOCK_CHANGED,
+        DELETED
+    }
+
+    private final ChangeType type;
+    private final String productId;
+    private final String category;
+    private final double price;
+    private final int quantity;
+    private final LocalDateTime timestamp;
+
+    public ProductChangeEvent(ChangeType type, String productId, String category, double price, int quantity) {
+        this.type = type;
+        this.productId = productId;
+        this.category = category;
+        this.price = price;
+        this.quantity = quantity;
+        this.timestamp = LocalDateTime.now();
+    }
+
+    public static ProductChangeEvent of(ChangeType type, Product product) {
+        return new ProductChangeEvent(type, product.getId(), product.getCategory(), product.getPrice(), product.getQuantity());
+    }
+
+    public static ProductChangeEvent deleted(String productId) {
+        return new ProductChangeEvent(ChangeType.DELETED, productId, null, 0, 0);
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductChangeEvent{" +
+                "type=" + type +
+                ", productId='" + productId + '\'' +
+                ", price=" + price +
+                ", quantity=" + quantity +
+                '}';
+    }
+}
@@ -0,0 +1,12 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.exception;
+
+public class InsufficientStockException extends RuntimeException {
+
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+
+    public static InsufficientStockException forProduct(String productName) {
+        return new InsufficientStockException("Insufficient stock for product: " + productName);
+    }
+}
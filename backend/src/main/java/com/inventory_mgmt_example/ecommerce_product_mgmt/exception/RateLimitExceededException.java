@@ -0,0 +1,27 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.exception;
+
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public static RateLimitExceededException byRateLimiter(String name, long retryAfterSeconds) {
+        return new RateLimitExceededException("Rate limit exceeded for: " + name, retryAfterSeconds);
+    }
+
+    public static RateLimitExceededException byBulkhead(String name, long retryAfterSeconds) {
+        return new RateLimitExceededException("Too many concurrent requests for: " + name, retryAfterSeconds);
+    }
+
+    public static RateLimitExceededException byConcurrencyLimit(String name, long retryAfterSeconds) {
+        return new RateLimitExceededException("Concurrency limit reached for: " + name, retryAfterSeconds);
+    }
+}
@@ -0,0 +1,161 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.id;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.LeaseService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Assigns this instance a Snowflake node id that no other running replica is using.
+ * <p>
+ * A fixed id can be configured with {@code app.id.node-id}; otherwise one of the 1024 ids
+ * is claimed as a lease in MongoDB and renewed while the application runs. Ids of crashed
+ * instances become reusable once their lease expires.
+ * <p>
+ * The id is only handed out while the lease is known to be held: when a renewal finds the
+ * lease taken over, or renewals have failed until it could have expired, a fresh id is
+ * claimed before any further IDs are issued, and {@link #getNodeId()} throws if none can be.
+ * Renewal runs on its own thread so a busy shared scheduler cannot let the lease lapse.
+ */
+@Component
+public class NodeIdAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(NodeIdAllocator.class);
+
+    private static final String LEASE_PREFIX = "id-node-";
+
+    @Autowired
+    private LeaseService leaseService;
+
+    @Value("${app.id.node-id:-1}")
+    private int configuredNodeId;
+
+    @Value("${app.id.node-lease-ttl-ms:300000}")
+    private long leaseTtlMs;
+
+    @Value("${app.id.node-lease-renew-ms:60000}")
+    private long leaseRenewMs;
+
+    private volatile int nodeId = -1;
+
+    /**
+     * Time until which the leased node id is certainly ours, measured before the last successful renewal
+     */
+    private volatile long leaseValidUntil;
+
+    private ScheduledExecutorService renewalExecutor;
+
+    /**
+     * The node id of this instance, claiming a lease on first use and again after the lease was lost
+     */
+    public int getNodeId() {
+        int current = nodeId;
+        if (current >= 0 && (configuredNodeId >= 0 || System.currentTimeMillis() < leaseValidUntil)) {
+            return current;
+        }
+        return acquireNodeId();
+    }
+
+    /**
+     * Keep the node id lease alive; claims a new id if another instance has taken ours over
+     */
+    void renewLease() {
+        int current = nodeId;
+        if (current < 0 || configuredNodeId >= 0) {
+            return;
+        }
+        try {
+            if (!renew(current)) {
+                logger.error("Lost lease on Snowflake node id {} to another instance; claiming a new one", current);
+                reclaim(current);
+            }
+        } catch (Exception e) {
+            // IDs stop being issued once leaseValidUntil passes without a successful renewal
+            logger.warn("Failed to renew lease on Snowflake node id {}: {}", current, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (renewalExecutor != null) {
+            renewalExecutor.shutdownNow();
+        }
+        if (nodeId >= 0 && configuredNodeId < 0) {
+            try {
+                leaseService.release(LEASE_PREFIX + nodeId);
+            } catch (Exception e) {
+                logger.debug("Could not release Snowflake node id {}: {}", nodeId, e.getMessage());
+            }
+        }
+    }
+
+    private synchronized int acquireNodeId() {
+        if (configuredNodeId >= 0) {
+            nodeId = configuredNodeId;
+            return nodeId;
+        }
+        if (nodeId >= 0 && System.currentTimeMillis() < leaseValidUntil) {
+            return nodeId;
+        }
+        // Renewals lapsed; keep the id only if it is still (or again) ours
+        if (nodeId >= 0 && renew(nodeId)) {
+            return nodeId;
+        }
+        reclaim(nodeId);
+        return nodeId;
+    }
+
+    private synchronized void reclaim(int lostNodeId) {
+        if (nodeId != lostNodeId) {
+            return;
+        }
+        nodeId = -1;
+        nodeId = claimNodeId();
+        startRenewal();
+    }
+
+    private boolean renew(int id) {
+        String leaseName = LEASE_PREFIX + id;
+        Duration ttl = Duration.ofMillis(leaseTtlMs);
+        long startTime = System.currentTimeMillis();
+        if (leaseService.renew(leaseName, ttl) || leaseService.tryAcquire(leaseName, ttl)) {
+            leaseValidUntil = startTime + leaseTtlMs;
+            return true;
+        }
+        return false;
+    }
+
+    private int claimNodeId() {
+        int start = ThreadLocalRandom.current().nextInt(SnowflakeIdGenerator.MAX_NODE_ID + 1);
+        for (int i = 0; i <= SnowflakeIdGenerator.MAX_NODE_ID; i++) {
+            int candidate = (start + i) % (SnowflakeIdGenerator.MAX_NODE_ID + 1);
+            long startTime = System.currentTimeMillis();
+            if (leaseService.tryAcquire(LEASE_PREFIX + candidate, Duration.ofMillis(leaseTtlMs))) {
+                leaseValidUntil = startTime + leaseTtlMs;
+                logger.info("Claimed Snowflake node id {} for instance {}", candidate, leaseService.getInstanceId());
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("All " + (SnowflakeIdGenerator.MAX_NODE_ID + 1) + " Snowflake node ids are leased");
+    }
+
+    private void startRenewal() {
+        if (renewalExecutor == null) {
+            renewalExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "node-id-lease");
+                thread.setDaemon(true);
+                return thread;
+            });
+            renewalExecutor.scheduleWithFixedDelay(this::renewLease, leaseRenewMs, leaseRenewMs, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free, time-ordered 64-bit ID generator in the Snowflake layout:
+ * 41 bits of milliseconds since {@link #EPOCH_MILLIS}, 10 bits of node id and a 12 bit
+ * per-millisecond sequence (4096 IDs per millisecond per node).
+ * <p>
+ * The last timestamp and sequence are packed into one {@link AtomicLong} and advanced with
+ * a CAS, so concurrent callers never block. When the sequence overflows, or the wall clock
+ * steps backwards, the logical timestamp is carried forward instead of waiting, which keeps
+ * IDs strictly increasing on a node; it falls back in line once the clock catches up.
+ * <p>
+ * The node id is read from its source on every call, so a replica whose node id lease was
+ * lost either switches to a freshly claimed id or stops issuing IDs (the source throws).
+ * <p>
+ * {@link #nextIdString()} renders IDs as 13 Crockford base32 characters (as in ULID), so the
+ * string form sorts lexicographically in generation order.
+ */
+public class SnowflakeIdGenerator {
+
+    /**
+     * 2024-01-01T00:00:00Z; 41 bits of milliseconds last until 2093
+     */
+    public static final long EPOCH_MILLIS = 1704067200000L;
+
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] CROCKFORD_BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final IntSupplier nodeIdSource;
+    private final LongSupplier clock;
+
+    /**
+     * (milliseconds since epoch << SEQUENCE_BITS) | sequence of the last issued ID
+     */
+    private final AtomicLong lastState = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    public SnowflakeIdGenerator(int nodeId, LongSupplier clock) {
+        this(() -> nodeId, clock);
+    }
+
+    public SnowflakeIdGenerator(IntSupplier nodeIdSource) {
+        this(nodeIdSource, System::currentTimeMillis);
+    }
+
+    public SnowflakeIdGenerator(IntSupplier nodeIdSource, LongSupplier clock) {
+        this.nodeIdSource = nodeIdSource;
+        this.clock = clock;
+        // Fail at startup rather than on the first order when no valid node id is available
+        checkNodeId(nodeIdSource.getAsInt());
+    }
+
+    /**
+     * Next ID; strictly greater than every ID previously returned by this generator
+     */
+    public long nextId() {
+        long nodeId = checkNodeId(nodeIdSource.getAsInt());
+        while (true) {
+            long current = lastState.get();
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+            // A later millisecond restarts the sequence; otherwise increment, carrying into the timestamp on overflow
+            long next = now > (current >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : current + 1;
+            if (lastState.compareAndSet(current, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * Next ID as a fixed-width, lexicographically sortable base32 string
+     */
+    public String nextIdString() {
+        return encode(nextId());
+    }
+
+    public int getNodeId() {
+        return nodeIdSource.getAsInt();
+    }
+
+    private static int checkNodeId(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        return nodeId;
+    }
+
+    public static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = CROCKFORD_BASE32[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Milliseconds since the Unix epoch at which the ID was generated
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static int nodeIdOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+}
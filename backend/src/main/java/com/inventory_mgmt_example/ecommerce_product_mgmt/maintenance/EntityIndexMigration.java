@@ -0,0 +1,83 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.maintenance;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.ChangeStreamDeadLetter;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OutboxDeadLetter;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.ProductSalesStats;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLogDictionaryEntry;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLogHourly;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.StockReservation;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.LeaseService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Creates the indexes declared with {@code @Indexed} / {@code @CompoundIndex} on the entities
+ * below, instead of letting Spring Data build every declared index on every instance at
+ * startup. Entities whose declared indexes were never enforced on existing data (users,
+ * categories) are deliberately left out, as is the unique order number index, which needs
+ * the duplicates removed first (see {@link OrderNumberIndexMigration}).
+ * <p>
+ * Runs once per startup on the instance holding the migration lease. Creating an index that
+ * already exists is a no-op, and a failing entity does not keep the others from being indexed.
+ */
+@Component
+public class EntityIndexMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityIndexMigration.class);
+
+    private static final String LEASE = "entity-index-migration";
+
+    static final List<Class<?>> ENTITIES = List.of(
+            Order.class,
+            StockReservation.class,
+            OutboxDeadLetter.class,
+            ProductSalesStats.class,
+            ChangeStreamDeadLetter.class,
+            QueryLogDictionaryEntry.class,
+            QueryLogHourly.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mappingContext;
+
+    @Autowired
+    private LeaseService leaseService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!leaseService.tryAcquire(LEASE, Duration.ofMinutes(10))) {
+            logger.info("Entity index migration is running on another instance");
+            return;
+        }
+        try {
+            MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+            for (Class<?> entity : ENTITIES) {
+                try {
+                    IndexOperations indexOps = mongoTemplate.indexOps(entity);
+                    for (IndexDefinition index : resolver.resolveIndexFor(entity)) {
+                        indexOps.createIndex(index);
+                    }
+                } catch (Exception e) {
+                    logger.error("Failed to create the indexes of {}: {}", entity.getSimpleName(), e.getMessage(), e);
+                }
+            }
+        } finally {
+            leaseService.release(LEASE);
+        }
+    }
+}
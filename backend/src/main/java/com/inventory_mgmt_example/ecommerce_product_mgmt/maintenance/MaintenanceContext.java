@@ -0,0 +1,74 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.maintenance;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Per-run handle given to a {@link MaintenanceTask}: batch metrics and a leadership check
+ */
+public class MaintenanceContext {
+
+    private final String taskName;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSize;
+    private final Counter processed;
+    private final BooleanSupplier leadershipCheck;
+    private final long deadlineNanos;
+
+    private long batches;
+    private long items;
+
+    public MaintenanceContext(String taskName, MeterRegistry meterRegistry, BooleanSupplier leadershipCheck,
+                              long maxRunMillis) {
+        this.taskName = taskName;
+        this.batchTimer = Timer.builder("app.maintenance.batch.duration")
+                .description("Time to process one maintenance batch")
+                .tag("task", taskName)
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("app.maintenance.batch.size")
+                .description("Items handled per maintenance batch")
+                .tag("task", taskName)
+                .register(meterRegistry);
+        this.processed = Counter.builder("app.maintenance.items")
+                .description("Items handled by maintenance tasks")
+                .tag("task", taskName)
+                .register(meterRegistry);
+        this.leadershipCheck = leadershipCheck;
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxRunMillis);
+    }
+
+    /**
+     * Record a completed batch of {@code count} items that took {@code nanos}
+     */
+    public void recordBatch(int count, long nanos) {
+        batchTimer.record(nanos, TimeUnit.NANOSECONDS);
+        batchSize.record(count);
+        processed.increment(count);
+        batches++;
+        items += count;
+    }
+
+    /**
+     * False once the run's time budget is spent or this instance has lost leadership
+     */
+    public boolean shouldContinue() {
+        return System.nanoTime() < deadlineNanos && leadershipCheck.getAsBoolean();
+    }
+
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public long getItems() {
+        return items;
+    }
+}
@@ -0,0 +1,70 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.maintenance;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.LeaseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Runs the {@link MaintenanceTask}s on a fixed delay on a single leader across replicas.
+ * <p>
+ * Leadership is a MongoDB lease that the leader extends at the start of every run and between
+ * batches; the lease outlives the run interval, so leadership stays put while the leader is
+ * healthy and moves to another replica once a crashed leader's lease expires.
+ */
+@Component
+@ConditionalOnProperty(name = "app.maintenance.enabled", havingValue = "true", matchIfMissing = true)
+public class MaintenanceScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(MaintenanceScheduler.class);
+
+    private static final String LEADER_LEASE = "maintenance-leader";
+
+    @Autowired
+    private LeaseService leaseService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private List<MaintenanceTask> tasks;
+
+    @Value("${app.maintenance.lease-ttl-ms:180000}")
+    private long leaseTtlMs;
+
+    @Value("${app.maintenance.max-run-ms:50000}")
+    private long maxRunMs;
+
+    @Scheduled(initialDelayString = "${app.maintenance.initial-delay-ms:30000}",
+            fixedDelayString = "${app.maintenance.interval-ms:60000}")
+    public void runMaintenance() {
+        Duration ttl = Duration.ofMillis(leaseTtlMs);
+        if (!leaseService.tryAcquire(LEADER_LEASE, ttl)) {
+            logger.debug("Skipping maintenance run; another instance holds the leader lease");
+            return;
+        }
+
+        for (MaintenanceTask task : tasks) {
+            MaintenanceContext context = new MaintenanceContext(task.getName(), meterRegistry,
+                    () -> leaseService.renew(LEADER_LEASE, ttl), maxRunMs);
+            long startTime = System.currentTimeMillis();
+            try {
+                task.run(context);
+                if (context.getItems() > 0) {
+                    logger.info("Maintenance task {} processed {} items in {} batches in {}ms", task.getName(),
+                            context.getItems(), context.getBatches(), System.currentTimeMillis() - startTime);
+                }
+            } catch (Exception e) {
+                logger.error("Maintenance task {} failed: {}", task.getName(), e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.maintenance;
+
+/**
+ * Background housekeeping run periodically by {@link MaintenanceScheduler} on the leader instance only
+ */
+public interface MaintenanceTask {
+
+    String getName();
+
+    /**
+     * Run one pass in bounded batches, reporting each batch to the context and stopping
+     * early when {@link MaintenanceContext#shouldContinue()} returns false
+     */
+    void run(MaintenanceContext context);
+}
@@ -0,0 +1,103 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.maintenance;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.id.SnowflakeIdGenerator;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.LeaseService;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Creates the unique orderNumber and trackingNumber indexes on Order.
+ * <p>
+ * Numbers used to be a prefix plus currentTimeMillis, so existing data can hold duplicates
+ * that would make the index build fail. Before building each index, every order but the
+ * first sharing a number is given a fresh Snowflake number. Runs once per startup on the
+ * instance holding the migration lease, and is skipped once the index exists.
+ */
+@Component
+public class OrderNumberIndexMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderNumberIndexMigration.class);
+
+    private static final String LEASE = "order-number-index-migration";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private SnowflakeIdGenerator idGenerator;
+
+    @Autowired
+    private LeaseService leaseService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!leaseService.tryAcquire(LEASE, Duration.ofMinutes(10))) {
+            logger.info("Order number index migration is running on another instance");
+            return;
+        }
+        try {
+            ensureUniqueIndex("orderNumber", "ORD-", false);
+            ensureUniqueIndex("trackingNumber", "TRK-", true);
+        } catch (Exception e) {
+            logger.error("Order number index migration failed: {}", e.getMessage(), e);
+        } finally {
+            leaseService.release(LEASE);
+        }
+    }
+
+    void ensureUniqueIndex(String field, String prefix, boolean sparse) {
+        IndexOperations indexOps = mongoTemplate.indexOps(Order.class);
+        boolean exists = indexOps.getIndexInfo().stream()
+                .anyMatch(index -> index.isUnique() && index.isIndexForFields(List.of(field)));
+        if (exists) {
+            return;
+        }
+
+        int renumbered = renumberDuplicates(field, prefix);
+        // Same name as the former @Indexed definition, so existing deployments see the same index
+        Index index = new Index(field, Sort.Direction.ASC).named(field).unique();
+        indexOps.createIndex(sparse ? index.sparse() : index);
+        logger.info("Created unique index on orders.{} after renumbering {} duplicate orders", field, renumbered);
+    }
+
+    int renumberDuplicates(String field, String prefix) {
+        Aggregation duplicates = newAggregation(
+                match(where(field).ne(null)),
+                sort(Sort.Direction.ASC, "_id"),
+                group(field).push("_id").as("ids").count().as("count"),
+                match(where("count").gt(1))
+        ).withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        int renumbered = 0;
+        for (Document row : mongoTemplate.aggregate(duplicates, Order.class, Document.class)) {
+            List<Object> ids = row.getList("ids", Object.class);
+            // The oldest order keeps its number
+            for (Object id : ids.subList(1, ids.size())) {
+                mongoTemplate.updateFirst(Query.query(where("_id").is(id)),
+                        Update.update(field, prefix + idGenerator.nextIdString()), Order.class);
+                renumbered++;
+            }
+        }
+        return renumbered;
+    }
+}
@@ -0,0 +1,61 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.maintenance;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.querylog.QueryLogStore;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.LeaseService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Rewrites query logs still in the mapped form (full field names, {@code timestamp}) into the
+ * compact form, so queries on the compact fields see every retained log. Buckets written
+ * before the compact form existed, including today's, can hold both forms. Logs from before
+ * the daily buckets, still in the single {@code query_logs} collection, are first moved into
+ * the bucket of their day, where retention rolls them up like any other day, and the
+ * collection is dropped.
+ * <p>
+ * Runs once per startup on the instance holding the migration lease; once every bucket is
+ * converted, it only checks each bucket for documents left in the old form.
+ */
+@Component
+public class QueryLogFormatMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryLogFormatMigration.class);
+
+    private static final String LEASE = "query-log-format-migration";
+
+    @Autowired
+    private QueryLogStore queryLogStore;
+
+    @Autowired
+    private LeaseService leaseService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!leaseService.tryAcquire(LEASE, Duration.ofMinutes(30))) {
+            logger.info("Query log format migration is running on another instance");
+            return;
+        }
+        try {
+            int moved = queryLogStore.moveUnpartitioned();
+            if (moved > 0) {
+                logger.info("Moved {} query logs from query_logs into the daily buckets", moved);
+            }
+            for (String bucket : queryLogStore.buckets()) {
+                int migrated = queryLogStore.migrateLegacy(bucket);
+                if (migrated > 0) {
+                    logger.info("Rewrote {} query logs in {} into the compact form", migrated, bucket);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Query log format migration failed: {}", e.getMessage(), e);
+        } finally {
+            leaseService.release(LEASE);
+        }
+    }
+}
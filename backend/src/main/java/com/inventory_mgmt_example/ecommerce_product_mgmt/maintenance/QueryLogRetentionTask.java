@@ -0,0 +1,52 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.maintenance;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.querylog.QueryLogStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps the daily query log buckets to {@code app.query-log.retention.detail-days} days.
+ * <p>
+ * Each older bucket, oldest first, is rolled up into hourly totals and then dropped; the
+ * roll-up replaces its own totals, so a bucket left behind by an interrupted run is simply
+ * rolled up again. Tomorrow's bucket is created ahead of time so the first write of the day
+ * does not wait for its index.
+ */
+@Component
+public class QueryLogRetentionTask implements MaintenanceTask {
+
+    @Autowired
+    private QueryLogStore queryLogStore;
+
+    @Value("${app.query-log.retention.detail-days:7}")
+    private int detailDays;
+
+    @Override
+    public String getName() {
+        return "query-log-retention";
+    }
+
+    @Override
+    public void run(MaintenanceContext context) {
+        LocalDate today = LocalDate.now();
+        queryLogStore.prepare(QueryLogStore.bucketFor(today.plusDays(1)));
+
+        LocalDate oldestKept = today.minusDays(detailDays);
+        for (String bucket : queryLogStore.buckets()) {
+            if (!QueryLogStore.dayOf(bucket).isBefore(oldestKept)) {
+                break;
+            }
+            long startNanos = System.nanoTime();
+            long logs = queryLogStore.estimatedCount(bucket);
+            queryLogStore.rollUpHourly(bucket);
+            queryLogStore.drop(bucket);
+            context.recordBatch((int) logs, System.nanoTime() - startNanos);
+            if (!context.shouldContinue()) {
+                break;
+            }
+        }
+    }
+}
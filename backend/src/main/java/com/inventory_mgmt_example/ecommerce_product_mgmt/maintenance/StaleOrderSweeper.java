@@ -0,0 +1,126 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.maintenance;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.event.OrderEvent;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatus;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.outbox.OrderOutbox;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.InventoryService;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.ReservationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Cancels orders left PENDING longer than {@code app.maintenance.stale-order-hours} and returns their stock.
+ * <p>
+ * Stale orders are read through one cursor over the (status, orderDate) index with only the
+ * fields needed for the stock restore and statistics (the user reference is never resolved),
+ * and handled in batches: one multi-update cancels the batch, one bulk write restores its stock.
+ */
+@Component
+public class StaleOrderSweeper implements MaintenanceTask {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private OrderOutbox orderOutbox;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.maintenance.stale-order-hours:48}")
+    private long staleOrderHours;
+
+    @Value("${app.maintenance.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public String getName() {
+        return "stale-orders";
+    }
+
+    @Override
+    public void run(MaintenanceContext context) {
+        Query query = Query.query(where("status").is(OrderStatus.PENDING)
+                        .and("orderDate").lt(LocalDateTime.now().minusHours(staleOrderHours)))
+                .with(Sort.by("orderDate"))
+                .cursorBatchSize(batchSize);
+        query.fields().include("id", "orderNumber", "status", "items", "orderDate", "finalAmount");
+
+        try (Stream<Order> staleOrders = mongoTemplate.stream(query, Order.class)) {
+            List<Order> batch = new ArrayList<>(batchSize);
+            var iterator = staleOrders.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize || !iterator.hasNext()) {
+                    long startNanos = System.nanoTime();
+                    int cancelled = cancelBatch(batch);
+                    context.recordBatch(cancelled, System.nanoTime() - startNanos);
+                    batch.clear();
+                    if (!context.shouldContinue()) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancel one batch; returns the number of orders this sweep actually cancelled
+     */
+    int cancelBatch(List<Order> batch) {
+        List<String> orderIds = batch.stream().map(Order::getId).toList();
+
+        // The write id marks exactly the orders this update flipped, so the re-read skips orders
+        // confirmed or cancelled concurrently by someone else
+        String writeId = UUID.randomUUID().toString();
+        Update cancel = new Update().set("status", OrderStatus.CANCELLED)
+                .set("updatedAt", LocalDateTime.now())
+                .set("writeId", writeId);
+        mongoTemplate.updateMulti(
+                Query.query(where("id").in(orderIds).and("status").is(OrderStatus.PENDING)),
+                orderOutbox.statusChanged(cancel, OrderStatus.PENDING, OrderStatus.CANCELLED, null),
+                Order.class);
+        Query cancelledQuery = Query.query(where("id").in(orderIds).and("writeId").is(writeId));
+        cancelledQuery.fields().include("id");
+        Set<String> cancelledIds = mongoTemplate.find(cancelledQuery, Order.class).stream()
+                .map(Order::getId)
+                .collect(Collectors.toSet());
+        if (cancelledIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Order> cancelled = batch.stream().filter(order -> cancelledIds.contains(order.getId())).toList();
+        Set<String> owningStock = reservationService.releaseAll(cancelledIds);
+        inventoryService.restoreStock(InventoryService.quantitiesOf(
+                cancelled.stream().filter(order -> owningStock.contains(order.getId())).toList()));
+
+        for (Order order : cancelled) {
+            order.setStatus(OrderStatus.CANCELLED);
+            eventPublisher.publishEvent(OrderEvent.statusChanged(order, OrderStatus.PENDING));
+        }
+        return cancelled.size();
+    }
+}
@@ -0,0 +1,61 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last processed change stream resume token per watched collection
+ */
+@Document(collection = "change_stream_checkpoints")
+public class ChangeStreamCheckpoint {
+    @Id
+    private String streamName;
+    private String resumeToken;
+    private long eventsProcessed;
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public ChangeStreamCheckpoint() {}
+
+    public ChangeStreamCheckpoint(String streamName, String resumeToken, long eventsProcessed) {
+        this.streamName = streamName;
+        this.resumeToken = resumeToken;
+        this.eventsProcessed = eventsProcessed;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getStreamName() {
+        return streamName;
+    }
+
+    public void setStreamName(String streamName) {
+        this.streamName = streamName;
+    }
+
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    public void setResumeToken(String resumeToken) {
+        this.resumeToken = resumeToken;
+    }
+
+    public long getEventsProcessed() {
+        return eventsProcessed;
+    }
+
+    public void setEventsProcessed(long eventsProcessed) {
+        this.eventsProcessed = eventsProcessed;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
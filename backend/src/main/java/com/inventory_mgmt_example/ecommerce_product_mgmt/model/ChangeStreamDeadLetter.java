@@ -0,0 +1,116 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * A change stream event whose listeners kept failing; parked so the stream can move on
+ * without losing it
+ */
+@Document(collection = "change_stream_dead_letters")
+public class ChangeStreamDeadLetter {
+    @Id
+    private String id;
+
+    @Indexed
+    private String streamName;
+    private String operation;
+    private String documentId;
+    private org.bson.Document fullDocument;
+    private Instant clusterTime;
+    private String resumeToken;
+    private String error;
+    private LocalDateTime failedAt;
+
+    // Constructors
+    public ChangeStreamDeadLetter() {}
+
+    public ChangeStreamDeadLetter(String streamName, String operation, String documentId, org.bson.Document fullDocument,
+                                  Instant clusterTime, String resumeToken, String error) {
+        this.streamName = streamName;
+        this.operation = operation;
+        this.documentId = documentId;
+        this.fullDocument = fullDocument;
+        this.clusterTime = clusterTime;
+        this.resumeToken = resumeToken;
+        this.error = error;
+        this.failedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStreamName() {
+        return streamName;
+    }
+
+    public void setStreamName(String streamName) {
+        this.streamName = streamName;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public String getDocumentId() {
+        return documentId;
+    }
+
+    public void setDocumentId(String documentId) {
+        this.documentId = documentId;
+    }
+
+    public org.bson.Document getFullDocument() {
+        return fullDocument;
+    }
+
+    public void setFullDocument(org.bson.Document fullDocument) {
+        this.fullDocument = fullDocument;
+    }
+
+    public Instant getClusterTime() {
+        return clusterTime;
+    }
+
+    public void setClusterTime(Instant clusterTime) {
+        this.clusterTime = clusterTime;
+    }
+
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    public void setResumeToken(String resumeToken) {
+        this.resumeToken = resumeToken;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getFailedAt() {
+        return failedAt;
+    }
+
+    public void setFailedAt(LocalDateTime failedAt) {
+        this.failedAt = failedAt;
+    }
+}
@@ -1,6 +1,9 @@
 package com.inventory_mgmt_example.ecommerce_product_mgmt.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 
@@ -8,6 +11,17 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Document(collection = "orders")
+@CompoundIndexes({
+    // Covers the $match on date range and status used by the sales analytics pipelines
+    @CompoundIndex(name = "orderDate_status_amount", def = "{'orderDate': 1, 'status': 1, 'finalAmount': 1}"),
+    // Keyset order for the streaming export
+    @CompoundIndex(name = "orderDate_id", def = "{'orderDate': 1, '_id': 1}"),
+    // Keyset pagination of per-user and per-status listings (newest first)
+    @CompoundIndex(name = "user_orderDate_id", def = "{'user': 1, 'orderDate': -1, '_id': -1}"),
+    @CompoundIndex(name = "status_orderDate_id", def = "{'status': 1, 'orderDate': -1, '_id': -1}"),
+    // Orders with undelivered outbox events; the field is unset once drained, so the index stays small
+    @CompoundIndex(name = "pendingEvents_eventId", def = "{'pendingEvents.eventId': 1}", sparse = true)
+})
 public class Order {
     @Id
     private String id;
@@ -31,10 +45,19 @@ public class Order {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
+    // Unique indexes are created by OrderNumberIndexMigration once legacy duplicates are renumbered
     private String orderNumber;
     private String trackingNumber;
     private String notes;
 
+    // Outbox: lifecycle events not yet relayed, in the order they happened
+    @JsonIgnore
+    private List<OutboxEvent> pendingEvents;
+
+    // Set by the last bulk status change, so it can re-read exactly the orders it moved
+    @JsonIgnore
+    private String writeId;
+
     // Constructors
     public Order() {
         this.orderDate = LocalDateTime.now();
@@ -48,7 +71,6 @@ public class Order {
         this.user = user;
         this.items = items;
         this.shippingAddress = shippingAddress;
-        this.orderNumber = generateOrderNumber();
         calculateTotals();
     }
 
@@ -201,6 +223,22 @@ public class Order {
         this.notes = notes;
     }
 
+    public List<OutboxEvent> getPendingEvents() {
+        return pendingEvents;
+    }
+
+    public void setPendingEvents(List<OutboxEvent> pendingEvents) {
+        this.pendingEvents = pendingEvents;
+    }
+
+    public String getWriteId() {
+        return writeId;
+    }
+
+    public void setWriteId(String writeId) {
+        this.writeId = writeId;
+    }
+
     // Helper methods
     private void calculateTotals() {
         if (items != null) {
@@ -215,10 +253,6 @@ public class Order {
         this.finalAmount = this.totalAmount + this.shippingCost + this.taxAmount;
     }
 
-    private String generateOrderNumber() {
-        return "ORD-" + System.currentTimeMillis();
-    }
-
     @Override
     public String toString() {
         return "Order{" +
@@ -0,0 +1,102 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Materialized order statistics, kept up to date with atomic increments on every
+ * order creation and status change. A single document, so reads are one lookup.
+ * <p>
+ * "Sales" counters exclude orders that are CANCELLED, RETURNED or REFUNDED.
+ */
+@Document(collection = "order_statistics")
+public class OrderStatistics {
+    public static final String GLOBAL_ID = "global";
+
+    @Id
+    private String id = GLOBAL_ID;
+    private long totalOrders;
+    private long salesOrders;
+    private double totalRevenue;
+    private Map<String, Long> countsByStatus = new HashMap<>();
+    private Map<String, Double> revenueByDay = new HashMap<>();
+    private LocalDateTime rebuiltAt;
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public OrderStatistics() {}
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getTotalOrders() {
+        return totalOrders;
+    }
+
+    public void setTotalOrders(long totalOrders) {
+        this.totalOrders = totalOrders;
+    }
+
+    public long getSalesOrders() {
+        return salesOrders;
+    }
+
+    public void setSalesOrders(long salesOrders) {
+        this.salesOrders = salesOrders;
+    }
+
+    public double getTotalRevenue() {
+        return totalRevenue;
+    }
+
+    public void setTotalRevenue(double totalRevenue) {
+        this.totalRevenue = totalRevenue;
+    }
+
+    public Map<String, Long> getCountsByStatus() {
+        return countsByStatus;
+    }
+
+    public void setCountsByStatus(Map<String, Long> countsByStatus) {
+        this.countsByStatus = countsByStatus;
+    }
+
+    public Map<String, Double> getRevenueByDay() {
+        return revenueByDay;
+    }
+
+    public void setRevenueByDay(Map<String, Double> revenueByDay) {
+        this.revenueByDay = revenueByDay;
+    }
+
+    public LocalDateTime getRebuiltAt() {
+        return rebuiltAt;
+    }
+
+    public void setRebuiltAt(LocalDateTime rebuiltAt) {
+        this.rebuiltAt = rebuiltAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    // Helper methods
+    public double getAverageOrderValue() {
+        return salesOrders > 0 ? totalRevenue / salesOrders : 0.0;
+    }
+}
@@ -1,5 +1,10 @@
 package com.inventory_mgmt_example.ecommerce_product_mgmt.model;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING("Pending"),
     CONFIRMED("Confirmed"),
@@ -11,6 +16,20 @@ public enum OrderStatus {
     RETURNED("Returned"),
     REFUNDED("Refunded");
 
+    private static final Map<OrderStatus, EnumSet<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(CONFIRMED, CANCELLED));
+        TRANSITIONS.put(CONFIRMED, EnumSet.of(PROCESSING, CANCELLED));
+        TRANSITIONS.put(PROCESSING, EnumSet.of(SHIPPED, CANCELLED));
+        TRANSITIONS.put(SHIPPED, EnumSet.of(OUT_FOR_DELIVERY, DELIVERED));
+        TRANSITIONS.put(OUT_FOR_DELIVERY, EnumSet.of(DELIVERED));
+        TRANSITIONS.put(DELIVERED, EnumSet.of(RETURNED, REFUNDED));
+        TRANSITIONS.put(CANCELLED, EnumSet.of(REFUNDED));
+        TRANSITIONS.put(RETURNED, EnumSet.of(REFUNDED));
+        TRANSITIONS.put(REFUNDED, EnumSet.noneOf(OrderStatus.class));
+    }
+
     private final String displayName;
 
     OrderStatus(String displayName) {
@@ -21,6 +40,17 @@ public enum OrderStatus {
         return displayName;
     }
 
+    /**
+     * Whether an order in this status may move to {@code target}
+     */
+    public boolean canTransitionTo(OrderStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
+
+    public Set<OrderStatus> getAllowedTransitions() {
+        return EnumSet.copyOf(TRANSITIONS.get(this));
+    }
+
     @Override
     public String toString() {
         return displayName;
@@ -0,0 +1,83 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbox event the relay gave up on after {@code app.outbox.max-attempts} failed deliveries
+ */
+@Document(collection = "outbox_dead_letters")
+public class OutboxDeadLetter {
+    @Id
+    private String id;
+
+    @Indexed
+    private String orderId;
+    private String orderNumber;
+    private OutboxEvent event;
+    private String error;
+    private LocalDateTime failedAt;
+
+    // Constructors
+    public OutboxDeadLetter() {}
+
+    public OutboxDeadLetter(String orderId, String orderNumber, OutboxEvent event, String error) {
+        this.orderId = orderId;
+        this.orderNumber = orderNumber;
+        this.event = event;
+        this.error = error;
+        this.failedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public void setOrderNumber(String orderNumber) {
+        this.orderNumber = orderNumber;
+    }
+
+    public OutboxEvent getEvent() {
+        return event;
+    }
+
+    public void setEvent(OutboxEvent event) {
+        this.event = event;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getFailedAt() {
+        return failedAt;
+    }
+
+    public void setFailedAt(LocalDateTime failedAt) {
+        this.failedAt = failedAt;
+    }
+}
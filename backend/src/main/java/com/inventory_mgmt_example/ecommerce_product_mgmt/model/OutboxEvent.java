@@ -0,0 +1,108 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * An order lifecycle event waiting to be relayed, embedded in the order it belongs to so it
+ * is written by the same single-document write as the change itself
+ */
+public class OutboxEvent {
+    // Snowflake id; consumers deduplicate redeliveries on (orderId, eventId)
+    private long eventId;
+    private String type;
+    private OrderStatus status;
+    private OrderStatus previousStatus;
+    private String trackingNumber;
+    private LocalDateTime occurredAt;
+
+    // Failed delivery attempts so far
+    private int attempts;
+    private String lastError;
+    // Not retried before this time after a failed attempt
+    private LocalDateTime nextAttemptAt;
+
+    // Constructors
+    public OutboxEvent() {}
+
+    public OutboxEvent(long eventId, String type, OrderStatus status, OrderStatus previousStatus, String trackingNumber) {
+        this.eventId = eventId;
+        this.type = type;
+        this.status = status;
+        this.previousStatus = previousStatus;
+        this.trackingNumber = trackingNumber;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(long eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public void setPreviousStatus(OrderStatus previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+
+    public String getTrackingNumber() {
+        return trackingNumber;
+    }
+
+    public void setTrackingNumber(String trackingNumber) {
+        this.trackingNumber = trackingNumber;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+}
@@ -1,9 +1,11 @@
 package com.inventory_mgmt_example.ecommerce_product_mgmt.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Document(collection = "products")
 public class Product {
@@ -19,6 +21,10 @@ public class Product {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Restores already applied to quantity and not yet finished by their sweeper
+    @JsonIgnore
+    private List<String> restoredBy;
+
     // Constructors
     public Product() {}
 
@@ -112,4 +118,12 @@ public class Product {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public List<String> getRestoredBy() {
+        return restoredBy;
+    }
+
+    public void setRestoredBy(List<String> restoredBy) {
+        this.restoredBy = restoredBy;
+    }
 }
@@ -0,0 +1,64 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.IndexDirection;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Units sold per product, indexed on unitsSold so "top products" is an index scan
+ */
+@Document(collection = "product_sales_stats")
+public class ProductSalesStats {
+    @Id
+    private String productId;
+    private String productName;
+
+    @Indexed(direction = IndexDirection.DESCENDING)
+    private long unitsSold;
+
+    private double revenue;
+
+    // Constructors
+    public ProductSalesStats() {}
+
+    public ProductSalesStats(String productId, String productName, long unitsSold, double revenue) {
+        this.productId = productId;
+        this.productName = productName;
+        this.unitsSold = unitsSold;
+        this.revenue = revenue;
+    }
+
+    // Getters and Setters
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public long getUnitsSold() {
+        return unitsSold;
+    }
+
+    public void setUnitsSold(long unitsSold) {
+        this.unitsSold = unitsSold;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+}
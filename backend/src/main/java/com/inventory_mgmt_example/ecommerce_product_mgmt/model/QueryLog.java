@@ -5,6 +5,10 @@ import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
+/**
+ * One logged API call. Stored in daily {@code query_logs_yyyyMMdd} collections by QueryLogStore,
+ * in the compact form written by QueryLogCodec.
+ */
 @Document(collection = "query_logs")
 public class QueryLog {
     @Id
@@ -13,6 +17,8 @@ public class QueryLog {
     private String clientIp;
     private String httpMethod;
     private String requestUri;
+    // Route pattern the URI matched, e.g. /api/products/{id}
+    private String requestPattern;
     private String queryString;
     private String controllerMethod;
     private String methodArguments;
@@ -74,6 +80,14 @@ public class QueryLog {
         this.requestUri = requestUri;
     }
 
+    public String getRequestPattern() {
+        return requestPattern;
+    }
+
+    public void setRequestPattern(String requestPattern) {
+        this.requestPattern = requestPattern;
+    }
+
     public String getQueryString() {
         return queryString;
     }
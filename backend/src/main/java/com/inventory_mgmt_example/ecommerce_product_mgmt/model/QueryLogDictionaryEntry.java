@@ -0,0 +1,66 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A repeated query log string (user agent, route pattern, controller method, HTTP method)
+ * and the small code stored in its place. Codes are never reused or reassigned.
+ */
+@Document(collection = "query_log_dictionary")
+@CompoundIndexes({
+    @CompoundIndex(name = "kind_value", def = "{'kind': 1, 'value': 1}", unique = true),
+    @CompoundIndex(name = "kind_code", def = "{'kind': 1, 'code': 1}", unique = true)
+})
+public class QueryLogDictionaryEntry {
+    @Id
+    private String id;
+
+    private String kind;
+    private int code;
+    private String value;
+
+    // Constructors
+    public QueryLogDictionaryEntry() {}
+
+    public QueryLogDictionaryEntry(String kind, int code, String value) {
+        this.kind = kind;
+        this.code = code;
+        this.value = value;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public void setCode(int code) {
+        this.code = code;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+}
@@ -0,0 +1,109 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Query log totals for one controller method and hour, rolled up from the daily query log
+ * buckets before they are dropped. Removed by a TTL index 90 days after the hour.
+ */
+@Document(collection = "query_log_hourly")
+public class QueryLogHourly {
+    // "<hour> <httpMethod> <controllerMethod>", so re-running a roll-up replaces rather than adds
+    @Id
+    private String id;
+
+    @Indexed(expireAfter = "90d")
+    private LocalDateTime hour;
+
+    private String controllerMethod;
+    private String httpMethod;
+    private long count;
+    private long failures;
+    private long totalExecutionTimeMs;
+    private long maxExecutionTimeMs;
+    private long totalResponseSize;
+
+    // Constructors
+    public QueryLogHourly() {}
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getHour() {
+        return hour;
+    }
+
+    public void setHour(LocalDateTime hour) {
+        this.hour = hour;
+    }
+
+    public String getControllerMethod() {
+        return controllerMethod;
+    }
+
+    public void setControllerMethod(String controllerMethod) {
+        this.controllerMethod = controllerMethod;
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public void setHttpMethod(String httpMethod) {
+        this.httpMethod = httpMethod;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public void setFailures(long failures) {
+        this.failures = failures;
+    }
+
+    public long getTotalExecutionTimeMs() {
+        return totalExecutionTimeMs;
+    }
+
+    public void setTotalExecutionTimeMs(long totalExecutionTimeMs) {
+        this.totalExecutionTimeMs = totalExecutionTimeMs;
+    }
+
+    public long getMaxExecutionTimeMs() {
+        return maxExecutionTimeMs;
+    }
+
+    public void setMaxExecutionTimeMs(long maxExecutionTimeMs) {
+        this.maxExecutionTimeMs = maxExecutionTimeMs;
+    }
+
+    public long getTotalResponseSize() {
+        return totalResponseSize;
+    }
+
+    public void setTotalResponseSize(long totalResponseSize) {
+        this.totalResponseSize = totalResponseSize;
+    }
+
+    public double getAverageExecutionTimeMs() {
+        return count > 0 ? (double) totalExecutionTimeMs / count : 0;
+    }
+}
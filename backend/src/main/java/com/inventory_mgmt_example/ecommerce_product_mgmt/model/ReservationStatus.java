@@ -0,0 +1,25 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.model;
+
+public enum ReservationStatus {
+    HELD("Held"),
+    CONFIRMED("Confirmed"),
+    RELEASED("Released"),
+    // Claimed by the expiry sweeper; its stock is being returned
+    EXPIRING("Expiring"),
+    EXPIRED("Expired");
+
+    private final String displayName;
+
+    ReservationStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
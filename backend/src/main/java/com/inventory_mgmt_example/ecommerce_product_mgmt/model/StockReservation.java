@@ -0,0 +1,125 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Stock held for a pending order until it is confirmed or the hold expires.
+ * Closed holds are removed by a TTL index a week after {@code closedAt}.
+ */
+@Document(collection = "stock_reservations")
+@CompoundIndex(name = "status_expiresAt", def = "{'status': 1, 'expiresAt': 1}")
+public class StockReservation {
+    @Id
+    private String id;
+
+    @Indexed(unique = true)
+    private String orderId;
+
+    // Quantity held per product id
+    private Map<String, Integer> quantities = new LinkedHashMap<>();
+    private ReservationStatus status = ReservationStatus.HELD;
+    private LocalDateTime expiresAt;
+    private LocalDateTime createdAt;
+
+    @Indexed(expireAfter = "7d")
+    private LocalDateTime closedAt;
+
+    // Set on the holds claimed by one sweeper batch
+    @Indexed(sparse = true)
+    private String sweepId;
+
+    // Set by the first claim and kept by re-claims, so a retried stock restore is recognised
+    private String restoreId;
+
+    // Constructors
+    public StockReservation() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public StockReservation(String orderId, Map<String, Integer> quantities, LocalDateTime expiresAt) {
+        this();
+        this.orderId = orderId;
+        this.quantities = new LinkedHashMap<>(quantities);
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public Map<String, Integer> getQuantities() {
+        return quantities;
+    }
+
+    public void setQuantities(Map<String, Integer> quantities) {
+        this.quantities = quantities;
+    }
+
+    public ReservationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReservationStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public void setClosedAt(LocalDateTime closedAt) {
+        this.closedAt = closedAt;
+    }
+
+    public String getSweepId() {
+        return sweepId;
+    }
+
+    public void setSweepId(String sweepId) {
+        this.sweepId = sweepId;
+    }
+
+    public String getRestoreId() {
+        return restoreId;
+    }
+
+    public void setRestoreId(String restoreId) {
+        this.restoreId = restoreId;
+    }
+}
@@ -0,0 +1,194 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.mongo;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-operation MongoDB metrics from the driver's command events, covering repositories and
+ * MongoTemplate alike:
+ * <ul>
+ *   <li>{@code app.mongo.operation} timer (percentile histogram)</li>
+ *   <li>{@code app.mongo.operation.documents}: documents returned (reads) or written</li>
+ *   <li>{@code app.mongo.operation.bytes}: BSON bytes sent and received, only with
+ *   {@code measureBytes}, which re-encodes every command and reply that is not already raw BSON</li>
+ * </ul>
+ * tagged by operation (repository method, see {@link RepositoryOperationAspect}), command,
+ * collection and outcome. Commands over the slow query threshold go to the {@link SlowQueryLog},
+ * except getMore on await-data cursors (change streams, tailable cursors), which wait up to
+ * their maxTimeMS for new data by design.
+ * <p>
+ * Command documents are only valid during the callback, so sizes are taken and explainable
+ * reads copied when the command starts.
+ */
+public class MongoCommandMetricsListener implements CommandListener {
+
+    private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+
+    private final MeterRegistry meterRegistry;
+    private final SlowQueryLog slowQueryLog;
+    private final boolean measureBytes;
+    private final Map<Integer, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Meters> meters = new ConcurrentHashMap<>();
+
+    public MongoCommandMetricsListener(MeterRegistry meterRegistry, SlowQueryLog slowQueryLog, boolean measureBytes) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryLog = slowQueryLog;
+        this.measureBytes = measureBytes;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        BsonDocument command = event.getCommand();
+        long bytesSent = 0;
+        BsonDocument copy = null;
+        if (slowQueryLog != null && SlowQueryLog.EXPLAINABLE.contains(event.getCommandName())) {
+            RawBsonDocument raw = new RawBsonDocument(command, CODEC);
+            bytesSent = raw.getByteBuffer().remaining();
+            copy = raw;
+        } else if (measureBytes) {
+            bytesSent = sizeOf(command);
+        }
+        inFlight.put(event.getRequestId(), new InFlight(RepositoryOperationAspect.currentOperation(),
+                collectionOf(command), bytesSent, copy, isAwaitData(event.getCommandName(), command)));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        InFlight started = inFlight.remove(event.getRequestId());
+        BsonDocument response = event.getResponse();
+        long documents = documentsIn(response);
+        long bytesReceived = measureBytes ? sizeOf(response) : 0;
+        finish(started, event.getCommandName(), event.getDatabaseName(),
+                event.getElapsedTime(TimeUnit.NANOSECONDS), documents, bytesReceived, true);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        InFlight started = inFlight.remove(event.getRequestId());
+        finish(started, event.getCommandName(), event.getDatabaseName(),
+                event.getElapsedTime(TimeUnit.NANOSECONDS), 0, 0, false);
+    }
+
+    private void finish(InFlight started, String commandName, String database, long elapsedNanos,
+                        long documents, long bytesReceived, boolean success) {
+        String operation = started != null ? started.operation() : RepositoryOperationAspect.TEMPLATE_OPERATION;
+        String collection = started != null ? started.collection() : "unknown";
+
+        Meters operationMeters = meters.computeIfAbsent(
+                new MeterKey(operation, commandName, collection, success), this::register);
+        operationMeters.timer().record(elapsedNanos, TimeUnit.NANOSECONDS);
+        operationMeters.documents().record(documents);
+        if (measureBytes) {
+            operationMeters.bytesSent().record(started != null ? started.bytesSent() : 0);
+            operationMeters.bytesReceived().record(bytesReceived);
+        }
+
+        boolean awaitData = started != null && started.awaitData();
+        if (slowQueryLog != null && !awaitData && slowQueryLog.isSlow(elapsedNanos)) {
+            BsonDocument command = started != null ? started.command() : null;
+            slowQueryLog.capture(new SlowQuery(Instant.now(), operation, commandName, database, collection,
+                    elapsedNanos / 1_000_000.0, documents, bytesReceived, success,
+                    command != null ? SlowQueryLog.queryText(command) : null), command);
+        }
+    }
+
+    private Meters register(MeterKey key) {
+        String[] tags = {"operation", key.operation(), "command", key.command(), "collection", key.collection(),
+                "outcome", key.success() ? "SUCCESS" : "FAILURE"};
+        return new Meters(
+                Timer.builder("app.mongo.operation")
+                        .description("MongoDB command latency by repository method")
+                        .tags(tags)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                DistributionSummary.builder("app.mongo.operation.documents")
+                        .description("Documents returned or written per MongoDB command")
+                        .tags(tags)
+                        .register(meterRegistry),
+                DistributionSummary.builder("app.mongo.operation.bytes")
+                        .description("BSON bytes per MongoDB command")
+                        .baseUnit("bytes")
+                        .tags(tags)
+                        .tag("direction", "sent")
+                        .register(meterRegistry),
+                DistributionSummary.builder("app.mongo.operation.bytes")
+                        .description("BSON bytes per MongoDB command")
+                        .baseUnit("bytes")
+                        .tags(tags)
+                        .tag("direction", "received")
+                        .register(meterRegistry));
+    }
+
+    /**
+     * find/aggregate/getMore: documents in the batch; writes: documents affected
+     */
+    static long documentsIn(BsonDocument response) {
+        BsonValue cursor = response.get("cursor");
+        if (cursor != null && cursor.isDocument()) {
+            BsonDocument cursorDocument = cursor.asDocument();
+            BsonValue batch = cursorDocument.containsKey("firstBatch")
+                    ? cursorDocument.get("firstBatch") : cursorDocument.get("nextBatch");
+            return batch instanceof BsonArray array ? array.size() : 0;
+        }
+        BsonValue n = response.get("n");
+        if (n != null && n.isNumber()) {
+            return n.asNumber().longValue();
+        }
+        BsonValue values = response.get("values");
+        return values instanceof BsonArray array ? array.size() : 0;
+    }
+
+    /**
+     * The command's collection: the value of its first field, or getMore's "collection"
+     */
+    static String collectionOf(BsonDocument command) {
+        BsonValue collection = command.get("collection");
+        if (collection != null && collection.isString()) {
+            return collection.asString().getValue();
+        }
+        for (Map.Entry<String, BsonValue> first : command.entrySet()) {
+            return first.getValue().isString() ? first.getValue().asString().getValue() : "none";
+        }
+        return "none";
+    }
+
+    /**
+     * Only getMore on an await-data cursor carries maxTimeMS, the time it may block waiting for new data
+     */
+    static boolean isAwaitData(String commandName, BsonDocument command) {
+        return "getMore".equals(commandName) && command.containsKey("maxTimeMS");
+    }
+
+    private static long sizeOf(BsonDocument document) {
+        if (document instanceof RawBsonDocument raw) {
+            return raw.getByteBuffer().remaining();
+        }
+        return new RawBsonDocument(document, CODEC).getByteBuffer().remaining();
+    }
+
+    private record InFlight(String operation, String collection, long bytesSent, BsonDocument command,
+                            boolean awaitData) {
+    }
+
+    private record MeterKey(String operation, String command, String collection, boolean success) {
+    }
+
+    private record Meters(Timer timer, DistributionSummary documents, DistributionSummary bytesSent,
+                          DistributionSummary bytesReceived) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.mongo;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Names the repository method running on the current thread (e.g. "OrderRepository.findByStatus"),
+ * so {@link MongoCommandMetricsListener} can attribute the MongoDB commands it issues.
+ * Commands sent outside a repository method (MongoTemplate, reactive repositories) are
+ * attributed to "MongoTemplate".
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.mongo.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryOperationAspect {
+
+    static final String TEMPLATE_OPERATION = "MongoTemplate";
+
+    private static final String REPOSITORY_PACKAGE = "com.inventory_mgmt_example.ecommerce_product_mgmt.repository";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Label per repository class and method, built once
+     */
+    private final Map<Class<?>, Map<Method, String>> labels = new ConcurrentHashMap<>();
+
+    /**
+     * The repository method running on this thread, or "MongoTemplate"
+     */
+    static String currentOperation() {
+        String operation = CURRENT.get();
+        return operation != null ? operation : TEMPLATE_OPERATION;
+    }
+
+    @Pointcut("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public void repositoryMethods() {}
+
+    @Around("repositoryMethods()")
+    public Object nameOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        String previous = CURRENT.get();
+        CURRENT.set(label(joinPoint.getThis().getClass(), ((MethodSignature) joinPoint.getSignature()).getMethod()));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    private String label(Class<?> proxyClass, Method method) {
+        return labels.computeIfAbsent(proxyClass, type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, m -> repositoryName(proxyClass) + "." + m.getName());
+    }
+
+    /**
+     * The application's repository interface implemented by the proxy
+     */
+    private static String repositoryName(Class<?> proxyClass) {
+        for (Class<?> type : proxyClass.getInterfaces()) {
+            if (type.getName().startsWith(REPOSITORY_PACKAGE)) {
+                return type.getSimpleName();
+            }
+        }
+        return proxyClass.getSimpleName();
+    }
+}
@@ -0,0 +1,76 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.mongo;
+
+import java.time.Instant;
+
+/**
+ * A MongoDB command that exceeded the slow query threshold. The plan is filled in
+ * asynchronously once the explain completes.
+ */
+public class SlowQuery {
+
+    private final Instant capturedAt;
+    private final String operation;
+    private final String command;
+    private final String database;
+    private final String collection;
+    private final double durationMs;
+    private final long documents;
+    private final long bytesReceived;
+    private final boolean success;
+    private final String query;
+    // Written by the explain thread; one reference so readers never see half a plan
+    private volatile Plan plan;
+
+    // Constructors
+    public SlowQuery(Instant capturedAt, String operation, String command, String database, String collection,
+                     double durationMs, long documents, long bytesReceived, boolean success, String query) {
+        this.capturedAt = capturedAt;
+        this.operation = operation;
+        this.command = command;
+        this.database = database;
+        this.collection = collection;
+        this.durationMs = durationMs;
+        this.documents = documents;
+        this.bytesReceived = bytesReceived;
+        this.success = success;
+        this.query = query;
+    }
+
+    // Getters and Setters
+    public Instant getCapturedAt() { return capturedAt; }
+
+    public String getOperation() { return operation; }
+
+    public String getCommand() { return command; }
+
+    public String getDatabase() { return database; }
+
+    public String getCollection() { return collection; }
+
+    public double getDurationMs() { return durationMs; }
+
+    public long getDocuments() { return documents; }
+
+    public long getBytesReceived() { return bytesReceived; }
+
+    public boolean isSuccess() { return success; }
+
+    public String getQuery() { return query; }
+
+    public String getPlanSummary() {
+        Plan current = plan;
+        return current != null ? current.summary() : null;
+    }
+
+    public String getExplain() {
+        Plan current = plan;
+        return current != null ? current.explain() : null;
+    }
+
+    public void setPlan(String planSummary, String explain) {
+        this.plan = new Plan(planSummary, explain);
+    }
+
+    private record Plan(String summary, String explain) {
+    }
+}
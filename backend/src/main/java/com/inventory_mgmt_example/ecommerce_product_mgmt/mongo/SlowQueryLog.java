@@ -0,0 +1,212 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.mongo;
+
+import com.mongodb.client.MongoDatabase;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Bounded ring of the most recent slow MongoDB commands, each with its query plan.
+ * <p>
+ * Reads (find, aggregate, count, distinct) are explained with "queryPlanner" verbosity, which
+ * plans without executing, on a separate executor. The plan of an operation is reused for
+ * {@code planCacheMs} so a burst of slow calls to the same method explains once.
+ */
+public class SlowQueryLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    static final Set<String> EXPLAINABLE = Set.of("find", "aggregate", "count", "distinct");
+
+    private static final Set<String> SESSION_FIELDS = Set.of("lsid", "txnNumber", "startTransaction", "autocommit");
+
+    private static final int MAX_QUERY_CHARS = 4_096;
+    private static final int MAX_EXPLAIN_CHARS = 16_384;
+
+    private final int capacity;
+    private final long thresholdNanos;
+    private final long planCacheMs;
+    private final Function<String, MongoDatabase> databases;
+    private final Executor explainExecutor;
+    private final Deque<SlowQuery> entries = new ArrayDeque<>();
+    private final Map<String, CachedPlan> plans = new ConcurrentHashMap<>();
+
+    public SlowQueryLog(int capacity, long thresholdMs, long planCacheMs,
+                        Function<String, MongoDatabase> databases, Executor explainExecutor) {
+        this.capacity = capacity;
+        this.thresholdNanos = thresholdMs * 1_000_000;
+        this.planCacheMs = planCacheMs;
+        this.databases = databases;
+        this.explainExecutor = explainExecutor;
+    }
+
+    boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdNanos;
+    }
+
+    /**
+     * Record a slow command; {@code command} is a detached copy, or null if it cannot be explained
+     */
+    void capture(SlowQuery entry, BsonDocument command) {
+        synchronized (entries) {
+            if (entries.size() == capacity) {
+                entries.removeFirst();
+            }
+            entries.addLast(entry);
+        }
+        if (command == null) {
+            return;
+        }
+
+        String planKey = entry.getOperation() + " " + entry.getCommand() + " " + entry.getCollection();
+        CachedPlan cached = plans.get(planKey);
+        if (cached != null && System.currentTimeMillis() - cached.explainedAt() < planCacheMs) {
+            entry.setPlan(cached.summary(), cached.explain());
+            return;
+        }
+        try {
+            explainExecutor.execute(() -> explain(entry, command, planKey));
+        } catch (Exception e) {
+            // Explain queue full; the entry is kept without a plan
+            logger.debug("Skipping explain of slow {} on {}: {}", entry.getCommand(), entry.getCollection(), e.getMessage());
+        }
+    }
+
+    /**
+     * Newest first
+     */
+    public List<SlowQuery> getEntries() {
+        synchronized (entries) {
+            List<SlowQuery> snapshot = new ArrayList<>(entries);
+            Collections.reverse(snapshot);
+            return snapshot;
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        plans.clear();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getThresholdMs() {
+        return thresholdNanos / 1_000_000;
+    }
+
+    private void explain(SlowQuery entry, BsonDocument command, String planKey) {
+        try {
+            BsonDocument explainCommand = new BsonDocument("explain", withoutSessionFields(command))
+                    .append("verbosity", new BsonString("queryPlanner"));
+            Document result = databases.apply(entry.getDatabase()).runCommand(explainCommand);
+            CachedPlan plan = new CachedPlan(planSummary(result), truncate(result.toJson(), MAX_EXPLAIN_CHARS),
+                    System.currentTimeMillis());
+            plans.put(planKey, plan);
+            entry.setPlan(plan.summary(), plan.explain());
+        } catch (Exception e) {
+            logger.warn("Explain of slow {} on {} failed: {}", entry.getCommand(), entry.getCollection(), e.getMessage());
+            entry.setPlan("explain failed: " + e.getMessage(), null);
+        }
+    }
+
+    /**
+     * The command as sent, minus driver-added fields explain does not accept
+     */
+    static BsonDocument withoutSessionFields(BsonDocument command) {
+        BsonDocument cleaned = new BsonDocument();
+        command.forEach((key, value) -> {
+            if (!key.startsWith("$") && !SESSION_FIELDS.contains(key)) {
+                cleaned.append(key, value);
+            }
+        });
+        return cleaned;
+    }
+
+    static String queryText(BsonDocument command) {
+        return truncate(withoutSessionFields(command).toJson(), MAX_QUERY_CHARS);
+    }
+
+    /**
+     * Winning plan as a stage chain, e.g. "FETCH <- IXSCAN status_1_orderDate_-1"
+     */
+    static String planSummary(Document explain) {
+        Document planner = find(explain, "queryPlanner");
+        if (planner == null || !(planner.get("winningPlan") instanceof Document winningPlan)) {
+            return null;
+        }
+        // Slot-based engine nests the classic-style plan
+        Document plan = winningPlan.get("queryPlan") instanceof Document queryPlan ? queryPlan : winningPlan;
+        StringBuilder summary = new StringBuilder();
+        describe(plan, summary);
+        return summary.toString();
+    }
+
+    private static void describe(Document stage, StringBuilder summary) {
+        summary.append(stage.getString("stage"));
+        if (stage.get("indexName") != null) {
+            summary.append(' ').append(stage.get("indexName"));
+        }
+        if (stage.get("inputStage") instanceof Document input) {
+            summary.append(" <- ");
+            describe(input, summary);
+        } else if (stage.get("inputStages") instanceof List<?> inputs) {
+            summary.append(" <- (");
+            for (int i = 0; i < inputs.size(); i++) {
+                if (i > 0) {
+                    summary.append(", ");
+                }
+                describe((Document) inputs.get(i), summary);
+            }
+            summary.append(')');
+        }
+    }
+
+    /**
+     * Depth-first search for a sub-document, e.g. inside aggregate explain stages
+     */
+    private static Document find(Object node, String key) {
+        if (node instanceof Document document) {
+            if (document.get(key) instanceof Document found) {
+                return found;
+            }
+            for (Object value : document.values()) {
+                Document found = find(value, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object value : list) {
+                Document found = find(value, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String truncate(String text, int maxChars) {
+        return text.length() <= maxChars ? text : text.substring(0, maxChars) + "...";
+    }
+
+    private record CachedPlan(String summary, String explain, long explainedAt) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.outbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes relayed events to in-process {@code @EventListener}s of {@link OutboxMessage};
+ * a listener that throws fails the delivery and the event is retried
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sinks.events.enabled", havingValue = "true", matchIfMissing = true)
+public class ApplicationEventOutboxSink implements OutboxSink {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public String getName() {
+        return "events";
+    }
+
+    @Override
+    public void publish(OutboxMessage message) {
+        eventPublisher.publishEvent(message);
+    }
+}
@@ -0,0 +1,63 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory stand-in for a message broker: events are partitioned by order id into bounded
+ * queues, so one consumer per partition sees each order's events in order. Nothing in this
+ * application consumes the partitions; a full partition pushes back on the relay with
+ * {@link OutboxBackPressureException}, so events wait in the outbox instead of failing
+ * delivery and ending up as dead letters.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sinks.broker.enabled", havingValue = "true")
+public class LocalBrokerOutboxSink implements OutboxSink {
+
+    private final List<BlockingQueue<OutboxMessage>> partitions = new ArrayList<>();
+
+    public LocalBrokerOutboxSink(@Value("${app.outbox.sinks.broker.partitions:8}") int partitionCount,
+                                 @Value("${app.outbox.sinks.broker.partition-capacity:10000}") int capacity) {
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new LinkedBlockingQueue<>(capacity));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "broker";
+    }
+
+    @Override
+    public void publish(OutboxMessage message) {
+        if (!partitions.get(partitionOf(message.getOrderId())).offer(message)) {
+            throw new OutboxBackPressureException("Broker partition for order " + message.getOrderNumber() + " is full");
+        }
+    }
+
+    /**
+     * Take the next event of a partition, waiting up to {@code timeout}; null if none arrived
+     */
+    public OutboxMessage poll(int partition, long timeout, TimeUnit unit) throws InterruptedException {
+        return partitions.get(partition).poll(timeout, unit);
+    }
+
+    public int partitionOf(String orderId) {
+        return Math.floorMod(orderId.hashCode(), partitions.size());
+    }
+
+    public int getPartitionCount() {
+        return partitions.size();
+    }
+
+    public int getDepth() {
+        return partitions.stream().mapToInt(BlockingQueue::size).sum();
+    }
+}
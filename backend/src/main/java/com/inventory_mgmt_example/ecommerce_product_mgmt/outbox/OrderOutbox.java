@@ -0,0 +1,54 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.outbox;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.event.OrderEvent;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.id.SnowflakeIdGenerator;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatus;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+
+/**
+ * Creates outbox events and attaches them to the write that makes the change: appended to a
+ * new order before it is inserted, or pushed by the same update that changes an existing order.
+ * Either way the event and the change are one atomic single-document write.
+ */
+@Component
+public class OrderOutbox {
+
+    static final String FIELD = "pendingEvents";
+
+    @Autowired
+    private SnowflakeIdGenerator idGenerator;
+
+    /**
+     * Record the CREATED event on an order about to be inserted
+     */
+    public void recordCreated(Order order) {
+        if (order.getPendingEvents() == null) {
+            order.setPendingEvents(new ArrayList<>());
+        }
+        order.getPendingEvents().add(event(OrderEvent.EventType.CREATED, order.getStatus(), null, order.getTrackingNumber()));
+    }
+
+    /**
+     * Add a STATUS_CHANGED event to an update that moves orders from {@code previousStatus} to {@code status}
+     */
+    public Update statusChanged(Update update, OrderStatus previousStatus, OrderStatus status, String trackingNumber) {
+        return update.push(FIELD, event(OrderEvent.EventType.STATUS_CHANGED, status, previousStatus, trackingNumber));
+    }
+
+    /**
+     * Add a TRACKING_UPDATED event to an update that sets an order's tracking number
+     */
+    public Update trackingUpdated(Update update, OrderStatus status, String trackingNumber) {
+        return update.push(FIELD, event(OrderEvent.EventType.TRACKING_UPDATED, status, status, trackingNumber));
+    }
+
+    private OutboxEvent event(OrderEvent.EventType type, OrderStatus status, OrderStatus previousStatus, String trackingNumber) {
+        return new OutboxEvent(idGenerator.nextId(), type.name(), status, previousStatus, trackingNumber);
+    }
+}
@@ -0,0 +1,13 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.outbox;
+
+/**
+ * Thrown by an {@link OutboxSink} that cannot take more messages right now. Unlike other
+ * publish failures it does not count as a delivery attempt: the relay stops the run and the
+ * events wait in the outbox until the sink has room again.
+ */
+public class OutboxBackPressureException extends RuntimeException {
+
+    public OutboxBackPressureException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,75 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.outbox;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatus;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * An order event as handed to the outbox sinks. Delivery is at least once, in order per order;
+ * {@code orderId} plus {@code eventId} identifies a redelivery.
+ */
+public class OutboxMessage {
+
+    private final String orderId;
+    private final String orderNumber;
+    private final long eventId;
+    private final String type;
+    private final OrderStatus status;
+    private final OrderStatus previousStatus;
+    private final String trackingNumber;
+    private final LocalDateTime occurredAt;
+
+    public OutboxMessage(String orderId, String orderNumber, OutboxEvent event) {
+        this.orderId = orderId;
+        this.orderNumber = orderNumber;
+        this.eventId = event.getEventId();
+        this.type = event.getType();
+        this.status = event.getStatus();
+        this.previousStatus = event.getPreviousStatus();
+        this.trackingNumber = event.getTrackingNumber();
+        this.occurredAt = event.getOccurredAt();
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public long getEventId() {
+        return eventId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public String getTrackingNumber() {
+        return trackingNumber;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxMessage{" +
+                "orderNumber='" + orderNumber + '\'' +
+                ", eventId=" + eventId +
+                ", type=" + type +
+                ", status=" + status +
+                '}';
+    }
+}
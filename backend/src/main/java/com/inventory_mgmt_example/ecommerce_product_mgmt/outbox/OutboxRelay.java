@@ -0,0 +1,245 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.outbox;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OutboxDeadLetter;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OutboxEvent;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.LeaseService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Drains the order outbox to the {@link OutboxSink}s.
+ * <p>
+ * One replica relays at a time (MongoDB lease), reading orders with pending events through
+ * the sparse pendingEvents index, oldest event first. Each order's events are delivered in
+ * the order they were written; a failure stops that order's remaining events until the next
+ * run, so per-order ordering holds. A failed event is retried with exponential backoff from
+ * {@code app.outbox.retry-backoff-ms} up to {@code app.outbox.max-retry-backoff-ms}; its order
+ * is not read again before the event's nextAttemptAt. After every sink has flushed the batch,
+ * delivered events are pulled with one bulk write. A crash between delivery and the pull
+ * redelivers the events, so delivery is at least once. Events failing
+ * {@code app.outbox.max-attempts} times move to the outbox_dead_letters collection.
+ * <p>
+ * A run ends after the first batch with a failure, so a failing sink is not hammered with
+ * every remaining batch. A sink pushing back ({@link OutboxBackPressureException}) ends the
+ * run without counting an attempt.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String RELAY_LEASE = "outbox-relay";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private LeaseService leaseService;
+
+    @Autowired(required = false)
+    private List<OutboxSink> sinks = List.of();
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.outbox.max-attempts:20}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${app.outbox.max-retry-backoff-ms:300000}")
+    private long maxRetryBackoffMs;
+
+    @Value("${app.outbox.lease-ttl-ms:30000}")
+    private long leaseTtlMs;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer lag;
+    private final Counter deadLettered;
+    private final AtomicLong oldestPendingAgeMs = new AtomicLong();
+
+    public OutboxRelay(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.lag = Timer.builder("app.outbox.lag")
+                .description("Time from an order change to delivery of its event")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("app.outbox.dead-lettered")
+                .description("Outbox events given up on after repeated delivery failures")
+                .register(meterRegistry);
+        Gauge.builder("app.outbox.oldest-pending-age", oldestPendingAgeMs, age -> age.get() / 1000.0)
+                .description("Age of the oldest undelivered outbox event seen by the last relay batch")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.outbox.initial-delay-ms:5000}",
+            fixedDelayString = "${app.outbox.relay-interval-ms:500}")
+    public void relay() {
+        if (sinks.isEmpty() || !leaseService.tryAcquire(RELAY_LEASE, Duration.ofMillis(leaseTtlMs))) {
+            return;
+        }
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            if (!relayBatch()) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Relay one batch of orders; returns whether the run should go on with another batch,
+     * i.e. the batch was full and nothing in it failed or pushed back
+     */
+    boolean relayBatch() {
+        LocalDateTime retryCutoff = LocalDateTime.now();
+        // Orders whose blocking event is backing off are skipped until its nextAttemptAt
+        Query query = Query.query(where("pendingEvents.eventId").exists(true)
+                        .and("pendingEvents.nextAttemptAt").not().gt(retryCutoff))
+                .with(Sort.by("pendingEvents.eventId"))
+                .limit(batchSize);
+        query.fields().include("id", "orderNumber", "pendingEvents");
+        List<Order> orders = mongoTemplate.find(query, Order.class);
+        if (orders.isEmpty()) {
+            oldestPendingAgeMs.set(0);
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        oldestPendingAgeMs.set(orders.stream()
+                .mapToLong(order -> now - epochMillis(order.getPendingEvents().get(0).getOccurredAt()))
+                .max().orElse(0));
+
+        // Ordered: an order's pull must run before the unset of its emptied array
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Order.class);
+        List<OutboxDeadLetter> deadLetters = new ArrayList<>();
+        List<OutboxEvent> deliveredEvents = new ArrayList<>();
+        int writes = 0;
+        boolean failed = false;
+        boolean pushedBack = false;
+
+        for (Order order : orders) {
+            if (pushedBack) {
+                break;
+            }
+            List<Long> removed = new ArrayList<>();
+            for (OutboxEvent event : order.getPendingEvents()) {
+                OutboxMessage message = new OutboxMessage(order.getId(), order.getOrderNumber(), event);
+                String sinkName = null;
+                try {
+                    for (OutboxSink sink : sinks) {
+                        sinkName = sink.getName();
+                        sink.publish(message);
+                        counter("app.outbox.delivered", sinkName).increment();
+                    }
+                    removed.add(event.getEventId());
+                    deliveredEvents.add(event);
+                } catch (OutboxBackPressureException e) {
+                    logger.info("Outbox sink {} is full, pausing the relay: {}", sinkName, e.getMessage());
+                    pushedBack = true;
+                    break;
+                } catch (Exception e) {
+                    failed = true;
+                    counter("app.outbox.failed", sinkName).increment();
+                    String error = sinkName + ": " + e.getMessage();
+                    if (event.getAttempts() + 1 >= maxAttempts) {
+                        logger.error("Giving up on outbox event {} of order {} after {} attempts: {}",
+                                event.getEventId(), order.getOrderNumber(), maxAttempts, error);
+                        deadLetters.add(new OutboxDeadLetter(order.getId(), order.getOrderNumber(), event, error));
+                        removed.add(event.getEventId());
+                        continue;
+                    }
+                    LocalDateTime nextAttemptAt = retryCutoff.plus(backoff(event.getAttempts() + 1));
+                    logger.warn("Delivery of outbox event {} of order {} failed, retrying at {}: {}",
+                            event.getEventId(), order.getOrderNumber(), nextAttemptAt, error);
+                    bulkOps.updateOne(Query.query(where("id").is(order.getId())), new Update()
+                            .inc("pendingEvents.$[e].attempts", 1)
+                            .set("pendingEvents.$[e].lastError", error)
+                            .set("pendingEvents.$[e].nextAttemptAt", nextAttemptAt)
+                            .filterArray(where("e.eventId").is(event.getEventId())));
+                    writes++;
+                    // Later events of this order wait, keeping per-order order
+                    break;
+                }
+            }
+
+            if (!removed.isEmpty()) {
+                bulkOps.updateOne(Query.query(where("id").is(order.getId())),
+                        new Update().pull("pendingEvents", new Document("eventId", new Document("$in", removed))));
+                // Drop the emptied array so the order leaves the sparse index
+                bulkOps.updateOne(Query.query(where("id").is(order.getId()).and("pendingEvents").size(0)),
+                        new Update().unset("pendingEvents"));
+                writes += 2;
+            }
+        }
+
+        try {
+            for (OutboxSink sink : sinks) {
+                sink.flush();
+            }
+        } catch (Exception e) {
+            // Nothing is removed; the whole batch is redelivered
+            logger.warn("Outbox sink flush failed, batch will be redelivered: {}", e.getMessage());
+            return false;
+        }
+
+        if (!deadLetters.isEmpty()) {
+            mongoTemplate.insertAll(deadLetters);
+            deadLettered.increment(deadLetters.size());
+        }
+        if (writes > 0) {
+            bulkOps.execute();
+        }
+
+        long deliveredAt = System.currentTimeMillis();
+        for (OutboxEvent event : deliveredEvents) {
+            lag.record(Duration.ofMillis(Math.max(0, deliveredAt - epochMillis(event.getOccurredAt()))));
+        }
+        return orders.size() == batchSize && !failed && !pushedBack;
+    }
+
+    /**
+     * Delay before retrying an event that has failed {@code attempts} times
+     */
+    Duration backoff(int attempts) {
+        long delay = retryBackoffMs << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(delay, maxRetryBackoffMs));
+    }
+
+    private Counter counter(String name, String sink) {
+        return meterRegistry.counter(name, "sink", sink != null ? sink : "none");
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
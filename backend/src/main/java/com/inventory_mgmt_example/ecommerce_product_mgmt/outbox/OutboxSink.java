@@ -0,0 +1,20 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.outbox;
+
+/**
+ * A destination for relayed order events. Throwing from {@link #publish} or {@link #flush}
+ * leaves the event in the outbox to be redelivered on a later relay run; a sink that is
+ * merely full throws {@link OutboxBackPressureException} so the relay waits instead.
+ */
+public interface OutboxSink {
+
+    String getName();
+
+    void publish(OutboxMessage message) throws Exception;
+
+    /**
+     * Make everything published so far durable; called once per relay batch before the
+     * delivered events are removed from the outbox
+     */
+    default void flush() throws Exception {
+    }
+}
@@ -0,0 +1,288 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.querylog;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLog;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Stored form of a {@link QueryLog}: short field names, omitted defaults, and
+ * {@link QueryLogDictionary} codes in place of the HTTP method, controller method, user agent
+ * and route pattern. A URI that matches its route pattern segment by segment is kept as the
+ * pattern's code plus the path variable values and rebuilt on read; other URIs are kept as is.
+ * Method arguments longer than {@code app.query-log.max-argument-length} are cut and tagged
+ * with a hash of the full text, so equal long arguments can still be told apart and grouped.
+ * <p>
+ * Buckets written before this form hold mapped QueryLog documents with the full field names
+ * ({@link #LEGACY_TIMESTAMP} instead of {@link #TIMESTAMP}); {@link #decode(Document)} reads
+ * both, and {@code QueryLogStore.migrateLegacy} rewrites the old ones.
+ */
+@Component
+public class QueryLogCodec {
+
+    static final String ID = "_id";
+    static final String TIMESTAMP = "ts";
+    static final String CLIENT_IP = "ip";
+    static final String HTTP_METHOD = "m";
+    static final String REQUEST_PATTERN = "p";
+    static final String URI_VARIABLES = "v";
+    static final String REQUEST_URI = "u";
+    static final String QUERY_STRING = "q";
+    static final String CONTROLLER_METHOD = "c";
+    static final String METHOD_ARGUMENTS = "a";
+    static final String USER_AGENT = "ua";
+    static final String RESPONSE_STATUS = "s";
+    static final String RESPONSE_SIZE = "rs";
+    static final String EXECUTION_TIME_MS = "t";
+    // Only present, as true, on failed calls
+    static final String FAILED = "f";
+    static final String ERROR_MESSAGE = "e";
+
+    // Timestamp field of the mapped QueryLog documents stored before the compact form
+    static final String LEGACY_TIMESTAMP = "timestamp";
+
+    @Autowired
+    private QueryLogDictionary dictionary;
+
+    @Value("${app.query-log.max-argument-length:256}")
+    private int maxArgumentLength = 256;
+
+    public Document encode(QueryLog queryLog) {
+        Document document = new Document(ID, queryLog.getId() != null && ObjectId.isValid(queryLog.getId())
+                ? new ObjectId(queryLog.getId()) : new ObjectId());
+        document.put(TIMESTAMP, Date.from(queryLog.getTimestamp().atZone(ZoneId.systemDefault()).toInstant()));
+        putIfPresent(document, CLIENT_IP, queryLog.getClientIp());
+        putIfPresent(document, HTTP_METHOD, encode(QueryLogDictionary.HTTP_METHOD, queryLog.getHttpMethod()));
+
+        List<String> variables = uriVariables(queryLog.getRequestPattern(), queryLog.getRequestUri());
+        if (variables != null) {
+            document.put(REQUEST_PATTERN, encode(QueryLogDictionary.REQUEST_PATTERN, queryLog.getRequestPattern()));
+            if (!variables.isEmpty()) {
+                document.put(URI_VARIABLES, variables);
+            }
+        } else {
+            putIfPresent(document, REQUEST_URI, queryLog.getRequestUri());
+        }
+
+        if (queryLog.getQueryString() != null && !queryLog.getQueryString().isEmpty()) {
+            document.put(QUERY_STRING, queryLog.getQueryString());
+        }
+        putIfPresent(document, CONTROLLER_METHOD, encode(QueryLogDictionary.CONTROLLER_METHOD, queryLog.getControllerMethod()));
+        if (queryLog.getMethodArguments() != null && !"[]".equals(queryLog.getMethodArguments())) {
+            document.put(METHOD_ARGUMENTS, compactArguments(queryLog.getMethodArguments()));
+        }
+        putIfPresent(document, USER_AGENT, encode(QueryLogDictionary.USER_AGENT, queryLog.getUserAgent()));
+        document.put(RESPONSE_STATUS, queryLog.getResponseStatus());
+        putNumber(document, RESPONSE_SIZE, queryLog.getResponseSize());
+        putNumber(document, EXECUTION_TIME_MS, queryLog.getExecutionTimeMs());
+        if (!queryLog.isSuccess()) {
+            document.put(FAILED, true);
+        }
+        putIfPresent(document, ERROR_MESSAGE, queryLog.getErrorMessage());
+        return document;
+    }
+
+    public QueryLog decode(Document document) {
+        if (!document.containsKey(TIMESTAMP) && document.containsKey(LEGACY_TIMESTAMP)) {
+            return decodeLegacy(document);
+        }
+        QueryLog queryLog = new QueryLog();
+        queryLog.setId(idOf(document));
+        queryLog.setTimestamp(LocalDateTime.ofInstant(document.getDate(TIMESTAMP).toInstant(), ZoneId.systemDefault()));
+        queryLog.setClientIp(document.getString(CLIENT_IP));
+        queryLog.setHttpMethod(decode(QueryLogDictionary.HTTP_METHOD, document.get(HTTP_METHOD)));
+        if (document.containsKey(REQUEST_PATTERN)) {
+            String pattern = decode(QueryLogDictionary.REQUEST_PATTERN, document.get(REQUEST_PATTERN));
+            queryLog.setRequestPattern(pattern);
+            queryLog.setRequestUri(expand(pattern, document.getList(URI_VARIABLES, String.class, List.of())));
+        } else {
+            queryLog.setRequestUri(document.getString(REQUEST_URI));
+        }
+        queryLog.setQueryString(document.getString(QUERY_STRING));
+        queryLog.setControllerMethod(decode(QueryLogDictionary.CONTROLLER_METHOD, document.get(CONTROLLER_METHOD)));
+        queryLog.setMethodArguments(document.getString(METHOD_ARGUMENTS) != null ? document.getString(METHOD_ARGUMENTS) : "[]");
+        queryLog.setUserAgent(decode(QueryLogDictionary.USER_AGENT, document.get(USER_AGENT)));
+        queryLog.setResponseStatus(document.getInteger(RESPONSE_STATUS, 0));
+        queryLog.setResponseSize(longValue(document.get(RESPONSE_SIZE)));
+        queryLog.setExecutionTimeMs(longValue(document.get(EXECUTION_TIME_MS)));
+        queryLog.setSuccess(!document.getBoolean(FAILED, false));
+        queryLog.setErrorMessage(document.getString(ERROR_MESSAGE));
+        return queryLog;
+    }
+
+    /**
+     * A mapped QueryLog document, as stored before the compact form
+     */
+    QueryLog decodeLegacy(Document document) {
+        QueryLog queryLog = new QueryLog();
+        queryLog.setId(idOf(document));
+        queryLog.setTimestamp(LocalDateTime.ofInstant(document.getDate(LEGACY_TIMESTAMP).toInstant(), ZoneId.systemDefault()));
+        queryLog.setClientIp(document.getString("clientIp"));
+        queryLog.setHttpMethod(document.getString("httpMethod"));
+        queryLog.setRequestUri(document.getString("requestUri"));
+        queryLog.setQueryString(document.getString("queryString"));
+        queryLog.setControllerMethod(document.getString("controllerMethod"));
+        queryLog.setMethodArguments(document.getString("methodArguments"));
+        queryLog.setUserAgent(document.getString("userAgent"));
+        queryLog.setResponseStatus(document.getInteger("responseStatus", 0));
+        queryLog.setResponseSize(longValue(document.get("responseSize")));
+        queryLog.setExecutionTimeMs(longValue(document.get("executionTimeMs")));
+        queryLog.setSuccess(document.getBoolean("success", true));
+        queryLog.setErrorMessage(document.getString("errorMessage"));
+        return queryLog;
+    }
+
+    /**
+     * Decode a stored dictionary field: a code, or the value itself when it was stored inline
+     */
+    public String decode(String kind, Object stored) {
+        if (stored instanceof Integer code) {
+            return dictionary.decode(kind, code);
+        }
+        return (String) stored;
+    }
+
+    /**
+     * The stored forms a value can take in a dictionary field, for equality queries
+     */
+    public List<Object> storedForms(String kind, String value) {
+        Integer code = dictionary.lookup(kind, value);
+        return code != null ? List.of(code, value) : List.of(value);
+    }
+
+    /**
+     * Route patterns in the dictionary, including those assigned by other instances
+     */
+    public Collection<String> patterns() {
+        return dictionary.values(QueryLogDictionary.REQUEST_PATTERN);
+    }
+
+    String compactArguments(String arguments) {
+        if (arguments.length() <= maxArgumentLength) {
+            return arguments;
+        }
+        return arguments.substring(0, maxArgumentLength) + "...#" + Integer.toHexString(arguments.hashCode());
+    }
+
+    /**
+     * Values of the pattern's {@code {variable}} segments in the URI, or null if the URI does
+     * not match the pattern segment by segment
+     */
+    static List<String> uriVariables(String pattern, String uri) {
+        if (pattern == null || uri == null) {
+            return null;
+        }
+        String[] patternSegments = pattern.split("/", -1);
+        String[] uriSegments = uri.split("/", -1);
+        if (patternSegments.length != uriSegments.length) {
+            return null;
+        }
+        List<String> variables = new ArrayList<>();
+        for (int i = 0; i < patternSegments.length; i++) {
+            if (isVariable(patternSegments[i])) {
+                variables.add(uriSegments[i]);
+            } else if (!patternSegments[i].equals(uriSegments[i])) {
+                return null;
+            }
+        }
+        return variables;
+    }
+
+    static String expand(String pattern, List<String> variables) {
+        String[] segments = pattern.split("/", -1);
+        int next = 0;
+        for (int i = 0; i < segments.length; i++) {
+            if (isVariable(segments[i]) && next < variables.size()) {
+                segments[i] = variables.get(next++);
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    /**
+     * Whether a URI built from the pattern could contain {@code part}, judged from the
+     * pattern's literal segments alone. A part within one segment is only checked against the
+     * literal segments (path variable values are matched in the database); a part spanning
+     * segments must line up with the pattern, any variable segment matching.
+     */
+    static boolean mayContain(String pattern, String part) {
+        String[] segments = pattern.split("/", -1);
+        String[] pieces = part.split("/", -1);
+        if (pieces.length == 1) {
+            for (String segment : segments) {
+                if (!isVariable(segment) && segment.contains(part)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (int start = 0; start + pieces.length <= segments.length; start++) {
+            if (linesUp(segments, pieces, start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean linesUp(String[] segments, String[] pieces, int start) {
+        int last = pieces.length - 1;
+        for (int i = 0; i <= last; i++) {
+            String segment = segments[start + i];
+            if (isVariable(segment)) {
+                continue;
+            }
+            boolean fits = i == 0 ? segment.endsWith(pieces[i])
+                    : i == last ? segment.startsWith(pieces[i])
+                    : segment.equals(pieces[i]);
+            if (!fits) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String idOf(Document document) {
+        Object id = document.get(ID);
+        return id instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id);
+    }
+
+    private static boolean isVariable(String segment) {
+        return segment.startsWith("{") && segment.endsWith("}");
+    }
+
+    private Object encode(String kind, String value) {
+        if (value == null) {
+            return null;
+        }
+        Integer code = dictionary.encode(kind, value);
+        return code != null ? code : value;
+    }
+
+    private static void putIfPresent(Document document, String key, Object value) {
+        if (value != null) {
+            document.put(key, value);
+        }
+    }
+
+    /**
+     * Zero is left out, and values that fit are stored as 32-bit integers
+     */
+    private static void putNumber(Document document, String key, long value) {
+        if (value != 0) {
+            document.put(key, value == (int) value ? (Object) (int) value : (Object) value);
+        }
+    }
+
+    private static long longValue(Object stored) {
+        return stored instanceof Number number ? number.longValue() : 0;
+    }
+}
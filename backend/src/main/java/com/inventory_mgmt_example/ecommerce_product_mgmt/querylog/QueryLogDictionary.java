@@ -0,0 +1,142 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.querylog;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLogDictionaryEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Small integer codes for the strings that repeat across query logs, shared by all instances
+ * through {@code query_log_dictionary} and cached in memory, so encoding a known value is a
+ * map lookup. New values get the next free code; if another instance takes that code (or the
+ * value) first, the unique indexes reject the insert and the kind is reloaded.
+ * <p>
+ * Each kind holds at most {@code app.query-log.dictionary.max-entries} values; past that,
+ * values are stored inline, which keeps an unexpectedly high-cardinality field from growing
+ * the dictionary without bound.
+ */
+@Component
+public class QueryLogDictionary {
+
+    public static final String HTTP_METHOD = "httpMethod";
+    public static final String REQUEST_PATTERN = "requestPattern";
+    public static final String CONTROLLER_METHOD = "controllerMethod";
+    public static final String USER_AGENT = "userAgent";
+
+    private static final int MAX_ASSIGN_ATTEMPTS = 3;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.query-log.dictionary.max-entries:10000}")
+    private int maxEntries = 10000;
+
+    private final Map<String, Entries> kinds = new ConcurrentHashMap<>();
+
+    /**
+     * The code for {@code value}, assigning one if it is new; null when the kind is full
+     */
+    public Integer encode(String kind, String value) {
+        Entries entries = entries(kind);
+        Integer code = entries.codes.get(value);
+        return code != null ? code : assign(kind, entries, value);
+    }
+
+    /**
+     * The code already assigned to {@code value}, without assigning one
+     */
+    public Integer lookup(String kind, String value) {
+        return entries(kind).codes.get(value);
+    }
+
+    /**
+     * The value for a code; codes assigned by another instance are fetched on first use
+     */
+    public String decode(String kind, int code) {
+        Entries entries = entries(kind);
+        String value = entries.values.get(code);
+        if (value == null) {
+            QueryLogDictionaryEntry entry = mongoTemplate.findOne(
+                    Query.query(where("kind").is(kind).and("code").is(code)), QueryLogDictionaryEntry.class);
+            if (entry != null) {
+                entries.put(entry.getCode(), entry.getValue());
+                value = entry.getValue();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Every value of the kind, reloaded first so values assigned by other instances are included
+     */
+    public Collection<String> values(String kind) {
+        Entries entries = entries(kind);
+        load(kind, entries);
+        return entries.values.values();
+    }
+
+    public int size(String kind) {
+        return entries(kind).values.size();
+    }
+
+    private synchronized Integer assign(String kind, Entries entries, String value) {
+        for (int attempt = 0; attempt < MAX_ASSIGN_ATTEMPTS; attempt++) {
+            Integer code = entries.codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (entries.values.size() >= maxEntries) {
+                return null;
+            }
+            int next = entries.maxCode + 1;
+            try {
+                mongoTemplate.insert(new QueryLogDictionaryEntry(kind, next, value));
+                entries.put(next, value);
+                return next;
+            } catch (DuplicateKeyException e) {
+                // Another instance assigned this value or this code first
+                load(kind, entries);
+            }
+        }
+        return null;
+    }
+
+    private Entries entries(String kind) {
+        return kinds.computeIfAbsent(kind, name -> {
+            Entries entries = new Entries();
+            load(name, entries);
+            return entries;
+        });
+    }
+
+    private void load(String kind, Entries entries) {
+        List<QueryLogDictionaryEntry> stored = mongoTemplate.find(
+                Query.query(where("kind").is(kind)), QueryLogDictionaryEntry.class);
+        for (QueryLogDictionaryEntry entry : stored) {
+            entries.put(entry.getCode(), entry.getValue());
+        }
+    }
+
+    private static class Entries {
+
+        private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+        private final Map<Integer, String> values = new ConcurrentHashMap<>();
+        private volatile int maxCode;
+
+        private synchronized void put(int code, String value) {
+            codes.put(value, code);
+            values.put(code, value);
+            maxCode = Math.max(maxCode, code);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.querylog;
+
+/**
+ * How much {@code QueryLoggingAspect} records per call ({@code app.query-log.mode})
+ */
+public enum QueryLogMode {
+    /** Nothing; the advice only forwards the call */
+    OFF,
+    /** Call timers per controller method, no QueryLog documents */
+    METRICS,
+    /** Metrics, plus QueryLogs for a random sample of calls and for every failed or slow call */
+    SAMPLED,
+    /** Metrics, plus a QueryLog for every call */
+    FULL;
+
+    public boolean persists() {
+        return this == SAMPLED || this == FULL;
+    }
+}
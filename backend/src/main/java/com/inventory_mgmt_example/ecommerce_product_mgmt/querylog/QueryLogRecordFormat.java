@@ -0,0 +1,101 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.querylog;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLog;
+import org.bson.types.ObjectId;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Binary form of one {@link QueryLog} in a segment file: a format version byte, the 12 byte
+ * log id, then the fields in a fixed order. Strings are a length (-1 for null) and UTF-8 bytes.
+ * Self-contained, unlike {@link QueryLogCodec}, so writing a record never needs the database.
+ */
+final class QueryLogRecordFormat {
+
+    private static final byte VERSION = 1;
+
+    private QueryLogRecordFormat() {
+    }
+
+    static byte[] encode(QueryLog queryLog) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.write(new ObjectId(queryLog.getId()).toByteArray());
+            out.writeLong(queryLog.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            writeString(out, queryLog.getClientIp());
+            writeString(out, queryLog.getHttpMethod());
+            writeString(out, queryLog.getRequestUri());
+            writeString(out, queryLog.getRequestPattern());
+            writeString(out, queryLog.getQueryString());
+            writeString(out, queryLog.getControllerMethod());
+            writeString(out, queryLog.getMethodArguments());
+            writeString(out, queryLog.getUserAgent());
+            out.writeInt(queryLog.getResponseStatus());
+            out.writeLong(queryLog.getResponseSize());
+            out.writeLong(queryLog.getExecutionTimeMs());
+            out.writeBoolean(queryLog.isSuccess());
+            writeString(out, queryLog.getErrorMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static QueryLog decode(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported query log record version " + version);
+        }
+        byte[] id = new byte[12];
+        in.readFully(id);
+
+        QueryLog queryLog = new QueryLog();
+        queryLog.setId(new ObjectId(id).toHexString());
+        queryLog.setTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneId.systemDefault()));
+        queryLog.setClientIp(readString(in));
+        queryLog.setHttpMethod(readString(in));
+        queryLog.setRequestUri(readString(in));
+        queryLog.setRequestPattern(readString(in));
+        queryLog.setQueryString(readString(in));
+        queryLog.setControllerMethod(readString(in));
+        queryLog.setMethodArguments(readString(in));
+        queryLog.setUserAgent(readString(in));
+        queryLog.setResponseStatus(in.readInt());
+        queryLog.setResponseSize(in.readLong());
+        queryLog.setExecutionTimeMs(in.readLong());
+        queryLog.setSuccess(in.readBoolean());
+        queryLog.setErrorMessage(readString(in));
+        return queryLog;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,156 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.querylog;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLog;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+/**
+ * Counts the response bytes actually written and completes the query log of the request
+ * with them once the body is out, then hands the log to the {@link QueryLogWriter}.
+ * Counting is a field increment per write; nothing is buffered or copied.
+ */
+public class QueryLogResponseFilter extends OncePerRequestFilter {
+
+    private static final String RESPONSE_ATTRIBUTE = QueryLogResponseFilter.class.getName() + ".response";
+
+    private final QueryLogWriter queryLogWriter;
+
+    public QueryLogResponseFilter(QueryLogWriter queryLogWriter) {
+        this.queryLogWriter = queryLogWriter;
+    }
+
+    /**
+     * Leave {@code queryLog} to be written once the response is complete; false when the
+     * request is not going through this filter and the caller must write it
+     */
+    public static boolean deferUntilWritten(HttpServletRequest request, QueryLog queryLog) {
+        if (request != null && request.getAttribute(RESPONSE_ATTRIBUTE) instanceof CountingResponse response) {
+            response.pendingLog = queryLog;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        CountingResponse counting = new CountingResponse(response);
+        request.setAttribute(RESPONSE_ATTRIBUTE, counting);
+        try {
+            filterChain.doFilter(request, counting);
+        } finally {
+            request.removeAttribute(RESPONSE_ATTRIBUTE);
+            if (counting.pendingLog != null) {
+                counting.pendingLog.setResponseSize(counting.bytesWritten);
+                queryLogWriter.write(counting.pendingLog);
+            }
+        }
+    }
+
+    private static class CountingResponse extends HttpServletResponseWrapper {
+
+        private long bytesWritten;
+        private QueryLog pendingLog;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        /**
+         * Counted in chars, which equals bytes for the ASCII/JSON bodies written this way
+         */
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new CountingWriter(super.getWriter()));
+            }
+            return writer;
+        }
+
+        private class CountingOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+
+            CountingOutputStream(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                delegate.write(b);
+                bytesWritten++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                delegate.write(b, off, len);
+                bytesWritten += len;
+            }
+
+            @Override
+            public void flush() throws IOException {
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+        }
+
+        private class CountingWriter extends Writer {
+
+            private final Writer delegate;
+
+            CountingWriter(Writer delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(char[] buffer, int off, int len) throws IOException {
+                delegate.write(buffer, off, len);
+                bytesWritten += len;
+            }
+
+            @Override
+            public void flush() throws IOException {
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                delegate.close();
+            }
+        }
+    }
+}
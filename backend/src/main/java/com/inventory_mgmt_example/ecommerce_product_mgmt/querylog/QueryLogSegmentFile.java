@@ -0,0 +1,166 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.querylog;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLog;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Layout of a query log segment file ({@code querylog-<sequence>.seg}).
+ * <p>
+ * A 32 byte header (magic, version, sequence, creation time, CRC32C of those fields) is
+ * written and forced before the first record, so a segment either has a valid header or is
+ * recognisably broken. Each record is framed as length, CRC32C of the payload, payload. A crash
+ * can only tear the tail of the segment being written: reading stops at the first frame whose
+ * length is cut short or out of range, whose payload is cut short, or whose checksum does not
+ * match, and everything before it is intact. Only a file ending exactly after a frame is complete.
+ */
+final class QueryLogSegmentFile {
+
+    static final int HEADER_BYTES = 32;
+    static final int FRAME_HEADER_BYTES = 8;
+    static final int MAX_RECORD_BYTES = 1024 * 1024;
+
+    private static final int MAGIC = 0x514C4F47; // "QLOG"
+    private static final short VERSION = 1;
+    private static final String PREFIX = "querylog-";
+    private static final String SUFFIX = ".seg";
+
+    private QueryLogSegmentFile() {
+    }
+
+    /**
+     * Outcome of reading a segment: records read and whether the file ended cleanly
+     */
+    record ReadResult(long records, boolean complete) {
+    }
+
+    static Path pathFor(Path directory, long sequence) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, sequence, SUFFIX));
+    }
+
+    /**
+     * Sequence number from a segment file name, or -1 if it is not a segment file
+     */
+    static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(PREFIX) || !name.endsWith(SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Segment files in the directory, lowest sequence first
+     */
+    static List<Path> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = new ArrayList<>(files.filter(path -> sequenceOf(path) >= 0).toList());
+            segments.sort((a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)));
+            return segments;
+        }
+    }
+
+    static ByteBuffer header(long sequence, long createdAtMillis) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putShort(VERSION).putShort((short) HEADER_BYTES)
+                .putLong(sequence).putLong(createdAtMillis);
+        header.putInt(crc(header.array(), 0, 24));
+        header.putInt(0);
+        return header.flip();
+    }
+
+    /**
+     * Frame one encoded record into {@code buffer}
+     */
+    static void putFrame(ByteBuffer buffer, byte[] payload) {
+        buffer.putInt(payload.length).putInt(crc(payload, 0, payload.length)).put(payload);
+    }
+
+    static int frameBytes(byte[] payload) {
+        return FRAME_HEADER_BYTES + payload.length;
+    }
+
+    /**
+     * Read the segment's records in order, stopping at a torn or corrupt tail
+     */
+    static ReadResult read(Path segment, Consumer<QueryLog> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            if (!validHeader(channel, sequenceOf(segment))) {
+                return new ReadResult(0, false);
+            }
+        }
+
+        long records = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment), 64 * 1024))) {
+            in.skipNBytes(HEADER_BYTES);
+            while (true) {
+                int first = in.read();
+                if (first < 0) {
+                    return new ReadResult(records, true);
+                }
+                int length;
+                try {
+                    length = first << 24 | in.readUnsignedByte() << 16 | in.readUnsignedByte() << 8 | in.readUnsignedByte();
+                } catch (EOFException e) {
+                    // Torn inside the length prefix
+                    return new ReadResult(records, false);
+                }
+                if (length <= 0 || length > MAX_RECORD_BYTES) {
+                    return new ReadResult(records, false);
+                }
+                byte[] payload = new byte[length];
+                try {
+                    int checksum = in.readInt();
+                    in.readFully(payload);
+                    if (crc(payload, 0, length) != checksum) {
+                        return new ReadResult(records, false);
+                    }
+                } catch (EOFException e) {
+                    return new ReadResult(records, false);
+                }
+                consumer.accept(QueryLogRecordFormat.decode(payload));
+                records++;
+            }
+        }
+    }
+
+    private static boolean validHeader(FileChannel channel, long expectedSequence) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining()) {
+            if (channel.read(header) < 0) {
+                return false;
+            }
+        }
+        header.flip();
+        return header.getInt(0) == MAGIC
+                && header.getShort(4) == VERSION
+                && header.getLong(8) == expectedSequence
+                && header.getInt(24) == crc(header.array(), 0, 24);
+    }
+
+    private static int crc(byte[] bytes, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+}
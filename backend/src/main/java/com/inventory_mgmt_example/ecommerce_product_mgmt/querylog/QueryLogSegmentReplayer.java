@@ -0,0 +1,175 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.querylog;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads the local query log segments written by {@link QueryLogSegmentWriter}.
+ * <p>
+ * Sealed segments are replayed into MongoDB in batches, oldest first, and deleted once all of
+ * their records are stored. Record ids are fixed when the log is appended, so a replay that
+ * is interrupted and repeated skips the logs it already stored. With
+ * {@code app.query-log.segments.replay=false} the segments are the only copy; they are kept
+ * for the query log retention period and only counted for the stats endpoint.
+ */
+@Component
+@ConditionalOnProperty(name = "app.query-log.sink", havingValue = "file")
+public class QueryLogSegmentReplayer {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryLogSegmentReplayer.class);
+
+    private static final int REPLAY_BATCH_SIZE = 500;
+
+    @Autowired
+    private QueryLogSegmentWriter segmentWriter;
+
+    @Autowired
+    private QueryLogStore queryLogStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.query-log.segments.replay:true}")
+    private boolean replay;
+
+    @Value("${app.query-log.retention.detail-days:7}")
+    private int detailDays;
+
+    /**
+     * Totals of sealed segments by sequence; sealed segments never change
+     */
+    private final Map<Long, SegmentTotals> sealedTotals = new ConcurrentHashMap<>();
+
+    private Counter replayed;
+
+    /**
+     * Logs held in local segments and not yet in MongoDB
+     */
+    public record SegmentTotals(long total, long failed) {
+
+        static final SegmentTotals EMPTY = new SegmentTotals(0, 0);
+
+        SegmentTotals plus(SegmentTotals other) {
+            return new SegmentTotals(total + other.total, failed + other.failed);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        replayed = Counter.builder("app.query-log.segments.records")
+                .description("Query logs handled by the segment file sink")
+                .tag("outcome", "replayed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.query-log.segments.replay-interval-ms:10000}",
+            fixedDelayString = "${app.query-log.segments.replay-interval-ms:10000}")
+    public void processSealedSegments() {
+        Instant expiry = Instant.now().minus(Duration.ofDays(detailDays));
+        try {
+            for (Path segment : sealedSegments()) {
+                if (replay) {
+                    replay(segment);
+                } else if (Files.getLastModifiedTime(segment).toInstant().isBefore(expiry)) {
+                    delete(segment);
+                }
+            }
+        } catch (Exception e) {
+            // Left in place and retried in order on the next run
+            logger.error("Failed to process query log segments: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Totals over every local segment: the active one from the writer's running counts, sealed
+     * ones read once and cached
+     */
+    public SegmentTotals pendingTotals() throws IOException {
+        QueryLogSegmentWriter.ActiveSegment active = segmentWriter.getActiveSegment();
+        Set<Long> present = new HashSet<>();
+        SegmentTotals totals = new SegmentTotals(active.records(), active.failed());
+        for (Path segment : QueryLogSegmentFile.list(segmentWriter.getDirectory())) {
+            long sequence = QueryLogSegmentFile.sequenceOf(segment);
+            present.add(sequence);
+            // A segment opened after the snapshot is still empty
+            if (sequence < active.sequence()) {
+                totals = totals.plus(sealedTotals.computeIfAbsent(sequence, s -> count(segment)));
+            }
+        }
+        sealedTotals.keySet().retainAll(present);
+        return totals;
+    }
+
+    void replay(Path segment) throws IOException {
+        List<QueryLog> batch = new ArrayList<>(REPLAY_BATCH_SIZE);
+        QueryLogSegmentFile.ReadResult result = QueryLogSegmentFile.read(segment, queryLog -> {
+            batch.add(queryLog);
+            if (batch.size() == REPLAY_BATCH_SIZE) {
+                queryLogStore.saveAll(batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            queryLogStore.saveAll(batch);
+        }
+        if (!result.complete()) {
+            logger.warn("Query log segment {} ends in a torn or corrupt record after {} records; the rest is skipped",
+                    segment.getFileName(), result.records());
+        }
+        replayed.increment(result.records());
+        delete(segment);
+    }
+
+    private List<Path> sealedSegments() throws IOException {
+        long activeSequence = segmentWriter.getActiveSequence();
+        return QueryLogSegmentFile.list(segmentWriter.getDirectory()).stream()
+                .filter(segment -> QueryLogSegmentFile.sequenceOf(segment) < activeSequence)
+                .toList();
+    }
+
+    private void delete(Path segment) throws IOException {
+        Files.deleteIfExists(segment);
+        sealedTotals.remove(QueryLogSegmentFile.sequenceOf(segment));
+    }
+
+    private static SegmentTotals count(Path segment) {
+        long[] totals = new long[2];
+        try {
+            QueryLogSegmentFile.read(segment, queryLog -> {
+                totals[0]++;
+                if (!queryLog.isSuccess()) {
+                    totals[1]++;
+                }
+            });
+        } catch (NoSuchFileException e) {
+            // Replayed and deleted meanwhile
+            return SegmentTotals.EMPTY;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new SegmentTotals(totals[0], totals[1]);
+    }
+}
@@ -0,0 +1,358 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.querylog;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query log sink that appends to local segment files instead of writing to MongoDB
+ * ({@code app.query-log.sink=file}); {@link QueryLogSegmentReplayer} moves sealed segments
+ * into MongoDB later.
+ * <p>
+ * Request threads only encode the log and offer it to a bounded queue (a full queue drops the
+ * log and counts it). One writer thread drains the queue in batches, writes each batch with a
+ * single FileChannel write and forces the file at most once per
+ * {@code fsync-interval-ms} (group fsync), so durability costs one fsync per interval however
+ * many logs arrive, at the price of losing up to that interval on a machine crash. Segments
+ * roll over at {@code segment-bytes}, or after {@code max-segment-age-ms} once they hold a
+ * record; a restart always starts a new segment, so every other segment is sealed and immutable.
+ * <p>
+ * A failed write or fsync abandons the active segment: the writer backs off, opens a new
+ * segment and writes the failed batch again. Records of that batch already in the abandoned
+ * segment are stored twice in the files, which the replay skips by id. While it cannot write,
+ * {@code app.query-log.segments.writer.healthy} is 0 and the queue fills up and drops logs.
+ */
+@Component
+@ConditionalOnProperty(name = "app.query-log.sink", havingValue = "file")
+public class QueryLogSegmentWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryLogSegmentWriter.class);
+
+    // Holds at least one frame of the largest record
+    private static final int WRITE_BUFFER_BYTES = 2 * QueryLogSegmentFile.MAX_RECORD_BYTES;
+
+    private static final long MIN_RETRY_BACKOFF_MS = 100;
+    private static final long MAX_RETRY_BACKOFF_MS = 30_000;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.query-log.segments.dir:query-log-segments}")
+    private String directory;
+
+    @Value("${app.query-log.segments.segment-bytes:67108864}")
+    private long segmentBytes;
+
+    @Value("${app.query-log.segments.max-segment-age-ms:60000}")
+    private long maxSegmentAgeMs;
+
+    @Value("${app.query-log.segments.fsync-interval-ms:50}")
+    private long fsyncIntervalMs;
+
+    @Value("${app.query-log.segments.queue-capacity:65536}")
+    private int queueCapacity;
+
+    private BlockingQueue<Pending> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+    // False from a failed write or fsync until a batch is written to a new segment
+    private volatile boolean healthy = true;
+
+    // Writer thread state
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+    private FileChannel channel;
+    private long activeSequence = -1;
+    private long activeBytes;
+    private long activeRecords;
+    private long activeFailed;
+    private long activeOpenedAtNanos;
+    private boolean unsynced;
+    private long lastSyncNanos;
+
+    // Published by the writer thread after each write, read by the stats endpoint
+    private volatile ActiveSegment activeSegment = new ActiveSegment(-1, 0, 0);
+
+    private Counter appended;
+    private Counter dropped;
+    private Timer fsyncTimer;
+
+    /**
+     * The segment being written and the records written to it so far
+     */
+    public record ActiveSegment(long sequence, long records, long failed) {
+    }
+
+    private record Pending(byte[] record, boolean failed) {
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        appended = recordCounter("appended");
+        dropped = recordCounter("dropped");
+        fsyncTimer = Timer.builder("app.query-log.segments.fsync")
+                .description("Group fsync of the active query log segment")
+                .register(meterRegistry);
+        Gauge.builder("app.query-log.segments.writer.healthy", this, writer -> writer.healthy ? 1 : 0)
+                .description("1 while the query log segment writer can write, 0 while it backs off after an IO error")
+                .register(meterRegistry);
+
+        Path dir = Path.of(directory);
+        Files.createDirectories(dir);
+        List<Path> existing = QueryLogSegmentFile.list(dir);
+        long lastSequence = existing.isEmpty() ? 0 : QueryLogSegmentFile.sequenceOf(existing.get(existing.size() - 1));
+        openSegment(lastSequence + 1);
+
+        running = true;
+        writerThread = new Thread(this::runWriter, "query-log-segment-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queue a log for the active segment; never blocks the caller
+     */
+    public void append(QueryLog queryLog) {
+        if (queryLog.getId() == null) {
+            // Fixed here so a replay that is interrupted and repeated inserts the same ids
+            queryLog.setId(new ObjectId().toHexString());
+        }
+        byte[] record = QueryLogRecordFormat.encode(queryLog);
+        if (record.length > QueryLogSegmentFile.MAX_RECORD_BYTES || !queue.offer(new Pending(record, !queryLog.isSuccess()))) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Segments below this sequence are sealed
+     */
+    public long getActiveSequence() {
+        return activeSegment.sequence();
+    }
+
+    public ActiveSegment getActiveSegment() {
+        return activeSegment;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public Path getDirectory() {
+        return Path.of(directory);
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        if (writerThread != null) {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private void runWriter() {
+        List<Pending> batch = new ArrayList<>();
+        long backoffMs = MIN_RETRY_BACKOFF_MS;
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (channel == null) {
+                    openSegment(nextFreeSequence());
+                }
+                // A batch left by a failed write is written again before anything new
+                if (batch.isEmpty()) {
+                    Pending first = queue.poll(fsyncIntervalMs, TimeUnit.MILLISECONDS);
+                    if (first != null) {
+                        batch.add(first);
+                        queue.drainTo(batch, 4096);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    write(batch);
+                    batch.clear();
+                }
+                if (unsynced && System.nanoTime() - lastSyncNanos >= TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMs)) {
+                    sync();
+                }
+                if (activeRecords > 0 && System.nanoTime() - activeOpenedAtNanos >= TimeUnit.MILLISECONDS.toNanos(maxSegmentAgeMs)) {
+                    rotate();
+                }
+                if (!healthy) {
+                    logger.info("Query log segment writer recovered, writing segment {}", activeSequence);
+                    healthy = true;
+                }
+                backoffMs = MIN_RETRY_BACKOFF_MS;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                if (healthy) {
+                    logger.error("Query log segment {} failed, retrying in a new segment: {}", activeSequence, e.getMessage(), e);
+                } else {
+                    logger.warn("Query log segment writer still failing: {}", e.getMessage());
+                }
+                healthy = false;
+                abandonSegment();
+                if (!running) {
+                    int lost = batch.size() + queue.size();
+                    dropped.increment(lost);
+                    logger.error("Query log segment writer stopped with {} logs unwritten", lost);
+                    return;
+                }
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_RETRY_BACKOFF_MS);
+            }
+        }
+        if (channel == null) {
+            return;
+        }
+        try {
+            sync();
+            channel.close();
+        } catch (IOException e) {
+            logger.error("Failed to close query log segment {}: {}", activeSequence, e.getMessage(), e);
+        }
+    }
+
+    private void write(List<Pending> records) throws IOException {
+        for (Pending pending : records) {
+            byte[] record = pending.record();
+            int frameBytes = QueryLogSegmentFile.frameBytes(record);
+            if (activeRecords > 0 && activeBytes + writeBuffer.position() + frameBytes > segmentBytes) {
+                flushBuffer();
+                rotate();
+            }
+            if (writeBuffer.remaining() < frameBytes) {
+                flushBuffer();
+            }
+            QueryLogSegmentFile.putFrame(writeBuffer, record);
+            activeRecords++;
+            if (pending.failed()) {
+                activeFailed++;
+            }
+        }
+        flushBuffer();
+        activeSegment = new ActiveSegment(activeSequence, activeRecords, activeFailed);
+        appended.increment(records.size());
+    }
+
+    private void flushBuffer() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            activeBytes += channel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+        unsynced = true;
+    }
+
+    private void sync() throws IOException {
+        if (!unsynced) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        channel.force(false);
+        fsyncTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        unsynced = false;
+        lastSyncNanos = System.nanoTime();
+    }
+
+    private void rotate() throws IOException {
+        sync();
+        channel.close();
+        openSegment(activeSequence + 1);
+    }
+
+    /**
+     * Drop the failed segment's channel and anything buffered for it; the next loop opens a new one
+     */
+    private void abandonSegment() {
+        writeBuffer.clear();
+        unsynced = false;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Could not close query log segment {}: {}", activeSequence, e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * The sequence after the active one, skipping files left by a segment that failed while opening
+     */
+    private long nextFreeSequence() {
+        long sequence = activeSequence + 1;
+        while (Files.exists(QueryLogSegmentFile.pathFor(Path.of(directory), sequence))) {
+            sequence++;
+        }
+        return sequence;
+    }
+
+    /**
+     * Create the segment and make its header and directory entry durable before any record
+     */
+    private void openSegment(long sequence) throws IOException {
+        Path dir = Path.of(directory);
+        channel = FileChannel.open(QueryLogSegmentFile.pathFor(dir, sequence),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = QueryLogSegmentFile.header(sequence, System.currentTimeMillis());
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+        forceDirectory(dir);
+
+        activeSequence = sequence;
+        activeBytes = QueryLogSegmentFile.HEADER_BYTES;
+        activeRecords = 0;
+        activeFailed = 0;
+        activeSegment = new ActiveSegment(sequence, 0, 0);
+        activeOpenedAtNanos = System.nanoTime();
+        unsynced = false;
+        lastSyncNanos = System.nanoTime();
+    }
+
+    private static void forceDirectory(Path dir) {
+        try (FileChannel directoryChannel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException e) {
+            // Not supported on every platform; the file itself is already forced
+            logger.debug("Could not fsync {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private Counter recordCounter(String outcome) {
+        return Counter.builder("app.query-log.segments.records")
+                .description("Query logs handled by the segment file sink")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
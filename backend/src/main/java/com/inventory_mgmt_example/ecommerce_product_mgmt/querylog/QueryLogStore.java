@@ -0,0 +1,402 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.querylog;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLog;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLogHourly;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Query logs partitioned into one collection per day ({@code query_logs_yyyyMMdd}, by the
+ * log's timestamp), in the compact form of {@link QueryLogCodec}. Expiring a day is a
+ * collection drop instead of millions of deletes, and time range reads only visit the buckets
+ * of the days in the range, each through its timestamp index; other reads visit every bucket
+ * still retained.
+ * <p>
+ * Old days are rolled up into {@link QueryLogHourly} totals before they are dropped, see
+ * {@code QueryLogRetentionTask}. Documents still in the mapped form written before
+ * {@link QueryLogCodec} are rewritten by {@link #migrateLegacy(String)}, and logs left in the
+ * single {@code query_logs} collection are moved into the buckets by {@link #moveUnpartitioned()}.
+ */
+@Component
+public class QueryLogStore {
+
+    static final String BUCKET_PREFIX = "query_logs_";
+    // The single collection query logs were written to before the daily buckets
+    static final String UNPARTITIONED = "query_logs";
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final int MIGRATION_BATCH = 1000;
+    // BSON type number of a string, for patterns stored inline
+    private static final int BSON_STRING = 2;
+
+    private static final DateTimeFormatter BUCKET_DAY = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter HOURLY_ID = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private QueryLogCodec queryLogCodec;
+
+    /**
+     * Buckets this instance has already created the timestamp index on
+     */
+    private final Set<String> preparedBuckets = ConcurrentHashMap.newKeySet();
+
+    public static String bucketFor(LocalDate day) {
+        return BUCKET_PREFIX + day.format(BUCKET_DAY);
+    }
+
+    /**
+     * The day a bucket holds, or null if the collection is not a query log bucket
+     */
+    public static LocalDate dayOf(String collectionName) {
+        if (!collectionName.startsWith(BUCKET_PREFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(collectionName.substring(BUCKET_PREFIX.length()), BUCKET_DAY);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    public void save(QueryLog queryLog) {
+        if (queryLog.getTimestamp() == null) {
+            queryLog.setTimestamp(LocalDateTime.now());
+        }
+        Document document = queryLogCodec.encode(queryLog);
+        queryLog.setId(document.getObjectId(QueryLogCodec.ID).toHexString());
+        String bucket = bucketFor(queryLog.getTimestamp().toLocalDate());
+        prepare(bucket);
+        mongoTemplate.insert(document, bucket);
+    }
+
+    /**
+     * Insert logs that already carry their ids, one unordered bulk insert per day bucket.
+     * Logs stored before (same id) are skipped, so a repeated batch is harmless.
+     */
+    public void saveAll(List<QueryLog> queryLogs) {
+        Map<String, List<Document>> byBucket = new LinkedHashMap<>();
+        for (QueryLog queryLog : queryLogs) {
+            byBucket.computeIfAbsent(bucketFor(queryLog.getTimestamp().toLocalDate()), bucket -> new ArrayList<>())
+                    .add(queryLogCodec.encode(queryLog));
+        }
+        byBucket.forEach((bucket, documents) -> {
+            prepare(bucket);
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, bucket).insert(documents).execute();
+            } catch (BulkOperationException e) {
+                if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                    throw e;
+                }
+            }
+        });
+    }
+
+    /**
+     * Create the bucket with its timestamp index, once per bucket and instance
+     */
+    public void prepare(String bucket) {
+        if (!preparedBuckets.contains(bucket)) {
+            mongoTemplate.indexOps(bucket).createIndex(new Index(QueryLogCodec.TIMESTAMP, Sort.Direction.ASC));
+            preparedBuckets.add(bucket);
+        }
+    }
+
+    /**
+     * Existing buckets, oldest day first
+     */
+    public List<String> buckets() {
+        return mongoTemplate.getCollectionNames().stream()
+                .filter(name -> dayOf(name) != null)
+                .sorted()
+                .toList();
+    }
+
+    public List<QueryLog> findAll() {
+        return find(new Criteria());
+    }
+
+    public List<QueryLog> findByClientIp(String clientIp) {
+        return find(where(QueryLogCodec.CLIENT_IP).is(clientIp));
+    }
+
+    public List<QueryLog> findByHttpMethod(String httpMethod) {
+        return find(where(QueryLogCodec.HTTP_METHOD)
+                .in(queryLogCodec.storedForms(QueryLogDictionary.HTTP_METHOD, httpMethod)));
+    }
+
+    public List<QueryLog> findByResponseStatus(int responseStatus) {
+        return find(where(QueryLogCodec.RESPONSE_STATUS).is(responseStatus));
+    }
+
+    /**
+     * URIs are mostly stored as route pattern and path variables, so the database narrows the
+     * logs down to URIs kept as is that contain the part, path variable values that contain it,
+     * and route patterns that could; the few candidates are then matched on the rebuilt URI.
+     */
+    public List<QueryLog> findByRequestUriContaining(String uriPart) {
+        String quoted = Pattern.quote(uriPart);
+        List<Criteria> candidates = new ArrayList<>();
+        candidates.add(where(QueryLogCodec.REQUEST_URI).regex(quoted));
+        if (!uriPart.contains("/")) {
+            candidates.add(where(QueryLogCodec.URI_VARIABLES).regex(quoted));
+        }
+        List<Object> patterns = new ArrayList<>();
+        for (String pattern : queryLogCodec.patterns()) {
+            if (QueryLogCodec.mayContain(pattern, uriPart)) {
+                patterns.addAll(queryLogCodec.storedForms(QueryLogDictionary.REQUEST_PATTERN, pattern));
+            }
+        }
+        if (!patterns.isEmpty()) {
+            candidates.add(where(QueryLogCodec.REQUEST_PATTERN).in(patterns));
+        }
+        // Patterns stored inline once the dictionary was full
+        candidates.add(where(QueryLogCodec.REQUEST_PATTERN).type(BSON_STRING));
+
+        return find(new Criteria().orOperator(candidates)).stream()
+                .filter(queryLog -> queryLog.getRequestUri() != null && queryLog.getRequestUri().contains(uriPart))
+                .toList();
+    }
+
+    public List<QueryLog> findBySuccessFalse() {
+        return find(where(QueryLogCodec.FAILED).is(true));
+    }
+
+    public List<QueryLog> findByExecutionTimeMsGreaterThanOrderByExecutionTimeMsDesc(long threshold) {
+        List<QueryLog> logs = new ArrayList<>(find(where(QueryLogCodec.EXECUTION_TIME_MS).gt(threshold)));
+        logs.sort(Comparator.comparingLong(QueryLog::getExecutionTimeMs).reversed());
+        return logs;
+    }
+
+    /**
+     * Logs strictly between the two times, reading only the buckets of the days in the range.
+     * Days fully inside the range are read whole, without a timestamp filter.
+     */
+    public List<QueryLog> findByTimestampBetween(LocalDateTime startTime, LocalDateTime endTime) {
+        List<QueryLog> logs = new ArrayList<>();
+        for (String bucket : buckets()) {
+            LocalDate day = dayOf(bucket);
+            if (day.isBefore(startTime.toLocalDate()) || day.isAfter(endTime.toLocalDate())) {
+                continue;
+            }
+            boolean wholeDay = startTime.isBefore(day.atStartOfDay())
+                    && !endTime.isBefore(day.plusDays(1).atStartOfDay());
+            Query query = wholeDay ? new Query()
+                    : Query.query(where(QueryLogCodec.TIMESTAMP).gt(toDate(startTime)).lt(toDate(endTime)));
+            read(query, bucket, logs);
+        }
+        return logs;
+    }
+
+    /**
+     * Total from collection metadata, without counting documents
+     */
+    public long count() {
+        return buckets().stream().mapToLong(this::estimatedCount).sum();
+    }
+
+    public long countBySuccess(boolean success) {
+        return count(success ? where(QueryLogCodec.FAILED).exists(false) : where(QueryLogCodec.FAILED).is(true));
+    }
+
+    /**
+     * Drop every bucket
+     */
+    public void deleteAll() {
+        buckets().forEach(this::drop);
+    }
+
+    public void drop(String bucket) {
+        mongoTemplate.dropCollection(bucket);
+        preparedBuckets.remove(bucket);
+    }
+
+    public long estimatedCount(String bucket) {
+        return mongoTemplate.getCollection(bucket).estimatedDocumentCount();
+    }
+
+    /**
+     * Rewrite the bucket's documents still in the mapped form written before the compact one,
+     * in batches, keeping their ids, and create the bucket's timestamp index. Returns the
+     * number of documents rewritten; re-running it only visits what is left.
+     */
+    public int migrateLegacy(String bucket) {
+        prepare(bucket);
+        MongoCollection<Document> collection = mongoTemplate.getCollection(bucket);
+        List<ReplaceOneModel<Document>> batch = new ArrayList<>();
+        int migrated = 0;
+        try (MongoCursor<Document> legacy = collection
+                .find(new Document(QueryLogCodec.LEGACY_TIMESTAMP, new Document("$exists", true)))
+                .batchSize(MIGRATION_BATCH)
+                .cursor()) {
+            while (legacy.hasNext()) {
+                Document document = legacy.next();
+                Document compact = queryLogCodec.encode(queryLogCodec.decodeLegacy(document));
+                compact.put(QueryLogCodec.ID, document.get(QueryLogCodec.ID));
+                batch.add(new ReplaceOneModel<>(new Document(QueryLogCodec.ID, document.get(QueryLogCodec.ID)), compact));
+                if (batch.size() == MIGRATION_BATCH) {
+                    migrated += replace(collection, batch);
+                }
+            }
+        }
+        return migrated + replace(collection, batch);
+    }
+
+    /**
+     * Move the logs of the {@code query_logs} collection written before the daily buckets into
+     * the bucket of their day, in the compact form and keeping their ids, then drop it. Each
+     * batch is removed once stored, so an interrupted move resumes with what is left; documents
+     * without a timestamp cannot be placed and are dropped with the collection. Returns the
+     * number of logs moved.
+     */
+    public int moveUnpartitioned() {
+        if (!mongoTemplate.collectionExists(UNPARTITIONED)) {
+            return 0;
+        }
+        Query batchQuery = Query.query(where(QueryLogCodec.LEGACY_TIMESTAMP).exists(true)).limit(MIGRATION_BATCH);
+        int moved = 0;
+        List<Document> batch;
+        while (!(batch = mongoTemplate.find(batchQuery, Document.class, UNPARTITIONED)).isEmpty()) {
+            List<QueryLog> logs = new ArrayList<>(batch.size());
+            List<Object> ids = new ArrayList<>(batch.size());
+            for (Document document : batch) {
+                logs.add(queryLogCodec.decode(document));
+                ids.add(document.get(QueryLogCodec.ID));
+            }
+            saveAll(logs);
+            mongoTemplate.remove(Query.query(where(QueryLogCodec.ID).in(ids)), UNPARTITIONED);
+            moved += batch.size();
+        }
+        mongoTemplate.dropCollection(UNPARTITIONED);
+        return moved;
+    }
+
+    /**
+     * Roll a bucket up into per hour, HTTP method and controller method totals in
+     * {@code query_log_hourly}. Grouping runs in the database; the few resulting rows are
+     * decoded here and upserted, so re-running it replaces the same totals. Documents left in
+     * the mapped form are migrated first, so they are counted like the rest.
+     */
+    public void rollUpHourly(String bucket) {
+        migrateLegacy(bucket);
+        ZoneId zone = ZoneId.systemDefault();
+        Document hour = new Document("$dateTrunc", new Document("date", "$" + QueryLogCodec.TIMESTAMP)
+                .append("unit", "hour").append("timezone", zone.getId()));
+        Document group = new Document("_id", new Document("hour", hour)
+                .append("httpMethod", "$" + QueryLogCodec.HTTP_METHOD)
+                .append("controllerMethod", "$" + QueryLogCodec.CONTROLLER_METHOD))
+                .append("count", new Document("$sum", 1))
+                .append("failures", new Document("$sum", new Document("$cond",
+                        List.of(new Document("$eq", List.of("$" + QueryLogCodec.FAILED, true)), 1, 0))))
+                .append("totalExecutionTimeMs", new Document("$sum", "$" + QueryLogCodec.EXECUTION_TIME_MS))
+                .append("maxExecutionTimeMs", new Document("$max", "$" + QueryLogCodec.EXECUTION_TIME_MS))
+                .append("totalResponseSize", new Document("$sum", "$" + QueryLogCodec.RESPONSE_SIZE));
+
+        List<Document> rows = mongoTemplate.getCollection(bucket)
+                .aggregate(List.of(new Document("$group", group)))
+                .allowDiskUse(true)
+                .into(new ArrayList<>());
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        BulkOperations upserts = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, QueryLogHourly.class);
+        for (Document row : rows) {
+            Document key = row.get("_id", Document.class);
+            LocalDateTime hourStart = LocalDateTime.ofInstant(key.getDate("hour").toInstant(), zone);
+            String httpMethod = queryLogCodec.decode(QueryLogDictionary.HTTP_METHOD, key.get("httpMethod"));
+            String controllerMethod = queryLogCodec.decode(QueryLogDictionary.CONTROLLER_METHOD, key.get("controllerMethod"));
+            String id = HOURLY_ID.format(hourStart) + " " + (httpMethod != null ? httpMethod : "")
+                    + " " + (controllerMethod != null ? controllerMethod : "");
+            upserts.upsert(Query.query(where("_id").is(id)), new Update()
+                    .set("hour", hourStart)
+                    .set("httpMethod", httpMethod)
+                    .set("controllerMethod", controllerMethod)
+                    .set("count", longValue(row.get("count")))
+                    .set("failures", longValue(row.get("failures")))
+                    .set("totalExecutionTimeMs", longValue(row.get("totalExecutionTimeMs")))
+                    .set("maxExecutionTimeMs", longValue(row.get("maxExecutionTimeMs")))
+                    .set("totalResponseSize", longValue(row.get("totalResponseSize"))));
+        }
+        upserts.execute();
+    }
+
+    /**
+     * Hourly totals from {@code startTime} (inclusive) to {@code endTime} (exclusive)
+     */
+    public List<QueryLogHourly> findHourlyBetween(LocalDateTime startTime, LocalDateTime endTime) {
+        return mongoTemplate.find(Query.query(where("hour").gte(startTime).lt(endTime)).with(Sort.by("hour")),
+                QueryLogHourly.class);
+    }
+
+    private List<QueryLog> find(Criteria criteria) {
+        List<QueryLog> logs = new ArrayList<>();
+        for (String bucket : buckets()) {
+            read(Query.query(criteria), bucket, logs);
+        }
+        return logs;
+    }
+
+    private void read(Query query, String bucket, List<QueryLog> logs) {
+        for (Document document : mongoTemplate.find(query, Document.class, bucket)) {
+            logs.add(queryLogCodec.decode(document));
+        }
+    }
+
+    private static int replace(MongoCollection<Document> collection, List<ReplaceOneModel<Document>> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int replaced = collection.bulkWrite(batch, new BulkWriteOptions().ordered(false)).getModifiedCount();
+        batch.clear();
+        return replaced;
+    }
+
+    private long count(Criteria criteria) {
+        long total = 0;
+        for (String bucket : buckets()) {
+            total += mongoTemplate.count(Query.query(criteria), bucket);
+        }
+        return total;
+    }
+
+    private static Date toDate(LocalDateTime time) {
+        return Date.from(time.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static long longValue(Object value) {
+        return value instanceof Number number ? number.longValue() : 0;
+    }
+}
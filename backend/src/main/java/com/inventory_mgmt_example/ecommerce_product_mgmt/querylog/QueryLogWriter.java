@@ -0,0 +1,64 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.querylog;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Persists query logs off the request thread: to MongoDB on the query log executor, or to
+ * local segment files when {@code app.query-log.sink=file}
+ */
+@Component
+public class QueryLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryLogWriter.class);
+
+    @Autowired
+    private QueryLogStore queryLogStore;
+
+    @Autowired
+    @Qualifier("queryLogExecutor")
+    private Executor queryLogExecutor;
+
+    @Autowired(required = false)
+    private QueryLogSegmentWriter segmentWriter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter rejected;
+
+    @PostConstruct
+    public void init() {
+        rejected = Counter.builder("app.query-log.writer.rejected")
+                .description("Query logs dropped because the query log executor queue was full")
+                .register(meterRegistry);
+    }
+
+    public void write(QueryLog queryLog) {
+        if (segmentWriter != null) {
+            segmentWriter.append(queryLog);
+            return;
+        }
+        try {
+            queryLogExecutor.execute(() -> {
+                try {
+                    queryLogStore.save(queryLog);
+                } catch (Exception e) {
+                    logger.error("Failed to save query log: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+        }
+    }
+}
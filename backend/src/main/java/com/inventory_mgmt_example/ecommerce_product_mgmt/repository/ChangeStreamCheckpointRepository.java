@@ -0,0 +1,9 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.repository;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.ChangeStreamCheckpoint;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChangeStreamCheckpointRepository extends MongoRepository<ChangeStreamCheckpoint, String> {
+}
@@ -5,6 +5,7 @@ import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatus;
 import com.inventory_mgmt_example.ecommerce_product_mgmt.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -20,6 +21,12 @@ public interface OrderRepository extends MongoRepository<Order, String> {
     List<Order> findByUserOrderByOrderDateDesc(User user);
     Page<Order> findByUserOrderByOrderDateDesc(User user, Pageable pageable);
     
+    // Slices skip the count query that a Page runs
+    Slice<Order> findSliceByUser(User user, Pageable pageable);
+    
+    @Query("{}")
+    Slice<Order> findSliceBy(Pageable pageable);
+    
     // Find orders by user and status
     List<Order> findByUserAndStatus(User user, OrderStatus status);
     
@@ -27,6 +34,8 @@ public interface OrderRepository extends MongoRepository<Order, String> {
     List<Order> findByStatus(OrderStatus status);
     Page<Order> findByStatus(OrderStatus status, Pageable pageable);
     
+    Slice<Order> findSliceByStatus(OrderStatus status, Pageable pageable);
+    
     // Find order by order number
     Optional<Order> findByOrderNumber(String orderNumber);
     
@@ -0,0 +1,28 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.repository;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking product repository used by the streaming catalog read API
+ */
+@Repository
+public interface ReactiveProductRepository extends ReactiveMongoRepository<Product, String> {
+
+    /**
+     * Find products by name containing the given string (case-insensitive)
+     */
+    Flux<Product> findByNameContainingIgnoreCase(String name);
+
+    /**
+     * Find products by category
+     */
+    Flux<Product> findByCategory(String category);
+
+    /**
+     * Find products by brand
+     */
+    Flux<Product> findByBrand(String brand);
+}
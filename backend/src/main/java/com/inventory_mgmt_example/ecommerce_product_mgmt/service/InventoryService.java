@@ -0,0 +1,101 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.event.ProductChangeEvent;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.event.ProductChangeEvent.ChangeType;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderItem;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Bulk stock adjustments shared by cancellation, reservation expiry and the maintenance sweepers
+ */
+@Service
+public class InventoryService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Put stock back with one unordered bulk write of $inc per product, then publish the new stock levels
+     */
+    public void restoreStock(Map<String, Integer> quantities) {
+        restore(quantities, null);
+    }
+
+    /**
+     * Like {@link #restoreStock(Map)}, but a product is only incremented if {@code restoreId} is not yet
+     * recorded on it, and the same update records it, so retrying a restore never returns the stock twice.
+     * Call {@link #forgetRestore} once the caller has recorded the restore as finished.
+     */
+    public void restoreStockOnce(Map<String, Integer> quantities, String restoreId) {
+        restore(quantities, restoreId);
+    }
+
+    /**
+     * Drop a finished restore id from its products, so {@code restoredBy} only holds restores in flight
+     */
+    public void forgetRestore(Collection<String> productIds, String restoreId) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        mongoTemplate.updateMulti(Query.query(where("id").in(productIds)),
+                new Update().pull("restoredBy", restoreId), Product.class);
+    }
+
+    private void restore(Map<String, Integer> quantities, String restoreId) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        quantities.forEach((productId, quantity) -> {
+            Query product = Query.query(where("id").is(productId));
+            Update update = new Update().inc("quantity", quantity).set("updatedAt", now);
+            if (restoreId != null) {
+                product.addCriteria(where("restoredBy").ne(restoreId));
+                update.push("restoredBy", restoreId);
+            }
+            bulkOps.updateOne(product, update);
+        });
+        bulkOps.execute();
+
+        for (Product product : mongoTemplate.find(Query.query(where("id").in(quantities.keySet())), Product.class)) {
+            eventPublisher.publishEvent(ProductChangeEvent.of(ChangeType.STOCK_CHANGED, product));
+        }
+    }
+
+    /**
+     * Total quantity per product across the items of the given orders
+     */
+    public static Map<String, Integer> quantitiesOf(Collection<Order> orders) {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (Order order : orders) {
+            if (order.getItems() == null) {
+                continue;
+            }
+            for (OrderItem item : order.getItems()) {
+                if (item.getProductId() != null) {
+                    quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+                }
+            }
+        }
+        return quantities;
+    }
+}
@@ -0,0 +1,77 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Lease;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Named leases stored in MongoDB, used to give one application instance exclusive
+ * ownership of a resource for a limited time.
+ * <p>
+ * Acquisition is a single upsert matching the lease only if it is free (expired or already
+ * ours); when another instance holds it the upsert attempts an insert with the same _id and
+ * fails with a duplicate key, so at most one owner can succeed.
+ */
+@Service
+public class LeaseService {
+
+    /**
+     * Identifies this application instance as a lease owner
+     */
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Acquire or extend the lease; returns false if another instance holds it
+     */
+    public boolean tryAcquire(String name, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = Query.query(where("_id").is(name).orOperator(
+                where("expiresAt").lt(now),
+                where("owner").is(instanceId)));
+        Update update = new Update()
+                .set("owner", instanceId)
+                .set("expiresAt", now.plus(ttl))
+                .setOnInsert("acquiredAt", now);
+        try {
+            mongoTemplate.upsert(query, update, Lease.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Extend a lease this instance holds; returns false if it has been lost
+     */
+    public boolean renew(String name, Duration ttl) {
+        Query query = Query.query(where("_id").is(name).and("owner").is(instanceId));
+        return mongoTemplate.updateFirst(query, Update.update("expiresAt", LocalDateTime.now().plus(ttl)), Lease.class)
+                .getMatchedCount() > 0;
+    }
+
+    /**
+     * Give up a lease early so another instance can take it without waiting for expiry
+     */
+    public void release(String name) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(name).and("owner").is(instanceId)), Lease.class);
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+}
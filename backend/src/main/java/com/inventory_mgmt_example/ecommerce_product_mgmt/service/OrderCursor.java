@@ -0,0 +1,63 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for order listings sorted by (orderDate desc, id desc).
+ * Encodes the position of the last order on the previous page.
+ */
+public final class OrderCursor {
+
+    private final LocalDateTime orderDate;
+    private final String id;
+
+    public OrderCursor(LocalDateTime orderDate, String id) {
+        this.orderDate = orderDate;
+        this.id = id;
+    }
+
+    public static OrderCursor of(Order order) {
+        return new OrderCursor(order.getOrderDate(), order.getId());
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}
+     */
+    public static OrderCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            long epochMillis = Long.parseLong(value.substring(0, separator));
+            String id = value.substring(separator + 1);
+            if (id.isEmpty()) {
+                throw new IllegalArgumentException("Missing id");
+            }
+            return new OrderCursor(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault()), id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    /**
+     * Millisecond precision matches what MongoDB stores for dates
+     */
+    public String encode() {
+        long epochMillis = orderDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String value = epochMillis + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,237 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatus;
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams orders to finance/warehouse consumers as CSV or NDJSON.
+ * <p>
+ * Orders are read in keyset batches ordered by (orderDate, _id): each batch is a short
+ * query resuming after the last exported order, so deep exports cost the same per row as
+ * the first one and no cursor stays open between batches. Only exported fields are
+ * projected and documents are read raw, so the user @DBRef is never resolved.
+ * Rows are written straight to the response stream; memory use is bounded by one batch.
+ */
+@Service
+public class OrderExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderExportService.class);
+
+    public enum ExportFormat {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final String[] CSV_COLUMNS = {
+            "orderId", "orderNumber", "orderDate", "status", "userId", "itemCount", "totalAmount",
+            "shippingCost", "taxAmount", "finalAmount", "trackingNumber", "city", "postalCode", "country"
+    };
+
+    private static final Bson PROJECTION = Projections.include(
+            "_id", "orderNumber", "orderDate", "status", "user", "totalAmount", "shippingCost", "taxAmount",
+            "finalAmount", "trackingNumber", "shippingAddress.city", "shippingAddress.postalCode",
+            "shippingAddress.country", "items.productId", "items.productSku", "items.price", "items.quantity",
+            "items.subtotal");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.order-export.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Write every order matching the filters to {@code out}; returns the number of orders written
+     */
+    public long export(OutputStream out, ExportFormat format, boolean gzip,
+                       LocalDateTime from, LocalDateTime to, OrderStatus status) throws IOException {
+        long startTime = System.currentTimeMillis();
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(out, 64 * 1024) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip ? gzipStream : out, StandardCharsets.UTF_8), 64 * 1024);
+
+        if (format == ExportFormat.CSV) {
+            writer.write(String.join(",", CSV_COLUMNS));
+            writer.write('\n');
+        }
+
+        MongoCollection<Document> collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Order.class));
+        Bson baseFilter = baseFilter(from, to, status);
+        Date lastDate = null;
+        Object lastId = null;
+        long written = 0;
+
+        while (true) {
+            Bson filter = lastId == null ? baseFilter : Filters.and(baseFilter, Filters.or(
+                    Filters.gt("orderDate", lastDate),
+                    Filters.and(Filters.eq("orderDate", lastDate), Filters.gt("_id", lastId))));
+
+            int batchCount = 0;
+            try (MongoCursor<Document> cursor = collection.find(filter)
+                    .projection(PROJECTION)
+                    .sort(Sorts.ascending("orderDate", "_id"))
+                    .limit(batchSize)
+                    .batchSize(batchSize)
+                    .iterator()) {
+                while (cursor.hasNext()) {
+                    Document order = cursor.next();
+                    if (format == ExportFormat.CSV) {
+                        writeCsvRow(writer, order);
+                    } else {
+                        writeJsonLine(writer, order);
+                    }
+                    lastDate = order.getDate("orderDate");
+                    lastId = order.get("_id");
+                    batchCount++;
+                }
+            }
+
+            written += batchCount;
+            writer.flush();
+            if (batchCount < batchSize) {
+                break;
+            }
+        }
+
+        writer.flush();
+        if (gzipStream != null) {
+            gzipStream.finish();
+        }
+        out.flush();
+        logger.info("Exported {} orders as {} in {}ms", written, format, System.currentTimeMillis() - startTime);
+        return written;
+    }
+
+    private Bson baseFilter(LocalDateTime from, LocalDateTime to, OrderStatus status) {
+        List<Bson> filters = new ArrayList<>();
+        if (from != null) {
+            filters.add(Filters.gte("orderDate", toDate(from)));
+        }
+        if (to != null) {
+            filters.add(Filters.lt("orderDate", toDate(to)));
+        }
+        if (status != null) {
+            filters.add(Filters.eq("status", status.name()));
+        }
+        return filters.isEmpty() ? Filters.empty() : Filters.and(filters);
+    }
+
+    private void writeCsvRow(Writer writer, Document order) throws IOException {
+        Document address = order.get("shippingAddress", Document.class);
+        List<?> items = order.getList("items", Object.class);
+        Object[] values = {
+                order.get("_id").toString(),
+                order.getString("orderNumber"),
+                formatDate(order.getDate("orderDate")),
+                order.getString("status"),
+                userId(order.get("user")),
+                items != null ? items.size() : 0,
+                order.get("totalAmount"),
+                order.get("shippingCost"),
+                order.get("taxAmount"),
+                order.get("finalAmount"),
+                order.getString("trackingNumber"),
+                address != null ? address.getString("city") : null,
+                address != null ? address.getString("postalCode") : null,
+                address != null ? address.getString("country") : null
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvValue(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    private void writeJsonLine(Writer writer, Document order) throws IOException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("orderId", order.get("_id").toString());
+        row.put("orderNumber", order.getString("orderNumber"));
+        row.put("orderDate", formatDate(order.getDate("orderDate")));
+        row.put("status", order.getString("status"));
+        row.put("userId", userId(order.get("user")));
+        row.put("totalAmount", order.get("totalAmount"));
+        row.put("shippingCost", order.get("shippingCost"));
+        row.put("taxAmount", order.get("taxAmount"));
+        row.put("finalAmount", order.get("finalAmount"));
+        row.put("trackingNumber", order.getString("trackingNumber"));
+        row.put("shippingAddress", order.get("shippingAddress"));
+        row.put("items", order.get("items"));
+        writer.write(objectMapper.writeValueAsString(row));
+        writer.write('\n');
+    }
+
+    private static String userId(Object user) {
+        if (user instanceof DBRef ref) {
+            return ref.getId().toString();
+        }
+        return user != null ? user.toString() : null;
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static String formatDate(Date date) {
+        return date != null ? LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()).toString() : null;
+    }
+
+    static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,147 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.event.ProductChangeEvent;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.event.ProductChangeEvent.ChangeType;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+import com.mongodb.MongoException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Runs an order placement (stock decrements plus the order insert) as one unit.
+ * <p>
+ * With {@code app.orders.transactions.enabled=true} (requires a replica set) the unit runs in a
+ * multi-document session transaction and is retried on transient transaction errors such as
+ * write conflicts; a commit with an unknown result is retried by the transaction manager on
+ * its own, never by re-running the placement. Otherwise it runs without a transaction and any stock already taken is put
+ * back by compensation when a later step fails. Compensation covers failures inside the
+ * application; a process crash mid-placement is only recovered in transactional mode.
+ */
+@Service
+public class OrderPlacementService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderPlacementService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectProvider<MongoTransactionManager> transactionManager;
+
+    @Value("${app.orders.transactions.enabled:false}")
+    private boolean transactionsEnabled;
+
+    @Value("${app.orders.transactions.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.orders.transactions.retry-backoff-ms:20}")
+    private long retryBackoffMs;
+
+    private volatile TransactionTemplate transactionTemplate;
+
+    /**
+     * Run {@code placement} atomically and publish stock change events once it has succeeded
+     */
+    public <T> T place(Function<StockLedger, T> placement) {
+        TransactionTemplate template = getTransactionTemplate();
+        Placement<T> placed = template != null
+                ? executeWithRetry(template, placement)
+                : executeWithCompensation(placement);
+
+        for (Product product : placed.ledger().getProducts()) {
+            eventPublisher.publishEvent(ProductChangeEvent.of(ChangeType.STOCK_CHANGED, product));
+        }
+        return placed.result();
+    }
+
+    public boolean isTransactional() {
+        return getTransactionTemplate() != null;
+    }
+
+    /**
+     * Each attempt gets a fresh ledger; a failed attempt's decrements were rolled back with its transaction
+     */
+    private <T> Placement<T> executeWithRetry(TransactionTemplate template, Function<StockLedger, T> placement) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return template.execute(status -> {
+                    StockLedger ledger = new StockLedger(mongoTemplate);
+                    return new Placement<>(placement.apply(ledger), ledger);
+                });
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || !isTransient(e)) {
+                    throw e;
+                }
+                logger.warn("Transient error placing order (attempt {}/{}), retrying: {}",
+                        attempt, maxAttempts, e.getMessage());
+                backoff(attempt);
+            }
+        }
+    }
+
+    private <T> Placement<T> executeWithCompensation(Function<StockLedger, T> placement) {
+        StockLedger ledger = new StockLedger(mongoTemplate);
+        try {
+            return new Placement<>(placement.apply(ledger), ledger);
+        } catch (RuntimeException e) {
+            logger.warn("Order placement failed, restoring stock for {} products: {}",
+                    ledger.getDecrements().size(), e.getMessage());
+            ledger.compensate();
+            throw e;
+        }
+    }
+
+    private TransactionTemplate getTransactionTemplate() {
+        if (!transactionsEnabled) {
+            return null;
+        }
+        if (transactionTemplate == null) {
+            MongoTransactionManager manager = transactionManager.getIfAvailable();
+            if (manager == null) {
+                throw new IllegalStateException("app.orders.transactions.enabled is set but no MongoTransactionManager is configured");
+            }
+            transactionTemplate = new TransactionTemplate(manager);
+        }
+        return transactionTemplate;
+    }
+
+    /**
+     * Errors the server labels as safe to retry as a whole transaction. An unknown commit result
+     * is not: the transaction may have committed, so only the commit itself may be retried.
+     */
+    static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongoException
+                    && mongoException.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMs * attempt + ThreadLocalRandom.current().nextLong(retryBackoffMs + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying order placement", e);
+        }
+    }
+
+    private record Placement<T>(T result, StockLedger ledger) {
+    }
+}
@@ -1,15 +1,26 @@
 package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
 
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.BulkStatusUpdateResult;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.CursorPage;
 import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.OrderCreateDTO;
 import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.OrderItemDTO;
-import com.inventory_mgmt_example.ecommerce_product_mgmt.exception.ProductNotFoundException;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.event.OrderEvent;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.id.SnowflakeIdGenerator;
 import com.inventory_mgmt_example.ecommerce_product_mgmt.model.*;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.outbox.OrderOutbox;
 import com.inventory_mgmt_example.ecommerce_product_mgmt.repository.OrderRepository;
-import com.inventory_mgmt_example.ecommerce_product_mgmt.repository.ProductRepository;
 import com.inventory_mgmt_example.ecommerce_product_mgmt.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,59 +30,81 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
-@Transactional
 public class OrderService {
 
     @Autowired
     private OrderRepository orderRepository;
 
     @Autowired
-    private ProductRepository productRepository;
+    private UserRepository userRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private SnowflakeIdGenerator idGenerator;
+
+    @Autowired
+    private OrderPlacementService orderPlacementService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private OrderStateMachine orderStateMachine;
 
-    // Create a new order
+    @Autowired
+    private OrderOutbox orderOutbox;
+
+    // Create a new order; stock decrements and the order insert are applied as one unit by OrderPlacementService
     public Order createOrder(String username, OrderCreateDTO orderCreateDTO) {
         // Find user
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found: " + username));
 
-        // Create order items
-        List<OrderItem> orderItems = new ArrayList<>();
-        for (OrderItemDTO itemDTO : orderCreateDTO.getItems()) {
-            Product product = productRepository.findById(itemDTO.getProductId())
-                    .orElseThrow(() -> new ProductNotFoundException("Product not found: " + itemDTO.getProductId()));
+        // Generated once so a retried placement cannot insert the order twice
+        String orderNumber = generateOrderNumber();
 
-            // Check stock availability
-            if (product.getQuantity() < itemDTO.getQuantity()) {
-                throw new RuntimeException("Insufficient stock for product: " + product.getName());
+        Order savedOrder = orderPlacementService.place(stock -> {
+            // Create order items, taking stock atomically per item
+            List<OrderItem> orderItems = new ArrayList<>();
+            for (OrderItemDTO itemDTO : orderCreateDTO.getItems()) {
+                Product product = stock.decrement(itemDTO.getProductId(), itemDTO.getQuantity());
+                orderItems.add(new OrderItem(product, itemDTO.getQuantity()));
             }
 
-            OrderItem orderItem = new OrderItem(product, itemDTO.getQuantity());
-            orderItems.add(orderItem);
+            // Create order
+            Order order = new Order(user, orderItems, orderCreateDTO.getShippingAddress());
+            order.setOrderNumber(orderNumber);
+            order.setNotes(orderCreateDTO.getNotes());
 
-            // Update product stock
-            product.setQuantity(product.getQuantity() - itemDTO.getQuantity());
-            productRepository.save(product);
-        }
+            // Set payment info
+            PaymentInfo paymentInfo = new PaymentInfo(orderCreateDTO.getPaymentMethod(), order.getFinalAmount());
+            order.setPaymentInfo(paymentInfo);
 
-        // Create order
-        Order order = new Order(user, orderItems, orderCreateDTO.getShippingAddress());
-        order.setNotes(orderCreateDTO.getNotes());
+            // Calculate shipping and tax (simplified)
+            order.setShippingCost(calculateShippingCost(order));
+            order.setTaxAmount(calculateTaxAmount(order));
 
-        // Set payment info
-        PaymentInfo paymentInfo = new PaymentInfo(orderCreateDTO.getPaymentMethod(), order.getFinalAmount());
-        order.setPaymentInfo(paymentInfo);
+            // Set estimated delivery date
+            order.setEstimatedDeliveryDate(LocalDateTime.now().plusDays(7));
 
-        // Calculate shipping and tax (simplified)
-        order.setShippingCost(calculateShippingCost(order));
-        order.setTaxAmount(calculateTaxAmount(order));
+            // The CREATED outbox event is inserted with the order itself
+            orderOutbox.recordCreated(order);
 
-        // Set estimated delivery date
-        order.setEstimatedDeliveryDate(LocalDateTime.now().plusDays(7));
+            Order saved = orderRepository.save(order);
+            stock.onCompensate(() -> orderRepository.delete(saved));
 
-        return orderRepository.save(order);
+            // Hold the stock until the order is confirmed; the sweeper returns it if that never happens
+            reservationService.hold(saved);
+            return saved;
+        });
+
+        eventPublisher.publishEvent(OrderEvent.created(savedOrder));
+        return savedOrder;
     }
 
     // Get all orders for a user
@@ -88,6 +121,20 @@ public class OrderService {
         return orderRepository.findByUserOrderByOrderDateDesc(user, pageable);
     }
 
+    // Get orders as a slice (no count query)
+    public Slice<Order> getUserOrderSlice(String username, Pageable pageable) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found: " + username));
+        return orderRepository.findSliceByUser(user, pageable);
+    }
+
+    // Get orders with keyset pagination, newest first
+    public CursorPage<Order> getUserOrders(String username, String cursor, int size) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found: " + username));
+        return findOrdersAfter(Criteria.where("user").is(user), cursor, size);
+    }
+
     // Get order by ID
     public Optional<Order> getOrderById(String orderId) {
         return orderRepository.findById(orderId);
@@ -98,52 +145,30 @@ public class OrderService {
         return orderRepository.findByOrderNumber(orderNumber);
     }
 
-    // Update order status
+    // Update order status; only transitions allowed by OrderStatus are applied. Transactional (when
+    // transactions are enabled) so the status change and any stock it returns commit together
+    @Transactional
     public Order updateOrderStatus(String orderId, OrderStatus newStatus) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
+        if (order.getStatus() == newStatus) {
+            return order;
+        }
 
-        order.setStatus(newStatus);
-
-        // Handle status-specific logic
-        switch (newStatus) {
-            case PENDING:
-                // No special action needed
-                break;
-            case CONFIRMED:
-                // Order confirmed, could send confirmation email
-                break;
-            case PROCESSING:
-                // Order is being processed
-                break;
-            case SHIPPED:
-                if (order.getTrackingNumber() == null) {
-                    order.setTrackingNumber(generateTrackingNumber());
-                }
-                break;
-            case OUT_FOR_DELIVERY:
-                // Order is out for delivery
-                break;
-            case DELIVERED:
-                order.setDeliveredDate(LocalDateTime.now());
-                break;
-            case CANCELLED:
-                // Restore product stock
-                restoreProductStock(order);
-                break;
-            case RETURNED:
-                // Handle return logic
-                restoreProductStock(order);
-                break;
-            case REFUNDED:
-                // Handle refund logic
-                break;
+        BulkStatusUpdateResult result = orderStateMachine.transition(order, newStatus);
+        if (!result.getFailures().isEmpty()) {
+            throw new RuntimeException(result.getFailures().get(orderId));
         }
+        return order;
+    }
 
-        return orderRepository.save(order);
+    // Update the status of many orders at once (admin)
+    public BulkStatusUpdateResult updateOrderStatuses(List<String> orderIds, OrderStatus newStatus) {
+        return orderStateMachine.transitionAll(orderIds, newStatus);
     }
 
-    // Cancel order
+    // Cancel order; the status change and the returned stock commit together
+    @Transactional
     public Order cancelOrder(String orderId, String username) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
@@ -153,14 +178,16 @@ public class OrderService {
             throw new RuntimeException("Unauthorized to cancel this order");
         }
 
-        // Only allow cancellation for certain statuses
-        if (order.getStatus() == OrderStatus.DELIVERED || 
-            order.getStatus() == OrderStatus.CANCELLED ||
-            order.getStatus() == OrderStatus.SHIPPED) {
+        // Only allow cancellation before the order ships
+        if (!order.getStatus().canTransitionTo(OrderStatus.CANCELLED)) {
             throw new RuntimeException("Cannot cancel order in status: " + order.getStatus());
         }
 
-        return updateOrderStatus(orderId, OrderStatus.CANCELLED);
+        BulkStatusUpdateResult result = orderStateMachine.transition(order, OrderStatus.CANCELLED);
+        if (!result.getFailures().isEmpty()) {
+            throw new RuntimeException(result.getFailures().get(orderId));
+        }
+        return order;
     }
 
     // Get all orders (admin)
@@ -168,11 +195,31 @@ public class OrderService {
         return orderRepository.findAll(pageable);
     }
 
+    // Get all orders as a slice (no count query)
+    public Slice<Order> getAllOrderSlice(Pageable pageable) {
+        return orderRepository.findSliceBy(pageable);
+    }
+
+    // Get all orders with keyset pagination, newest first
+    public CursorPage<Order> getAllOrders(String cursor, int size) {
+        return findOrdersAfter(null, cursor, size);
+    }
+
     // Get orders by status
     public Page<Order> getOrdersByStatus(OrderStatus status, Pageable pageable) {
         return orderRepository.findByStatus(status, pageable);
     }
 
+    // Get orders by status as a slice (no count query)
+    public Slice<Order> getOrderSliceByStatus(OrderStatus status, Pageable pageable) {
+        return orderRepository.findSliceByStatus(status, pageable);
+    }
+
+    // Get orders by status with keyset pagination, newest first
+    public CursorPage<Order> getOrdersByStatus(OrderStatus status, String cursor, int size) {
+        return findOrdersAfter(Criteria.where("status").is(status), cursor, size);
+    }
+
     // Get order statistics
     public long getOrderCount() {
         return orderRepository.count();
@@ -198,28 +245,26 @@ public class OrderService {
         return order.getTotalAmount() * 0.08;
     }
 
-    private String generateTrackingNumber() {
-        return "TRK-" + System.currentTimeMillis();
+    private String generateOrderNumber() {
+        return "ORD-" + idGenerator.nextIdString();
     }
 
-    private void restoreProductStock(Order order) {
-        for (OrderItem item : order.getItems()) {
-            Optional<Product> productOpt = productRepository.findById(item.getProductId());
-            if (productOpt.isPresent()) {
-                Product product = productOpt.get();
-                product.setQuantity(product.getQuantity() + item.getQuantity());
-                productRepository.save(product);
-            }
-        }
-    }
-
-    // Add tracking number
+    // Add tracking number; the field and its outbox event are written by one update
     public Order addTrackingNumber(String orderId, String trackingNumber) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
-        
-        order.setTrackingNumber(trackingNumber);
-        return orderRepository.save(order);
+
+        Update update = new Update().set("trackingNumber", trackingNumber).set("updatedAt", LocalDateTime.now());
+        Order savedOrder = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("id").is(orderId)),
+                orderOutbox.trackingUpdated(update, order.getStatus(), trackingNumber),
+                FindAndModifyOptions.options().returnNew(true),
+                Order.class);
+        if (savedOrder == null) {
+            throw new RuntimeException("Order not found: " + orderId);
+        }
+        eventPublisher.publishEvent(OrderEvent.trackingUpdated(savedOrder));
+        return savedOrder;
     }
 
     // Get recent orders
@@ -232,4 +277,31 @@ public class OrderService {
     public Optional<Order> findOrderByTrackingNumber(String trackingNumber) {
         return orderRepository.findByTrackingNumber(trackingNumber);
     }
+
+    /**
+     * Fetch the page after {@code cursor} ordered by (orderDate desc, id desc). The range
+     * predicate seeks straight to the position in the index, so every page costs the same
+     * regardless of depth, and one extra row is read to tell whether another page exists.
+     */
+    private CursorPage<Order> findOrdersAfter(Criteria filter, String cursor, int size) {
+        Query query = new Query();
+        if (filter != null) {
+            query.addCriteria(filter);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            OrderCursor position = OrderCursor.decode(cursor);
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("orderDate").lt(position.getOrderDate()),
+                    Criteria.where("orderDate").is(position.getOrderDate()).and("id").lt(position.getId())));
+        }
+        query.with(Sort.by(Sort.Direction.DESC, "orderDate", "id")).limit(size + 1);
+
+        List<Order> orders = mongoTemplate.find(query, Order.class);
+        boolean hasNext = orders.size() > size;
+        if (hasNext) {
+            orders = orders.subList(0, size);
+        }
+        String nextCursor = hasNext ? OrderCursor.of(orders.get(orders.size() - 1)).encode() : null;
+        return new CursorPage<>(orders, size, hasNext, nextCursor);
+    }
 }
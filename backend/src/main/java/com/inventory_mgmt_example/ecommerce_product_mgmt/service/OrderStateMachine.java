@@ -0,0 +1,255 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.BulkStatusUpdateResult;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.event.OrderEvent;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.id.SnowflakeIdGenerator;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatus;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.outbox.OrderOutbox;
+import com.mongodb.bulk.BulkWriteResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Applies order status transitions allowed by {@link OrderStatus#canTransitionTo} together
+ * with their side effects: confirming or releasing the stock hold, assigning a tracking number
+ * on SHIPPED, stamping deliveredDate on DELIVERED and returning stock on CANCELLED/RETURNED.
+ * <p>
+ * A batch of orders is moved with one unordered bulk write of conditional updates (each only
+ * matches while the order is still in the status it was validated against, so concurrent
+ * changes are rejected rather than overwritten) and one bulk stock restore for the whole batch.
+ * Orders are read with only the fields the transition and statistics need.
+ */
+@Service
+public class OrderStateMachine {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStateMachine.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private SnowflakeIdGenerator idGenerator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OrderOutbox orderOutbox;
+
+    @Value("${app.orders.bulk-transition.max-size:5000}")
+    private int maxBatchSize;
+
+    /**
+     * Move every order in {@code orderIds} to {@code target}; orders that cannot move are
+     * reported in the result's failures instead of failing the whole batch
+     */
+    public BulkStatusUpdateResult transitionAll(Collection<String> orderIds, OrderStatus target) {
+        Set<String> requested = new LinkedHashSet<>(orderIds);
+        if (requested.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " orders can be updated at once");
+        }
+        Query query = Query.query(where("id").in(requested));
+        query.fields().include("id", "orderNumber", "status", "items", "orderDate", "finalAmount", "trackingNumber");
+        Map<String, Order> found = mongoTemplate.find(query, Order.class).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        BulkStatusUpdateResult result = new BulkStatusUpdateResult(target, requested.size());
+        List<Order> orders = new ArrayList<>(found.size());
+        for (String orderId : requested) {
+            Order order = found.get(orderId);
+            if (order == null) {
+                result.getFailures().put(orderId, "Order not found: " + orderId);
+            } else {
+                orders.add(order);
+            }
+        }
+        apply(orders, target, result);
+        return result;
+    }
+
+    /**
+     * Move one loaded order to {@code target}; the order is updated in place on success
+     */
+    public BulkStatusUpdateResult transition(Order order, OrderStatus target) {
+        BulkStatusUpdateResult result = new BulkStatusUpdateResult(target, 1);
+        apply(List.of(order), target, result);
+        return result;
+    }
+
+    private void apply(List<Order> orders, OrderStatus target, BulkStatusUpdateResult result) {
+        long startTime = System.currentTimeMillis();
+
+        // Guard: only transitions the state machine allows
+        List<Order> valid = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            if (order.getStatus() == target) {
+                result.getFailures().put(order.getId(), "Order " + order.getOrderNumber() + " is already " + target.name());
+            } else if (!order.getStatus().canTransitionTo(target)) {
+                result.getFailures().put(order.getId(), "Cannot change order " + order.getOrderNumber()
+                        + " from " + order.getStatus().name() + " to " + target.name());
+            } else {
+                valid.add(order);
+            }
+        }
+
+        // Payment received; the stock hold becomes permanent unless it already expired
+        if (target == OrderStatus.CONFIRMED && !valid.isEmpty()) {
+            Set<String> expired = reservationService.confirmAll(idsOf(valid));
+            valid.removeIf(order -> {
+                if (expired.contains(order.getId())) {
+                    result.getFailures().put(order.getId(),
+                            "Stock reservation for order " + order.getOrderNumber() + " has expired");
+                    return true;
+                }
+                return false;
+            });
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        String writeId = UUID.randomUUID().toString();
+        Map<String, String> trackingNumbers = new HashMap<>();
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class);
+        for (Order order : valid) {
+            Update update = new Update().set("status", target).set("updatedAt", now).set("writeId", writeId);
+            if (target == OrderStatus.SHIPPED && order.getTrackingNumber() == null) {
+                String trackingNumber = "TRK-" + idGenerator.nextIdString();
+                trackingNumbers.put(order.getId(), trackingNumber);
+                update.set("trackingNumber", trackingNumber);
+            }
+            if (target == OrderStatus.DELIVERED) {
+                update.set("deliveredDate", now);
+            }
+            // The outbox event is pushed by the same conditional update as the change
+            orderOutbox.statusChanged(update, order.getStatus(), target,
+                    trackingNumbers.getOrDefault(order.getId(), order.getTrackingNumber()));
+            bulkOps.updateOne(Query.query(where("id").is(order.getId()).and("status").is(order.getStatus())), update);
+        }
+        BulkWriteResult writeResult;
+        try {
+            writeResult = bulkOps.execute();
+        } catch (RuntimeException e) {
+            if (target == OrderStatus.CONFIRMED) {
+                reopenHolds(valid);
+            }
+            throw e;
+        }
+
+        List<Order> moved = writeResult.getModifiedCount() == valid.size() ? valid : movedBy(valid, writeId);
+        Set<String> movedIds = new HashSet<>(idsOf(moved));
+        List<Order> missed = new ArrayList<>();
+        for (Order order : valid) {
+            if (!movedIds.contains(order.getId())) {
+                missed.add(order);
+                result.getFailures().put(order.getId(), "Order " + order.getOrderNumber() + " was modified concurrently");
+            }
+        }
+        if (target == OrderStatus.CONFIRMED && !missed.isEmpty()) {
+            reopenHolds(missed);
+        }
+        if (moved.isEmpty()) {
+            return;
+        }
+
+        restoreStock(moved, target);
+
+        for (Order order : moved) {
+            OrderStatus previousStatus = order.getStatus();
+            order.setStatus(target);
+            order.setUpdatedAt(now);
+            if (trackingNumbers.containsKey(order.getId())) {
+                order.setTrackingNumber(trackingNumbers.get(order.getId()));
+            }
+            if (target == OrderStatus.DELIVERED) {
+                order.setDeliveredDate(now);
+            }
+            result.getUpdatedOrderIds().add(order.getId());
+            eventPublisher.publishEvent(OrderEvent.statusChanged(order, previousStatus));
+        }
+
+        if (moved.size() > 1) {
+            logger.info("Moved {} orders to {} in {}ms", moved.size(), target.name(), System.currentTimeMillis() - startTime);
+        }
+    }
+
+    /**
+     * The write id marks exactly the orders this bulk write moved, so the re-read skips
+     * orders changed concurrently by someone else
+     */
+    private List<Order> movedBy(List<Order> valid, String writeId) {
+        Query query = Query.query(where("id").in(idsOf(valid)).and("writeId").is(writeId));
+        query.fields().include("id");
+        Set<String> movedIds = mongoTemplate.find(query, Order.class).stream()
+                .map(Order::getId)
+                .collect(Collectors.toSet());
+        return valid.stream().filter(order -> movedIds.contains(order.getId())).toList();
+    }
+
+    /**
+     * Holds were confirmed before the guarded write; orders it did not move and that are still
+     * PENDING get their holds back so the sweeper can expire them. Orders moved by someone else
+     * keep the confirmed hold, whose stock that other transition accounts for.
+     */
+    private void reopenHolds(List<Order> unmoved) {
+        Query stillPending = Query.query(where("id").in(idsOf(unmoved)).and("status").is(OrderStatus.PENDING));
+        stillPending.fields().include("id");
+        List<Order> pending = mongoTemplate.find(stillPending, Order.class);
+        if (!pending.isEmpty()) {
+            reservationService.reopenAll(idsOf(pending));
+        }
+    }
+
+    /**
+     * One bulk restore for every moved order whose stock is still taken
+     */
+    private void restoreStock(List<Order> moved, OrderStatus target) {
+        List<Order> restocked = switch (target) {
+            case CANCELLED -> {
+                // Unless the reservation sweeper already returned it
+                Set<String> owningStock = reservationService.releaseAll(idsOf(moved));
+                yield moved.stream().filter(order -> owningStock.contains(order.getId())).toList();
+            }
+            case RETURNED -> moved;
+            default -> List.of();
+        };
+        if (!restocked.isEmpty()) {
+            inventoryService.restoreStock(InventoryService.quantitiesOf(restocked));
+        }
+    }
+
+    private static List<String> idsOf(List<Order> orders) {
+        return orders.stream().map(Order::getId).toList();
+    }
+}
@@ -0,0 +1,291 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.OrderStatsDTO;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.event.OrderEvent;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderItem;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatistics;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatus;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.ProductSalesStats;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Maintains the materialized order statistics read model.
+ * <p>
+ * Every order creation and status change applies atomic $inc updates, so the stats
+ * endpoint reads one document plus a top-N index scan instead of scanning orders.
+ * The updates run after the order's transaction commits (immediately when there is none),
+ * outside it, so concurrent orders never write-conflict on the shared stats document and
+ * rolled-back orders are never counted.
+ * <p>
+ * The nightly rebuild recomputes everything from the orders collection to correct drift
+ * (increments applied while a rebuild is running can be overwritten by it). Only the
+ * instance holding the rebuild lease runs it, and per-product rows are replaced in one
+ * {@code $out}, so readers never see a half-empty top products list.
+ */
+@Service
+public class OrderStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatisticsService.class);
+
+    private static final Set<OrderStatus> NON_SALES_STATUSES =
+            EnumSet.of(OrderStatus.CANCELLED, OrderStatus.RETURNED, OrderStatus.REFUNDED);
+
+    private static final Query GLOBAL = Query.query(where("_id").is(OrderStatistics.GLOBAL_ID));
+
+    private static final String REBUILD_LEASE = "order-stats-rebuild";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private LeaseService leaseService;
+
+    /**
+     * Held, not released, after a rebuild so instances whose cron fires moments later skip it
+     */
+    @Value("${app.order-stats.rebuild-lease-ms:600000}")
+    private long rebuildLeaseMs;
+
+    /**
+     * The lease is re-entrant for this instance, so requests on it are serialized here
+     */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    /**
+     * Apply incremental updates for order lifecycle events once the order change is committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        try {
+            switch (event.getType()) {
+                case CREATED -> recordOrderCreated(event.getOrder());
+                case STATUS_CHANGED -> recordStatusChange(event.getOrder(), event.getPreviousStatus());
+                default -> { }
+            }
+        } catch (Exception e) {
+            // Stats drift is corrected by the rebuild job; never fail the order operation
+            logger.error("Failed to update order statistics for {}: {}", event.getOrder().getOrderNumber(), e.getMessage());
+        }
+    }
+
+    /**
+     * Get statistics with revenue for the last {@code days} days and the top {@code topN} products
+     */
+    public OrderStatsDTO getStatistics(int days, int topN) {
+        OrderStatistics stats = mongoTemplate.findById(OrderStatistics.GLOBAL_ID, OrderStatistics.class);
+        if (stats == null) {
+            stats = rebuildMissing();
+        }
+
+        String since = LocalDate.now().minusDays(days).toString();
+        Map<String, Double> revenueByDay = new TreeMap<>();
+        stats.getRevenueByDay().forEach((day, revenue) -> {
+            if (day.compareTo(since) > 0) {
+                revenueByDay.put(day, revenue);
+            }
+        });
+
+        List<ProductSalesStats> topProducts = mongoTemplate.find(
+                new Query().with(Sort.by(Sort.Direction.DESC, "unitsSold")).limit(topN), ProductSalesStats.class);
+
+        OrderStatsDTO dto = new OrderStatsDTO();
+        dto.setTotalOrders(stats.getTotalOrders());
+        dto.setCountsByStatus(stats.getCountsByStatus());
+        dto.setRevenueByDay(revenueByDay);
+        dto.setTotalRevenue(stats.getTotalRevenue());
+        dto.setAverageOrderValue(stats.getAverageOrderValue());
+        dto.setTopProducts(topProducts);
+        dto.setUpdatedAt(stats.getUpdatedAt());
+        return dto;
+    }
+
+    /**
+     * Nightly rebuild on the one instance that wins the rebuild lease
+     */
+    @Scheduled(cron = "${app.order-stats.rebuild-cron:0 0 3 * * *}")
+    public void scheduledRebuild() {
+        if (!leaseService.tryAcquire(REBUILD_LEASE, Duration.ofMillis(rebuildLeaseMs))) {
+            logger.debug("Skipping order statistics rebuild; another instance holds the lease");
+            return;
+        }
+        rebuild();
+    }
+
+    /**
+     * First read without a stats document: one request, on the instance that wins the rebuild
+     * lease, rebuilds them; every other caller gets empty statistics until that is done
+     */
+    private OrderStatistics rebuildMissing() {
+        if (rebuildLock.tryLock()) {
+            try {
+                OrderStatistics stats = mongoTemplate.findById(OrderStatistics.GLOBAL_ID, OrderStatistics.class);
+                if (stats != null) {
+                    return stats;
+                }
+                if (leaseService.tryAcquire(REBUILD_LEASE, Duration.ofMillis(rebuildLeaseMs))) {
+                    return rebuild();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        return new OrderStatistics();
+    }
+
+    /**
+     * Recompute the statistics from scratch with aggregation pipelines over the orders collection
+     */
+    public OrderStatistics rebuild() {
+        long startTime = System.currentTimeMillis();
+        AggregationOptions options = AggregationOptions.builder().allowDiskUse(true).build();
+        List<String> nonSalesStatuses = NON_SALES_STATUSES.stream().map(Enum::name).toList();
+
+        OrderStatistics stats = new OrderStatistics();
+
+        Aggregation byStatus = newAggregation(group("status").count().as("count")).withOptions(options);
+        for (Document row : mongoTemplate.aggregate(byStatus, Order.class, Document.class)) {
+            long count = ((Number) row.get("count")).longValue();
+            stats.getCountsByStatus().put(row.getString("_id"), count);
+            stats.setTotalOrders(stats.getTotalOrders() + count);
+        }
+
+        Aggregation byDay = newAggregation(
+                match(where("status").nin(nonSalesStatuses)),
+                project("finalAmount").and(DateOperators.DateToString.dateOf("orderDate")
+                        .toString("%Y-%m-%d")
+                        .withTimezone(DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId()))).as("day"),
+                group("day").sum("finalAmount").as("revenue").count().as("orders")
+        ).withOptions(options);
+        for (Document row : mongoTemplate.aggregate(byDay, Order.class, Document.class)) {
+            double revenue = ((Number) row.get("revenue")).doubleValue();
+            stats.getRevenueByDay().put(row.getString("_id"), revenue);
+            stats.setTotalRevenue(stats.getTotalRevenue() + revenue);
+            stats.setSalesOrders(stats.getSalesOrders() + ((Number) row.get("orders")).longValue());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        stats.setRebuiltAt(now);
+        stats.setUpdatedAt(now);
+        mongoTemplate.save(stats);
+
+        // $out writes a temporary collection and renames it over product_sales_stats (keeping its
+        // indexes), so readers see either the old rows or the new ones
+        Aggregation byProduct = newAggregation(
+                match(where("status").nin(nonSalesStatuses)),
+                unwind("items"),
+                match(where("items.productId").ne(null)),
+                group("items.productId")
+                        .sum("items.quantity").as("unitsSold")
+                        .sum("items.subtotal").as("revenue")
+                        .first("items.productName").as("productName"),
+                out(mongoTemplate.getCollectionName(ProductSalesStats.class))
+        ).withOptions(options);
+        mongoTemplate.aggregate(byProduct, Order.class, Document.class);
+
+        logger.info("Rebuilt order statistics: {} orders, {} products in {}ms", stats.getTotalOrders(),
+                mongoTemplate.estimatedCount(ProductSalesStats.class), System.currentTimeMillis() - startTime);
+        return stats;
+    }
+
+    private void recordOrderCreated(Order order) {
+        Update update = new Update()
+                .inc("totalOrders", 1)
+                .inc("countsByStatus." + order.getStatus().name(), 1)
+                .set("updatedAt", LocalDateTime.now());
+        if (countsTowardSales(order.getStatus())) {
+            applySales(update, order, 1);
+        }
+        mongoTemplate.upsert(GLOBAL, update, OrderStatistics.class);
+        if (countsTowardSales(order.getStatus())) {
+            applyProductUnits(order, 1);
+        }
+    }
+
+    private void recordStatusChange(Order order, OrderStatus previousStatus) {
+        OrderStatus newStatus = order.getStatus();
+        Update update = new Update()
+                .inc("countsByStatus." + previousStatus.name(), -1)
+                .inc("countsByStatus." + newStatus.name(), 1)
+                .set("updatedAt", LocalDateTime.now());
+
+        boolean wasSale = countsTowardSales(previousStatus);
+        boolean isSale = countsTowardSales(newStatus);
+        int direction = wasSale == isSale ? 0 : (isSale ? 1 : -1);
+        if (direction != 0) {
+            applySales(update, order, direction);
+        }
+        mongoTemplate.upsert(GLOBAL, update, OrderStatistics.class);
+        if (direction != 0) {
+            applyProductUnits(order, direction);
+        }
+    }
+
+    private void applySales(Update update, Order order, int direction) {
+        String day = order.getOrderDate().toLocalDate().toString();
+        update.inc("salesOrders", direction)
+                .inc("totalRevenue", direction * order.getFinalAmount())
+                .inc("revenueByDay." + day, direction * order.getFinalAmount());
+    }
+
+    private void applyProductUnits(Order order, int direction) {
+        if (order.getItems() == null || order.getItems().isEmpty()) {
+            return;
+        }
+        // Merge duplicate lines for the same product into one upsert
+        Map<String, ProductSalesStats> deltas = new HashMap<>();
+        for (OrderItem item : order.getItems()) {
+            if (item.getProductId() == null) {
+                continue;
+            }
+            ProductSalesStats delta = deltas.computeIfAbsent(item.getProductId(),
+                    id -> new ProductSalesStats(id, item.getProductName(), 0, 0));
+            delta.setUnitsSold(delta.getUnitsSold() + item.getQuantity());
+            delta.setRevenue(delta.getRevenue() + item.getSubtotal());
+        }
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProductSalesStats.class);
+        for (ProductSalesStats delta : deltas.values()) {
+            bulkOps.upsert(Query.query(where("_id").is(delta.getProductId())), new Update()
+                    .inc("unitsSold", direction * delta.getUnitsSold())
+                    .inc("revenue", direction * delta.getRevenue())
+                    .set("productName", delta.getProductName()));
+        }
+        bulkOps.execute();
+    }
+
+    static boolean countsTowardSales(OrderStatus status) {
+        return !NON_SALES_STATUSES.contains(status);
+    }
+}
@@ -0,0 +1,314 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.event.ProductChangeEvent;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.event.ProductChangeEvent.ChangeType;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes product price/stock changes to SSE subscribers.
+ * <p>
+ * Changes are coalesced per product and flushed on a fixed interval, so a burst of
+ * updates to one product reaches each subscriber as a single event with the latest state.
+ * Subscribers are indexed by product id or category, so a flush only visits the
+ * subscribers that can match. Idle subscribers hold no thread, only their emitter and filter.
+ * Delete events carry no category and only reach id or unfiltered subscribers.
+ * <p>
+ * The scheduled flush and heartbeat only queue events; a small dedicated pool writes them to
+ * the emitters, one drain at a time per subscription so its events stay in order. A slow client
+ * therefore holds at most one sender thread and never the shared {@code @Scheduled} thread, and
+ * a subscription that falls more than {@code max-pending-events} behind is closed.
+ */
+@Service
+public class ProductChangeStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductChangeStreamService.class);
+
+    private final int maxSubscribers;
+    private final int maxPendingEvents;
+    private final Executor sendExecutor;
+
+    private final Map<String, ProductChangeEvent> pendingChanges = new ConcurrentHashMap<>();
+    private final Set<Subscription> allProductSubscribers = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<Subscription>> subscribersByProductId = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscription>> subscribersByCategory = new ConcurrentHashMap<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    @Autowired
+    public ProductChangeStreamService(@Value("${app.product-stream.max-subscribers:5000}") int maxSubscribers,
+                                      @Value("${app.product-stream.send-threads:4}") int sendThreads,
+                                      @Value("${app.product-stream.max-pending-events:1000}") int maxPendingEvents,
+                                      MeterRegistry meterRegistry) {
+        // At most one queued drain per subscription, so the queue never needs more than maxSubscribers
+        this(maxSubscribers, maxPendingEvents, new ThreadPoolExecutor(sendThreads, sendThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(maxSubscribers), runnable -> {
+                    Thread thread = new Thread(runnable, "product-stream-send");
+                    thread.setDaemon(true);
+                    return thread;
+                }), meterRegistry);
+    }
+
+    ProductChangeStreamService(int maxSubscribers, int maxPendingEvents, Executor sendExecutor, MeterRegistry meterRegistry) {
+        this.maxSubscribers = maxSubscribers;
+        this.maxPendingEvents = maxPendingEvents;
+        this.sendExecutor = sendExecutor;
+        Gauge.builder("app.product.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open product change SSE subscriptions")
+                .register(meterRegistry);
+        Gauge.builder("app.product.stream.pending", pendingChanges, Map::size)
+                .description("Coalesced product changes waiting for the next flush")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a subscription; an empty id set and null category receive every change
+     */
+    public SseEmitter subscribe(Set<String> productIds, String category) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw RateLimitExceededException.byConcurrencyLimit("product-stream", 30);
+        }
+
+        // No server-side timeout; dead connections are detected by the heartbeat
+        SseEmitter emitter = createEmitter();
+        Subscription subscription = new Subscription(emitter, Set.copyOf(productIds), category);
+        subscriptions.add(subscription);
+        index(subscription);
+
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(e -> unsubscribe(subscription));
+
+        logger.debug("Opened product stream subscription (ids: {}, category: {})", productIds, category);
+        return emitter;
+    }
+
+    /**
+     * Record a change; later changes to the same product replace earlier ones until the next flush
+     */
+    @EventListener
+    public void onProductChange(ProductChangeEvent event) {
+        pendingChanges.merge(event.getProductId(), event, ProductChangeStreamService::coalesce);
+    }
+
+    /**
+     * Deliver the coalesced changes accumulated since the last flush
+     */
+    @Scheduled(fixedDelayString = "${app.product-stream.coalesce-ms:250}")
+    public void flushPendingChanges() {
+        if (pendingChanges.isEmpty()) {
+            return;
+        }
+
+        List<ProductChangeEvent> changes = new ArrayList<>(pendingChanges.size());
+        for (String productId : pendingChanges.keySet()) {
+            ProductChangeEvent change = pendingChanges.remove(productId);
+            if (change != null) {
+                changes.add(change);
+            }
+        }
+
+        for (ProductChangeEvent change : changes) {
+            deliver(change, allProductSubscribers);
+            deliver(change, subscribersByProductId.get(change.getProductId()));
+            if (change.getCategory() != null) {
+                deliver(change, subscribersByCategory.get(change.getCategory()));
+            }
+        }
+    }
+
+    /**
+     * Keep idle connections alive and drop the ones whose client has gone away
+     */
+    @Scheduled(fixedDelayString = "${app.product-stream.heartbeat-ms:30000}")
+    public void sendHeartbeats() {
+        // One frame per emitter, however many index entries its filter has
+        for (Subscription subscription : subscriptions) {
+            enqueue(subscription, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sendExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(0L);
+    }
+
+    private void deliver(ProductChangeEvent change, Collection<Subscription> candidates) {
+        if (candidates == null) {
+            return;
+        }
+        for (Subscription subscription : candidates) {
+            if (subscription.matches(change)) {
+                enqueue(subscription, SseEmitter.event()
+                        .name(change.getType().name())
+                        .id(change.getProductId())
+                        .data(change, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    private void enqueue(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        if (subscription.closed.get()) {
+            return;
+        }
+        if (subscription.pendingCount.incrementAndGet() > maxPendingEvents) {
+            close(subscription, new IllegalStateException("Subscriber fell more than " + maxPendingEvents + " events behind"));
+            return;
+        }
+        subscription.pending.add(event);
+        scheduleDrain(subscription);
+    }
+
+    private void scheduleDrain(Subscription subscription) {
+        if (!subscription.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sendExecutor.execute(() -> drain(subscription));
+        } catch (RejectedExecutionException e) {
+            subscription.draining.set(false);
+            close(subscription, e);
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        SseEmitter.SseEventBuilder event;
+        while ((event = subscription.pending.poll()) != null) {
+            subscription.pendingCount.decrementAndGet();
+            if (subscription.closed.get()) {
+                continue;
+            }
+            try {
+                subscription.emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; completion callback removes the subscription
+                close(subscription, e);
+            }
+        }
+        subscription.draining.set(false);
+        // An event queued after the last poll but before the flag was cleared still needs a drain
+        if (!subscription.pending.isEmpty()) {
+            scheduleDrain(subscription);
+        }
+    }
+
+    private void close(Subscription subscription, Exception cause) {
+        subscription.emitter.completeWithError(cause);
+        unsubscribe(subscription);
+    }
+
+    private void index(Subscription subscription) {
+        if (!subscription.productIds.isEmpty()) {
+            for (String productId : subscription.productIds) {
+                subscribersByProductId.computeIfAbsent(productId, key -> ConcurrentHashMap.newKeySet()).add(subscription);
+            }
+        } else if (subscription.category != null) {
+            subscribersByCategory.computeIfAbsent(subscription.category, key -> ConcurrentHashMap.newKeySet()).add(subscription);
+        } else {
+            allProductSubscribers.add(subscription);
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        if (!subscription.markClosed()) {
+            return;
+        }
+        subscriptions.remove(subscription);
+        if (!subscription.productIds.isEmpty()) {
+            for (String productId : subscription.productIds) {
+                removeFromIndex(subscribersByProductId, productId, subscription);
+            }
+        } else if (subscription.category != null) {
+            removeFromIndex(subscribersByCategory, subscription.category, subscription);
+        } else {
+            allProductSubscribers.remove(subscription);
+        }
+        subscriberCount.decrementAndGet();
+    }
+
+    private static void removeFromIndex(Map<String, Set<Subscription>> index, String key, Subscription subscription) {
+        index.computeIfPresent(key, (k, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+    }
+
+    private static ProductChangeEvent coalesce(ProductChangeEvent previous, ProductChangeEvent latest) {
+        // A create followed by updates is still a create from the subscriber's point of view
+        if (previous.getType() == ChangeType.CREATED && latest.getType() != ChangeType.DELETED) {
+            return new ProductChangeEvent(ChangeType.CREATED, latest.getProductId(), latest.getCategory(),
+                    latest.getPrice(), latest.getQuantity());
+        }
+        return latest;
+    }
+
+    /**
+     * One open SSE connection and its filter
+     */
+    private static class Subscription {
+        private final SseEmitter emitter;
+        private final Set<String> productIds;
+        private final String category;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscription(SseEmitter emitter, Set<String> productIds, String category) {
+            this.emitter = emitter;
+            this.productIds = productIds;
+            this.category = category;
+        }
+
+        boolean matches(ProductChangeEvent change) {
+            if (!productIds.isEmpty() && !productIds.contains(change.getProductId())) {
+                return false;
+            }
+            return category == null || change.getCategory() == null || category.equals(change.getCategory());
+        }
+
+        boolean markClosed() {
+            return closed.compareAndSet(false, true);
+        }
+    }
+}
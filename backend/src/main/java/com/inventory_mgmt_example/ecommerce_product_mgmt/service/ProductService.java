@@ -1,6 +1,8 @@
 package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
 
 import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.ProductCreateDTO;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.event.ProductChangeEvent;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.event.ProductChangeEvent.ChangeType;
 import com.inventory_mgmt_example.ecommerce_product_mgmt.exception.DuplicateProductException;
 import com.inventory_mgmt_example.ecommerce_product_mgmt.exception.ProductNotFoundException;
 import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
@@ -11,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -25,6 +28,9 @@ public class ProductService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Get all products
      */
@@ -62,6 +68,7 @@ public class ProductService {
         
         Product savedProduct = productRepository.save(product);
         logger.info("Created product with id: {}", savedProduct.getId());
+        eventPublisher.publishEvent(ProductChangeEvent.of(ChangeType.CREATED, savedProduct));
         return savedProduct;
     }
 
@@ -98,6 +105,7 @@ public class ProductService {
         
         List<Product> savedProducts = productRepository.saveAll(products);
         logger.info("Created {} products in bulk", savedProducts.size());
+        savedProducts.forEach(product -> eventPublisher.publishEvent(ProductChangeEvent.of(ChangeType.CREATED, product)));
         return savedProducts;
     }
 
@@ -122,6 +130,7 @@ public class ProductService {
         
         Product updatedProduct = productRepository.save(existingProduct);
         logger.info("Updated product with id: {}", id);
+        eventPublisher.publishEvent(ProductChangeEvent.of(ChangeType.UPDATED, updatedProduct));
         return updatedProduct;
     }
 
@@ -138,6 +147,7 @@ public class ProductService {
         
         productRepository.deleteById(id);
         logger.info("Deleted product with id: {}", id);
+        eventPublisher.publishEvent(ProductChangeEvent.deleted(id));
     }
 
     /**
@@ -157,6 +167,7 @@ public class ProductService {
         
         Product updatedProduct = productRepository.save(product);
         logger.info("Updated quantity for product id: {} to {}", id, quantity);
+        eventPublisher.publishEvent(ProductChangeEvent.of(ChangeType.STOCK_CHANGED, updatedProduct));
         return updatedProduct;
     }
 
@@ -177,6 +188,7 @@ public class ProductService {
         
         Product updatedProduct = productRepository.save(product);
         logger.info("Updated price for product id: {} to {}", id, price);
+        eventPublisher.publishEvent(ProductChangeEvent.of(ChangeType.UPDATED, updatedProduct));
         return updatedProduct;
     }
 
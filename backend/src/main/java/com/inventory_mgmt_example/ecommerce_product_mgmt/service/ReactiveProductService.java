@@ -0,0 +1,65 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.exception.ProductNotFoundException;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.repository.ReactiveProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only catalog access on the reactive Mongo driver.
+ * Writes stay in {@link ProductService} so cache eviction keeps working.
+ */
+@Service
+public class ReactiveProductService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveProductService.class);
+
+    @Autowired
+    private ReactiveProductRepository reactiveProductRepository;
+
+    /**
+     * Stream all products
+     */
+    public Flux<Product> streamAllProducts() {
+        logger.debug("Streaming all products");
+        return reactiveProductRepository.findAll();
+    }
+
+    /**
+     * Get product by ID
+     */
+    public Mono<Product> getProductById(String id) {
+        logger.debug("Fetching product with id: {}", id);
+        return reactiveProductRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> ProductNotFoundException.byId(id)));
+    }
+
+    /**
+     * Stream products by name
+     */
+    public Flux<Product> searchProductsByName(String name) {
+        logger.debug("Streaming products by name: {}", name);
+        return reactiveProductRepository.findByNameContainingIgnoreCase(name);
+    }
+
+    /**
+     * Stream products by category
+     */
+    public Flux<Product> streamProductsByCategory(String category) {
+        logger.debug("Streaming products by category: {}", category);
+        return reactiveProductRepository.findByCategory(category);
+    }
+
+    /**
+     * Stream products by brand
+     */
+    public Flux<Product> streamProductsByBrand(String brand) {
+        logger.debug("Streaming products by brand: {}", brand);
+        return reactiveProductRepository.findByBrand(brand);
+    }
+}
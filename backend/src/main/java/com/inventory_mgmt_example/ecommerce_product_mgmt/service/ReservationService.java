@@ -0,0 +1,302 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.event.OrderEvent;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatus;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.ReservationStatus;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.StockReservation;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.outbox.OrderOutbox;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Time-boxed stock holds for orders awaiting payment.
+ * <p>
+ * Placing an order takes the stock and records a hold that expires after
+ * {@code app.reservations.hold-minutes}. Confirming the order confirms the hold; otherwise
+ * the expiry sweeper releases it. The sweeper claims expired holds in batches through the
+ * (status, expiresAt) index, tags each claimed batch with a sweep id so concurrent sweepers
+ * on other replicas never release the same hold twice, restores the batch's stock with one
+ * bulk write and cancels the affected orders with one multi-update.
+ * <p>
+ * Claimed holds stay EXPIRING until their stock is back and only then become EXPIRED, so a
+ * sweeper that dies in between leaves a visible trace: holds EXPIRING for longer than
+ * {@code app.reservations.claim-timeout-ms} are re-claimed and finished by a later sweep.
+ */
+@Service
+public class ReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OrderOutbox orderOutbox;
+
+    @Value("${app.reservations.hold-minutes:30}")
+    private long holdMinutes;
+
+    @Value("${app.reservations.sweep-batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.reservations.sweep-max-batches:100}")
+    private int maxBatchesPerSweep;
+
+    /**
+     * How long a claimed batch may take before another sweep assumes its sweeper died; well above
+     * any real batch, since a batch finished twice would return its stock twice
+     */
+    @Value("${app.reservations.claim-timeout-ms:300000}")
+    private long claimTimeoutMs;
+
+    private final Counter expiredHolds;
+
+    public ReservationService(MeterRegistry meterRegistry) {
+        this.expiredHolds = Counter.builder("app.reservations.expired")
+                .description("Stock holds released by the expiry sweeper")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a hold on the stock taken for a newly placed order
+     */
+    public StockReservation hold(Order order) {
+        Map<String, Integer> quantities = InventoryService.quantitiesOf(List.of(order));
+        StockReservation reservation = new StockReservation(order.getId(), quantities,
+                LocalDateTime.now().plusMinutes(holdMinutes));
+        return mongoTemplate.insert(reservation);
+    }
+
+    /**
+     * Confirm the hold of an order being confirmed; false if it already expired and the stock was returned.
+     * Orders without a hold (placed before reservations existed) are always confirmable.
+     */
+    public boolean confirm(String orderId) {
+        StockReservation confirmed = close(orderId, ReservationStatus.CONFIRMED);
+        return confirmed != null || findByOrderId(orderId) == null;
+    }
+
+    /**
+     * Release the hold of an order being cancelled; returns whether the caller still has to restore
+     * the order's stock (false when the sweeper already returned it)
+     */
+    public boolean release(String orderId) {
+        if (close(orderId, ReservationStatus.RELEASED) != null) {
+            return true;
+        }
+        StockReservation reservation = findByOrderId(orderId);
+        return reservation == null || reservation.getStatus() == ReservationStatus.CONFIRMED;
+    }
+
+    /**
+     * Confirm the holds of many orders with one multi-update; returns the orders that cannot be
+     * confirmed because their hold already expired or was released
+     */
+    public Set<String> confirmAll(Collection<String> orderIds) {
+        mongoTemplate.updateMulti(
+                Query.query(where("orderId").in(orderIds).and("status").is(ReservationStatus.HELD)),
+                new Update().set("status", ReservationStatus.CONFIRMED).set("closedAt", LocalDateTime.now()),
+                StockReservation.class);
+
+        Query closed = Query.query(where("orderId").in(orderIds)
+                .and("status").in(ReservationStatus.EXPIRING, ReservationStatus.EXPIRED, ReservationStatus.RELEASED));
+        closed.fields().include("orderId");
+        return mongoTemplate.find(closed, StockReservation.class).stream()
+                .map(StockReservation::getOrderId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Undo {@link #confirmAll} for orders whose status change was not written, so their holds can
+     * still expire; only holds of orders still PENDING are reopened
+     */
+    public void reopenAll(Collection<String> orderIds) {
+        mongoTemplate.updateMulti(
+                Query.query(where("orderId").in(orderIds).and("status").is(ReservationStatus.CONFIRMED)),
+                new Update().set("status", ReservationStatus.HELD).unset("closedAt"),
+                StockReservation.class);
+    }
+
+    /**
+     * Release the holds of many cancelled orders with one multi-update; returns the orders whose
+     * stock the caller still has to restore: no hold, a confirmed hold, or a hold released by
+     * this call. Holds already expired or released elsewhere have returned their stock.
+     */
+    public Set<String> releaseAll(Collection<String> orderIds) {
+        String sweepId = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(
+                Query.query(where("orderId").in(orderIds).and("status").is(ReservationStatus.HELD)),
+                new Update().set("status", ReservationStatus.RELEASED).set("closedAt", LocalDateTime.now())
+                        .set("sweepId", sweepId),
+                StockReservation.class);
+
+        Set<String> owningStock = new HashSet<>(orderIds);
+        for (StockReservation hold : mongoTemplate.find(Query.query(where("orderId").in(orderIds)), StockReservation.class)) {
+            boolean stockTaken = hold.getStatus() == ReservationStatus.CONFIRMED || sweepId.equals(hold.getSweepId());
+            if (!stockTaken) {
+                owningStock.remove(hold.getOrderId());
+            }
+        }
+        return owningStock;
+    }
+
+    public StockReservation findByOrderId(String orderId) {
+        return mongoTemplate.findOne(Query.query(where("orderId").is(orderId)), StockReservation.class);
+    }
+
+    /**
+     * Release expired holds in bounded batches; returns the number of holds released
+     */
+    @Scheduled(fixedDelayString = "${app.reservations.sweep-interval-ms:10000}")
+    public int releaseExpiredHolds() {
+        long startTime = System.currentTimeMillis();
+        int released = finishAbandonedClaims(LocalDateTime.now());
+        for (int batch = 0; batch < maxBatchesPerSweep; batch++) {
+            int claimed = releaseExpiredBatch(LocalDateTime.now());
+            released += claimed;
+            if (claimed < batchSize) {
+                break;
+            }
+        }
+        if (released > 0) {
+            logger.info("Released {} expired stock holds in {}ms", released, System.currentTimeMillis() - startTime);
+        }
+        return released;
+    }
+
+    private int releaseExpiredBatch(LocalDateTime now) {
+        Query expired = Query.query(where("status").is(ReservationStatus.HELD).and("expiresAt").lt(now))
+                .with(Sort.by("expiresAt"))
+                .limit(batchSize);
+        return claimAndRestore(idsOf(expired), where("status").is(ReservationStatus.HELD), true, now);
+    }
+
+    /**
+     * Re-claim holds left EXPIRING by a sweeper that stopped before returning their stock
+     */
+    private int finishAbandonedClaims(LocalDateTime now) {
+        Criteria abandoned = where("status").is(ReservationStatus.EXPIRING)
+                .and("closedAt").lt(now.minus(Duration.ofMillis(claimTimeoutMs)));
+        int finished = 0;
+        for (int batch = 0; batch < maxBatchesPerSweep; batch++) {
+            int claimed = claimAndRestore(idsOf(Query.query(abandoned).limit(batchSize)), abandoned, false, now);
+            finished += claimed;
+            if (claimed < batchSize) {
+                break;
+            }
+        }
+        if (finished > 0) {
+            logger.warn("Finished {} expired stock holds abandoned by an earlier sweep", finished);
+        }
+        return finished;
+    }
+
+    /**
+     * Claim the candidate holds still matching {@code claimable} as EXPIRING under a new sweep id,
+     * return their stock and cancel their pending orders, then mark them EXPIRED.
+     * <p>
+     * The first claim also stamps the sweep id as the holds' restore id, which re-claims keep: the stock
+     * is restored once per restore id, so a sweeper that died after returning the stock but before marking
+     * the holds EXPIRED does not get it returned again by the sweeper that finishes its holds.
+     */
+    private int claimAndRestore(List<String> candidateIds, Criteria claimable, boolean firstClaim, LocalDateTime now) {
+        if (candidateIds.isEmpty()) {
+            return 0;
+        }
+
+        // Only holds still claimable flip, and the sweep id identifies exactly the ones this batch won
+        String sweepId = UUID.randomUUID().toString();
+        Update claim = new Update().set("status", ReservationStatus.EXPIRING).set("closedAt", now).set("sweepId", sweepId);
+        if (firstClaim) {
+            claim.set("restoreId", sweepId);
+        }
+        mongoTemplate.updateMulti(
+                Query.query(claimable).addCriteria(where("id").in(candidateIds)), claim, StockReservation.class);
+        List<StockReservation> claimed = mongoTemplate.find(
+                Query.query(where("sweepId").is(sweepId)), StockReservation.class);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        // Holds claimed before restore ids existed have none; they are restored under this sweep id
+        Map<String, Map<String, Integer>> quantitiesByRestore = new LinkedHashMap<>();
+        for (StockReservation reservation : claimed) {
+            String restoreId = reservation.getRestoreId() != null ? reservation.getRestoreId() : sweepId;
+            Map<String, Integer> quantities = quantitiesByRestore.computeIfAbsent(restoreId, id -> new LinkedHashMap<>());
+            reservation.getQuantities().forEach((productId, quantity) -> quantities.merge(productId, quantity, Integer::sum));
+        }
+        quantitiesByRestore.forEach((restoreId, quantities) -> inventoryService.restoreStockOnce(quantities, restoreId));
+        cancelPendingOrders(claimed.stream().map(StockReservation::getOrderId).toList(), now);
+        mongoTemplate.updateMulti(
+                Query.query(where("sweepId").is(sweepId).and("status").is(ReservationStatus.EXPIRING)),
+                new Update().set("status", ReservationStatus.EXPIRED),
+                StockReservation.class);
+        quantitiesByRestore.forEach((restoreId, quantities) ->
+                inventoryService.forgetRestore(quantities.keySet(), restoreId));
+
+        expiredHolds.increment(claimed.size());
+        return claimed.size();
+    }
+
+    private List<String> idsOf(Query query) {
+        query.fields().include("_id");
+        return mongoTemplate.find(query, StockReservation.class).stream()
+                .map(StockReservation::getId)
+                .toList();
+    }
+
+    private void cancelPendingOrders(List<String> orderIds, LocalDateTime now) {
+        Query pending = Query.query(where("id").in(orderIds).and("status").is(OrderStatus.PENDING));
+        List<Order> orders = mongoTemplate.find(pending, Order.class);
+        Update cancel = new Update().set("status", OrderStatus.CANCELLED).set("updatedAt", now);
+        mongoTemplate.updateMulti(pending,
+                orderOutbox.statusChanged(cancel, OrderStatus.PENDING, OrderStatus.CANCELLED, null),
+                Order.class);
+
+        for (Order order : orders) {
+            order.setStatus(OrderStatus.CANCELLED);
+            eventPublisher.publishEvent(OrderEvent.statusChanged(order, OrderStatus.PENDING));
+        }
+    }
+
+    private StockReservation close(String orderId, ReservationStatus status) {
+        return mongoTemplate.findAndModify(
+                Query.query(where("orderId").is(orderId).and("status").is(ReservationStatus.HELD)),
+                new Update().set("status", status).set("closedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                StockReservation.class);
+    }
+}
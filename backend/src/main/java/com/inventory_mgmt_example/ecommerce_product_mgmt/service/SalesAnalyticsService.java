@@ -0,0 +1,215 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.RepeatCustomerStatsDTO;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.RevenueBreakdownDTO;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.RevenuePeriodDTO;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.StatusFunnelDTO;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatus;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Sales analytics computed server-side with aggregation pipelines.
+ * <p>
+ * Every pipeline starts with a $match on orderDate (served by the orderDate/status/finalAmount
+ * compound index on Order) and projects only the fields it needs before grouping, so no
+ * full order documents are shipped to the application.
+ */
+@Service
+public class SalesAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesAnalyticsService.class);
+
+    private static final List<String> NON_SALES_STATUSES = List.of(
+            OrderStatus.CANCELLED.name(), OrderStatus.RETURNED.name(), OrderStatus.REFUNDED.name());
+
+    /**
+     * Fulfilment stages in order; RETURNED and REFUNDED orders were delivered first
+     */
+    private static final List<OrderStatus> FUNNEL_STAGES = List.of(
+            OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.PROCESSING,
+            OrderStatus.SHIPPED, OrderStatus.OUT_FOR_DELIVERY, OrderStatus.DELIVERED);
+
+    private static final AggregationOptions OPTIONS = AggregationOptions.builder().allowDiskUse(true).build();
+
+    public enum Granularity {
+        DAY("%Y-%m-%d"),
+        WEEK("%G-W%V"),
+        MONTH("%Y-%m");
+
+        private final String format;
+
+        Granularity(String format) {
+            this.format = format;
+        }
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Revenue, order count and average order value per day, ISO week or month
+     */
+    public List<RevenuePeriodDTO> getRevenueByPeriod(LocalDateTime from, LocalDateTime to, Granularity granularity) {
+        logger.debug("Revenue by {} between {} and {}", granularity, from, to);
+        Aggregation aggregation = newAggregation(
+                match(salesBetween(from, to)),
+                project("finalAmount")
+                        .andExclude("_id")
+                        .and(DateOperators.DateToString.dateOf("orderDate")
+                                .toString(granularity.format)
+                                .withTimezone(DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId())))
+                        .as("period"),
+                group("period").sum("finalAmount").as("revenue").count().as("orders"),
+                sort(Sort.Direction.ASC, "_id")
+        ).withOptions(OPTIONS);
+
+        List<RevenuePeriodDTO> result = new ArrayList<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Order.class, Document.class)) {
+            long orders = number(row, "orders").longValue();
+            double revenue = number(row, "revenue").doubleValue();
+            result.add(new RevenuePeriodDTO(row.getString("_id"), orders, revenue, orders > 0 ? revenue / orders : 0.0));
+        }
+        return result;
+    }
+
+    /**
+     * Units and revenue per product category
+     */
+    public List<RevenueBreakdownDTO> getRevenueByCategory(LocalDateTime from, LocalDateTime to) {
+        return getRevenueByProductField(from, to, "category");
+    }
+
+    /**
+     * Units and revenue per product brand
+     */
+    public List<RevenueBreakdownDTO> getRevenueByBrand(LocalDateTime from, LocalDateTime to) {
+        return getRevenueByProductField(from, to, "brand");
+    }
+
+    /**
+     * Order counts by status and how many orders reached each fulfilment stage
+     */
+    public List<StatusFunnelDTO> getStatusFunnel(LocalDateTime from, LocalDateTime to) {
+        Aggregation aggregation = newAggregation(
+                match(where("orderDate").gte(from).lt(to)),
+                project("status").andExclude("_id"),
+                group("status").count().as("count")
+        ).withOptions(OPTIONS);
+
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (Document row : mongoTemplate.aggregate(aggregation, Order.class, Document.class)) {
+            if (row.getString("_id") != null) {
+                counts.put(OrderStatus.valueOf(row.getString("_id")), number(row, "count").longValue());
+            }
+        }
+
+        long placed = counts.values().stream().mapToLong(Long::longValue).sum();
+        long pastDelivery = counts.getOrDefault(OrderStatus.RETURNED, 0L) + counts.getOrDefault(OrderStatus.REFUNDED, 0L);
+
+        List<StatusFunnelDTO> funnel = new ArrayList<>();
+        for (int i = 0; i < FUNNEL_STAGES.size(); i++) {
+            OrderStatus stage = FUNNEL_STAGES.get(i);
+            long reached = pastDelivery;
+            for (OrderStatus later : FUNNEL_STAGES.subList(i, FUNNEL_STAGES.size())) {
+                reached += counts.getOrDefault(later, 0L);
+            }
+            if (stage == OrderStatus.PENDING) {
+                reached = placed;
+            }
+            funnel.add(new StatusFunnelDTO(stage.name(), counts.getOrDefault(stage, 0L), reached,
+                    placed > 0 ? (double) reached / placed : 0.0));
+        }
+        for (OrderStatus terminal : List.of(OrderStatus.CANCELLED, OrderStatus.RETURNED, OrderStatus.REFUNDED)) {
+            long count = counts.getOrDefault(terminal, 0L);
+            funnel.add(new StatusFunnelDTO(terminal.name(), count, count, placed > 0 ? (double) count / placed : 0.0));
+        }
+        return funnel;
+    }
+
+    /**
+     * Share of customers with more than one (non-cancelled) order in the window
+     */
+    public RepeatCustomerStatsDTO getRepeatCustomerStats(LocalDateTime from, LocalDateTime to) {
+        Aggregation aggregation = newAggregation(
+                match(salesBetween(from, to)),
+                project("user").andExclude("_id"),
+                group("user").count().as("orders"),
+                group()
+                        .count().as("customers")
+                        .sum("orders").as("orders")
+                        .sum(ConditionalOperators.when(Criteria.where("orders").gt(1)).then(1).otherwise(0))
+                        .as("repeatCustomers")
+        ).withOptions(OPTIONS);
+
+        Document row = mongoTemplate.aggregate(aggregation, Order.class, Document.class).getUniqueMappedResult();
+        if (row == null) {
+            return new RepeatCustomerStatsDTO(0, 0, 0.0, 0.0);
+        }
+        long customers = number(row, "customers").longValue();
+        long repeatCustomers = number(row, "repeatCustomers").longValue();
+        long orders = number(row, "orders").longValue();
+        return new RepeatCustomerStatsDTO(customers, repeatCustomers,
+                customers > 0 ? (double) repeatCustomers / customers : 0.0,
+                customers > 0 ? (double) orders / customers : 0.0);
+    }
+
+    /**
+     * Units and revenue grouped by a Product field. Items are reduced per product before
+     * the $lookup, so products are joined once per distinct product rather than per order line.
+     */
+    private List<RevenueBreakdownDTO> getRevenueByProductField(LocalDateTime from, LocalDateTime to, String field) {
+        Aggregation aggregation = newAggregation(
+                match(salesBetween(from, to)),
+                project("items").andExclude("_id"),
+                unwind("items"),
+                group("items.productId").sum("items.quantity").as("units").sum("items.subtotal").as("revenue"),
+                project("units", "revenue")
+                        .and(ConvertOperators.Convert.convertValueOf("_id").to("objectId").onErrorReturn(null))
+                        .as("productObjectId"),
+                lookup("products", "productObjectId", "_id", "product"),
+                unwind("product", true),
+                group("product." + field).sum("units").as("units").sum("revenue").as("revenue"),
+                sort(Sort.Direction.DESC, "revenue")
+        ).withOptions(OPTIONS);
+
+        List<RevenueBreakdownDTO> result = new ArrayList<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Order.class, Document.class)) {
+            Object key = row.get("_id");
+            result.add(new RevenueBreakdownDTO(key != null ? key.toString() : "Unknown",
+                    number(row, "units").longValue(), number(row, "revenue").doubleValue()));
+        }
+        return result;
+    }
+
+    private static Criteria salesBetween(LocalDateTime from, LocalDateTime to) {
+        return where("orderDate").gte(from).lt(to).and("status").nin(NON_SALES_STATUSES);
+    }
+
+    private static Number number(Document row, String field) {
+        Object value = row.get(field);
+        return value instanceof Number number ? number : 0;
+    }
+}
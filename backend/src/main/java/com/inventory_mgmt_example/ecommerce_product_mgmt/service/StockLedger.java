@@ -0,0 +1,117 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.exception.InsufficientStockException;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.exception.ProductNotFoundException;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Stock decrements made during one order placement attempt.
+ * <p>
+ * Each decrement is a single conditional $inc, so stock can never go negative even under
+ * concurrent orders. The ledger remembers what it took so the non-transactional placement
+ * path can put it back if a later step fails; other writes of the placement can register
+ * their own undo actions with {@link #onCompensate(Runnable)}.
+ */
+public class StockLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockLedger.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final Map<String, Integer> decrements = new LinkedHashMap<>();
+    private final Map<String, Product> products = new LinkedHashMap<>();
+    private final Deque<Runnable> undoActions = new ArrayDeque<>();
+
+    public StockLedger(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Atomically take {@code quantity} units of a product; returns the product after the decrement
+     */
+    public Product decrement(String productId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive: " + quantity);
+        }
+        Product product = mongoTemplate.findAndModify(
+                Query.query(where("id").is(productId).and("quantity").gte(quantity)),
+                new Update().inc("quantity", -quantity).set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                Product.class);
+
+        if (product == null) {
+            Product existing = mongoTemplate.findById(productId, Product.class);
+            if (existing == null) {
+                throw new ProductNotFoundException("Product not found: " + productId);
+            }
+            throw InsufficientStockException.forProduct(existing.getName());
+        }
+
+        decrements.merge(productId, quantity, Integer::sum);
+        products.put(productId, product);
+        return product;
+    }
+
+    /**
+     * Register an action undoing a write made after the decrements; actions run newest first
+     */
+    public void onCompensate(Runnable undoAction) {
+        undoActions.push(undoAction);
+    }
+
+    /**
+     * Undo registered writes, then return every decrement made so far.
+     * Failures are logged and the remaining steps still run.
+     */
+    public void compensate() {
+        while (!undoActions.isEmpty()) {
+            try {
+                undoActions.pop().run();
+            } catch (Exception e) {
+                logger.error("Failed to undo order placement step: {}", e.getMessage());
+            }
+        }
+        for (Map.Entry<String, Integer> entry : decrements.entrySet()) {
+            try {
+                Product product = mongoTemplate.findAndModify(
+                        Query.query(where("id").is(entry.getKey())),
+                        new Update().inc("quantity", entry.getValue()).set("updatedAt", LocalDateTime.now()),
+                        FindAndModifyOptions.options().returnNew(true),
+                        Product.class);
+                if (product != null) {
+                    products.put(entry.getKey(), product);
+                }
+            } catch (Exception e) {
+                logger.error("Failed to restore {} units of product {}: {}",
+                        entry.getValue(), entry.getKey(), e.getMessage());
+            }
+        }
+        decrements.clear();
+    }
+
+    /**
+     * Latest known state of every product touched by this ledger
+     */
+    public List<Product> getProducts() {
+        return new ArrayList<>(products.values());
+    }
+
+    public Map<String, Integer> getDecrements() {
+        return Map.copyOf(decrements);
+    }
+}
@@ -0,0 +1,32 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.tracing;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds the driver-measured duration of each MongoDB command to the repository phase of the
+ * current {@link RequestTrace}. Covers repositories and MongoTemplate alike; the synchronous
+ * driver notifies on the calling thread, reactive commands are not attributed.
+ */
+public class MongoCommandPhaseListener implements CommandListener {
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        add(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        add(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private static void add(long nanos) {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.addRepository(nanos);
+        }
+    }
+}
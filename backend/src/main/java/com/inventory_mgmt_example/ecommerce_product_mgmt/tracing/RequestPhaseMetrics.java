@@ -0,0 +1,65 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.tracing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code app.http.request.phase} timers with percentile histograms, tagged by method, uri
+ * template and phase (total, security, service, repository, serialization, other).
+ * <p>
+ * The timers of an endpoint are registered once and cached, so recording a request is a map
+ * lookup plus six histogram increments instead of six meter registrations.
+ */
+public class RequestPhaseMetrics {
+
+    static final String METRIC = "app.http.request.phase";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<EndpointKey, EndpointTimers> timers = new ConcurrentHashMap<>();
+
+    public RequestPhaseMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    void record(String method, String uri, RequestTrace trace, long totalNanos) {
+        EndpointTimers endpoint = timers.computeIfAbsent(new EndpointKey(method, uri), this::register);
+        long security = trace.getSecurityNanos(totalNanos);
+        long service = trace.getServiceNanos();
+        long repository = trace.getRepositoryNanos();
+        long serialization = trace.getSerializationNanos();
+        endpoint.total.record(totalNanos, TimeUnit.NANOSECONDS);
+        endpoint.security.record(security, TimeUnit.NANOSECONDS);
+        endpoint.service.record(service, TimeUnit.NANOSECONDS);
+        endpoint.repository.record(repository, TimeUnit.NANOSECONDS);
+        endpoint.serialization.record(serialization, TimeUnit.NANOSECONDS);
+        endpoint.other.record(Math.max(0, totalNanos - security - service - repository - serialization), TimeUnit.NANOSECONDS);
+    }
+
+    private EndpointTimers register(EndpointKey key) {
+        return new EndpointTimers(
+                timer(key, "total"), timer(key, "security"), timer(key, "service"),
+                timer(key, "repository"), timer(key, "serialization"), timer(key, "other"));
+    }
+
+    private Timer timer(EndpointKey key, String phase) {
+        return Timer.builder(METRIC)
+                .description("Request latency by endpoint and phase")
+                .tags("method", key.method(), "uri", key.uri(), "phase", phase)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+    }
+
+    private record EndpointKey(String method, String uri) {
+    }
+
+    private record EndpointTimers(Timer total, Timer security, Timer service, Timer repository,
+                                  Timer serialization, Timer other) {
+    }
+}
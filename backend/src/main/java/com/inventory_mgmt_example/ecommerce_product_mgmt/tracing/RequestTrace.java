@@ -0,0 +1,123 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.tracing;
+
+/**
+ * Phase timings of the request being handled on the current thread, in nanoseconds.
+ * <p>
+ * Plain fields on a thread-confined object: the hot path is a ThreadLocal lookup and a
+ * couple of {@link System#nanoTime()} calls, no allocation beyond the trace itself. Work
+ * handed off to other threads (async executors, schedulers) is not attributed to a request.
+ * <p>
+ * Phases never overlap. Service and repository time before {@link #securityCompleted} (e.g.
+ * the user lookup of token authentication) belongs to the security phase, and database time
+ * inside a service call is subtracted from the service phase only.
+ */
+public final class RequestTrace {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private long securityNanos = -1;
+    private long serviceNanos;
+    private long repositoryNanos;
+    private long serviceRepositoryNanos;
+    private long serializationNanos;
+    private int serviceDepth;
+    private long serviceStartNanos;
+
+    private RequestTrace(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    static RequestTrace start(long startNanos) {
+        RequestTrace trace = new RequestTrace(startNanos);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The trace of the request on this thread, or null outside a traced request
+     */
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * The request passed the security filter chain
+     */
+    void securityCompleted(long nowNanos) {
+        if (securityNanos < 0) {
+            securityNanos = nowNanos - startNanos;
+        }
+    }
+
+    private boolean pastSecurity() {
+        return securityNanos >= 0;
+    }
+
+    /**
+     * Only the outermost service call after security is timed, so nested service calls are not
+     * counted twice
+     */
+    void enterService(long nowNanos) {
+        if (!pastSecurity()) {
+            return;
+        }
+        if (serviceDepth++ == 0) {
+            serviceStartNanos = nowNanos;
+        }
+    }
+
+    void exitService(long nowNanos) {
+        // A call entered during security was never counted
+        if (serviceDepth == 0) {
+            return;
+        }
+        if (--serviceDepth == 0) {
+            serviceNanos += nowNanos - serviceStartNanos;
+        }
+    }
+
+    void addRepository(long nanos) {
+        if (!pastSecurity()) {
+            return;
+        }
+        repositoryNanos += nanos;
+        if (serviceDepth > 0) {
+            serviceRepositoryNanos += nanos;
+        }
+    }
+
+    void addSerialization(long nanos) {
+        serializationNanos += nanos;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * Security filter chain time; the whole request if it never got past security
+     */
+    long getSecurityNanos(long totalNanos) {
+        return securityNanos < 0 ? totalNanos : securityNanos;
+    }
+
+    /**
+     * Service time excluding the database time spent inside it
+     */
+    long getServiceNanos() {
+        return Math.max(0, serviceNanos - serviceRepositoryNanos);
+    }
+
+    long getRepositoryNanos() {
+        return repositoryNanos;
+    }
+
+    long getSerializationNanos() {
+        return serializationNanos;
+    }
+}
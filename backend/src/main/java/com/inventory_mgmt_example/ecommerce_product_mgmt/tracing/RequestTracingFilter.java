@@ -0,0 +1,57 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Outermost filter: starts the {@link RequestTrace} of a request and records its phases
+ * once the response is complete. Requests without a handler (rejected by security, 404)
+ * share the UNMATCHED uri so path variables cannot blow up metric cardinality.
+ * Streaming responses (async requests) are not recorded.
+ */
+public class RequestTracingFilter extends OncePerRequestFilter {
+
+    private final RequestPhaseMetrics metrics;
+
+    public RequestTracingFilter(RequestPhaseMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestTrace trace = RequestTrace.start(System.nanoTime());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long totalNanos = System.nanoTime() - trace.getStartNanos();
+            RequestTrace.clear();
+            if (!request.isAsyncStarted()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                metrics.record(request.getMethod(), pattern != null ? pattern.toString() : "UNMATCHED", trace, totalNanos);
+            }
+        }
+    }
+
+    /**
+     * Marks the end of the security filter chain; registered right after it
+     */
+    public static class SecurityCompletedFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            RequestTrace trace = RequestTrace.current();
+            if (trace != null) {
+                trace.securityCompleted(System.nanoTime());
+            }
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times public service methods into the service phase of the current {@link RequestTrace}
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServicePhaseAspect {
+
+    @Pointcut("execution(public * com.inventory_mgmt_example.ecommerce_product_mgmt.service..*(..))")
+    public void serviceMethods() {}
+
+    @Around("serviceMethods()")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTrace trace = RequestTrace.current();
+        if (trace == null) {
+            return joinPoint.proceed();
+        }
+        trace.enterService(System.nanoTime());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            trace.exitService(System.nanoTime());
+        }
+    }
+}
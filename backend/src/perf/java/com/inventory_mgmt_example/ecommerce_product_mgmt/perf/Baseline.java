@@ -0,0 +1,71 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accepted results of one benchmark, most recent run last
+ */
+public class Baseline {
+
+    private String unit;
+    private boolean higherIsBetter;
+    private List<Run> runs = new ArrayList<>();
+
+    // Constructors
+    public Baseline() {}
+
+    public Baseline(String unit, boolean higherIsBetter) {
+        this.unit = unit;
+        this.higherIsBetter = higherIsBetter;
+    }
+
+    public Run latest() {
+        return runs.get(runs.size() - 1);
+    }
+
+    public double[] runMeans() {
+        return runs.stream().mapToDouble(Run::getMean).toArray();
+    }
+
+    // Getters and Setters
+    public String getUnit() { return unit; }
+    public void setUnit(String unit) { this.unit = unit; }
+
+    public boolean isHigherIsBetter() { return higherIsBetter; }
+    public void setHigherIsBetter(boolean higherIsBetter) { this.higherIsBetter = higherIsBetter; }
+
+    public List<Run> getRuns() { return runs; }
+    public void setRuns(List<Run> runs) { this.runs = runs; }
+
+    public static class Run {
+
+        private String label;
+        private String recordedAt;
+        private double mean;
+        private double[] samples;
+
+        // Constructors
+        public Run() {}
+
+        public Run(String label, String recordedAt, double mean, double[] samples) {
+            this.label = label;
+            this.recordedAt = recordedAt;
+            this.mean = mean;
+            this.samples = samples;
+        }
+
+        // Getters and Setters
+        public String getLabel() { return label; }
+        public void setLabel(String label) { this.label = label; }
+
+        public String getRecordedAt() { return recordedAt; }
+        public void setRecordedAt(String recordedAt) { this.recordedAt = recordedAt; }
+
+        public double getMean() { return mean; }
+        public void setMean(double mean) { this.mean = mean; }
+
+        public double[] getSamples() { return samples; }
+        public void setSamples(double[] samples) { this.samples = samples; }
+    }
+}
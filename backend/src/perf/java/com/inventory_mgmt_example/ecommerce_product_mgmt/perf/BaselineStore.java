@@ -0,0 +1,68 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.perf;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Baselines keyed by benchmark in one JSON file (sorted, so it diffs well under version
+ * control). Each benchmark keeps its last {@code history} accepted runs.
+ */
+class BaselineStore {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final File file;
+    private final int history;
+    private final Map<String, Baseline> baselines;
+
+    BaselineStore(File file, int history) throws IOException {
+        this.file = file;
+        this.history = history;
+        this.baselines = file.exists()
+                ? objectMapper.readValue(file, new TypeReference<TreeMap<String, Baseline>>() {})
+                : new TreeMap<>();
+    }
+
+    Baseline get(String key) {
+        return baselines.get(key);
+    }
+
+    Collection<String> keys() {
+        return baselines.keySet();
+    }
+
+    /**
+     * Accept {@code results} as the newest baseline run of their benchmarks
+     */
+    void record(Collection<BenchmarkResult> results, String label) {
+        String recordedAt = Instant.now().toString();
+        for (BenchmarkResult result : results) {
+            Baseline baseline = baselines.computeIfAbsent(result.getKey(),
+                    key -> new Baseline(result.getUnit(), result.isHigherIsBetter()));
+            if (!result.getUnit().equals(baseline.getUnit())) {
+                // Scores in another unit are not comparable with the old runs
+                baseline.getRuns().clear();
+                baseline.setUnit(result.getUnit());
+            }
+            baseline.setHigherIsBetter(result.isHigherIsBetter());
+            baseline.getRuns().add(new Baseline.Run(label, recordedAt, result.getMean(), result.getSamples()));
+            while (baseline.getRuns().size() > history) {
+                baseline.getRuns().remove(0);
+            }
+        }
+    }
+
+    void save() throws IOException {
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        objectMapper.writeValue(file, baselines);
+    }
+}
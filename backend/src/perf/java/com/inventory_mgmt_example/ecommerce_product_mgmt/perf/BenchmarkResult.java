@@ -0,0 +1,40 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.perf;
+
+/**
+ * One measured metric of a run: a JMH benchmark score or a load-test endpoint statistic,
+ * with the individual samples (JMH iterations) it was computed from
+ */
+class BenchmarkResult {
+
+    private final String key;
+    private final String unit;
+    private final boolean higherIsBetter;
+    private final double[] samples;
+
+    BenchmarkResult(String key, String unit, boolean higherIsBetter, double[] samples) {
+        this.key = key;
+        this.unit = unit;
+        this.higherIsBetter = higherIsBetter;
+        this.samples = samples;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    String getUnit() {
+        return unit;
+    }
+
+    boolean isHigherIsBetter() {
+        return higherIsBetter;
+    }
+
+    double[] getSamples() {
+        return samples;
+    }
+
+    double getMean() {
+        return Statistics.mean(samples);
+    }
+}
@@ -0,0 +1,113 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.perf;
+
+/**
+ * Current result of one benchmark against its baseline: relative change of the mean with a
+ * Student's t confidence interval, and the resulting verdict.
+ * <p>
+ * When both sides have several samples (JMH iterations) the latest baseline run is compared
+ * with Welch's t interval. Single-sample metrics (load-test percentiles) are compared with
+ * the prediction interval of the baseline's run history, which needs at least two accepted
+ * runs. A change is a regression only if the whole interval is on the worse side and the
+ * point estimate exceeds the threshold, so noise and negligible shifts do not fail the build.
+ */
+class Comparison {
+
+    enum Verdict {
+        REGRESSION, IMPROVEMENT, UNCHANGED, INCONCLUSIVE, NEW
+    }
+
+    private final BenchmarkResult current;
+    private final double baselineMean;
+    private final double change;
+    private final double low;
+    private final double high;
+    private final Verdict verdict;
+
+    private Comparison(BenchmarkResult current, double baselineMean, double change, double low, double high, Verdict verdict) {
+        this.current = current;
+        this.baselineMean = baselineMean;
+        this.change = change;
+        this.low = low;
+        this.high = high;
+        this.verdict = verdict;
+    }
+
+    static Comparison of(BenchmarkResult current, Baseline baseline, double confidence, double threshold) {
+        if (baseline == null || baseline.getRuns().isEmpty() || !baseline.getUnit().equals(current.getUnit())) {
+            return new Comparison(current, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Verdict.NEW);
+        }
+
+        double[] reference;
+        double[] samples = current.getSamples();
+        if (samples.length >= 2 && baseline.latest().getSamples().length >= 2) {
+            reference = baseline.latest().getSamples();
+        } else if (baseline.getRuns().size() >= 2) {
+            reference = baseline.runMeans();
+            samples = new double[]{current.getMean()};
+        } else {
+            double baselineMean = baseline.latest().getMean();
+            double change = (current.getMean() - baselineMean) / baselineMean;
+            return new Comparison(current, baselineMean, change, Double.NaN, Double.NaN, Verdict.INCONCLUSIVE);
+        }
+
+        double baselineMean = Statistics.mean(reference);
+        double currentMean = Statistics.mean(samples);
+        double referenceVariance = Statistics.variance(reference) / reference.length;
+        double currentVariance;
+        double df;
+        if (samples.length >= 2) {
+            currentVariance = Statistics.variance(samples) / samples.length;
+            df = Statistics.welchDegreesOfFreedom(referenceVariance, reference.length, currentVariance, samples.length);
+        } else {
+            // A single new observation: prediction interval from the baseline's spread
+            currentVariance = Statistics.variance(reference);
+            df = reference.length - 1;
+        }
+        double margin = Statistics.tCritical(confidence, df) * Math.sqrt(referenceVariance + currentVariance);
+        double difference = currentMean - baselineMean;
+        double change = difference / baselineMean;
+        double low = (difference - margin) / baselineMean;
+        double high = (difference + margin) / baselineMean;
+
+        // Positive when the change is for the worse
+        double sign = current.isHigherIsBetter() ? -1 : 1;
+        double worseLow = Math.min(sign * low, sign * high);
+        double worseHigh = Math.max(sign * low, sign * high);
+        Verdict verdict;
+        if (worseLow > 0 && sign * change >= threshold) {
+            verdict = Verdict.REGRESSION;
+        } else if (worseHigh < 0 && -sign * change >= threshold) {
+            verdict = Verdict.IMPROVEMENT;
+        } else {
+            verdict = Verdict.UNCHANGED;
+        }
+        return new Comparison(current, baselineMean, change, low, high, verdict);
+    }
+
+    BenchmarkResult getCurrent() {
+        return current;
+    }
+
+    double getBaselineMean() {
+        return baselineMean;
+    }
+
+    /**
+     * Relative change of the mean, e.g. 0.08 for 8% higher
+     */
+    double getChange() {
+        return change;
+    }
+
+    double getLow() {
+        return low;
+    }
+
+    double getHigh() {
+        return high;
+    }
+
+    Verdict getVerdict() {
+        return verdict;
+    }
+}
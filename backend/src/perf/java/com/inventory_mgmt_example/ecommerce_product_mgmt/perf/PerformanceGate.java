@@ -0,0 +1,110 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.perf;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the latest JMH and load-test results with the stored baselines and fails when a
+ * benchmark regressed significantly (see {@link Comparison}).
+ * <p>
+ * {@code mvn -Pperf-gate verify} after {@code -Pbenchmarks} and/or {@code -Pload-test}; add
+ * {@code -Dperf.args=--update} to accept the current results as the new baselines.
+ * Options: {@code --jmh}, {@code --loadtest}, {@code --baselines}, {@code --report},
+ * {@code --confidence}, {@code --threshold} (percent), {@code --history}, {@code --label},
+ * {@code --update}, {@code --force} (update even with regressions), {@code --no-fail}.
+ */
+public final class PerformanceGate {
+
+    private PerformanceGate() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        File jmh = new File("target/jmh-result.json");
+        File loadTest = new File("target/loadtest");
+        File baselines = new File("perf-baselines.json");
+        File report = new File("target/perf-report.md");
+        double confidence = 0.99;
+        double threshold = 0.05;
+        int history = 10;
+        String label = "local";
+        boolean update = false;
+        boolean force = false;
+        boolean fail = true;
+
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            String name = arg.contains("=") ? arg.substring(2, arg.indexOf('=')) : arg.substring(2);
+            String value = arg.contains("=") ? arg.substring(arg.indexOf('=') + 1) : "";
+            switch (name) {
+                case "jmh" -> jmh = new File(value);
+                case "loadtest" -> loadTest = new File(value);
+                case "baselines" -> baselines = new File(value);
+                case "report" -> report = new File(value);
+                case "confidence" -> confidence = Double.parseDouble(value);
+                case "threshold" -> threshold = Double.parseDouble(value) / 100;
+                case "history" -> history = Integer.parseInt(value);
+                case "label" -> label = value;
+                case "update" -> update = true;
+                case "force" -> force = true;
+                case "no-fail" -> fail = false;
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (confidence <= 0 || confidence >= 1) {
+            throw new IllegalArgumentException("Confidence must be between 0 and 1, e.g. 0.99");
+        }
+
+        ResultReader reader = new ResultReader();
+        List<BenchmarkResult> results = new ArrayList<>();
+        if (jmh.isFile()) {
+            results.addAll(reader.readJmh(jmh));
+        }
+        if (loadTest.isDirectory()) {
+            results.addAll(reader.readLoadTestDirectory(loadTest));
+        } else if (loadTest.isFile()) {
+            results.addAll(reader.readLoadTest(loadTest));
+        }
+        if (results.isEmpty()) {
+            System.err.println("No benchmark results found in " + jmh.getPath() + " or " + loadTest.getPath());
+            System.exit(2);
+        }
+
+        BaselineStore store = new BaselineStore(baselines, history);
+        List<Comparison> comparisons = new ArrayList<>();
+        for (BenchmarkResult result : results) {
+            comparisons.add(Comparison.of(result, store.get(result.getKey()), confidence, threshold));
+        }
+        Set<String> measured = results.stream().map(BenchmarkResult::getKey).collect(Collectors.toSet());
+        List<String> notMeasured = store.keys().stream().filter(key -> !measured.contains(key)).toList();
+
+        String text = new ReportWriter().write(comparisons, notMeasured, label, confidence, threshold);
+        if (report.getParentFile() != null) {
+            report.getParentFile().mkdirs();
+        }
+        Files.writeString(report.toPath(), text, StandardCharsets.UTF_8);
+        System.out.println(text);
+        System.out.println("Report written to " + report.getPath());
+
+        long regressions = comparisons.stream().filter(c -> c.getVerdict() == Comparison.Verdict.REGRESSION).count();
+        if (update) {
+            if (regressions > 0 && !force) {
+                System.err.println("Not updating baselines: " + regressions + " regression(s); use --force to accept them");
+            } else {
+                store.record(results, label);
+                store.save();
+                System.out.println("Baselines updated in " + baselines.getPath());
+            }
+        }
+        if (regressions > 0 && fail) {
+            System.err.println(regressions + " benchmark(s) regressed significantly");
+            System.exit(1);
+        }
+    }
+}
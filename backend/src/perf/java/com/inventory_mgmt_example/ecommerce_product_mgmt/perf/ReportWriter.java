@@ -0,0 +1,68 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.perf;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Markdown report of a comparison run: regressions first, then every benchmark
+ */
+class ReportWriter {
+
+    String write(List<Comparison> comparisons, List<String> notMeasured, String label, double confidence, double threshold) {
+        StringBuilder out = new StringBuilder();
+        out.append("# Performance comparison: ").append(label).append("\n\n");
+        out.append(String.format(Locale.ROOT, "Confidence %.0f%%, regression threshold %.1f%%.%n%n",
+                confidence * 100, threshold * 100));
+        for (Comparison.Verdict verdict : Comparison.Verdict.values()) {
+            long count = comparisons.stream().filter(c -> c.getVerdict() == verdict).count();
+            if (count > 0) {
+                out.append("- ").append(verdict.name().toLowerCase(Locale.ROOT)).append(": ").append(count).append('\n');
+            }
+        }
+        out.append('\n');
+
+        List<Comparison> regressions = comparisons.stream()
+                .filter(c -> c.getVerdict() == Comparison.Verdict.REGRESSION)
+                .toList();
+        if (!regressions.isEmpty()) {
+            out.append("## Regressions\n\n");
+            table(out, regressions);
+        }
+        out.append("## All benchmarks\n\n");
+        table(out, comparisons);
+
+        if (!notMeasured.isEmpty()) {
+            out.append("## Not measured in this run\n\n");
+            notMeasured.forEach(key -> out.append("- ").append(key).append('\n'));
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    private void table(StringBuilder out, List<Comparison> comparisons) {
+        out.append("| Benchmark | Unit | Baseline | Current | Change | CI | Verdict |\n");
+        out.append("|---|---|---:|---:|---:|---|---|\n");
+        for (Comparison c : comparisons) {
+            out.append("| ").append(c.getCurrent().getKey())
+                    .append(" | ").append(c.getCurrent().getUnit())
+                    .append(" | ").append(number(c.getBaselineMean()))
+                    .append(" | ").append(number(c.getCurrent().getMean()))
+                    .append(" | ").append(percent(c.getChange()))
+                    .append(" | ").append(Double.isNaN(c.getLow()) ? "-" : "[" + percent(c.getLow()) + ", " + percent(c.getHigh()) + "]")
+                    .append(" | ").append(c.getVerdict().name())
+                    .append(" |\n");
+        }
+        out.append('\n');
+    }
+
+    private static String number(double value) {
+        if (Double.isNaN(value)) {
+            return "-";
+        }
+        return Math.abs(value) >= 100 ? String.format(Locale.ROOT, "%.1f", value) : String.format(Locale.ROOT, "%.4g", value);
+    }
+
+    private static String percent(double value) {
+        return Double.isNaN(value) ? "-" : String.format(Locale.ROOT, "%+.1f%%", value * 100);
+    }
+}
@@ -0,0 +1,106 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Reads JMH ({@code -rf json}) and load-test harness result files into {@link BenchmarkResult}s
+ */
+class ResultReader {
+
+    private static final String BENCHMARK_PACKAGE = "com.inventory_mgmt_example.ecommerce_product_mgmt.benchmark.";
+
+    /**
+     * Load-test statistics compared per endpoint
+     */
+    private static final Map<String, Boolean> LOAD_TEST_METRICS = Map.of(
+            "throughputPerSec", true,
+            "p50Ms", false,
+            "p99Ms", false);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * One result per benchmark and parameter combination; samples are the measurement
+     * iterations of every fork
+     */
+    List<BenchmarkResult> readJmh(File file) throws IOException {
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (JsonNode benchmark : objectMapper.readTree(file)) {
+            String mode = benchmark.path("mode").asText();
+            JsonNode metric = benchmark.path("primaryMetric");
+
+            StringJoiner key = new StringJoiner(" ");
+            key.add("jmh:" + benchmark.path("benchmark").asText().replace(BENCHMARK_PACKAGE, ""));
+            for (Map.Entry<String, JsonNode> param : benchmark.path("params").properties()) {
+                key.add(param.getKey() + "=" + param.getValue().asText());
+            }
+            key.add("[" + mode + "]");
+
+            List<Double> samples = new ArrayList<>();
+            for (JsonNode fork : metric.path("rawData")) {
+                for (JsonNode iteration : fork) {
+                    samples.add(iteration.asDouble());
+                }
+            }
+            if (samples.isEmpty()) {
+                // Sample-time mode keeps histograms instead of raw iterations
+                samples.add(metric.path("score").asDouble());
+            }
+            results.add(new BenchmarkResult(key.toString(), metric.path("scoreUnit").asText(),
+                    "thrpt".equals(mode), samples.stream().mapToDouble(Double::doubleValue).toArray()));
+        }
+        return results;
+    }
+
+    /**
+     * Throughput, p50 and p99 of every endpoint of a harness report; one sample per run,
+     * keyed by the report's file name so catalog sizes are compared separately
+     */
+    List<BenchmarkResult> readLoadTest(File file) throws IOException {
+        JsonNode report = objectMapper.readTree(file);
+        String run = file.getName().replaceFirst("\\.json$", "");
+        List<JsonNode> rows = new ArrayList<>();
+        report.path("endpoints").forEach(rows::add);
+        rows.add(report.path("total"));
+
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (JsonNode row : rows) {
+            if (row.path("requests").asLong() == 0) {
+                continue;
+            }
+            for (String metric : LOAD_TEST_METRICS.keySet().stream().sorted().toList()) {
+                boolean higherIsBetter = LOAD_TEST_METRICS.get(metric);
+                results.add(new BenchmarkResult(
+                        "loadtest:" + run + " " + row.path("endpoint").asText() + " " + metric,
+                        higherIsBetter ? "req/s" : "ms", higherIsBetter,
+                        new double[]{row.path(metric).asDouble()}));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Every {@code *.json} report in a load-test output directory
+     */
+    List<BenchmarkResult> readLoadTestDirectory(File directory) throws IOException {
+        List<BenchmarkResult> results = new ArrayList<>();
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(".json"));
+        if (files == null) {
+            return results;
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            results.addAll(readLoadTest(file));
+        }
+        return results;
+    }
+}
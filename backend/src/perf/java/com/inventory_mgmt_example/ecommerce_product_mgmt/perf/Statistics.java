@@ -0,0 +1,101 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.perf;
+
+/**
+ * Sample statistics and Student's t quantiles for the confidence intervals of {@link Comparison}
+ */
+final class Statistics {
+
+    private Statistics() {
+    }
+
+    static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    /**
+     * Unbiased sample variance; 0 for a single value
+     */
+    static double variance(double[] values) {
+        if (values.length < 2) {
+            return 0;
+        }
+        double mean = mean(values);
+        double sum = 0;
+        for (double value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return sum / (values.length - 1);
+    }
+
+    /**
+     * Welch-Satterthwaite degrees of freedom for two samples with variances-of-the-mean
+     * {@code a} and {@code b}
+     */
+    static double welchDegreesOfFreedom(double a, int n1, double b, int n2) {
+        double denominator = a * a / (n1 - 1) + b * b / (n2 - 1);
+        return denominator == 0 ? n1 + n2 - 2 : (a + b) * (a + b) / denominator;
+    }
+
+    /**
+     * Two-sided critical value of Student's t for {@code confidence} (e.g. 0.99) and
+     * {@code df} degrees of freedom; exact for df 1 and 2, Cornish-Fisher expansion above.
+     * Fractional Welch df between 1 and 2 interpolate the logarithm linearly in 1/df, which
+     * stays within a few percent of the exact value and errs on the wide side.
+     */
+    static double tCritical(double confidence, double df) {
+        double p = 1 - (1 - confidence) / 2;
+        double t1 = Math.tan(Math.PI * (p - 0.5));
+        if (df <= 1) {
+            return t1;
+        }
+        double t2 = (2 * p - 1) / Math.sqrt(2 * p * (1 - p));
+        if (df < 2) {
+            double weight = 2 / df - 1;
+            return Math.exp(weight * Math.log(t1) + (1 - weight) * Math.log(t2));
+        }
+        if (df == 2) {
+            return t2;
+        }
+        double z = normalQuantile(p);
+        double z3 = z * z * z;
+        double z5 = z3 * z * z;
+        double z7 = z5 * z * z;
+        double z9 = z7 * z * z;
+        return z
+                + (z3 + z) / (4 * df)
+                + (5 * z5 + 16 * z3 + 3 * z) / (96 * df * df)
+                + (3 * z7 + 19 * z5 + 17 * z3 - 15 * z) / (384 * df * df * df)
+                + (79 * z9 + 776 * z7 + 1482 * z5 - 1920 * z3 - 945 * z) / (92160 * df * df * df * df);
+    }
+
+    /**
+     * Inverse of the standard normal CDF (Acklam's rational approximation, relative error below 1.2e-9)
+     */
+    static double normalQuantile(double p) {
+        double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01};
+        double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00};
+        double low = 0.02425;
+        if (p < low) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - low) {
+            return -normalQuantile(1 - p);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+}
@@ -0,0 +1,99 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.perf;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComparisonTest {
+
+    private static final double CONFIDENCE = 0.99;
+    private static final double THRESHOLD = 0.05;
+
+    private static final double[] BASELINE_SAMPLES = {100, 101, 99, 100.5, 99.5};
+
+    @Test
+    void slowerAverageTimeBeyondTheThresholdIsARegression() {
+        Comparison comparison = compare(avgt(120, 121, 119, 120.5, 119.5), baselineOf(false, BASELINE_SAMPLES));
+
+        assertEquals(Comparison.Verdict.REGRESSION, comparison.getVerdict());
+        assertEquals(0.2, comparison.getChange(), 1e-9);
+        assertTrue(comparison.getLow() > 0);
+    }
+
+    @Test
+    void fasterAverageTimeBeyondTheThresholdIsAnImprovement() {
+        Comparison comparison = compare(avgt(80, 81, 79, 80.5, 79.5), baselineOf(false, BASELINE_SAMPLES));
+
+        assertEquals(Comparison.Verdict.IMPROVEMENT, comparison.getVerdict());
+        assertTrue(comparison.getHigh() < 0);
+    }
+
+    @Test
+    void higherThroughputIsAnImprovementNotARegression() {
+        BenchmarkResult current = new BenchmarkResult("jmh:catalog [thrpt]", "ops/s", true,
+                new double[]{120, 121, 119, 120.5, 119.5});
+
+        Comparison comparison = compare(current, baselineOf(true, BASELINE_SAMPLES));
+
+        assertEquals(Comparison.Verdict.IMPROVEMENT, comparison.getVerdict());
+    }
+
+    @Test
+    void significantShiftBelowTheThresholdIsUnchanged() {
+        Comparison comparison = compare(avgt(102, 103, 101, 102.5, 101.5), baselineOf(false, BASELINE_SAMPLES));
+
+        assertTrue(comparison.getLow() > 0);
+        assertEquals(Comparison.Verdict.UNCHANGED, comparison.getVerdict());
+    }
+
+    @Test
+    void largeShiftWithinTheNoiseIsUnchanged() {
+        Comparison comparison = compare(avgt(70, 170, 90, 150, 120), baselineOf(false, BASELINE_SAMPLES));
+
+        assertTrue(comparison.getChange() > THRESHOLD);
+        assertTrue(comparison.getLow() < 0);
+        assertEquals(Comparison.Verdict.UNCHANGED, comparison.getVerdict());
+    }
+
+    @Test
+    void singleSampleAgainstOneBaselineRunIsInconclusive() {
+        Comparison comparison = compare(avgt(150), baselineOf(false, 100));
+
+        assertEquals(Comparison.Verdict.INCONCLUSIVE, comparison.getVerdict());
+        assertEquals(0.5, comparison.getChange(), 1e-9);
+        assertTrue(Double.isNaN(comparison.getLow()));
+    }
+
+    @Test
+    void singleSampleOutsideTheRunHistoryPredictionIntervalIsARegression() {
+        Baseline baseline = baselineOf(false, 100);
+        for (double mean : new double[]{101, 99, 100.5, 99.5}) {
+            baseline.getRuns().add(new Baseline.Run("run", "2026-01-01T00:00:00Z", mean, new double[]{mean}));
+        }
+
+        assertEquals(Comparison.Verdict.REGRESSION, compare(avgt(130), baseline).getVerdict());
+        assertEquals(Comparison.Verdict.UNCHANGED, compare(avgt(101), baseline).getVerdict());
+    }
+
+    @Test
+    void missingBaselineOrDifferentUnitIsNew() {
+        assertEquals(Comparison.Verdict.NEW, compare(avgt(100), null).getVerdict());
+
+        BenchmarkResult otherUnit = new BenchmarkResult("jmh:catalog [avgt]", "ms/op", false, new double[]{100});
+        assertEquals(Comparison.Verdict.NEW, compare(otherUnit, baselineOf(false, BASELINE_SAMPLES)).getVerdict());
+    }
+
+    private static Comparison compare(BenchmarkResult current, Baseline baseline) {
+        return Comparison.of(current, baseline, CONFIDENCE, THRESHOLD);
+    }
+
+    private static BenchmarkResult avgt(double... samples) {
+        return new BenchmarkResult("jmh:catalog [avgt]", "us/op", false, samples);
+    }
+
+    private static Baseline baselineOf(boolean higherIsBetter, double... samples) {
+        Baseline baseline = new Baseline(higherIsBetter ? "ops/s" : "us/op", higherIsBetter);
+        baseline.getRuns().add(new Baseline.Run("baseline", "2026-01-01T00:00:00Z", Statistics.mean(samples), samples));
+        return baseline;
+    }
+}
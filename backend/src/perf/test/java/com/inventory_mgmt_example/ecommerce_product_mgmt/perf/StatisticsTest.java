@@ -0,0 +1,64 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.perf;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatisticsTest {
+
+    // Two-sided Student's t table: df, t(0.95), t(0.99)
+    private static final double[][] T_TABLE = {
+            {1, 12.706, 63.657},
+            {2, 4.303, 9.925},
+            {3, 3.182, 5.841},
+            {4, 2.776, 4.604},
+            {5, 2.571, 4.032},
+            {10, 2.228, 3.169},
+            {30, 2.042, 2.750},
+            {120, 1.980, 2.617}
+    };
+
+    @Test
+    void tCriticalMatchesTheTable() {
+        for (double[] row : T_TABLE) {
+            double df = row[0];
+            // Exact below df 3, within 1% above
+            double tolerance = df < 3 ? 0.001 : 0.01;
+            assertEquals(row[1], Statistics.tCritical(0.95, df), row[1] * tolerance, "t(0.95, " + df + ")");
+            assertEquals(row[2], Statistics.tCritical(0.99, df), row[2] * tolerance, "t(0.99, " + df + ")");
+        }
+    }
+
+    @Test
+    void tCriticalBetweenOneAndTwoDegreesOfFreedomIsCloseAndNeverTooNarrow() {
+        // Exact quantiles for fractional df: df, t(0.95), t(0.99)
+        double[][] exact = {
+                {1.25, 8.028, 29.272},
+                {1.5, 6.017, 17.820},
+                {1.75, 4.949, 12.683}
+        };
+        for (double[] row : exact) {
+            double t95 = Statistics.tCritical(0.95, row[0]);
+            double t99 = Statistics.tCritical(0.99, row[0]);
+            assertTrue(t95 >= row[1] && t95 <= row[1] * 1.05, "t(0.95, " + row[0] + ") = " + t95);
+            assertTrue(t99 >= row[2] && t99 <= row[2] * 1.05, "t(0.99, " + row[0] + ") = " + t99);
+        }
+        assertTrue(Statistics.tCritical(0.99, 1.01) < Statistics.tCritical(0.99, 1));
+        assertTrue(Statistics.tCritical(0.99, 1.99) > Statistics.tCritical(0.99, 2));
+    }
+
+    @Test
+    void normalQuantileMatchesTheTable() {
+        assertEquals(1.959964, Statistics.normalQuantile(0.975), 1e-6);
+        assertEquals(2.575829, Statistics.normalQuantile(0.995), 1e-6);
+        assertEquals(-2.326348, Statistics.normalQuantile(0.01), 1e-6);
+    }
+
+    @Test
+    void welchDegreesOfFreedomOfEqualSamplesIsThePooledValue() {
+        assertEquals(8, Statistics.welchDegreesOfFreedom(0.5, 5, 0.5, 5), 1e-9);
+        assertEquals(8, Statistics.welchDegreesOfFreedom(0, 5, 0, 5), 1e-9);
+        assertEquals(2.5, Statistics.variance(new double[]{1, 2, 3, 4, 5}), 1e-9);
+        assertEquals(0, Statistics.variance(new double[]{7}));
+    }
+}
@@ -0,0 +1,82 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.aspect;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.config.RateLimitingConfig;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.controller.ProductController;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.exception.GlobalExceptionHandler;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.ProductService;
+import io.github.resilience4j.springboot3.bulkhead.autoconfigure.BulkheadAutoConfiguration;
+import io.github.resilience4j.springboot3.ratelimiter.autoconfigure.RateLimiterAutoConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs the real Resilience4j aspects against ProductController with a limit of two calls per
+ * period, so the third call goes through the rejection aspect and the exception handler
+ */
+@SpringJUnitWebConfig(RateLimitRejectionAspectTest.Config.class)
+@TestPropertySource(properties = {
+        "app.rate-limit.fail-fast=true",
+        "app.rate-limit.product-api.limit-for-period=2"
+})
+class RateLimitRejectionAspectTest {
+
+    @Configuration
+    @EnableWebMvc
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    @ImportAutoConfiguration({RateLimiterAutoConfiguration.class, BulkheadAutoConfiguration.class})
+    @Import({RateLimitingConfig.class, RateLimitRejectionAspect.class, GlobalExceptionHandler.class, ProductController.class})
+    static class Config {
+    }
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @MockitoBean
+    private ProductService productService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        when(productService.getProductById("p1")).thenReturn(new Product());
+    }
+
+    @Test
+    void rejectsCallsOverTheLimitWith429AndRetryAfter() throws Exception {
+        mockMvc.perform(get("/api/products/p1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/products/p1")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/products/p1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(result -> {
+                    long retryAfter = Long.parseLong(result.getResponse().getHeader(HttpHeaders.RETRY_AFTER));
+                    // Refresh period is one minute; the hint is rounded up and never zero
+                    if (retryAfter < 1 || retryAfter > 60) {
+                        throw new AssertionError("Retry-After out of range: " + retryAfter);
+                    }
+                })
+                .andExpect(jsonPath("$.status").value(429));
+
+        verify(productService, times(2)).getProductById("p1");
+    }
+}
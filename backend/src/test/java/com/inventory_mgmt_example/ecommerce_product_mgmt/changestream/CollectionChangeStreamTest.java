@@ -0,0 +1,218 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.changestream;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.ChangeStreamCheckpoint;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.ChangeStreamDeadLetter;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.User;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.repository.ChangeStreamCheckpointRepository;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+class CollectionChangeStreamTest {
+
+    private MongoTemplate mongoTemplate;
+    private ChangeStreamCheckpointRepository checkpointRepository;
+    private ChangeStreamIterable<Document> iterable;
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+    private final List<DataChangeEvent<?>> published = new ArrayList<>();
+    private final List<ChangeStreamCheckpoint> checkpoints = new ArrayList<>();
+    private Consumer<DataChangeEvent<?>> listener = published::add;
+    private CollectionChangeStream<?> stream;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        checkpointRepository = mock(ChangeStreamCheckpointRepository.class);
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        iterable = mock(ChangeStreamIterable.class);
+        cursor = mock(MongoChangeStreamCursor.class);
+        MongoConverter converter = mock(MongoConverter.class);
+
+        when(mongoTemplate.getCollection(any())).thenReturn(collection);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(converter.read(any(), any(Document.class))).thenReturn(new Product());
+        when(collection.watch(anyList())).thenReturn(iterable);
+        when(iterable.fullDocument(any())).thenReturn(iterable);
+        when(iterable.maxAwaitTime(anyLong(), any())).thenReturn(iterable);
+        when(iterable.resumeAfter(any())).thenReturn(iterable);
+        when(iterable.cursor()).thenReturn(cursor);
+        when(checkpointRepository.findById("products")).thenReturn(Optional.empty());
+        when(checkpointRepository.save(any())).thenAnswer(invocation -> {
+            checkpoints.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+    }
+
+    @Test
+    void checkpointsOnlyTokensOfDispatchedEvents() {
+        stream = stream(Product.class, 2, 3, List.of());
+        feed(change("p1", "t1"), change("p2", "t2"), change("p3", "t3"));
+
+        stream.run();
+
+        assertEquals(3, published.size());
+        assertEquals(List.of("p1", "p2", "p3"), published.stream().map(DataChangeEvent::getDocumentId).toList());
+        // Every second event; the third is not yet due and is redelivered after a restart
+        assertEquals(List.of(token("t2").toJson()), checkpoints.stream().map(ChangeStreamCheckpoint::getResumeToken).toList());
+        assertEquals(2, checkpoints.get(0).getEventsProcessed());
+    }
+
+    @Test
+    void resumesFromStoredCheckpoint() {
+        when(checkpointRepository.findById("products"))
+                .thenReturn(Optional.of(new ChangeStreamCheckpoint("products", token("t7").toJson(), 7)));
+        stream = stream(Product.class, 1, 3, List.of());
+        feed(change("p8", "t8"));
+
+        stream.run();
+
+        verify(iterable).resumeAfter(token("t7"));
+        assertEquals(8, stream.getEventsProcessed());
+        assertEquals(token("t8").toJson(), checkpoints.get(checkpoints.size() - 1).getResumeToken());
+    }
+
+    @Test
+    void restartsFromNowWhenCheckpointFellOffTheOplog() {
+        when(checkpointRepository.findById("products"))
+                .thenReturn(Optional.of(new ChangeStreamCheckpoint("products", token("t1").toJson(), 1)))
+                .thenReturn(Optional.empty());
+        when(iterable.cursor())
+                .thenThrow(new MongoException(286, "Resume of change stream was not possible"))
+                .thenReturn(cursor);
+        stream = stream(Product.class, 1, 1, List.of());
+        feed(change("p9", "t9"));
+
+        stream.run();
+
+        verify(checkpointRepository).deleteById("products");
+        verify(iterable, times(1)).resumeAfter(any());
+        assertEquals(List.of("p9"), published.stream().map(DataChangeEvent::getDocumentId).toList());
+        assertEquals(token("t9").toJson(), checkpoints.get(checkpoints.size() - 1).getResumeToken());
+    }
+
+    @Test
+    void parksEventWhoseListenerKeepsFailingAndMovesOn() {
+        listener = event -> {
+            if ("p1".equals(event.getDocumentId())) {
+                throw new IllegalStateException("listener down");
+            }
+            published.add(event);
+        };
+        stream = stream(Product.class, 1, 2, List.of());
+        feed(change("p1", "t1"), change("p2", "t2"));
+
+        stream.run();
+
+        ArgumentCaptor<ChangeStreamDeadLetter> deadLetter = ArgumentCaptor.forClass(ChangeStreamDeadLetter.class);
+        verify(mongoTemplate).insert(deadLetter.capture());
+        assertEquals("p1", deadLetter.getValue().getDocumentId());
+        assertEquals(token("t1").toJson(), deadLetter.getValue().getResumeToken());
+        assertEquals("listener down", deadLetter.getValue().getError());
+        assertEquals(List.of("p2"), published.stream().map(DataChangeEvent::getDocumentId).toList());
+        assertEquals(List.of(token("t1").toJson(), token("t2").toJson()),
+                checkpoints.stream().map(ChangeStreamCheckpoint::getResumeToken).toList());
+    }
+
+    @Test
+    void neverCheckpointsPastEventThatCouldNotBeParked() {
+        listener = event -> {
+            if ("p2".equals(event.getDocumentId())) {
+                throw new IllegalStateException("listener down");
+            }
+            published.add(event);
+        };
+        stream = stream(Product.class, 1, 1, List.of());
+        when(mongoTemplate.insert(any(ChangeStreamDeadLetter.class))).thenAnswer(invocation -> {
+            stream.stop();
+            throw new IllegalStateException("mongo down");
+        });
+        feed(change("p1", "t1"), change("p2", "t2"), change("p3", "t3"));
+
+        stream.run();
+
+        assertEquals(List.of("p1"), published.stream().map(DataChangeEvent::getDocumentId).toList());
+        assertEquals(List.of(token("t1").toJson()), checkpoints.stream().map(ChangeStreamCheckpoint::getResumeToken).toList());
+    }
+
+    @Test
+    void projectsPasswordOutOfUserChanges() {
+        when(checkpointRepository.findById("users")).thenReturn(Optional.empty());
+        stream = stream(User.class, 1, 1, List.of("password"));
+        feed();
+
+        stream.run();
+
+        ArgumentCaptor<List<Bson>> pipeline = ArgumentCaptor.forClass(List.class);
+        verify(mongoTemplate.getCollection("users")).watch(pipeline.capture());
+        BsonDocument projection = pipeline.getValue().get(0).toBsonDocument().getDocument("$project");
+        assertEquals(Set.of("fullDocument.password", "updateDescription.updatedFields.password"), projection.keySet());
+        assertEquals(0, projection.getInt32("fullDocument.password").getValue());
+    }
+
+    private <T> CollectionChangeStream<T> stream(Class<T> entityClass, int checkpointEvery, int dispatchAttempts,
+                                                 List<String> excludedFields) {
+        String collection = entityClass == User.class ? "users" : "products";
+        ApplicationEventPublisher publisher = event -> listener.accept((DataChangeEvent<?>) event);
+        return new CollectionChangeStream<>(collection, entityClass, mongoTemplate, checkpointRepository, publisher,
+                checkpointEvery, 60000, 100, dispatchAttempts, excludedFields);
+    }
+
+    /**
+     * Serve the changes in order, then stop the stream; the resume token follows the last change served
+     */
+    private void feed(ChangeStreamDocument<Document>... changes) {
+        Iterator<ChangeStreamDocument<Document>> remaining = List.of(changes).iterator();
+        BsonDocument[] current = new BsonDocument[1];
+        when(cursor.tryNext()).thenAnswer(invocation -> {
+            if (remaining.hasNext()) {
+                ChangeStreamDocument<Document> change = remaining.next();
+                current[0] = change.getResumeToken();
+                return change;
+            }
+            stream.stop();
+            return null;
+        });
+        when(cursor.getResumeToken()).thenAnswer(invocation -> current[0]);
+    }
+
+    private static ChangeStreamDocument<Document> change(String id, String resumeToken) {
+        ChangeStreamDocument<Document> change = mock(ChangeStreamDocument.class);
+        when(change.getOperationType()).thenReturn(OperationType.UPDATE);
+        when(change.getDocumentKey()).thenReturn(new BsonDocument("_id", new BsonString(id)));
+        when(change.getFullDocument()).thenReturn(new Document("_id", id));
+        when(change.getResumeToken()).thenReturn(token(resumeToken));
+        return change;
+    }
+
+    private static BsonDocument token(String value) {
+        return new BsonDocument("_data", new BsonString(value));
+    }
+}
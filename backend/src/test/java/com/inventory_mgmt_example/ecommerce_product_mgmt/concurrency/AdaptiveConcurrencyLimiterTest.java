@@ -0,0 +1,89 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.concurrency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long TARGET_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter("test", 10, 2, 50, TARGET_NANOS, 0.5);
+    }
+
+    @Test
+    void tryAcquire_WhenLimitReached_ShouldReject() {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        // When & Then
+        assertFalse(limiter.tryAcquire());
+        assertEquals(10, limiter.getAcceptedCount());
+        assertEquals(1, limiter.getRejectedCount());
+        assertEquals(10, limiter.getInFlight());
+    }
+
+    @Test
+    void release_WhenLatencyAboveTarget_ShouldDecreaseLimitOncePerWindow() {
+        // Given
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        // When - two slow requests that started before the first cut
+        limiter.release(0, TARGET_NANOS * 2);
+        limiter.release(1, TARGET_NANOS * 3);
+
+        // Then
+        assertEquals(5, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void release_WhenLatencyStaysHigh_ShouldNotDropBelowMinimum() {
+        long start = 0;
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            long end = start + TARGET_NANOS * 2;
+            limiter.release(start + 1, end);
+            start = end;
+        }
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void release_WhenFastAndSaturated_ShouldIncreaseLimit() {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+        }
+
+        // When - slightly more than one window of fast responses while the limit is in use
+        for (int i = 0; i < 12; i++) {
+            limiter.release(0, TARGET_NANOS / 2);
+            limiter.tryAcquire();
+        }
+
+        // Then
+        assertEquals(11, limiter.getLimit());
+    }
+
+    @Test
+    void release_WhenFastButIdle_ShouldNotIncreaseLimit() {
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(0, TARGET_NANOS / 2);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+}
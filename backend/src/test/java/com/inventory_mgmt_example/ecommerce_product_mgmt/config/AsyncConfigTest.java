@@ -0,0 +1,59 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(AsyncConfig.class)
+            .withPropertyValues("spring.task.execution.mode=force");
+
+    @Test
+    void keepsApplicationTaskExecutorNextToQueryLogExecutor() {
+        contextRunner.run(context -> {
+            assertInstanceOf(ThreadPoolTaskExecutor.class, context.getBean("applicationTaskExecutor"));
+            assertInstanceOf(ThreadPoolTaskExecutor.class, context.getBean("queryLogExecutor"));
+            // @Async resolves to applicationTaskExecutor rather than guessing between the two
+            AsyncConfigurer asyncConfigurer = context.getBean(AsyncConfigurer.class);
+            assertSame(context.getBean("applicationTaskExecutor"), asyncConfigurer.getAsyncExecutor());
+        });
+    }
+
+    @Test
+    void virtualThreadQueryLogExecutorRejectsOnceQueueIsFull() {
+        contextRunner
+                .withPropertyValues("spring.threads.virtual.enabled=true",
+                        "app.query-log.writer.max-concurrency=1",
+                        "app.query-log.writer.queue-capacity=1")
+                .run(context -> {
+                    ThreadPoolTaskExecutor executor = context.getBean("queryLogExecutor", ThreadPoolTaskExecutor.class);
+                    CountDownLatch release = new CountDownLatch(1);
+                    try {
+                        executor.execute(() -> awaitQuietly(release)); // runs
+                        executor.execute(() -> awaitQuietly(release)); // queued
+                        assertThrows(TaskRejectedException.class, () -> executor.execute(() -> { }));
+                    } finally {
+                        release.countDown();
+                    }
+                });
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
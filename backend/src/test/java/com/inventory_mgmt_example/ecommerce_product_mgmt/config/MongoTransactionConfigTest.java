@@ -0,0 +1,52 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.config;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.config.MongoTransactionConfig.CommitRetryingTransactionManager;
+import com.mongodb.MongoException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MongoTransactionConfigTest {
+
+    private final CommitRetryingTransactionManager transactionManager =
+            new CommitRetryingTransactionManager(mock(MongoDatabaseFactory.class), 3, 0);
+
+    @Test
+    void retriesOnlyTheCommitWhenItsResultIsUnknown() throws Exception {
+        Runnable commit = mock(Runnable.class);
+        doThrow(labelled(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL))
+                .doNothing()
+                .when(commit).run();
+
+        transactionManager.commitWithRetry(commit);
+
+        verify(commit, times(2)).run();
+    }
+
+    @Test
+    void givesUpAfterConfiguredCommitAttempts() {
+        Runnable commit = mock(Runnable.class);
+        doThrow(labelled(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL)).when(commit).run();
+
+        assertThrows(MongoException.class, () -> transactionManager.commitWithRetry(commit));
+        verify(commit, times(3)).run();
+    }
+
+    @Test
+    void leavesTransientErrorsToTheCaller() {
+        Runnable commit = mock(Runnable.class);
+        doThrow(labelled(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)).when(commit).run();
+
+        // A transient error aborts the transaction; the whole placement is retried by OrderPlacementService
+        assertThrows(MongoException.class, () -> transactionManager.commitWithRetry(commit));
+        verify(commit, times(1)).run();
+    }
+
+    private static MongoException labelled(String label) {
+        MongoException exception = new MongoException("commit failed");
+        exception.addLabel(label);
+        return exception;
+    }
+}
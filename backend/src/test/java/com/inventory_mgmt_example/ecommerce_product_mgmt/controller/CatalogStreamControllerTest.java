@@ -0,0 +1,130 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.controller;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.exception.GlobalExceptionHandler;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.exception.ProductNotFoundException;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.ReactiveProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class CatalogStreamControllerTest {
+
+    private ReactiveProductService reactiveProductService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        reactiveProductService = mock(ReactiveProductService.class);
+        CatalogStreamController controller = new CatalogStreamController();
+        ReflectionTestUtils.setField(controller, "reactiveProductService", reactiveProductService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void streamsProductsAsNdjsonOnePerLine() throws Exception {
+        when(reactiveProductService.streamAllProducts()).thenReturn(Flux.just(product("p1", "Laptop"), product("p2", "Mouse")));
+
+        MvcResult result = mockMvc.perform(get("/api/catalog/products").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.strip().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":\"p1\""));
+        assertTrue(lines[1].contains("\"name\":\"Mouse\""));
+    }
+
+    @Test
+    void streamsSearchResultsAsServerSentEvents() throws Exception {
+        when(reactiveProductService.searchProductsByName("lap")).thenReturn(Flux.just(product("p1", "Laptop")));
+
+        MvcResult result = mockMvc.perform(get("/api/catalog/products/search").param("name", "lap")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(body.startsWith("data:"));
+        assertTrue(body.contains("\"name\":\"Laptop\""));
+        verify(reactiveProductService).searchProductsByName("lap");
+    }
+
+    @Test
+    void streamsByCategoryAndBrand() throws Exception {
+        when(reactiveProductService.streamProductsByCategory("Electronics")).thenReturn(Flux.just(product("p1", "Laptop")));
+        when(reactiveProductService.streamProductsByBrand("Acme")).thenReturn(Flux.empty());
+
+        MvcResult byCategory = mockMvc.perform(get("/api/catalog/products/category/Electronics")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+        assertTrue(mockMvc.perform(asyncDispatch(byCategory)).andReturn().getResponse()
+                .getContentAsString().contains("\"id\":\"p1\""));
+
+        MvcResult byBrand = mockMvc.perform(get("/api/catalog/products/brand/Acme")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(byBrand))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void returnsSingleProductAsJson() throws Exception {
+        when(reactiveProductService.getProductById("p1")).thenReturn(Mono.just(product("p1", "Laptop")));
+
+        MvcResult result = mockMvc.perform(get("/api/catalog/products/p1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value("p1"))
+                .andExpect(jsonPath("$.name").value("Laptop"));
+    }
+
+    @Test
+    void returns404ForMissingProduct() throws Exception {
+        when(reactiveProductService.getProductById("missing"))
+                .thenReturn(Mono.error(ProductNotFoundException.byId("missing")));
+
+        MvcResult result = mockMvc.perform(get("/api/catalog/products/missing"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    private static Product product(String id, String name) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setPrice(10.0);
+        product.setQuantity(5);
+        product.setCategory("Electronics");
+        return product;
+    }
+}
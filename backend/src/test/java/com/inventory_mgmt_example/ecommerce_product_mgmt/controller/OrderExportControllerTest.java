@@ -0,0 +1,110 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatus;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.OrderExportService;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.OrderExportService.ExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The /admin/export endpoint streams the service output through a StreamingResponseBody
+ */
+class OrderExportControllerTest {
+
+    private OrderExportService orderExportService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        orderExportService = mock(OrderExportService.class);
+        when(orderExportService.export(any(), any(), anyBoolean(), any(), any(), any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("orderId,orderNumber\n1,ORD-1\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+        OrderController controller = new OrderController();
+        ReflectionTestUtils.setField(controller, "orderExportService", orderExportService);
+        ReflectionTestUtils.setField(controller, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(controller, "exportTimeoutMs", 1_800_000L);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setAsyncRequestTimeout(30_000)
+                .build();
+    }
+
+    @Test
+    void streamsCsvAsAttachment() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/orders/admin/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.csv\""))
+                .andExpect(content().string("orderId,orderNumber\n1,ORD-1\n"));
+
+        verify(orderExportService).export(any(), eq(ExportFormat.CSV), eq(false), eq(null), eq(null), eq(null));
+    }
+
+    @Test
+    void raisesTheAsyncTimeoutForTheExportOnly() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/orders/admin/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Set on this request; the handler adapter's default stays in place for every other endpoint
+        assertEquals(1_800_000L, result.getRequest().getAsyncContext().getTimeout());
+    }
+
+    @Test
+    void passesFiltersAndNamesGzippedNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/orders/admin/export")
+                        .param("format", "ndjson")
+                        .param("gzip", "true")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("status", "SHIPPED"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.ndjson.gz\""));
+
+        verify(orderExportService).export(any(), eq(ExportFormat.NDJSON), eq(true),
+                eq(LocalDateTime.of(2024, 1, 1, 0, 0)), eq(null), eq(OrderStatus.SHIPPED));
+    }
+
+    @Test
+    void rejectsUnsupportedFormatWithoutExporting() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/orders/admin/export").param("format", "xml"))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error").value("Unsupported export format: xml"));
+
+        verifyNoInteractions(orderExportService);
+    }
+}
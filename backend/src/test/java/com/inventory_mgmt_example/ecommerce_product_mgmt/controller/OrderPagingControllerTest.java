@@ -0,0 +1,82 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.controller;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.CursorPage;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class OrderPagingControllerTest {
+
+    private OrderService orderService;
+    private OrderController controller;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        orderService = mock(OrderService.class);
+        Page<Order> empty = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
+        when(orderService.getAllOrders(any(Pageable.class))).thenReturn(empty);
+        controller = new OrderController();
+        ReflectionTestUtils.setField(controller, "orderService", orderService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void offsetPagesKeepRequestedSizeAndSortByDefault() throws Exception {
+        mockMvc.perform(get("/api/orders/admin/all").param("size", "500").param("sortBy", "trackingNumber"))
+                .andExpect(status().isOk());
+
+        Pageable pageable = capturePageable();
+        assertEquals(500, pageable.getPageSize());
+        assertNotNull(pageable.getSort().getOrderFor("trackingNumber"));
+    }
+
+    @Test
+    void offsetPagesAreCappedAndSortRestrictedWhenConfigured() throws Exception {
+        ReflectionTestUtils.setField(controller, "maxPageSize", 100);
+        ReflectionTestUtils.setField(controller, "restrictSortFields", true);
+
+        mockMvc.perform(get("/api/orders/admin/all").param("size", "500"))
+                .andExpect(status().isOk());
+        assertEquals(100, capturePageable().getPageSize());
+
+        mockMvc.perform(get("/api/orders/admin/all").param("sortBy", "trackingNumber"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unsupported sort field: trackingNumber"));
+    }
+
+    @Test
+    void cursorPagesAreAlwaysCapped() throws Exception {
+        when(orderService.getAllOrders(eq(""), anyInt())).thenReturn(new CursorPage<>(List.of(), 100, false, null));
+
+        mockMvc.perform(get("/api/orders/admin/all").param("cursor", "").param("size", "500"))
+                .andExpect(status().isOk());
+
+        verify(orderService).getAllOrders("", 100);
+    }
+
+    private Pageable capturePageable() {
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(orderService, atLeastOnce()).getAllOrders(pageable.capture());
+        return pageable.getValue();
+    }
+}
@@ -0,0 +1,100 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.controller;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.RepeatCustomerStatsDTO;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.RevenueBreakdownDTO;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.RevenuePeriodDTO;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.SalesAnalyticsService;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.SalesAnalyticsService.Granularity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class SalesAnalyticsControllerTest {
+
+    private SalesAnalyticsService salesAnalyticsService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        salesAnalyticsService = mock(SalesAnalyticsService.class);
+        SalesAnalyticsController controller = new SalesAnalyticsController();
+        ReflectionTestUtils.setField(controller, "salesAnalyticsService", salesAnalyticsService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void revenueDefaultsToLastThirtyDaysByDay() throws Exception {
+        when(salesAnalyticsService.getRevenueByPeriod(any(), any(), eq(Granularity.DAY)))
+                .thenReturn(List.of(new RevenuePeriodDTO("2024-01-01", 2, 50.0, 25.0)));
+
+        mockMvc.perform(get("/api/analytics/revenue"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].period").value("2024-01-01"))
+                .andExpect(jsonPath("$[0].averageOrderValue").value(25.0));
+
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> to = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(salesAnalyticsService).getRevenueByPeriod(from.capture(), to.capture(), eq(Granularity.DAY));
+        assertEquals(Duration.ofDays(30), Duration.between(from.getValue(), to.getValue()));
+    }
+
+    @Test
+    void revenuePassesRangeAndGranularity() throws Exception {
+        mockMvc.perform(get("/api/analytics/revenue")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("to", "2024-04-01T00:00:00")
+                        .param("granularity", "week"))
+                .andExpect(status().isOk());
+
+        verify(salesAnalyticsService).getRevenueByPeriod(LocalDateTime.of(2024, 1, 1, 0, 0),
+                LocalDateTime.of(2024, 4, 1, 0, 0), Granularity.WEEK);
+    }
+
+    @Test
+    void rejectsUnknownGranularity() throws Exception {
+        mockMvc.perform(get("/api/analytics/revenue").param("granularity", "decade"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+
+        verifyNoInteractions(salesAnalyticsService);
+    }
+
+    @Test
+    void servesBreakdownsAndRepeatCustomers() throws Exception {
+        when(salesAnalyticsService.getRevenueByBrand(any(), any()))
+                .thenReturn(List.of(new RevenueBreakdownDTO("Acme", 3, 30.0)));
+        when(salesAnalyticsService.getRepeatCustomerStats(any(), any()))
+                .thenReturn(new RepeatCustomerStatsDTO(4, 1, 0.25, 1.5));
+
+        mockMvc.perform(get("/api/analytics/revenue/by-brand"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].key").value("Acme"))
+                .andExpect(jsonPath("$[0].units").value(3));
+        mockMvc.perform(get("/api/analytics/repeat-customers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.repeatRate").value(0.25));
+    }
+
+    @Test
+    void returnsBadRequestWhenAggregationFails() throws Exception {
+        when(salesAnalyticsService.getStatusFunnel(any(), any())).thenThrow(new IllegalStateException("boom"));
+
+        mockMvc.perform(get("/api/analytics/funnel"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("boom"));
+    }
+}
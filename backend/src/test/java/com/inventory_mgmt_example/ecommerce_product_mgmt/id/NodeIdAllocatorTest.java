@@ -0,0 +1,97 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.id;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.LeaseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class NodeIdAllocatorTest {
+
+    private LeaseService leaseService;
+    private NodeIdAllocator allocator;
+    private final Set<String> heldByOthers = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        leaseService = mock(LeaseService.class);
+        when(leaseService.tryAcquire(anyString(), any(Duration.class)))
+                .thenAnswer(invocation -> !heldByOthers.contains(invocation.<String>getArgument(0)));
+        when(leaseService.renew(anyString(), any(Duration.class)))
+                .thenAnswer(invocation -> !heldByOthers.contains(invocation.<String>getArgument(0)));
+
+        allocator = new NodeIdAllocator();
+        ReflectionTestUtils.setField(allocator, "leaseService", leaseService);
+        ReflectionTestUtils.setField(allocator, "configuredNodeId", -1);
+        ReflectionTestUtils.setField(allocator, "leaseTtlMs", 300_000L);
+        ReflectionTestUtils.setField(allocator, "leaseRenewMs", 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        allocator.shutdown();
+    }
+
+    @Test
+    void renewLease_WhenLeaseTakenOver_ShouldClaimFreshNodeId() {
+        // Given
+        int original = allocator.getNodeId();
+        heldByOthers.add("id-node-" + original);
+
+        // When
+        allocator.renewLease();
+
+        // Then
+        int replacement = allocator.getNodeId();
+        assertNotEquals(original, replacement);
+        verify(leaseService).tryAcquire(eq("id-node-" + replacement), any(Duration.class));
+    }
+
+    @Test
+    void getNodeId_WhenLeaseLapsedAndNoIdCanBeClaimed_ShouldRefuseToIssueIds() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(allocator::getNodeId);
+        generator.nextId();
+        ReflectionTestUtils.setField(allocator, "leaseValidUntil", 0L);
+        when(leaseService.renew(anyString(), any(Duration.class))).thenReturn(false);
+        when(leaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(false);
+
+        // When / Then
+        assertThrows(IllegalStateException.class, generator::nextId);
+        assertThrows(IllegalStateException.class, allocator::getNodeId);
+    }
+
+    @Test
+    void getNodeId_WhenLeaseLapsedButStillOurs_ShouldKeepNodeId() {
+        // Given
+        int original = allocator.getNodeId();
+        ReflectionTestUtils.setField(allocator, "leaseValidUntil", 0L);
+
+        // When
+        int current = allocator.getNodeId();
+
+        // Then
+        assertEquals(original, current);
+        verify(leaseService).renew(eq("id-node-" + original), any(Duration.class));
+    }
+
+    @Test
+    void getNodeId_WhenConfigured_ShouldNotTouchLeases() {
+        // Given
+        ReflectionTestUtils.setField(allocator, "configuredNodeId", 42);
+
+        // When / Then
+        assertEquals(42, allocator.getNodeId());
+        allocator.renewLease();
+        verifyNoInteractions(leaseService);
+    }
+}
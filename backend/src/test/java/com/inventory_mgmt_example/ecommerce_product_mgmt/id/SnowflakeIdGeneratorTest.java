@@ -0,0 +1,118 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH_MILLIS + 1_000_000L;
+
+    @Test
+    void nextId_WhenCalledConcurrently_ShouldBeUniqueAndIncreasingPerThread() throws Exception {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        int threads = 8;
+        int idsPerThread = 250_000;
+        long[][] ids = new long[threads][idsPerThread];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            long[] target = ids[t];
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < target.length; i++) {
+                    target[i] = generator.nextId();
+                }
+                return null;
+            });
+        }
+        long startTime = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        // Then
+        long[] all = new long[threads * idsPerThread];
+        for (int t = 0; t < threads; t++) {
+            for (int i = 1; i < idsPerThread; i++) {
+                assertTrue(ids[t][i] > ids[t][i - 1], "IDs must increase within a thread");
+            }
+            System.arraycopy(ids[t], 0, all, t * idsPerThread, idsPerThread);
+        }
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            assertNotEquals(all[i - 1], all[i], "Duplicate ID generated");
+        }
+        assertEquals(7, SnowflakeIdGenerator.nodeIdOf(all[0]));
+        System.out.printf("Generated %d IDs on %d threads: %.1f million IDs/s%n",
+                all.length, threads, all.length / (elapsedNanos / 1e9) / 1e6);
+    }
+
+    @Test
+    void nextId_WhenSequenceOverflowsWithinOneMillisecond_ShouldCarryIntoTimestamp() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, () -> NOW);
+
+        // When
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+
+            // Then
+            assertTrue(id > previous);
+            previous = id;
+        }
+        assertTrue(SnowflakeIdGenerator.timestampOf(previous) > NOW);
+    }
+
+    @Test
+    void nextId_WhenClockMovesBackwards_ShouldStayMonotonic() {
+        // Given
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get);
+        long beforeStep = generator.nextId();
+
+        // When
+        clock.set(NOW - 5_000);
+        long afterStep = generator.nextId();
+
+        // Then
+        assertTrue(afterStep > beforeStep);
+        assertEquals(NOW, SnowflakeIdGenerator.timestampOf(afterStep));
+    }
+
+    @Test
+    void nextIdString_ShouldSortLexicographicallyInGenerationOrder() {
+        // Given
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1023, clock::get);
+
+        // When
+        String first = generator.nextIdString();
+        String second = generator.nextIdString();
+        clock.addAndGet(1);
+        String third = generator.nextIdString();
+
+        // Then
+        assertEquals(13, first.length());
+        assertTrue(first.compareTo(second) < 0);
+        assertTrue(second.compareTo(third) < 0);
+    }
+
+    @Test
+    void constructor_WhenNodeIdOutOfRange_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024));
+    }
+}
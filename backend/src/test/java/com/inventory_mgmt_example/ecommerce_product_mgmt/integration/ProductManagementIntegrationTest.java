@@ -3,8 +3,8 @@ package com.inventory_mgmt_example.ecommerce_product_mgmt.integration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.ProductCreateDTO;
 import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.querylog.QueryLogStore;
 import com.inventory_mgmt_example.ecommerce_product_mgmt.repository.ProductRepository;
-import com.inventory_mgmt_example.ecommerce_product_mgmt.repository.QueryLogRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,7 +33,7 @@ public class ProductManagementIntegrationTest {
     private ProductRepository productRepository;
 
     @Autowired
-    private QueryLogRepository queryLogRepository;
+    private QueryLogStore queryLogStore;
 
     @Autowired
     private CacheManager cacheManager;
@@ -49,7 +49,7 @@ public class ProductManagementIntegrationTest {
         
         // Clean up before each test
         productRepository.deleteAll();
-        queryLogRepository.deleteAll();
+        queryLogStore.deleteAll();
         
         // Clear caches
         cacheManager.getCacheNames().forEach(cacheName -> 
@@ -0,0 +1,89 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.maintenance;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Category;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.StockReservation;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.User;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.LeaseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class EntityIndexMigrationTest {
+
+    private MongoTemplate mongoTemplate;
+    private LeaseService leaseService;
+    private EntityIndexMigration migration;
+    private final Map<Class<?>, IndexOperations> indexOps = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        leaseService = mock(LeaseService.class);
+        when(mongoTemplate.indexOps(any(Class.class))).thenAnswer(invocation ->
+                indexOps.computeIfAbsent(invocation.getArgument(0), type -> mock(IndexOperations.class)));
+        when(leaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(true);
+
+        migration = new EntityIndexMigration();
+        ReflectionTestUtils.setField(migration, "mongoTemplate", mongoTemplate);
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        ReflectionTestUtils.setField(migration, "mappingContext", mappingContext);
+        ReflectionTestUtils.setField(migration, "leaseService", leaseService);
+    }
+
+    @Test
+    void createsTheDeclaredIndexesOfTheListedEntitiesOnly() {
+        migration.migrate();
+
+        ArgumentCaptor<IndexDefinition> orderIndexes = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps.get(Order.class), times(5)).createIndex(orderIndexes.capture());
+        assertTrue(orderIndexes.getAllValues().stream()
+                .anyMatch(index -> "orderDate_id".equals(index.getIndexOptions().get("name"))));
+        // Never enforced on existing users and categories, so left alone
+        assertFalse(indexOps.containsKey(User.class));
+        assertFalse(indexOps.containsKey(Category.class));
+        verify(leaseService).release(anyString());
+    }
+
+    @Test
+    void keepsGoingWhenOneEntityFails() {
+        IndexOperations orders = mock(IndexOperations.class);
+        when(orders.createIndex(any())).thenThrow(new IllegalStateException("index build failed"));
+        indexOps.put(Order.class, orders);
+
+        migration.migrate();
+
+        ArgumentCaptor<IndexDefinition> reservationIndexes = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps.get(StockReservation.class), atLeastOnce()).createIndex(reservationIndexes.capture());
+        assertTrue(reservationIndexes.getAllValues().stream()
+                .anyMatch(index -> Boolean.TRUE.equals(index.getIndexOptions().get("unique"))));
+        verify(leaseService).release(anyString());
+    }
+
+    @Test
+    void skipsWhenAnotherInstanceHoldsTheLease() {
+        when(leaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(false);
+
+        migration.migrate();
+
+        verifyNoInteractions(mongoTemplate);
+        assertEquals(List.of(), List.copyOf(indexOps.keySet()));
+    }
+}
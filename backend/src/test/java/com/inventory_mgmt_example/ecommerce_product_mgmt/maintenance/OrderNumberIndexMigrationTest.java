@@ -0,0 +1,97 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.maintenance;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.id.SnowflakeIdGenerator;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.LeaseService;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OrderNumberIndexMigrationTest {
+
+    private MongoTemplate mongoTemplate;
+    private IndexOperations indexOps;
+    private LeaseService leaseService;
+    private OrderNumberIndexMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        indexOps = mock(IndexOperations.class);
+        leaseService = mock(LeaseService.class);
+        when(mongoTemplate.indexOps(Order.class)).thenReturn(indexOps);
+        when(leaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(true);
+
+        migration = new OrderNumberIndexMigration();
+        ReflectionTestUtils.setField(migration, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(migration, "idGenerator", new SnowflakeIdGenerator(1));
+        ReflectionTestUtils.setField(migration, "leaseService", leaseService);
+    }
+
+    @Test
+    void renumbersDuplicatesBeforeBuildingUniqueIndex() {
+        when(indexOps.getIndexInfo()).thenReturn(List.of());
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Order.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(
+                        new Document("_id", "ORD-1700000000000").append("ids", List.of("o1", "o2", "o3"))
+                                .append("count", 3)), new Document()));
+
+        migration.ensureUniqueIndex("orderNumber", "ORD-", false);
+
+        // The oldest order keeps its number, the other two get fresh ones, then the index is built
+        InOrder inOrder = inOrder(mongoTemplate, indexOps);
+        inOrder.verify(mongoTemplate, times(2)).updateFirst(any(Query.class), any(Update.class), eq(Order.class));
+        ArgumentCaptor<Index> index = ArgumentCaptor.forClass(Index.class);
+        inOrder.verify(indexOps).createIndex(index.capture());
+        assertEquals(Boolean.TRUE, index.getValue().getIndexOptions().get("unique"));
+        assertEquals("orderNumber", index.getValue().getIndexOptions().get("name"));
+
+        ArgumentCaptor<Query> renumbered = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).updateFirst(renumbered.capture(), any(Update.class), eq(Order.class));
+        assertEquals(List.of("o2", "o3"), renumbered.getAllValues().stream()
+                .map(query -> query.getQueryObject().get("_id")).toList());
+    }
+
+    @Test
+    void skipsFieldsThatAlreadyHaveUniqueIndex() {
+        IndexInfo existing = mock(IndexInfo.class);
+        when(existing.isUnique()).thenReturn(true);
+        when(existing.isIndexForFields(any())).thenReturn(true);
+        when(indexOps.getIndexInfo()).thenReturn(List.of(existing));
+
+        migration.migrate();
+
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq(Order.class), eq(Document.class));
+        verify(indexOps, never()).createIndex(any());
+        verify(leaseService).release(anyString());
+    }
+
+    @Test
+    void skipsWhenAnotherInstanceHoldsTheLease() {
+        when(leaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(false);
+
+        migration.migrate();
+
+        verifyNoInteractions(mongoTemplate);
+    }
+}
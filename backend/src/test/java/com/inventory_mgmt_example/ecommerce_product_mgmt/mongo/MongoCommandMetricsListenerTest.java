@@ -0,0 +1,122 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.mongo;
+
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MongoCommandMetricsListenerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MongoDatabase database;
+    private SlowQueryLog slowQueryLog;
+    private MongoCommandMetricsListener listener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        database = mock(MongoDatabase.class);
+        slowQueryLog = new SlowQueryLog(2, 50, 60_000, name -> database, Runnable::run);
+        listener = new MongoCommandMetricsListener(meterRegistry, slowQueryLog, true);
+    }
+
+    @Test
+    void recordsLatencyDocumentsAndBytesPerOperation() {
+        run(1, find(), reply(3), TimeUnit.MILLISECONDS.toNanos(2));
+
+        assertEquals(1, meterRegistry.get("app.mongo.operation")
+                .tags("operation", "MongoTemplate", "command", "find", "collection", "orders").timer().count());
+        assertEquals(3, meterRegistry.get("app.mongo.operation.documents").summary().totalAmount());
+        assertTrue(meterRegistry.get("app.mongo.operation.bytes").tag("direction", "received").summary().totalAmount() > 0);
+        assertTrue(slowQueryLog.getEntries().isEmpty());
+        verifyNoInteractions(database);
+    }
+
+    @Test
+    void capturesSlowQueryWithPlanInBoundedRing() {
+        when(database.runCommand(any(Bson.class))).thenReturn(Document.parse(
+                "{queryPlanner: {winningPlan: {stage: 'FETCH', inputStage: {stage: 'IXSCAN', indexName: 'status_1'}}}}"));
+
+        run(1, find(), reply(1), TimeUnit.MILLISECONDS.toNanos(80));
+        run(2, find(), reply(1), TimeUnit.MILLISECONDS.toNanos(90));
+        run(3, find(), reply(1), TimeUnit.MILLISECONDS.toNanos(95));
+
+        List<SlowQuery> entries = slowQueryLog.getEntries();
+        assertEquals(2, entries.size());
+        assertEquals(95.0, entries.get(0).getDurationMs());
+        assertEquals("FETCH <- IXSCAN status_1", entries.get(0).getPlanSummary());
+        assertFalse(entries.get(0).getQuery().contains("lsid"));
+        // The plan is cached per operation, so only the first slow call is explained
+        verify(database, times(1)).runCommand(any(Bson.class));
+    }
+
+    @Test
+    void leavesChangeStreamGetMoreOutOfSlowRing() {
+        BsonDocument awaitData = new BsonDocument("getMore", new BsonInt64(42))
+                .append("collection", new BsonString("products"))
+                .append("maxTimeMS", new BsonInt32(1000));
+
+        run(1, awaitData, new BsonDocument("cursor", new BsonDocument("nextBatch", new BsonArray())), TimeUnit.SECONDS.toNanos(1));
+
+        // Still timed, but waiting for changes is not a slow query
+        assertEquals(1, meterRegistry.get("app.mongo.operation").tags("command", "getMore").timer().count());
+        assertTrue(slowQueryLog.getEntries().isEmpty());
+    }
+
+    @Test
+    void skipsByteSizesUnlessEnabled() {
+        listener = new MongoCommandMetricsListener(meterRegistry, null, false);
+
+        run(1, new BsonDocument("insert", new BsonString("orders")), new BsonDocument("n", new BsonInt32(1)), 1_000);
+
+        assertEquals(1, meterRegistry.get("app.mongo.operation.documents").summary().totalAmount());
+        assertTrue(meterRegistry.find("app.mongo.operation.bytes").summaries().stream().allMatch(bytes -> bytes.count() == 0));
+    }
+
+    private void run(int requestId, BsonDocument command, BsonDocument response, long elapsedNanos) {
+        CommandStartedEvent started = mock(CommandStartedEvent.class);
+        when(started.getRequestId()).thenReturn(requestId);
+        when(started.getCommandName()).thenReturn(command.getFirstKey());
+        when(started.getCommand()).thenReturn(command);
+        listener.commandStarted(started);
+
+        CommandSucceededEvent succeeded = mock(CommandSucceededEvent.class);
+        when(succeeded.getRequestId()).thenReturn(requestId);
+        when(succeeded.getCommandName()).thenReturn(command.getFirstKey());
+        when(succeeded.getDatabaseName()).thenReturn("test");
+        when(succeeded.getResponse()).thenReturn(response);
+        when(succeeded.getElapsedTime(TimeUnit.NANOSECONDS)).thenReturn(elapsedNanos);
+        listener.commandSucceeded(succeeded);
+    }
+
+    private static BsonDocument find() {
+        return new BsonDocument("find", new BsonString("orders"))
+                .append("filter", new BsonDocument("status", new BsonString("PENDING")))
+                .append("lsid", new BsonDocument("id", new BsonInt32(1)))
+                .append("$db", new BsonString("test"));
+    }
+
+    private static BsonDocument reply(int documents) {
+        BsonArray batch = new BsonArray();
+        for (int i = 0; i < documents; i++) {
+            batch.add(new BsonDocument("_id", new BsonInt32(i)));
+        }
+        return new BsonDocument("cursor", new BsonDocument("firstBatch", batch)).append("ok", new BsonInt32(1));
+    }
+}
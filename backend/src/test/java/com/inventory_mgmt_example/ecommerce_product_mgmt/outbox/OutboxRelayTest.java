@@ -0,0 +1,217 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.outbox;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatus;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OutboxDeadLetter;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OutboxEvent;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.LeaseService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private LeaseService leaseService;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private final List<OutboxMessage> published = new ArrayList<>();
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(relay, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(relay, "leaseService", leaseService);
+        ReflectionTestUtils.setField(relay, "batchSize", 100);
+        ReflectionTestUtils.setField(relay, "maxBatchesPerRun", 10);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 3);
+        ReflectionTestUtils.setField(relay, "leaseTtlMs", 30000L);
+        ReflectionTestUtils.setField(relay, "retryBackoffMs", 1000L);
+        ReflectionTestUtils.setField(relay, "maxRetryBackoffMs", 60000L);
+        lenient().when(mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Order.class)).thenReturn(bulkOperations);
+    }
+
+    @Test
+    void deliversEventsInOrderAndRemovesThem() {
+        useSink(message -> published.add(message));
+        when(leaseService.tryAcquire(eq("outbox-relay"), any())).thenReturn(true);
+        when(mongoTemplate.find(any(Query.class), eq(Order.class)))
+                .thenReturn(List.of(order("o1", event(1), event(2))));
+
+        relay.relay();
+
+        assertEquals(List.of(1L, 2L), published.stream().map(OutboxMessage::getEventId).toList());
+        // One $pull of the delivered events plus the unset of the emptied array
+        verify(bulkOperations, times(2)).updateOne(any(Query.class), any(Update.class));
+        verify(bulkOperations).execute();
+    }
+
+    @Test
+    void failureHoldsBackLaterEventsOfTheSameOrder() {
+        useSink(message -> {
+            if (message.getEventId() == 1) {
+                throw new IllegalStateException("down");
+            }
+            published.add(message);
+        });
+        when(mongoTemplate.find(any(Query.class), eq(Order.class)))
+                .thenReturn(List.of(order("o1", event(1), event(2)), order("o2", event(3))));
+
+        relay.relayBatch();
+
+        assertEquals(List.of(3L), published.stream().map(OutboxMessage::getEventId).toList());
+        verify(mongoTemplate, never()).insertAll(anyList());
+        verify(bulkOperations).execute();
+    }
+
+    @Test
+    void deadLettersEventAfterMaxAttempts() {
+        useSink(message -> {
+            throw new IllegalStateException("down");
+        });
+        OutboxEvent poisoned = event(1);
+        poisoned.setAttempts(2);
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(List.of(order("o1", poisoned)));
+
+        relay.relayBatch();
+
+        verify(mongoTemplate).insertAll(argThat(letters ->
+                letters.size() == 1 && ((OutboxDeadLetter) letters.iterator().next()).getEvent() == poisoned));
+        verify(bulkOperations).execute();
+    }
+
+    @Test
+    void endsRunAfterBatchWithFailure() {
+        ReflectionTestUtils.setField(relay, "batchSize", 1);
+        useSink(message -> {
+            throw new IllegalStateException("down");
+        });
+        when(leaseService.tryAcquire(eq("outbox-relay"), any())).thenReturn(true);
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(List.of(order("o1", event(1))));
+
+        relay.relay();
+
+        // A full batch, but it failed: the run does not go on to the next one
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Order.class));
+    }
+
+    @Test
+    void failedEventBacksOffExponentially() {
+        useSink(message -> {
+            throw new IllegalStateException("down");
+        });
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(List.of(order("o1", event(1))));
+
+        assertFalse(relay.relayBatch());
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Order.class));
+        assertTrue(query.getValue().getQueryObject().containsKey("pendingEvents.nextAttemptAt"));
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations).updateOne(any(Query.class), update.capture());
+        assertTrue(update.getValue().modifies("pendingEvents.$[e].nextAttemptAt"));
+
+        assertEquals(Duration.ofSeconds(1), relay.backoff(1));
+        assertEquals(Duration.ofSeconds(8), relay.backoff(4));
+        assertEquals(Duration.ofSeconds(60), relay.backoff(19));
+    }
+
+    @Test
+    void fullSinkPausesRelayWithoutCountingAttempts() {
+        ReflectionTestUtils.setField(relay, "batchSize", 2);
+        useSink(message -> {
+            if (message.getEventId() == 2) {
+                throw new OutboxBackPressureException("full");
+            }
+            published.add(message);
+        });
+        OutboxEvent last = event(2);
+        last.setAttempts(2);
+        when(mongoTemplate.find(any(Query.class), eq(Order.class)))
+                .thenReturn(List.of(order("o1", event(1), last), order("o2", event(3))));
+
+        assertFalse(relay.relayBatch());
+
+        // Event 1 is delivered and pulled; event 2 waits, and o2 is not tried at all
+        assertEquals(List.of(1L), published.stream().map(OutboxMessage::getEventId).toList());
+        verify(bulkOperations, times(2)).updateOne(any(Query.class), any(Update.class));
+        verify(mongoTemplate, never()).insertAll(anyList());
+    }
+
+    @Test
+    void localBrokerPushesBackWhenPartitionIsFull() {
+        LocalBrokerOutboxSink broker = new LocalBrokerOutboxSink(1, 1);
+        broker.publish(new OutboxMessage("o1", "ORD-o1", event(1)));
+
+        assertThrows(OutboxBackPressureException.class,
+                () -> broker.publish(new OutboxMessage("o1", "ORD-o1", event(2))));
+        assertEquals(1, broker.getDepth());
+    }
+
+    @Test
+    void skipsRunWithoutLease() {
+        useSink(message -> published.add(message));
+        when(leaseService.tryAcquire(eq("outbox-relay"), any())).thenReturn(false);
+
+        relay.relay();
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private void useSink(ThrowingSink sink) {
+        ReflectionTestUtils.setField(relay, "sinks", List.<OutboxSink>of(new OutboxSink() {
+            @Override
+            public String getName() {
+                return "test";
+            }
+
+            @Override
+            public void publish(OutboxMessage message) {
+                sink.publish(message);
+            }
+        }));
+    }
+
+    private interface ThrowingSink {
+        void publish(OutboxMessage message);
+    }
+
+    private static OutboxEvent event(long eventId) {
+        return new OutboxEvent(eventId, "STATUS_CHANGED", OrderStatus.CONFIRMED, OrderStatus.PENDING, null);
+    }
+
+    private static Order order(String id, OutboxEvent... events) {
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderNumber("ORD-" + id);
+        order.setPendingEvents(new ArrayList<>(List.of(events)));
+        return order;
+    }
+}
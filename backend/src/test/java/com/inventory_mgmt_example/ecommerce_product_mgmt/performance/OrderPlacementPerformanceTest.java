@@ -0,0 +1,158 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.performance;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.OrderCreateDTO;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.OrderItemDTO;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.PaymentMethod;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.ShippingAddress;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.User;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.repository.OrderRepository;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.repository.ProductRepository;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.repository.UserRepository;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.OrderPlacementService;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.OrderService;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares order placement throughput with and without multi-document transactions.
+ * Needs MongoDB running as a replica set (e.g. single-node rs0); skipped otherwise.
+ * Only the test's own buyer, PERF- products and their orders are created and removed.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.data.mongodb.uri=mongodb://localhost:27017/ecommerce_performance_test",
+    "app.id.node-id=0"
+})
+class OrderPlacementPerformanceTest {
+
+    private static final int THREADS = 8;
+    private static final int ORDERS_PER_THREAD = 100;
+    private static final int PRODUCTS = 20;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderPlacementService orderPlacementService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoDatabaseFactory databaseFactory;
+
+    private static final String BUYER = "perfbuyer";
+    private static final String SKU_PREFIX = "PERF-";
+
+    private final List<String> productIds = new ArrayList<>();
+    private User buyer;
+
+    @BeforeEach
+    void setUp() {
+        Document hello = mongoTemplate.executeCommand(new Document("hello", 1));
+        assumeTrue(hello.containsKey("setName"), "Transactions need a replica set");
+
+        removeTestData();
+        buyer = userRepository.save(new User(BUYER, "perfbuyer@example.com", "password", "Perf", "Buyer"));
+
+        productIds.clear();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product(null, "Perf Product " + i, "Description", 10.0 + i, 1_000_000);
+            product.setSku(SKU_PREFIX + i);
+            productIds.add(productRepository.save(product).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(orderPlacementService, "transactionsEnabled", false);
+        ReflectionTestUtils.setField(orderPlacementService, "transactionTemplate", null);
+        removeTestData();
+    }
+
+    @Test
+    void comparePlacementThroughput_TransactionalVersusCompensating() throws Exception {
+        double compensatingRate = runOrders();
+
+        ReflectionTestUtils.setField(orderPlacementService, "transactionsEnabled", true);
+        ReflectionTestUtils.setField(orderPlacementService, "transactionTemplate",
+                new TransactionTemplate(new MongoTransactionManager(databaseFactory)));
+        double transactionalRate = runOrders();
+
+        System.out.printf("Order placement: compensating %.0f orders/s, transactional %.0f orders/s (%d threads)%n",
+                compensatingRate, transactionalRate, THREADS);
+
+        // Every order took exactly 3 units in total, so no stock leaked in either mode
+        long remaining = productRepository.findAllById(productIds).stream().mapToLong(Product::getQuantity).sum();
+        assertEquals((long) PRODUCTS * 1_000_000 - orderRepository.countByUser(buyer) * 3, remaining);
+    }
+
+    private void removeTestData() {
+        userRepository.findByUsername(BUYER).ifPresent(user -> {
+            orderRepository.deleteAll(orderRepository.findByUserOrderByOrderDateDesc(user));
+            userRepository.delete(user);
+        });
+        mongoTemplate.remove(Query.query(Criteria.where("sku").regex("^" + SKU_PREFIX)), Product.class);
+    }
+
+    private double runOrders() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        long startTime = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                    // Overlapping products across threads so transactions actually contend
+                    String first = productIds.get((thread + i) % PRODUCTS);
+                    String second = productIds.get((thread + i + 1) % PRODUCTS);
+                    orderService.createOrder(BUYER, orderFor(first, second));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        return THREADS * ORDERS_PER_THREAD / seconds;
+    }
+
+    private OrderCreateDTO orderFor(String firstProductId, String secondProductId) {
+        ShippingAddress address = new ShippingAddress("Perf", "Buyer", "1 Test Street", "Testville", "TS", "12345", "US");
+        return new OrderCreateDTO(
+                List.of(new OrderItemDTO(firstProductId, 1), new OrderItemDTO(secondProductId, 2)),
+                address, PaymentMethod.CREDIT_CARD);
+    }
+}
@@ -0,0 +1,302 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.querylog;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLog;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLogDictionaryEntry;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class QueryLogCodecTest {
+
+    private static final String[] USER_AGENTS = {
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0.0.0 Safari/537.36",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.5 Safari/605.1.15",
+            "Mozilla/5.0 (X11; Linux x86_64; rv:127.0) Gecko/20100101 Firefox/127.0",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_5 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.5 Mobile/15E148 Safari/604.1",
+            "Mozilla/5.0 (Linux; Android 14; Pixel 8) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0.0.0 Mobile Safari/537.36",
+            "okhttp/4.12.0",
+            "curl/8.7.1",
+            "k6/0.52.0 (https://k6.io/)"
+    };
+
+    private static final Endpoint[] ENDPOINTS = {
+            new Endpoint("GET", "/api/products", "getAllProducts", 20),
+            new Endpoint("GET", "/api/products/{id}", "getProductById", 35),
+            new Endpoint("GET", "/api/products/search", "searchProductsByName", 12),
+            new Endpoint("GET", "/api/products/category/{category}", "getProductsByCategory", 8),
+            new Endpoint("GET", "/api/products/brand/{brand}", "getProductsByBrand", 5),
+            new Endpoint("GET", "/api/products/price-range", "getProductsByPriceRange", 5),
+            new Endpoint("GET", "/api/products/low-stock", "getLowStockProducts", 3),
+            new Endpoint("POST", "/api/products", "createProduct", 4),
+            new Endpoint("PUT", "/api/products/{id}", "updateProduct", 3),
+            new Endpoint("PATCH", "/api/products/{id}/inventory", "updateInventory", 4),
+            new Endpoint("DELETE", "/api/products/{id}", "deleteProduct", 1)
+    };
+
+    private static final String[] CATEGORIES = {"Electronics", "Books", "Clothing", "Home", "Sports", "Toys"};
+    private static final String[] BRANDS = {"Acme", "Globex", "Initech", "Umbrella", "Hooli"};
+    private static final String[] SEARCHES = {"phone", "laptop", "desk lamp", "running shoes", "headphones"};
+    private static final String DTO = "com.inventory_mgmt_example.ecommerce_product_mgmt.dto.ProductCreateDTO@5e9f23b4";
+
+    private MongoTemplate mongoTemplate;
+    private QueryLogCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        QueryLogDictionary dictionary = new QueryLogDictionary();
+        ReflectionTestUtils.setField(dictionary, "mongoTemplate", mongoTemplate);
+        codec = new QueryLogCodec();
+        ReflectionTestUtils.setField(codec, "dictionary", dictionary);
+    }
+
+    @Test
+    void roundTripsThroughPatternAndDictionaryCodes() {
+        QueryLog queryLog = log("PATCH", "/api/products/{id}/inventory", "/api/products/65f0c0ffee/inventory",
+                "ProductController.updateInventory", "[65f0c0ffee, 25]", USER_AGENTS[0]);
+        queryLog.setQueryString("quantity=25");
+        queryLog.setSuccess(false);
+        queryLog.setErrorMessage("Product not found");
+
+        Document document = codec.encode(queryLog);
+        assertInstanceOf(Integer.class, document.get(QueryLogCodec.REQUEST_PATTERN));
+        assertEquals(List.of("65f0c0ffee"), document.get(QueryLogCodec.URI_VARIABLES));
+        assertFalse(document.containsKey(QueryLogCodec.REQUEST_URI));
+        assertInstanceOf(Integer.class, document.get(QueryLogCodec.USER_AGENT));
+
+        QueryLog decoded = codec.decode(document);
+        assertEquals(queryLog.getRequestUri(), decoded.getRequestUri());
+        assertEquals(queryLog.getRequestPattern(), decoded.getRequestPattern());
+        assertEquals(queryLog.getHttpMethod(), decoded.getHttpMethod());
+        assertEquals(queryLog.getControllerMethod(), decoded.getControllerMethod());
+        assertEquals(queryLog.getUserAgent(), decoded.getUserAgent());
+        assertEquals(queryLog.getMethodArguments(), decoded.getMethodArguments());
+        assertEquals(queryLog.getTimestamp(), decoded.getTimestamp());
+        assertEquals(queryLog.getResponseSize(), decoded.getResponseSize());
+        assertFalse(decoded.isSuccess());
+    }
+
+    @Test
+    void keepsUriThatDoesNotMatchItsPattern() {
+        QueryLog queryLog = log("GET", "/api/products/**", "/api/products/a/b", "ProductController.getAllProducts", "[]", null);
+
+        Document document = codec.encode(queryLog);
+
+        assertEquals("/api/products/a/b", document.get(QueryLogCodec.REQUEST_URI));
+        assertEquals("/api/products/a/b", codec.decode(document).getRequestUri());
+    }
+
+    @Test
+    void readsDocumentsMappedBeforeTheCompactForm() {
+        QueryLog queryLog = log("GET", null, "/api/products/65f0c0ffee", "ProductController.getProductById",
+                "[65f0c0ffee]", USER_AGENTS[1]);
+        queryLog.setId(new ObjectId().toHexString());
+        queryLog.setSuccess(false);
+        queryLog.setErrorMessage("Product not found");
+        Document mapped = new Document();
+        mappingConverter().write(queryLog, mapped);
+
+        QueryLog decoded = codec.decode(mapped);
+
+        assertEquals(queryLog.getId(), decoded.getId());
+        assertEquals(queryLog.getTimestamp(), decoded.getTimestamp());
+        assertEquals(queryLog.getRequestUri(), decoded.getRequestUri());
+        assertEquals(queryLog.getHttpMethod(), decoded.getHttpMethod());
+        assertEquals(queryLog.getControllerMethod(), decoded.getControllerMethod());
+        assertEquals(queryLog.getUserAgent(), decoded.getUserAgent());
+        assertEquals(queryLog.getExecutionTimeMs(), decoded.getExecutionTimeMs());
+        assertFalse(decoded.isSuccess());
+        // Rewritten in the compact form under the same id
+        assertEquals(mapped.get(QueryLogCodec.ID), codec.encode(decoded).get(QueryLogCodec.ID));
+    }
+
+    @Test
+    void tellsWhichPatternsCouldBuildAUriContainingThePart() {
+        assertTrue(QueryLogCodec.mayContain("/api/products/{id}/inventory", "invent"));
+        assertFalse(QueryLogCodec.mayContain("/api/products/{id}", "65f0"));
+        assertTrue(QueryLogCodec.mayContain("/api/products/{id}/inventory", "ducts/65f0/inv"));
+        assertTrue(QueryLogCodec.mayContain("/api/products/brand/{brand}", "brand/Ac"));
+        assertFalse(QueryLogCodec.mayContain("/api/products/{id}", "orders/1"));
+        assertFalse(QueryLogCodec.mayContain("/api/products/search", "products/search/x"));
+    }
+
+    @Test
+    void cutsLongArgumentsAndTagsThemWithHash() {
+        String arguments = "[" + "x".repeat(1000) + "]";
+
+        String compact = codec.compactArguments(arguments);
+
+        assertTrue(compact.length() < 300);
+        assertTrue(compact.endsWith("...#" + Integer.toHexString(arguments.hashCode())));
+    }
+
+    /**
+     * Stored bytes per log, as written before (mapped QueryLog) and now, on a generated mix of
+     * product API traffic
+     */
+    @Test
+    void compactFormIsUnderHalfTheMappedSize() {
+        MappingMongoConverter converter = mappingConverter();
+        List<QueryLog> logs = generate(10_000);
+
+        long mappedBytes = 0;
+        long compactBytes = 0;
+        for (QueryLog queryLog : logs) {
+            Document mapped = new Document();
+            converter.write(queryLog, mapped);
+            // Not stored before the compact form
+            mapped.remove("requestPattern");
+            mappedBytes += bsonSize(mapped);
+            compactBytes += bsonSize(codec.encode(queryLog));
+        }
+
+        ArgumentCaptor<QueryLogDictionaryEntry> entries = ArgumentCaptor.forClass(QueryLogDictionaryEntry.class);
+        verify(mongoTemplate, atLeastOnce()).insert(entries.capture());
+        long dictionaryBytes = 0;
+        for (QueryLogDictionaryEntry entry : entries.getAllValues()) {
+            Document stored = new Document("_id", new ObjectId());
+            converter.write(entry, stored);
+            dictionaryBytes += bsonSize(stored);
+        }
+
+        double mappedPerLog = (double) mappedBytes / logs.size();
+        double compactPerLog = (double) compactBytes / logs.size();
+        System.out.printf("Query log storage on %d generated logs: mapped %.1f bytes/log, compact %.1f bytes/log "
+                        + "(%.0f%% smaller), dictionary %d entries / %d bytes in total%n",
+                logs.size(), mappedPerLog, compactPerLog, 100 * (1 - compactPerLog / mappedPerLog),
+                entries.getAllValues().size(), dictionaryBytes);
+
+        assertTrue(compactPerLog < mappedPerLog / 2, "compact " + compactPerLog + " vs mapped " + mappedPerLog);
+    }
+
+    private static List<QueryLog> generate(int count) {
+        Random random = new Random(42);
+        int totalWeight = 0;
+        for (Endpoint endpoint : ENDPOINTS) {
+            totalWeight += endpoint.weight();
+        }
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        List<QueryLog> logs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int pick = random.nextInt(totalWeight);
+            Endpoint endpoint = ENDPOINTS[0];
+            for (Endpoint candidate : ENDPOINTS) {
+                pick -= candidate.weight();
+                if (pick < 0) {
+                    endpoint = candidate;
+                    break;
+                }
+            }
+            String productId = new ObjectId().toHexString();
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            String brand = BRANDS[random.nextInt(BRANDS.length)];
+            String uri = endpoint.pattern().replace("{id}", productId)
+                    .replace("{category}", category).replace("{brand}", brand);
+
+            String queryString = null;
+            String arguments = switch (endpoint.method()) {
+                case "getProductById", "deleteProduct" -> "[" + productId + "]";
+                case "searchProductsByName" -> {
+                    String search = SEARCHES[random.nextInt(SEARCHES.length)];
+                    queryString = "name=" + search.replace(' ', '+');
+                    yield "[" + search + "]";
+                }
+                case "getProductsByCategory" -> "[" + category + "]";
+                case "getProductsByBrand" -> "[" + brand + "]";
+                case "getProductsByPriceRange" -> {
+                    queryString = "minPrice=10&maxPrice=250";
+                    yield "[10.0, 250.0]";
+                }
+                case "getLowStockProducts" -> {
+                    queryString = "threshold=10";
+                    yield "[10]";
+                }
+                case "createProduct" -> "[" + DTO + "]";
+                case "updateProduct" -> "[" + productId + ", " + DTO + "]";
+                case "updateInventory" -> {
+                    queryString = "quantity=25";
+                    yield "[" + productId + ", 25]";
+                }
+                default -> "[]";
+            };
+
+            String userAgent = USER_AGENTS[(int) (Math.pow(random.nextDouble(), 2) * USER_AGENTS.length)];
+            QueryLog queryLog = log(endpoint.httpMethod(), endpoint.pattern(), uri,
+                    "ProductController." + endpoint.method(), arguments, userAgent);
+            queryLog.setId(new ObjectId().toHexString());
+            queryLog.setTimestamp(start.plusNanos(i * 250_000_000L));
+            queryLog.setClientIp("10.0." + random.nextInt(4) + "." + random.nextInt(250));
+            queryLog.setQueryString(queryString);
+            queryLog.setExecutionTimeMs(random.nextInt(100) == 0 ? 200 + random.nextInt(800) : 2 + random.nextInt(15));
+            if (endpoint.method().equals("getProductById") && random.nextInt(25) == 0) {
+                queryLog.setSuccess(false);
+                queryLog.setResponseStatus(500);
+                queryLog.setResponseSize(120);
+                queryLog.setErrorMessage("Product not found with id: " + productId);
+            } else {
+                queryLog.setResponseStatus(switch (endpoint.httpMethod()) {
+                    case "POST" -> 201;
+                    case "DELETE" -> 204;
+                    default -> 200;
+                });
+                queryLog.setResponseSize(switch (endpoint.method()) {
+                    case "getAllProducts" -> 20_000 + random.nextInt(40_000);
+                    case "deleteProduct" -> 0;
+                    case "getProductById", "createProduct", "updateProduct", "updateInventory" -> 350 + random.nextInt(150);
+                    default -> 2_000 + random.nextInt(8_000);
+                });
+            }
+            logs.add(queryLog);
+        }
+        return logs;
+    }
+
+    private static QueryLog log(String httpMethod, String pattern, String uri, String controllerMethod,
+                                String arguments, String userAgent) {
+        QueryLog queryLog = new QueryLog(LocalDateTime.of(2025, 3, 1, 12, 30, 15, 123_000_000), "10.0.0.7", httpMethod, uri);
+        queryLog.setRequestPattern(pattern);
+        queryLog.setControllerMethod(controllerMethod);
+        queryLog.setMethodArguments(arguments);
+        queryLog.setUserAgent(userAgent);
+        queryLog.setResponseStatus(200);
+        queryLog.setResponseSize(412);
+        queryLog.setExecutionTimeMs(7);
+        queryLog.setSuccess(true);
+        return queryLog;
+    }
+
+    private static MappingMongoConverter mappingConverter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private static int bsonSize(Document document) {
+        return new RawBsonDocument(document, new DocumentCodec()).getByteBuffer().remaining();
+    }
+
+    private record Endpoint(String httpMethod, String pattern, String method, int weight) {}
+}
@@ -0,0 +1,241 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.querylog;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryLogSegmentTest {
+
+    @TempDir
+    Path directory;
+
+    private QueryLogSegmentWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new QueryLogSegmentWriter();
+        ReflectionTestUtils.setField(writer, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(writer, "directory", directory.toString());
+        ReflectionTestUtils.setField(writer, "segmentBytes", 4096L);
+        ReflectionTestUtils.setField(writer, "maxSegmentAgeMs", 60000L);
+        ReflectionTestUtils.setField(writer, "fsyncIntervalMs", 5L);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 1000);
+    }
+
+    @Test
+    void readsBackEveryLogInOrderAcrossSegments() throws Exception {
+        List<QueryLog> written = writeLogs(100);
+
+        List<Path> segments = QueryLogSegmentFile.list(directory);
+        assertTrue(segments.size() > 1, "expected the 4 KB segment size to force rotation");
+
+        List<QueryLog> read = new ArrayList<>();
+        for (Path segment : segments) {
+            assertTrue(QueryLogSegmentFile.read(segment, read::add).complete());
+        }
+        assertEquals(written.size(), read.size());
+        for (int i = 0; i < written.size(); i++) {
+            QueryLog expected = written.get(i);
+            QueryLog actual = read.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getTimestamp(), actual.getTimestamp());
+            assertEquals(expected.getRequestUri(), actual.getRequestUri());
+            assertEquals(expected.getRequestPattern(), actual.getRequestPattern());
+            assertNull(actual.getQueryString());
+            assertEquals(expected.getResponseStatus(), actual.getResponseStatus());
+            assertEquals(expected.getResponseSize(), actual.getResponseSize());
+            assertEquals(expected.isSuccess(), actual.isSuccess());
+            assertEquals(expected.getErrorMessage(), actual.getErrorMessage());
+        }
+    }
+
+    @Test
+    void stopsAtTornTailAndKeepsEarlierRecords() throws Exception {
+        writeLogs(5);
+        Path segment = QueryLogSegmentFile.list(directory).get(0);
+        long size = Files.size(segment);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.setLength(size - 10);
+        }
+
+        List<QueryLog> read = new ArrayList<>();
+        QueryLogSegmentFile.ReadResult result = QueryLogSegmentFile.read(segment, read::add);
+
+        assertFalse(result.complete());
+        assertEquals(4, result.records());
+        // The fifth record (/api/products/4) is the one cut short
+        assertEquals("/api/products/3", read.get(3).getRequestUri());
+    }
+
+    @Test
+    void treatsTornLengthPrefixAsIncomplete() throws Exception {
+        writeLogs(2);
+        Path segment = QueryLogSegmentFile.list(directory).get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // Two bytes of the next frame's length made it to disk
+            file.seek(file.length());
+            file.write(new byte[]{0, 0});
+        }
+
+        QueryLogSegmentFile.ReadResult result = QueryLogSegmentFile.read(segment, queryLog -> { });
+
+        assertFalse(result.complete());
+        assertEquals(2, result.records());
+    }
+
+    @Test
+    void keepsRunningTotalsOfTheActiveSegment() throws Exception {
+        writeLogs(5);
+
+        QueryLogSegmentWriter.ActiveSegment active = writer.getActiveSegment();
+
+        assertEquals(QueryLogSegmentFile.sequenceOf(QueryLogSegmentFile.list(directory).get(0)), active.sequence());
+        assertEquals(5, active.records());
+        // Only the first log (i % 7 == 0) failed
+        assertEquals(1, active.failed());
+    }
+
+    @Test
+    void stopsAtCorruptRecord() throws Exception {
+        writeLogs(5);
+        Path segment = QueryLogSegmentFile.list(directory).get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // A byte inside the payload of the first record
+            long position = QueryLogSegmentFile.HEADER_BYTES + QueryLogSegmentFile.FRAME_HEADER_BYTES + 20;
+            file.seek(position);
+            int original = file.read();
+            file.seek(position);
+            file.write(original ^ 0xFF);
+        }
+
+        QueryLogSegmentFile.ReadResult result = QueryLogSegmentFile.read(segment, queryLog -> fail("corrupt record returned"));
+
+        assertFalse(result.complete());
+        assertEquals(0, result.records());
+    }
+
+    @Test
+    void rejectsSegmentWithBadHeader() throws Exception {
+        writeLogs(3);
+        Path segment = QueryLogSegmentFile.list(directory).get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.writeInt(0);
+        }
+
+        QueryLogSegmentFile.ReadResult result = QueryLogSegmentFile.read(segment, queryLog -> fail("record returned"));
+
+        assertFalse(result.complete());
+        assertEquals(0, result.records());
+    }
+
+    @Test
+    void restartStartsNewSegment() throws Exception {
+        writeLogs(1);
+        long firstSequence = QueryLogSegmentFile.sequenceOf(QueryLogSegmentFile.list(directory).get(0));
+
+        writer.start();
+        try {
+            assertEquals(firstSequence + 1, writer.getActiveSequence());
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    void writesAgainInANewSegmentAfterAnIoError() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(writer, "meterRegistry", meterRegistry);
+        List<QueryLog> written = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        writer.start();
+        try {
+            for (int i = 0; i < 3; i++) {
+                written.add(append(i, now));
+            }
+            awaitActiveRecords(3);
+            long failedSequence = writer.getActiveSequence();
+
+            // Stands in for a disk error: the next write or fsync of the segment throws
+            ((FileChannel) ReflectionTestUtils.getField(writer, "channel")).close();
+            for (int i = 3; i < 6; i++) {
+                written.add(append(i, now));
+            }
+            long deadline = System.currentTimeMillis() + 5000;
+            while ((writer.getActiveSequence() == failedSequence || writer.getActiveSegment().records() < 3)
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertTrue(writer.getActiveSequence() > failedSequence);
+            assertTrue(writer.isHealthy());
+            assertEquals(1.0, meterRegistry.get("app.query-log.segments.writer.healthy").gauge().value());
+        } finally {
+            writer.close();
+        }
+
+        Set<String> read = new HashSet<>();
+        for (Path segment : QueryLogSegmentFile.list(directory)) {
+            QueryLogSegmentFile.read(segment, queryLog -> read.add(queryLog.getId()));
+        }
+        assertEquals(written.stream().map(QueryLog::getId).collect(Collectors.toSet()), read);
+    }
+
+    private void awaitActiveRecords(long records) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (writer.getActiveSegment().records() < records && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(records, writer.getActiveSegment().records());
+    }
+
+    private List<QueryLog> writeLogs(int count) throws Exception {
+        List<QueryLog> logs = new ArrayList<>();
+        writer.start();
+        try {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+            for (int i = 0; i < count; i++) {
+                logs.add(append(i, now));
+            }
+        } finally {
+            writer.close();
+        }
+        return logs;
+    }
+
+    private QueryLog append(int i, LocalDateTime now) {
+        QueryLog queryLog = new QueryLog();
+        queryLog.setTimestamp(now.plusNanos(i * 1_000_000L));
+        queryLog.setClientIp("10.0.0." + (i % 10));
+        queryLog.setHttpMethod("GET");
+        queryLog.setRequestUri("/api/products/" + i);
+        queryLog.setRequestPattern("/api/products/{id}");
+        queryLog.setControllerMethod("ProductController.getProductById");
+        queryLog.setMethodArguments("[" + i + "]");
+        queryLog.setUserAgent("Mozilla/5.0");
+        boolean success = i % 7 != 0;
+        queryLog.setResponseStatus(success ? 200 : 404);
+        queryLog.setResponseSize(success ? 240 : 0);
+        queryLog.setExecutionTimeMs(i % 50);
+        queryLog.setSuccess(success);
+        queryLog.setErrorMessage(success ? null : "Product not found");
+        writer.append(queryLog);
+        return queryLog;
+    }
+}
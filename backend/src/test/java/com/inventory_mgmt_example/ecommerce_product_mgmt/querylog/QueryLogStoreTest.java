@@ -0,0 +1,123 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.querylog;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLog;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class QueryLogStoreTest {
+
+    private MongoTemplate mongoTemplate;
+    private QueryLogCodec codec;
+    private QueryLogStore store;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        store = new QueryLogStore();
+        codec = mock(QueryLogCodec.class);
+        ReflectionTestUtils.setField(store, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(store, "queryLogCodec", codec);
+        when(mongoTemplate.getCollectionNames()).thenReturn(Set.of(
+                "query_logs_20250101", "query_logs_20250102", "query_logs_20250103", "query_logs_20250104",
+                "query_logs", "query_log_hourly", "products"));
+    }
+
+    @Test
+    void listsOnlyDailyBucketsOldestFirst() {
+        assertEquals(4, store.buckets().size());
+        assertEquals("query_logs_20250101", store.buckets().get(0));
+        assertEquals(LocalDate.of(2025, 1, 2), QueryLogStore.dayOf("query_logs_20250102"));
+        assertNull(QueryLogStore.dayOf("query_logs"));
+    }
+
+    @Test
+    void rangeReadVisitsOnlyTheDaysInTheRange() {
+        store.findByTimestampBetween(LocalDateTime.of(2025, 1, 1, 18, 0), LocalDateTime.of(2025, 1, 3, 6, 0));
+
+        // Partial first and last day are filtered by timestamp, the day in between is read whole
+        verify(mongoTemplate).find(argThat(this::hasTimestampFilter), eq(Document.class), eq("query_logs_20250101"));
+        verify(mongoTemplate).find(argThat(query -> !hasTimestampFilter(query)), eq(Document.class), eq("query_logs_20250102"));
+        verify(mongoTemplate).find(argThat(this::hasTimestampFilter), eq(Document.class), eq("query_logs_20250103"));
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Document.class), eq("query_logs_20250104"));
+    }
+
+    @Test
+    void uriSearchIsNarrowedInTheDatabase() {
+        when(codec.patterns()).thenReturn(List.of("/api/products/{id}", "/api/orders/{id}"));
+        when(codec.storedForms(QueryLogDictionary.REQUEST_PATTERN, "/api/products/{id}")).thenReturn(List.of(3, "/api/products/{id}"));
+        QueryLog matching = new QueryLog(LocalDateTime.of(2025, 1, 1, 12, 0), "10.0.0.1", "GET", "/api/products/42");
+        QueryLog other = new QueryLog(LocalDateTime.of(2025, 1, 1, 12, 0), "10.0.0.1", "GET", "/api/products/7");
+        Document stored = new Document();
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), anyString())).thenReturn(List.of(stored));
+        when(codec.decode(stored)).thenReturn(matching, other, other, other);
+
+        List<QueryLog> found = store.findByRequestUriContaining("products/42");
+
+        assertEquals(List.of(matching), found);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(4)).find(query.capture(), eq(Document.class), anyString());
+        List<Document> candidates = query.getValue().getQueryObject().getList("$or", Document.class);
+        assertTrue(candidates.contains(new Document(QueryLogCodec.REQUEST_PATTERN, new Document("$in", List.of(3, "/api/products/{id}")))));
+        verify(codec, never()).storedForms(QueryLogDictionary.REQUEST_PATTERN, "/api/orders/{id}");
+    }
+
+    @Test
+    void movesTheUnpartitionedLogsIntoTheirDailyBucketsAndDropsTheCollection() {
+        Document first = new Document(QueryLogCodec.ID, 1).append(QueryLogCodec.LEGACY_TIMESTAMP, "day 1");
+        Document second = new Document(QueryLogCodec.ID, 2).append(QueryLogCodec.LEGACY_TIMESTAMP, "day 2");
+        QueryLog firstLog = new QueryLog(LocalDateTime.of(2025, 1, 1, 12, 0), "10.0.0.1", "GET", "/api/products");
+        QueryLog secondLog = new QueryLog(LocalDateTime.of(2025, 1, 2, 12, 0), "10.0.0.1", "GET", "/api/products");
+        when(mongoTemplate.collectionExists("query_logs")).thenReturn(true);
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("query_logs")))
+                .thenReturn(List.of(first, second), List.of());
+        when(codec.decode(first)).thenReturn(firstLog);
+        when(codec.decode(second)).thenReturn(secondLog);
+        when(codec.encode(any(QueryLog.class))).thenAnswer(invocation -> new Document());
+        when(mongoTemplate.indexOps(anyString())).thenReturn(mock(IndexOperations.class));
+        BulkOperations inserts = mock(BulkOperations.class);
+        when(inserts.insert(anyList())).thenReturn(inserts);
+        when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), anyString())).thenReturn(inserts);
+
+        assertEquals(2, store.moveUnpartitioned());
+
+        verify(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, "query_logs_20250101");
+        verify(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, "query_logs_20250102");
+        // Each stored batch is removed, so an interrupted move resumes with the rest
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(removed.capture(), eq("query_logs"));
+        assertEquals(new Document(QueryLogCodec.ID, new Document("$in", List.of(1, 2))), removed.getValue().getQueryObject());
+        verify(mongoTemplate).dropCollection("query_logs");
+    }
+
+    @Test
+    void movingIsANoOpOnceTheUnpartitionedCollectionIsGone() {
+        assertEquals(0, store.moveUnpartitioned());
+
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Document.class), eq("query_logs"));
+        verify(mongoTemplate, never()).dropCollection(anyString());
+    }
+
+    private boolean hasTimestampFilter(Query query) {
+        return query.getQueryObject().containsKey(QueryLogCodec.TIMESTAMP);
+    }
+}
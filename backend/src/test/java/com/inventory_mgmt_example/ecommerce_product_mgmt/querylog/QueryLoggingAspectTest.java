@@ -0,0 +1,85 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.querylog;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.aspect.QueryLoggingAspect;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.controller.ProductController;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.QueryLog;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.ProductService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class QueryLoggingAspectTest {
+
+    private ProductService productService;
+    private QueryLogWriter queryLogWriter;
+    private SimpleMeterRegistry meterRegistry;
+    private QueryLoggingAspect aspect;
+    private ProductController controller;
+
+    @BeforeEach
+    void setUp() {
+        productService = mock(ProductService.class);
+        queryLogWriter = mock(QueryLogWriter.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        ProductController target = new ProductController();
+        ReflectionTestUtils.setField(target, "productService", productService);
+
+        aspect = new QueryLoggingAspect();
+        ReflectionTestUtils.setField(aspect, "queryLogWriter", queryLogWriter);
+        ReflectionTestUtils.setField(aspect, "meterRegistry", meterRegistry);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        controller = factory.getProxy();
+    }
+
+    @Test
+    void sampledModeSkipsFastSuccessfulCalls() {
+        configure(QueryLogMode.SAMPLED, 0.0);
+        when(productService.getProductById("p1")).thenReturn(new Product());
+
+        controller.getProductById("p1");
+
+        verify(queryLogWriter, never()).write(any());
+        assertEquals(1, meterRegistry.get("app.query-log.calls").tag("outcome", "SUCCESS").timer().count());
+    }
+
+    @Test
+    void sampledModeAlwaysKeepsFailedCalls() {
+        configure(QueryLogMode.SAMPLED, 0.0);
+        when(productService.getProductById("missing")).thenThrow(new RuntimeException("Product not found"));
+
+        assertThrows(RuntimeException.class, () -> controller.getProductById("missing"));
+
+        ArgumentCaptor<QueryLog> captor = ArgumentCaptor.forClass(QueryLog.class);
+        verify(queryLogWriter).write(captor.capture());
+        assertFalse(captor.getValue().isSuccess());
+        assertEquals(500, captor.getValue().getResponseStatus());
+        assertEquals(1, meterRegistry.get("app.query-log.calls").tag("outcome", "FAILURE").timer().count());
+    }
+
+    @Test
+    void metricsModeNeverBuildsQueryLogs() {
+        configure(QueryLogMode.METRICS, 1.0);
+        when(productService.getProductById("missing")).thenThrow(new RuntimeException("Product not found"));
+
+        assertThrows(RuntimeException.class, () -> controller.getProductById("missing"));
+
+        verifyNoInteractions(queryLogWriter);
+    }
+
+    private void configure(QueryLogMode mode, double sampleRate) {
+        ReflectionTestUtils.setField(aspect, "mode", mode);
+        ReflectionTestUtils.setField(aspect, "sampleRate", sampleRate);
+    }
+}
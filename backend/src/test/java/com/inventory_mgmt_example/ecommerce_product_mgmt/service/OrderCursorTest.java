@@ -0,0 +1,32 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderCursorTest {
+
+    @Test
+    void encode_ThenDecode_ShouldRoundTripPosition() {
+        // Given
+        Order order = new Order();
+        order.setId("65a1f0c2e4b0a1b2c3d4e5f6");
+        order.setOrderDate(LocalDateTime.of(2024, 3, 15, 10, 30, 45, 123_000_000));
+
+        // When
+        OrderCursor decoded = OrderCursor.decode(OrderCursor.of(order).encode());
+
+        // Then
+        assertEquals(order.getOrderDate(), decoded.getOrderDate());
+        assertEquals(order.getId(), decoded.getId());
+    }
+
+    @Test
+    void decode_WhenTokenIsMalformed_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> OrderCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> OrderCursor.decode("MTIzNDU6"));
+    }
+}
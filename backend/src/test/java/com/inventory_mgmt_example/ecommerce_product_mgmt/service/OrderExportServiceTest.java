@@ -0,0 +1,148 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatus;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.OrderExportService.ExportFormat;
+import com.mongodb.DBRef;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+class OrderExportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Bson> filters = new ArrayList<>();
+    private final List<List<Document>> batches = new ArrayList<>();
+    private OrderExportService orderExportService;
+
+    @BeforeEach
+    void setUp() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(mongoTemplate.getCollectionName(Order.class)).thenReturn("orders");
+        when(mongoTemplate.getCollection("orders")).thenReturn(collection);
+
+        // Each find() serves the next queued batch, as the keyset query after the previous one would
+        when(collection.find(any(Bson.class))).thenAnswer(invocation -> {
+            filters.add(invocation.getArgument(0));
+            List<Document> batch = batches.isEmpty() ? List.of() : batches.remove(0);
+            MongoCursor<Document> cursor = cursor(batch.iterator());
+            FindIterable<Document> iterable = mock(FindIterable.class);
+            when(iterable.projection(any())).thenReturn(iterable);
+            when(iterable.sort(any())).thenReturn(iterable);
+            when(iterable.limit(anyInt())).thenReturn(iterable);
+            when(iterable.batchSize(anyInt())).thenReturn(iterable);
+            when(iterable.iterator()).thenReturn(cursor);
+            return iterable;
+        });
+
+        orderExportService = new OrderExportService();
+        ReflectionTestUtils.setField(orderExportService, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(orderExportService, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(orderExportService, "batchSize", 2);
+    }
+
+    @Test
+    void writesCsvAcrossKeysetBatches() throws Exception {
+        batches.add(List.of(order("ORD-1", 1), order("ORD-2", 2)));
+        batches.add(List.of(order("ORD-3", 3)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = orderExportService.export(out, ExportFormat.CSV, false, null, null, null);
+
+        assertEquals(3, written);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("orderId,orderNumber,orderDate,status,userId"));
+        assertTrue(lines[1].contains(",ORD-1,"));
+        assertTrue(lines[3].contains(",ORD-3,"));
+        // The user is exported as its id, without resolving the reference
+        assertTrue(lines[1].contains(",user-1,"));
+        // The second query resumes after the last order of the first batch
+        assertEquals(2, filters.size());
+        assertTrue(filters.get(1).toBsonDocument().toJson().contains("$or"));
+    }
+
+    @Test
+    void stopsAfterFullBatchFollowedByEmptyOne() throws Exception {
+        batches.add(List.of(order("ORD-1", 1), order("ORD-2", 2)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(2, orderExportService.export(out, ExportFormat.CSV, false, null, null, null));
+        assertEquals(2, filters.size());
+    }
+
+    @Test
+    void writesGzippedNdjsonWithFilters() throws Exception {
+        batches.add(List.of(order("ORD-1", 1)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        orderExportService.export(out, ExportFormat.NDJSON, true,
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0), OrderStatus.SHIPPED);
+
+        String body;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        JsonNode row = objectMapper.readTree(body.strip());
+        assertEquals("ORD-1", row.get("orderNumber").asText());
+        assertEquals("user-1", row.get("userId").asText());
+        assertEquals("Springfield, IL", row.get("shippingAddress").get("city").asText());
+
+        String filter = filters.get(0).toBsonDocument().toJson();
+        assertTrue(filter.contains("$gte"));
+        assertTrue(filter.contains("$lt"));
+        assertTrue(filter.contains("SHIPPED"));
+    }
+
+    @Test
+    void quotesCsvValuesThatNeedIt() {
+        assertEquals("plain", OrderExportService.csvValue("plain"));
+        assertEquals("\"Springfield, IL\"", OrderExportService.csvValue("Springfield, IL"));
+        assertEquals("\"say \"\"hi\"\"\"", OrderExportService.csvValue("say \"hi\""));
+        assertEquals("", OrderExportService.csvValue(null));
+    }
+
+    private static Document order(String orderNumber, int day) {
+        return new Document("_id", new ObjectId())
+                .append("orderNumber", orderNumber)
+                .append("orderDate", new Date(day * 86_400_000L))
+                .append("status", "SHIPPED")
+                .append("user", new DBRef("users", "user-1"))
+                .append("finalAmount", 10.0)
+                .append("shippingAddress", new Document("city", "Springfield, IL").append("country", "US"))
+                .append("items", List.of(new Document("productId", "p1").append("quantity", 1)));
+    }
+
+    private static MongoCursor<Document> cursor(Iterator<Document> rows) {
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> rows.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> rows.next());
+        return cursor;
+    }
+}
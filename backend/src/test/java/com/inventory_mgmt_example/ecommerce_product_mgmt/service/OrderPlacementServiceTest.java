@@ -0,0 +1,208 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.event.ProductChangeEvent;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.exception.InsufficientStockException;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Product;
+import com.mongodb.MongoException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderPlacementServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ObjectProvider<MongoTransactionManager> transactionManagerProvider;
+
+    @Mock
+    private MongoTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    @InjectMocks
+    private OrderPlacementService orderPlacementService;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderPlacementService, "transactionManager", transactionManagerProvider);
+        ReflectionTestUtils.setField(orderPlacementService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(orderPlacementService, "retryBackoffMs", 1L);
+
+        product = new Product("product-1", "Test Product", "Description", 10.0, 5);
+    }
+
+    @Test
+    void place_WhenNonTransactionalAndLaterStepFails_ShouldRestoreStockAndRethrow() {
+        // Given
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Product.class)))
+                .thenReturn(product);
+
+        // When: fault injected after the stock was taken
+        assertThrows(DataIntegrityViolationException.class, () -> orderPlacementService.place(stock -> {
+            stock.decrement("product-1", 2);
+            throw new DataIntegrityViolationException("injected failure saving order");
+        }));
+
+        // Then: one decrement and one compensating increment, no events for the failed placement
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).findAndModify(any(Query.class), updates.capture(),
+                any(FindAndModifyOptions.class), eq(Product.class));
+        assertEquals(-2, incrementOf(updates.getAllValues().get(0)));
+        assertEquals(2, incrementOf(updates.getAllValues().get(1)));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void place_WhenStockIsInsufficient_ShouldRestoreEarlierItems() {
+        // Given: first item succeeds, second finds no product with enough stock
+        Product other = new Product("product-2", "Scarce Product", "Description", 10.0, 1);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Product.class)))
+                .thenReturn(product, null, product);
+        when(mongoTemplate.findById("product-2", Product.class)).thenReturn(other);
+
+        // When
+        InsufficientStockException exception = assertThrows(InsufficientStockException.class,
+                () -> orderPlacementService.place(stock -> {
+                    stock.decrement("product-1", 2);
+                    stock.decrement("product-2", 3);
+                    return "unreachable";
+                }));
+
+        // Then
+        assertEquals("Insufficient stock for product: Scarce Product", exception.getMessage());
+        verify(mongoTemplate, times(3)).findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(Product.class));
+    }
+
+    @Test
+    void place_WhenNonTransactionalAndSuccessful_ShouldPublishStockChanges() {
+        // Given
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Product.class)))
+                .thenReturn(product);
+
+        // When
+        String result = orderPlacementService.place(stock -> {
+            stock.decrement("product-1", 1);
+            return "placed";
+        });
+
+        // Then
+        assertEquals("placed", result);
+        verify(eventPublisher).publishEvent(any(ProductChangeEvent.class));
+    }
+
+    @Test
+    void place_WhenTransactionHitsTransientError_ShouldRollBackAndRetry() {
+        // Given
+        enableTransactions();
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When: the first attempt fails with a write conflict
+        String result = orderPlacementService.place(stock -> {
+            if (attempts.incrementAndGet() == 1) {
+                MongoException conflict = new MongoException(112, "WriteConflict");
+                conflict.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+                throw conflict;
+            }
+            return "placed";
+        });
+
+        // Then
+        assertEquals("placed", result);
+        assertEquals(2, attempts.get());
+        verify(transactionManager).rollback(transactionStatus);
+        verify(transactionManager).commit(transactionStatus);
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(Product.class));
+    }
+
+    @Test
+    void place_WhenTransactionFailsPermanently_ShouldNotRetryOrCompensate() {
+        // Given
+        enableTransactions();
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class, () -> orderPlacementService.place(stock -> {
+            attempts.incrementAndGet();
+            throw new DataIntegrityViolationException("injected failure");
+        }));
+        assertEquals(1, attempts.get());
+        verify(transactionManager).rollback(transactionStatus);
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void place_WhenTransientErrorsPersist_ShouldGiveUpAfterMaxAttempts() {
+        // Given
+        enableTransactions();
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When & Then
+        assertThrows(MongoException.class, () -> orderPlacementService.place(stock -> {
+            attempts.incrementAndGet();
+            MongoException conflict = new MongoException(112, "WriteConflict");
+            conflict.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+            throw conflict;
+        }));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void isTransient_ShouldFindLabelInCauseChain() {
+        MongoException writeConflict = new MongoException("write conflict");
+        writeConflict.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+
+        assertTrue(OrderPlacementService.isTransient(new RuntimeException("wrapped", writeConflict)));
+        assertFalse(OrderPlacementService.isTransient(new MongoException("duplicate key")));
+    }
+
+    @Test
+    void isTransient_WhenCommitResultUnknown_ShouldNotRetryWholeTransaction() {
+        MongoException unknownCommit = new MongoException("commit result unknown");
+        unknownCommit.addLabel(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL);
+
+        // The transaction may have committed; only the commit itself is retried, by the transaction manager
+        assertFalse(OrderPlacementService.isTransient(new RuntimeException("wrapped", unknownCommit)));
+    }
+
+    private void enableTransactions() {
+        ReflectionTestUtils.setField(orderPlacementService, "transactionsEnabled", true);
+        when(transactionManagerProvider.getIfAvailable()).thenReturn(transactionManager);
+        when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+    }
+
+    private static int incrementOf(Update update) {
+        return ((Number) update.getUpdateObject().get("$inc", org.bson.Document.class).get("quantity")).intValue();
+    }
+}
@@ -0,0 +1,210 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.BulkStatusUpdateResult;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.event.OrderEvent;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.id.SnowflakeIdGenerator;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderItem;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatus;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.outbox.OrderOutbox;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStateMachineTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private SnowflakeIdGenerator idGenerator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OrderOutbox orderOutbox;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private BulkWriteResult bulkWriteResult;
+
+    @InjectMocks
+    private OrderStateMachine orderStateMachine;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderStateMachine, "maxBatchSize", 100);
+    }
+
+    @Test
+    void allowsOnlyForwardTransitions() {
+        assertTrue(OrderStatus.PENDING.canTransitionTo(OrderStatus.CONFIRMED));
+        assertTrue(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.DELIVERED));
+        assertTrue(OrderStatus.DELIVERED.canTransitionTo(OrderStatus.RETURNED));
+        assertFalse(OrderStatus.DELIVERED.canTransitionTo(OrderStatus.PENDING));
+        assertFalse(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.CANCELLED));
+        assertTrue(OrderStatus.REFUNDED.getAllowedTransitions().isEmpty());
+    }
+
+    @Test
+    void rejectsInvalidTransitionWithoutWriting() {
+        Order order = order("o1", OrderStatus.DELIVERED);
+
+        BulkStatusUpdateResult result = orderStateMachine.transition(order, OrderStatus.PENDING);
+
+        assertEquals(0, result.getUpdated());
+        assertTrue(result.getFailures().get("o1").contains("from DELIVERED to PENDING"));
+        assertEquals(OrderStatus.DELIVERED, order.getStatus());
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Order.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shipsBatchWithOneBulkWriteAndAssignsTrackingNumbers() {
+        Order first = order("o1", OrderStatus.PROCESSING);
+        Order second = order("o2", OrderStatus.PROCESSING);
+        Order delivered = order("o3", OrderStatus.DELIVERED);
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(List.of(first, second, delivered));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(bulkWriteResult);
+        when(bulkWriteResult.getModifiedCount()).thenReturn(2);
+        when(idGenerator.nextIdString()).thenReturn("A", "B");
+
+        BulkStatusUpdateResult result = orderStateMachine.transitionAll(List.of("o1", "o2", "o3", "missing"), OrderStatus.SHIPPED);
+
+        assertEquals(4, result.getRequested());
+        assertEquals(List.of("o1", "o2"), result.getUpdatedOrderIds());
+        assertEquals(Set.of("o3", "missing"), result.getFailures().keySet());
+        assertEquals("TRK-A", first.getTrackingNumber());
+        assertEquals(OrderStatus.SHIPPED, second.getStatus());
+        verify(bulkOperations, times(2)).updateOne(any(Query.class), any(Update.class));
+        verify(bulkOperations).execute();
+        verify(orderOutbox).statusChanged(any(Update.class), eq(OrderStatus.PROCESSING), eq(OrderStatus.SHIPPED), eq("TRK-A"));
+        verify(eventPublisher, times(2)).publishEvent(any(OrderEvent.class));
+        verifyNoInteractions(inventoryService);
+    }
+
+    @Test
+    void partialWriteReReadsOnlyTheOrdersCarryingItsWriteId() {
+        Order first = order("o1", OrderStatus.PROCESSING);
+        Order second = order("o2", OrderStatus.PROCESSING);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)).thenReturn(bulkOperations);
+        when(bulkOperations.updateOne(any(Query.class), updates.capture())).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(bulkWriteResult);
+        when(bulkWriteResult.getModifiedCount()).thenReturn(1);
+        // o2 was shipped concurrently by someone else in the same millisecond; only o1 carries this write's id
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenAnswer(invocation -> {
+            Object writeId = invocation.<Query>getArgument(0).getQueryObject().get("writeId");
+            if (writeId == null) {
+                return List.of(first, second);
+            }
+            Object ownWriteId = updates.getValue().getUpdateObject().get("$set", Document.class).get("writeId");
+            return writeId.equals(ownWriteId) ? List.of(first) : List.of();
+        });
+
+        BulkStatusUpdateResult result = orderStateMachine.transitionAll(List.of("o1", "o2"), OrderStatus.SHIPPED);
+
+        assertEquals(List.of("o1"), result.getUpdatedOrderIds());
+        assertTrue(result.getFailures().get("o2").contains("modified concurrently"));
+        verify(eventPublisher, times(1)).publishEvent(any(OrderEvent.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void cancellationRestoresOnlyStockStillTakenInOnePass() {
+        Order held = order("o1", OrderStatus.PENDING);
+        Order expired = order("o2", OrderStatus.PENDING);
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(List.of(held, expired));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(bulkWriteResult);
+        when(bulkWriteResult.getModifiedCount()).thenReturn(2);
+        when(reservationService.releaseAll(anyList())).thenReturn(Set.of("o1"));
+
+        BulkStatusUpdateResult result = orderStateMachine.transitionAll(List.of("o1", "o2"), OrderStatus.CANCELLED);
+
+        assertEquals(2, result.getUpdated());
+        ArgumentCaptor<Map<String, Integer>> restored = ArgumentCaptor.forClass(Map.class);
+        verify(inventoryService).restoreStock(restored.capture());
+        assertEquals(Map.of("p-o1", 2), restored.getValue());
+    }
+
+    @Test
+    void confirmationReopensHoldsWhenBulkWriteFails() {
+        Order order = order("o1", OrderStatus.PENDING);
+        when(reservationService.confirmAll(anyList())).thenReturn(Set.of());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenThrow(new IllegalStateException("write failed"));
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(List.of(order));
+
+        assertThrows(IllegalStateException.class, () -> orderStateMachine.transition(order, OrderStatus.CONFIRMED));
+
+        // The order is still PENDING, so its hold must be able to expire again
+        verify(reservationService).reopenAll(List.of("o1"));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void confirmationKeepsHoldOfOrderMovedConcurrently() {
+        Order order = order("o1", OrderStatus.PENDING);
+        when(reservationService.confirmAll(anyList())).thenReturn(Set.of());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(bulkWriteResult);
+        when(bulkWriteResult.getModifiedCount()).thenReturn(0);
+        // Neither moved by this write nor still PENDING: cancelled concurrently
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(List.of());
+
+        BulkStatusUpdateResult result = orderStateMachine.transition(order, OrderStatus.CONFIRMED);
+
+        assertEquals(0, result.getUpdated());
+        assertTrue(result.getFailures().get("o1").contains("modified concurrently"));
+        verify(reservationService, never()).reopenAll(anyList());
+        assertEquals(OrderStatus.PENDING, order.getStatus());
+    }
+
+    private static Order order(String id, OrderStatus status) {
+        OrderItem item = new OrderItem();
+        item.setProductId("p-" + id);
+        item.setQuantity(2);
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderNumber("ORD-" + id);
+        order.setStatus(status);
+        order.setOrderDate(LocalDateTime.now());
+        order.setItems(List.of(item));
+        return order;
+    }
+}
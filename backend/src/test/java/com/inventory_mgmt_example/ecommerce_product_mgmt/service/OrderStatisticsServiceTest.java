@@ -0,0 +1,209 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.OrderStatsDTO;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.event.OrderEvent;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatistics;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.OrderStatus;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.ProductSalesStats;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the service in a small context with a no-op transaction manager, so the transactional
+ * event listener behaves as it does around a real MongoDB transaction
+ */
+@SpringJUnitConfig(OrderStatisticsServiceTest.Config.class)
+class OrderStatisticsServiceTest {
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import(OrderStatisticsService.class)
+    static class Config {
+
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return new NoOpTransactionManager();
+        }
+    }
+
+    @Autowired
+    private OrderStatisticsService orderStatisticsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private MongoTemplate mongoTemplate;
+
+    @MockitoBean
+    private LeaseService leaseService;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Order.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+        when(mongoTemplate.getCollectionName(ProductSalesStats.class)).thenReturn("product_sales_stats");
+    }
+
+    @Test
+    void appliesIncrementsOnlyAfterCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(OrderEvent.created(order(OrderStatus.PENDING)));
+            verifyNoInteractions(mongoTemplate);
+        });
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), update.capture(), eq(OrderStatistics.class));
+        assertTrue(update.getValue().toString().contains("totalOrders"));
+    }
+
+    @Test
+    void skipsIncrementsForRolledBackOrder() {
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(OrderEvent.created(order(OrderStatus.PENDING)));
+            status.setRollbackOnly();
+        });
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void appliesIncrementsImmediatelyWithoutTransaction() {
+        eventPublisher.publishEvent(OrderEvent.statusChanged(order(OrderStatus.CANCELLED), OrderStatus.PENDING));
+
+        verify(mongoTemplate).upsert(any(Query.class), any(Update.class), eq(OrderStatistics.class));
+    }
+
+    @Test
+    void rebuildReplacesProductStatsWithOut() {
+        orderStatisticsService.rebuild();
+
+        ArgumentCaptor<Aggregation> aggregations = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate, times(3)).aggregate(aggregations.capture(), eq(Order.class), eq(Document.class));
+        List<String> lastStages = new ArrayList<>();
+        for (Aggregation aggregation : aggregations.getAllValues()) {
+            List<Document> pipeline = aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT);
+            lastStages.add(pipeline.get(pipeline.size() - 1).keySet().iterator().next());
+        }
+        assertEquals("$out", lastStages.get(2));
+        verify(mongoTemplate).save(any(OrderStatistics.class));
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(ProductSalesStats.class));
+        verify(mongoTemplate, never()).insert(anyList(), eq(ProductSalesStats.class));
+    }
+
+    @Test
+    void scheduledRebuildRunsOnlyOnLeaseHolder() {
+        when(leaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(false);
+        orderStatisticsService.scheduledRebuild();
+        verifyNoInteractions(mongoTemplate);
+
+        when(leaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(true);
+        orderStatisticsService.scheduledRebuild();
+        verify(mongoTemplate).save(any(OrderStatistics.class));
+    }
+
+    @Test
+    void missingStatsAreRebuiltOnceUnderTheLease() throws Exception {
+        CountDownLatch rebuilding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(leaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(true);
+        when(mongoTemplate.save(any(OrderStatistics.class))).thenAnswer(invocation -> {
+            rebuilding.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+
+        Thread first = new Thread(() -> orderStatisticsService.getStatistics(30, 5));
+        first.start();
+        assertTrue(rebuilding.await(5, TimeUnit.SECONDS));
+        // A concurrent cold read does not start a second rebuild
+        OrderStatsDTO concurrent = orderStatisticsService.getStatistics(30, 5);
+        release.countDown();
+        first.join(5000);
+
+        assertEquals(0, concurrent.getTotalOrders());
+        verify(mongoTemplate, times(1)).save(any(OrderStatistics.class));
+    }
+
+    @Test
+    void missingStatsAreNotRebuiltWithoutTheLease() {
+        when(leaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(false);
+
+        OrderStatsDTO stats = orderStatisticsService.getStatistics(30, 5);
+
+        assertEquals(0, stats.getTotalOrders());
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq(Order.class), eq(Document.class));
+    }
+
+    private static Order order(OrderStatus status) {
+        Order order = new Order();
+        order.setOrderNumber("ORD-1");
+        order.setStatus(status);
+        order.setOrderDate(LocalDateTime.now());
+        order.setFinalAmount(25.0);
+        return order;
+    }
+
+    /**
+     * Only drives transaction synchronization; there is no resource behind it
+     */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.event.ProductChangeEvent;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.event.ProductChangeEvent.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductChangeStreamServiceTest {
+
+    private final List<Runnable> queuedSends = new ArrayList<>();
+
+    @Test
+    void coalescesBurstIntoOneEventWithLatestState() {
+        ProductChangeStreamService service = service(Runnable::run, 100);
+        RecordingEmitter subscriber = (RecordingEmitter) service.subscribe(Set.of(), null);
+
+        service.onProductChange(change(ChangeType.CREATED, "p1", "Electronics", 10.0, 5));
+        service.onProductChange(change(ChangeType.UPDATED, "p1", "Electronics", 12.0, 5));
+        service.onProductChange(change(ChangeType.STOCK_CHANGED, "p1", "Electronics", 12.0, 3));
+        service.flushPendingChanges();
+
+        assertEquals(1, subscriber.changes().size());
+        ProductChangeEvent delivered = subscriber.changes().get(0);
+        // Still a create from the subscriber's point of view, with the latest price and stock
+        assertEquals(ChangeType.CREATED, delivered.getType());
+        assertEquals(12.0, delivered.getPrice());
+        assertEquals(3, delivered.getQuantity());
+
+        service.flushPendingChanges();
+        assertEquals(1, subscriber.changes().size());
+    }
+
+    @Test
+    void deliversOnlyMatchingChangesToFilteredSubscribers() {
+        ProductChangeStreamService service = service(Runnable::run, 100);
+        RecordingEmitter all = (RecordingEmitter) service.subscribe(Set.of(), null);
+        RecordingEmitter byIds = (RecordingEmitter) service.subscribe(Set.of("p1", "p3"), null);
+        RecordingEmitter byCategory = (RecordingEmitter) service.subscribe(Set.of(), "Books");
+
+        service.onProductChange(change(ChangeType.UPDATED, "p1", "Electronics", 10.0, 5));
+        service.onProductChange(change(ChangeType.UPDATED, "p2", "Books", 8.0, 2));
+        service.onProductChange(ProductChangeEvent.deleted("p3"));
+        service.flushPendingChanges();
+
+        assertEquals(Set.of("p1", "p2", "p3"), productIds(all));
+        assertEquals(Set.of("p1", "p3"), productIds(byIds));
+        assertEquals(Set.of("p2"), productIds(byCategory));
+    }
+
+    @Test
+    void sendsOneHeartbeatPerEmitter() {
+        ProductChangeStreamService service = service(Runnable::run, 100);
+        RecordingEmitter multiId = (RecordingEmitter) service.subscribe(Set.of("p1", "p2", "p3"), null);
+        RecordingEmitter all = (RecordingEmitter) service.subscribe(Set.of(), null);
+
+        service.sendHeartbeats();
+
+        assertEquals(1, multiId.sent.size());
+        assertEquals(1, all.sent.size());
+    }
+
+    @Test
+    void flushOnlyQueuesAndClosesSubscribersThatFallBehind() {
+        ProductChangeStreamService service = service(queuedSends::add, 2);
+        RecordingEmitter slow = (RecordingEmitter) service.subscribe(Set.of(), null);
+
+        for (int i = 0; i < 3; i++) {
+            service.onProductChange(change(ChangeType.UPDATED, "p" + i, "Electronics", 10.0, i));
+            service.flushPendingChanges();
+        }
+
+        // Nothing was written on the flushing thread, one drain is queued for the subscriber
+        assertTrue(slow.sent.isEmpty());
+        assertEquals(1, queuedSends.size());
+        assertTrue(slow.failed);
+        assertEquals(0, service.getSubscriberCount());
+    }
+
+    private ProductChangeStreamService service(Executor sendExecutor, int maxPendingEvents) {
+        return new ProductChangeStreamService(100, maxPendingEvents, sendExecutor, new SimpleMeterRegistry()) {
+            @Override
+            SseEmitter createEmitter() {
+                return new RecordingEmitter();
+            }
+        };
+    }
+
+    private static ProductChangeEvent change(ChangeType type, String productId, String category, double price, int quantity) {
+        return new ProductChangeEvent(type, productId, category, price, quantity);
+    }
+
+    private static Set<String> productIds(RecordingEmitter emitter) {
+        Set<String> ids = new HashSet<>();
+        emitter.changes().forEach(change -> ids.add(change.getProductId()));
+        return ids;
+    }
+
+    /**
+     * Emitter that records what would have been written to the client
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<SseEventBuilder> sent = new ArrayList<>();
+        private boolean failed;
+
+        RecordingEmitter() {
+            super(0L);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.add(builder);
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failed = true;
+        }
+
+        List<ProductChangeEvent> changes() {
+            List<ProductChangeEvent> changes = new ArrayList<>();
+            for (SseEventBuilder builder : sent) {
+                builder.build().stream()
+                        .map(DataWithMediaType::getData)
+                        .filter(ProductChangeEvent.class::isInstance)
+                        .map(ProductChangeEvent.class::cast)
+                        .forEach(changes::add);
+            }
+            return changes;
+        }
+    }
+}
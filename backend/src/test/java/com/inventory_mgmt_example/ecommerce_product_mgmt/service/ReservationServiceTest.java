@@ -0,0 +1,240 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.ReservationStatus;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.StockReservation;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.outbox.OrderOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Races between the expiry sweeper and confirm/release, against a small in-memory stand-in
+ * for the stock_reservations collection
+ */
+class ReservationServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private InventoryService inventoryService;
+    private ReservationService reservationService;
+
+    private final List<StockReservation> holds = new ArrayList<>();
+    // Runs after the sweeper picked its expired candidates and before it claims them
+    private Runnable beforeClaim = () -> { };
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        inventoryService = mock(InventoryService.class);
+
+        when(mongoTemplate.find(any(Query.class), eq(StockReservation.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            List<StockReservation> found = matching(query.getQueryObject());
+            if (ReservationStatus.HELD.equals(query.getQueryObject().get("status"))) {
+                beforeClaim.run();
+                beforeClaim = () -> { };
+            }
+            return found;
+        });
+        when(mongoTemplate.findOne(any(Query.class), eq(StockReservation.class))).thenAnswer(invocation ->
+                matching(invocation.<Query>getArgument(0).getQueryObject()).stream().findFirst().orElse(null));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(StockReservation.class))).thenAnswer(invocation -> {
+            matching(invocation.<Query>getArgument(0).getQueryObject())
+                    .forEach(hold -> apply(hold, invocation.getArgument(1)));
+            return null;
+        });
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(StockReservation.class))).thenAnswer(invocation -> {
+            List<StockReservation> found = matching(invocation.<Query>getArgument(0).getQueryObject());
+            found.forEach(hold -> apply(hold, invocation.getArgument(1)));
+            return found.stream().findFirst().orElse(null);
+        });
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(List.of());
+
+        reservationService = new ReservationService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(reservationService, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(reservationService, "inventoryService", inventoryService);
+        ReflectionTestUtils.setField(reservationService, "eventPublisher", mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(reservationService, "orderOutbox", mock(OrderOutbox.class));
+        ReflectionTestUtils.setField(reservationService, "batchSize", 500);
+        ReflectionTestUtils.setField(reservationService, "maxBatchesPerSweep", 100);
+        ReflectionTestUtils.setField(reservationService, "claimTimeoutMs", 300_000L);
+    }
+
+    @Test
+    void releaseExpiredHolds_WhenExpired_ShouldRestoreStockBeforeMarkingExpired() {
+        // Given
+        StockReservation hold = hold("order-1", ReservationStatus.HELD);
+        doAnswer(invocation -> {
+            assertEquals(ReservationStatus.EXPIRING, hold.getStatus());
+            return null;
+        }).when(inventoryService).restoreStockOnce(anyMap(), anyString());
+
+        // When
+        int released = reservationService.releaseExpiredHolds();
+
+        // Then
+        assertEquals(1, released);
+        verify(inventoryService).restoreStockOnce(Map.of("product-1", 2), hold.getSweepId());
+        assertEquals(hold.getSweepId(), hold.getRestoreId());
+        assertEquals(ReservationStatus.EXPIRED, hold.getStatus());
+        verify(inventoryService).forgetRestore(Set.of("product-1"), hold.getRestoreId());
+    }
+
+    @Test
+    void releaseExpiredHolds_WhenRestoreFails_ShouldLeaveHoldExpiring() {
+        // Given
+        StockReservation hold = hold("order-1", ReservationStatus.HELD);
+        doThrow(new IllegalStateException("bulk write failed")).when(inventoryService).restoreStockOnce(anyMap(), anyString());
+
+        // When / Then
+        assertThrows(IllegalStateException.class, reservationService::releaseExpiredHolds);
+        assertEquals(ReservationStatus.EXPIRING, hold.getStatus());
+    }
+
+    @Test
+    void releaseExpiredHolds_WhenEarlierSweeperDiedMidClaim_ShouldFinishAbandonedHold() {
+        // Given
+        StockReservation hold = hold("order-1", ReservationStatus.EXPIRING);
+        hold.setSweepId("dead-sweeper");
+        hold.setRestoreId("dead-sweeper");
+        hold.setClosedAt(LocalDateTime.now().minusHours(1));
+
+        // When
+        int released = reservationService.releaseExpiredHolds();
+
+        // Then
+        assertEquals(1, released);
+        // Same restore id as the dead sweeper, so stock it already returned is not returned again
+        verify(inventoryService).restoreStockOnce(Map.of("product-1", 2), "dead-sweeper");
+        assertEquals(ReservationStatus.EXPIRED, hold.getStatus());
+        assertNotEquals("dead-sweeper", hold.getSweepId());
+        assertEquals("dead-sweeper", hold.getRestoreId());
+    }
+
+    @Test
+    void releaseExpiredHolds_WhenAnotherSweeperIsStillRestoring_ShouldLeaveItsClaimAlone() {
+        // Given
+        StockReservation hold = hold("order-1", ReservationStatus.EXPIRING);
+        hold.setSweepId("live-sweeper");
+        hold.setClosedAt(LocalDateTime.now());
+
+        // When
+        int released = reservationService.releaseExpiredHolds();
+
+        // Then
+        assertEquals(0, released);
+        verify(inventoryService, never()).restoreStockOnce(anyMap(), anyString());
+        assertEquals("live-sweeper", hold.getSweepId());
+    }
+
+    @Test
+    void releaseExpiredHolds_WhenConfirmWinsTheClaim_ShouldNotRestoreStock() {
+        // Given
+        StockReservation hold = hold("order-1", ReservationStatus.HELD);
+        beforeClaim = () -> assertTrue(reservationService.confirm("order-1"));
+
+        // When
+        int released = reservationService.releaseExpiredHolds();
+
+        // Then
+        assertEquals(0, released);
+        verify(inventoryService, never()).restoreStockOnce(anyMap(), anyString());
+        assertEquals(ReservationStatus.CONFIRMED, hold.getStatus());
+    }
+
+    @Test
+    void confirm_WhileSweeperIsRestoringStock_ShouldRefuse() {
+        // Given
+        hold("order-1", ReservationStatus.EXPIRING);
+
+        // When / Then
+        assertFalse(reservationService.confirm("order-1"));
+        assertEquals(Set.of("order-1"), reservationService.confirmAll(List.of("order-1")));
+    }
+
+    @Test
+    void release_WhileSweeperIsRestoringStock_ShouldLeaveStockToTheSweeper() {
+        // Given
+        StockReservation hold = hold("order-1", ReservationStatus.EXPIRING);
+
+        // When / Then
+        assertFalse(reservationService.release("order-1"));
+        assertEquals(ReservationStatus.EXPIRING, hold.getStatus());
+    }
+
+    private StockReservation hold(String orderId, ReservationStatus status) {
+        StockReservation hold = new StockReservation(orderId, Map.of("product-1", 2), LocalDateTime.now().minusMinutes(1));
+        hold.setId("hold-" + orderId);
+        hold.setStatus(status);
+        holds.add(hold);
+        return hold;
+    }
+
+    private List<StockReservation> matching(Document filter) {
+        return holds.stream().filter(hold -> matches(hold, filter)).toList();
+    }
+
+    private static boolean matches(StockReservation hold, Document filter) {
+        return matches(hold.getId(), filter.get("id"))
+                && matches(hold.getOrderId(), filter.get("orderId"))
+                && matches(hold.getStatus(), filter.get("status"))
+                && matches(hold.getSweepId(), filter.get("sweepId"))
+                && matches(hold.getExpiresAt(), filter.get("expiresAt"))
+                && matches(hold.getClosedAt(), filter.get("closedAt"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean matches(Object value, Object condition) {
+        if (condition == null) {
+            return true;
+        }
+        if (condition instanceof Document operators) {
+            if (operators.containsKey("$in")) {
+                return ((Collection<Object>) operators.get("$in")).contains(value);
+            }
+            if (operators.containsKey("$lt")) {
+                return value != null && ((LocalDateTime) value).isBefore((LocalDateTime) operators.get("$lt"));
+            }
+            throw new IllegalArgumentException("Unsupported condition " + operators.toJson());
+        }
+        return condition.equals(value);
+    }
+
+    private static void apply(StockReservation hold, Update update) {
+        Document set = (Document) update.getUpdateObject().get("$set");
+        if (set.containsKey("status")) {
+            hold.setStatus((ReservationStatus) set.get("status"));
+        }
+        if (set.containsKey("closedAt")) {
+            hold.setClosedAt((LocalDateTime) set.get("closedAt"));
+        }
+        if (set.containsKey("sweepId")) {
+            hold.setSweepId((String) set.get("sweepId"));
+        }
+        if (set.containsKey("restoreId")) {
+            hold.setRestoreId((String) set.get("restoreId"));
+        }
+    }
+}
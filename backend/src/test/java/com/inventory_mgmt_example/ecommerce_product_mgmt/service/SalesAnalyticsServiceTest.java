@@ -0,0 +1,131 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.service;
+
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.RepeatCustomerStatsDTO;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.RevenueBreakdownDTO;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.RevenuePeriodDTO;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.dto.StatusFunnelDTO;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.model.Order;
+import com.inventory_mgmt_example.ecommerce_product_mgmt.service.SalesAnalyticsService.Granularity;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalesAnalyticsServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Test
+    void revenueByPeriodMatchesOnOrderDateFirstAndComputesAverage() {
+        returnRows(new Document("_id", "2024-01").append("orders", 4).append("revenue", 100.0),
+                new Document("_id", "2024-02").append("orders", 0).append("revenue", 0.0));
+
+        List<RevenuePeriodDTO> revenue = salesAnalyticsService.getRevenueByPeriod(FROM, TO, Granularity.MONTH);
+
+        assertEquals(2, revenue.size());
+        assertEquals("2024-01", revenue.get(0).getPeriod());
+        assertEquals(25.0, revenue.get(0).getAverageOrderValue());
+        assertEquals(0.0, revenue.get(1).getAverageOrderValue());
+
+        List<Document> pipeline = capturePipeline();
+        Document match = pipeline.get(0).get("$match", Document.class);
+        assertNotNull(match, "pipeline must start with $match so the orderDate index is used");
+        assertTrue(match.containsKey("orderDate"));
+        assertTrue(match.containsKey("status"));
+        assertTrue(pipeline.get(1).toJson().contains("%Y-%m"));
+    }
+
+    @Test
+    void revenueByCategoryReducesPerProductBeforeLookup() {
+        returnRows(new Document("_id", "Electronics").append("units", 3).append("revenue", 300.0),
+                new Document("_id", null).append("units", 1).append("revenue", 5.0));
+
+        List<RevenueBreakdownDTO> breakdown = salesAnalyticsService.getRevenueByCategory(FROM, TO);
+
+        assertEquals("Electronics", breakdown.get(0).getKey());
+        assertEquals(3, breakdown.get(0).getUnits());
+        // Items whose product no longer exists are reported together
+        assertEquals("Unknown", breakdown.get(1).getKey());
+
+        List<String> stages = capturePipeline().stream().map(stage -> stage.keySet().iterator().next()).toList();
+        assertTrue(stages.indexOf("$group") < stages.indexOf("$lookup"));
+        assertTrue(capturePipeline().toString().contains("product.category"));
+    }
+
+    @Test
+    void statusFunnelCountsOrdersThatReachedEachStage() {
+        returnRows(new Document("_id", "PENDING").append("count", 2),
+                new Document("_id", "SHIPPED").append("count", 3),
+                new Document("_id", "DELIVERED").append("count", 4),
+                new Document("_id", "RETURNED").append("count", 1));
+
+        Map<String, StatusFunnelDTO> funnel = salesAnalyticsService.getStatusFunnel(FROM, TO).stream()
+                .collect(Collectors.toMap(StatusFunnelDTO::getStatus, stage -> stage));
+
+        assertEquals(10, funnel.get("PENDING").getReachedCount());
+        assertEquals(1.0, funnel.get("PENDING").getConversionRate());
+        // Shipped, delivered and returned orders all passed through CONFIRMED
+        assertEquals(8, funnel.get("CONFIRMED").getReachedCount());
+        assertEquals(0, funnel.get("CONFIRMED").getCurrentCount());
+        assertEquals(5, funnel.get("DELIVERED").getReachedCount());
+        assertEquals(0.5, funnel.get("DELIVERED").getConversionRate());
+        assertEquals(1, funnel.get("RETURNED").getCurrentCount());
+        assertEquals(0, funnel.get("CANCELLED").getReachedCount());
+    }
+
+    @Test
+    void repeatCustomerStatsHandleEmptyWindow() {
+        returnRows();
+
+        RepeatCustomerStatsDTO stats = salesAnalyticsService.getRepeatCustomerStats(FROM, TO);
+
+        assertEquals(0, stats.getCustomers());
+        assertEquals(0.0, stats.getRepeatRate());
+    }
+
+    @Test
+    void repeatCustomerStatsComputeRates() {
+        returnRows(new Document("customers", 4).append("repeatCustomers", 1).append("orders", 6));
+
+        RepeatCustomerStatsDTO stats = salesAnalyticsService.getRepeatCustomerStats(FROM, TO);
+
+        assertEquals(4, stats.getCustomers());
+        assertEquals(0.25, stats.getRepeatRate());
+        assertEquals(1.5, stats.getAverageOrdersPerCustomer());
+    }
+
+    private void returnRows(Document... rows) {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Order.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(rows), new Document()));
+    }
+
+    private List<Document> capturePipeline() {
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate, atLeastOnce()).aggregate(aggregation.capture(), eq(Order.class), eq(Document.class));
+        return aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+    }
+}
@@ -0,0 +1,89 @@
+package com.inventory_mgmt_example.ecommerce_product_mgmt.tracing;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTracingFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestTracingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestTracingFilter(new RequestPhaseMetrics(meterRegistry));
+    }
+
+    @Test
+    void recordsPhasesPerEndpointTemplate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/42");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            RequestTrace trace = RequestTrace.current();
+            trace.securityCompleted(trace.getStartNanos() + 1_000);
+            trace.enterService(0);
+            // Nested service calls are not counted twice
+            trace.enterService(10_000);
+            trace.exitService(20_000);
+            trace.addRepository(30_000);
+            trace.exitService(100_000);
+            trace.addSerialization(5_000);
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/orders/{id}");
+        });
+
+        assertNull(RequestTrace.current());
+        assertEquals(1_000, phase("/api/orders/{id}", "security").totalTime(TimeUnit.NANOSECONDS));
+        assertEquals(70_000, phase("/api/orders/{id}", "service").totalTime(TimeUnit.NANOSECONDS));
+        assertEquals(30_000, phase("/api/orders/{id}", "repository").totalTime(TimeUnit.NANOSECONDS));
+        assertEquals(5_000, phase("/api/orders/{id}", "serialization").totalTime(TimeUnit.NANOSECONDS));
+        assertEquals(1, phase("/api/orders/{id}", "total").count());
+    }
+
+    @Test
+    void phasesDoNotOverlap() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/42");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            RequestTrace trace = RequestTrace.current();
+            // Token authentication loads the user through a service and the database
+            trace.enterService(0);
+            trace.addRepository(40_000);
+            trace.exitService(50_000);
+            trace.securityCompleted(trace.getStartNanos() + 60_000);
+            // A controller reading the database directly, then a service call
+            trace.addRepository(10_000);
+            trace.enterService(100_000);
+            trace.addRepository(20_000);
+            trace.exitService(130_000);
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/orders/{id}");
+        });
+
+        assertEquals(60_000, phase("/api/orders/{id}", "security").totalTime(TimeUnit.NANOSECONDS));
+        assertEquals(10_000, phase("/api/orders/{id}", "service").totalTime(TimeUnit.NANOSECONDS));
+        assertEquals(30_000, phase("/api/orders/{id}", "repository").totalTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    void requestStoppedBySecurityIsUnmatchedAndAllSecurity() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/orders/42"), new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletResponse) res).setStatus(401));
+
+        Timer total = phase("UNMATCHED", "total");
+        assertEquals(total.totalTime(TimeUnit.NANOSECONDS), phase("UNMATCHED", "security").totalTime(TimeUnit.NANOSECONDS));
+        assertEquals(0, phase("UNMATCHED", "service").totalTime(TimeUnit.NANOSECONDS));
+    }
+
+    private Timer phase(String uri, String phase) {
+        return meterRegistry.get(RequestPhaseMetrics.METRIC).tags("method", "GET", "uri", uri, "phase", phase).timer();
+    }
+}